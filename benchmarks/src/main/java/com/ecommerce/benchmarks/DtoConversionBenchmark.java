@@ -0,0 +1,65 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.dto.OrderDTO;
+import com.ecommerce.dto.ProductDTO;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.Product;
+import com.ecommerce.service.OrderService;
+import com.ecommerce.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping on detached, fully initialised entities
+ * (excludes lazy loading, which is measured by the SQL diagnostics instead)
+ *
+ * @author E-Commerce Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DtoConversionBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int orderItems;
+
+    private ProductService productService;
+    private OrderService orderService;
+    private Product product;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        productService = Fixtures.productService();
+        orderService = Fixtures.orderService();
+
+        SplittableRandom random = new SplittableRandom(42);
+        product = Fixtures.product(1, Fixtures.category(1), random);
+        order = Fixtures.order(orderItems, random);
+    }
+
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return productService.convertToDTO(product);
+    }
+
+    @Benchmark
+    public OrderDTO orderToDTO() {
+        return orderService.convertToDTO(order);
+    }
+}
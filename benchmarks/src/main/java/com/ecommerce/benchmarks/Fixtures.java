@@ -0,0 +1,259 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.config.InventoryProperties;
+import com.ecommerce.config.PricingProperties;
+import com.ecommerce.config.PromotionProperties;
+import com.ecommerce.event.CatalogEntityListener;
+import com.ecommerce.inventory.ProductStockUpdater;
+import com.ecommerce.inventory.StockAllocator;
+import com.ecommerce.metrics.ApplicationMetrics;
+import com.ecommerce.model.CartItem;
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.OrderItem;
+import com.ecommerce.model.Product;
+import com.ecommerce.model.ShoppingCart;
+import com.ecommerce.model.User;
+import com.ecommerce.model.enums.OrderStatus;
+import com.ecommerce.model.enums.PaymentMethod;
+import com.ecommerce.model.enums.PaymentStatus;
+import com.ecommerce.model.enums.ProductStatus;
+import com.ecommerce.model.enums.UserRole;
+import com.ecommerce.model.enums.UserStatus;
+import com.ecommerce.pricing.LinePricingRule;
+import com.ecommerce.pricing.PricingEngine;
+import com.ecommerce.pricing.PromotionIndex;
+import com.ecommerce.pricing.RedemptionLimiter;
+import com.ecommerce.pricing.ShippingRule;
+import com.ecommerce.pricing.TaxRule;
+import com.ecommerce.repository.AddressRepository;
+import com.ecommerce.repository.CategoryRepository;
+import com.ecommerce.repository.OrderItemRepository;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.PromotionRedemptionRepository;
+import com.ecommerce.repository.PromotionRedemptionSlotRepository;
+import com.ecommerce.repository.PromotionRepository;
+import com.ecommerce.repository.ShoppingCartRepository;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.repository.WarehouseRepository;
+import com.ecommerce.repository.WarehouseStockRepository;
+import com.ecommerce.service.OrderService;
+import com.ecommerce.service.ProductService;
+import com.ecommerce.service.PromotionService;
+import com.ecommerce.util.SlugGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory fixtures shared by the benchmarks
+ * Entities are built detached (no persistence context), with ids and
+ * audit timestamps filled in the way a loaded entity would have them.
+ *
+ * @author E-Commerce Team
+ */
+final class Fixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private Fixtures() {
+    }
+
+    static Category category(long id) {
+        Category category = Category.builder()
+                .name("Category " + id)
+                .slug("category-" + id)
+                .description("Benchmark category " + id)
+                .build();
+        category.setId(id);
+        category.setCreatedAt(NOW);
+        category.setUpdatedAt(NOW);
+        return category;
+    }
+
+    static Product product(long id, Category category, SplittableRandom random) {
+        BigDecimal price = BigDecimal.valueOf(random.nextInt(500, 50_000), 2);
+        Product product = Product.builder()
+                .name("Wireless Noise Cancelling Headphones " + id)
+                .slug("wireless-noise-cancelling-headphones-" + id)
+                .sku("SKU-" + id)
+                .shortDescription("Over-ear headphones with 30 hour battery life and fast charging")
+                .description("Long form product description used on the product detail page. ".repeat(8))
+                .price(price)
+                .salePrice(id % 4 == 0 ? price.multiply(BigDecimal.valueOf(0.8)).setScale(2, RoundingMode.HALF_UP) : null)
+                .cost(price.multiply(BigDecimal.valueOf(0.55)).setScale(2, RoundingMode.HALF_UP))
+                .stockQuantity(random.nextInt(0, 500))
+                .status(ProductStatus.ACTIVE)
+                .featured(id % 10 == 0)
+                .averageRating(BigDecimal.valueOf(random.nextInt(100, 500), 2))
+                .reviewCount(random.nextInt(0, 2_000))
+                .viewCount((long) random.nextInt(0, 100_000))
+                .salesCount((long) random.nextInt(0, 5_000))
+                .brand("Acme")
+                .manufacturer("Acme Audio Ltd.")
+                .mainImageUrl("https://cdn.example.com/products/" + id + "/main.jpg")
+                .category(category)
+                .build();
+        product.setId(id);
+        product.setCreatedAt(NOW);
+        product.setUpdatedAt(NOW);
+        return product;
+    }
+
+    static User user(long id) {
+        User user = User.builder()
+                .username("user" + id)
+                .email("user" + id + "@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5T8r5bDqN8r2cQ1kQ5yG4uK")
+                .firstName("Jane")
+                .lastName("Doe")
+                .role(UserRole.CUSTOMER)
+                .status(UserStatus.ACTIVE)
+                .build();
+        user.setId(id);
+        return user;
+    }
+
+    static ShoppingCart cart(int items, SplittableRandom random) {
+        ShoppingCart cart = ShoppingCart.builder().build();
+        cart.setId(1L);
+        Category category = category(1);
+        for (int i = 1; i <= items; i++) {
+            Product product = product(i, category, random);
+            CartItem item = CartItem.builder()
+                    .product(product)
+                    .quantity(random.nextInt(1, 5))
+                    .unitPrice(product.getPrice())
+                    .build();
+            item.setId((long) i);
+            item.calculateTotalPrice();
+            cart.getItems().add(item);
+            item.setCart(cart);
+        }
+        return cart;
+    }
+
+    static Order order(int items, SplittableRandom random) {
+        Order order = Order.builder()
+                .orderNumber("ORD-20240115-000001")
+                .orderDate(NOW)
+                .status(OrderStatus.CONFIRMED)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .paymentStatus(PaymentStatus.COMPLETED)
+                .user(user(1))
+                .shippingAddress("1 Main Street, Springfield, IL 62701, US")
+                .billingAddress("1 Main Street, Springfield, IL 62701, US")
+                .build();
+        order.setId(1L);
+        order.setCreatedAt(NOW);
+        Category category = category(1);
+        for (int i = 1; i <= items; i++) {
+            Product product = product(i, category, random);
+            OrderItem item = OrderItem.builder()
+                    .product(product)
+                    .productName(product.getName())
+                    .productSku(product.getSku())
+                    .quantity(random.nextInt(1, 5))
+                    .unitPrice(product.getPrice())
+                    .build();
+            item.setId((long) i);
+            item.calculateTotalPrice();
+            order.addItem(item);
+        }
+        order.calculateSubtotal();
+        order.calculateTotal();
+        return order;
+    }
+
+    /**
+     * Pricing engine with the default rule set and properties
+     */
+    static PricingEngine pricingEngine() {
+        PricingProperties properties = new PricingProperties();
+        return new PricingEngine(List.of(new LinePricingRule(), new TaxRule(properties), new ShippingRule(properties)));
+    }
+
+    /**
+     * Product service whose repositories are stubs; only for benchmarking the mapping methods
+     */
+    static ProductService productService() {
+        ApplicationEventPublisher eventPublisher = event -> { };
+        return new ProductService(
+                unused(ProductRepository.class),
+                unused(CategoryRepository.class),
+                unused(WarehouseStockRepository.class),
+                new ProductStockUpdater(unused(ProductRepository.class), new CatalogEntityListener(eventPublisher)),
+                new SlugGenerator(),
+                new ApplicationMetrics(new SimpleMeterRegistry()),
+                eventPublisher);
+    }
+
+    /**
+     * Order service whose repositories are stubs; only for benchmarking the mapping methods
+     */
+    static OrderService orderService() {
+        ApplicationEventPublisher eventPublisher = event -> { };
+        PromotionService promotionService = new PromotionService(
+                unused(PromotionRepository.class),
+                unused(PromotionRedemptionRepository.class),
+                unused(CategoryRepository.class),
+                new PromotionIndex(unused(PromotionRepository.class), unused(CategoryRepository.class)),
+                new RedemptionLimiter(
+                        unused(PromotionRedemptionRepository.class),
+                        unused(PromotionRedemptionSlotRepository.class),
+                        unused(PromotionRepository.class),
+                        unused(UserRepository.class),
+                        new PromotionProperties()),
+                eventPublisher);
+        return new OrderService(
+                unused(OrderRepository.class),
+                unused(OrderItemRepository.class),
+                unused(ShoppingCartRepository.class),
+                unused(UserRepository.class),
+                unused(AddressRepository.class),
+                new ApplicationMetrics(new SimpleMeterRegistry()),
+                pricingEngine(),
+                promotionService,
+                eventPublisher,
+                new StockAllocator(new InventoryProperties(),
+                        unused(WarehouseRepository.class), unused(WarehouseStockRepository.class)),
+                new ProductStockUpdater(unused(ProductRepository.class), new CatalogEntityListener(eventPublisher)),
+                unused(WarehouseRepository.class));
+    }
+
+    /**
+     * Repository stub failing on any call, so a benchmark that reaches the
+     * database reports which query it hit
+     */
+    private static <T> T unused(Class<T> repository) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] {repository},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> repository.getSimpleName() + " stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(
+                            repository.getSimpleName() + "." + method.getName() + " is not available in benchmarks");
+                }));
+    }
+
+    /**
+     * Set a field normally injected by {@code @Value}
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + fieldName, e);
+        }
+    }
+}
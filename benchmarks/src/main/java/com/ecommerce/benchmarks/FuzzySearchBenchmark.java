@@ -0,0 +1,172 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.search.FuzzyIndex;
+import com.ecommerce.search.SearchTerm;
+import com.ecommerce.search.SuggestionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typo-tolerant search: the trigram index versus checking the edit distance
+ * of every word of every product
+ * Names are built from a synthetic vocabulary of a few tens of thousands of
+ * words, and every query has one typo, so each lookup goes through
+ * correction rather than the exact-word shortcut.
+ *
+ * @author E-Commerce Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FuzzySearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+            "ka", "ro", "mi", "tan", "el", "vor", "su", "pex", "li", "dra",
+            "no", "ber", "qui", "at", "zen", "ol", "fi", "gor", "up", "sha"};
+    private static final int VOCABULARY = 30_000;
+    private static final int BRANDS = 500;
+    private static final int QUERIES = 256;
+    private static final int LIMIT = 20;
+
+    @Param({"100000", "1000000"})
+    public int products;
+
+    private FuzzyIndex index;
+    private String[][] productWords;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random, 2 + random.nextInt(3));
+        }
+        String[] brands = new String[BRANDS];
+        for (int i = 0; i < brands.length; i++) {
+            brands[i] = word(random, 2 + random.nextInt(2));
+        }
+
+        List<SearchTerm> terms = new ArrayList<>(products);
+        productWords = new String[products][];
+        for (int i = 0; i < products; i++) {
+            // Squaring skews picks towards the front, as real word frequencies are
+            String name = vocabulary[skewed(random, VOCABULARY)] + " "
+                    + vocabulary[skewed(random, VOCABULARY)] + " "
+                    + vocabulary[skewed(random, VOCABULARY)] + " " + i;
+            String brand = brands[skewed(random, BRANDS)];
+            terms.add(new SearchTerm(i + 1, name, "product-" + i, brand, null, null, null,
+                    random.nextInt(5_000), random.nextInt(100_000)));
+            productWords[i] = (SuggestionIndex.normalize(name) + " " + SuggestionIndex.normalize(brand)).split(" ");
+        }
+        index = new FuzzyIndex(terms, term -> term.salesCount() * 10 + term.viewCount());
+
+        queries = new String[QUERIES];
+        for (int i = 0; i < queries.length; i++) {
+            String[] words = productWords[random.nextInt(products)];
+            queries[i] = typo(words[random.nextInt(3)], random);
+        }
+    }
+
+    @Benchmark
+    public FuzzyIndex.Result fuzzyIndex() {
+        return index.search(nextQuery(), LIMIT);
+    }
+
+    /**
+     * The same match computed by scanning the catalog, as a query with
+     * LIKE or a per-row distance function would; every product is checked,
+     * since ranking needs all matches
+     */
+    @Benchmark
+    public List<Integer> linearScan() {
+        String query = SuggestionIndex.normalize(nextQuery());
+        int maxEdits = query.length() <= 3 ? 0 : query.length() <= 7 ? 1 : 2;
+        List<Integer> matches = new ArrayList<>();
+        for (int p = 0; p < productWords.length; p++) {
+            for (String word : productWords[p]) {
+                if (distance(query, word, maxEdits) <= maxEdits) {
+                    matches.add(p);
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private String nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+
+    private static String word(SplittableRandom random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    private static int skewed(SplittableRandom random, int bound) {
+        double x = random.nextDouble();
+        return (int) (x * x * bound);
+    }
+
+    /**
+     * The word with one character replaced
+     */
+    private static String typo(String word, SplittableRandom random) {
+        char[] chars = word.toCharArray();
+        int at = random.nextInt(chars.length);
+        chars[at] = chars[at] == 'x' ? 'y' : 'x';
+        return new String(chars);
+    }
+
+    /**
+     * Plain Levenshtein distance, stopped early once it exceeds {@code max}
+     */
+    private static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
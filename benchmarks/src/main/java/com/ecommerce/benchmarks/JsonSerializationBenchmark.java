@@ -0,0 +1,94 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.dto.ProductDTO;
+import com.ecommerce.dto.ProductSummaryDTO;
+import com.ecommerce.dto.response.ApiResponse;
+import com.ecommerce.dto.response.PageResponse;
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Product;
+import com.ecommerce.service.ProductService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a product listing page as returned by the API
+ * The mapper is configured like Spring Boot's (JavaTimeModule, ISO dates).
+ *
+ * @author E-Commerce Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private ApiResponse<PageResponse<ProductDTO>> productPage;
+    private ApiResponse<PageResponse<ProductSummaryDTO>> summaryPage;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writer();
+
+        ProductService productService = Fixtures.productService();
+        SplittableRandom random = new SplittableRandom(42);
+        Category category = Fixtures.category(1);
+        List<ProductDTO> products = new ArrayList<>(pageSize);
+        List<ProductSummaryDTO> summaries = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            Product product = Fixtures.product(i, category, random);
+            products.add(productService.convertToDTO(product));
+            summaries.add(new ProductSummaryDTO(product.getId(), product.getName(), product.getSlug(),
+                    product.getSku(), product.getShortDescription(), product.getPrice(), product.getSalePrice(),
+                    product.getStockQuantity(), product.getStatus(), product.getFeatured(),
+                    product.getAverageRating(), product.getReviewCount(), product.getBrand(),
+                    product.getMainImageUrl(), category.getId(), category.getName()));
+        }
+
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        productPage = ApiResponse.success(PageResponse.of(new PageImpl<>(products, pageable, 10_000)));
+        summaryPage = ApiResponse.success(PageResponse.of(new PageImpl<>(summaries, pageable, 10_000)));
+    }
+
+    @Benchmark
+    public byte[] productPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(productPage);
+    }
+
+    /**
+     * Slim listing projection used by the catalog endpoints, for comparison
+     */
+    @Benchmark
+    public byte[] productSummaryPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(summaryPage);
+    }
+}
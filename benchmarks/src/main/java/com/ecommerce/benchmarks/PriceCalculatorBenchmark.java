@@ -0,0 +1,85 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.config.PricingProperties;
+import com.ecommerce.pricing.ShippingRule;
+import com.ecommerce.pricing.TaxRule;
+import com.ecommerce.util.PriceCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal price arithmetic used by cart and checkout
+ *
+ * @author E-Commerce Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PriceCalculatorBenchmark {
+
+    private PriceCalculator priceCalculator;
+
+    private BigDecimal amount;
+    private BigDecimal cost;
+    private BigDecimal discountPercentage;
+    private BigDecimal unrounded;
+
+    @Setup
+    public void setUp() {
+        PricingProperties properties = new PricingProperties();
+        priceCalculator = new PriceCalculator(new TaxRule(properties), new ShippingRule(properties));
+        amount = new BigDecimal("87.45");
+        cost = new BigDecimal("48.10");
+        discountPercentage = new BigDecimal("15");
+        unrounded = new BigDecimal("87.456789");
+    }
+
+    @Benchmark
+    public BigDecimal calculateTax() {
+        return priceCalculator.calculateTax(amount);
+    }
+
+    @Benchmark
+    public BigDecimal calculateShipping() {
+        return priceCalculator.calculateShipping(amount);
+    }
+
+    @Benchmark
+    public BigDecimal calculateDiscountAmount() {
+        return priceCalculator.calculateDiscountAmount(amount, discountPercentage);
+    }
+
+    @Benchmark
+    public BigDecimal calculateFinalPrice() {
+        return priceCalculator.calculateFinalPrice(amount, discountPercentage);
+    }
+
+    @Benchmark
+    public BigDecimal calculateProfitMargin() {
+        return priceCalculator.calculateProfitMargin(amount, cost);
+    }
+
+    @Benchmark
+    public BigDecimal roundPrice() {
+        return priceCalculator.roundPrice(unrounded);
+    }
+
+    @Benchmark
+    public String formatPrice() {
+        return priceCalculator.formatPrice(amount);
+    }
+}
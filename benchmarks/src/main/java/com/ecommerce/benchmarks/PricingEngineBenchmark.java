@@ -0,0 +1,96 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.dto.PriceBreakdown;
+import com.ecommerce.model.CartItem;
+import com.ecommerce.model.ShoppingCart;
+import com.ecommerce.pricing.Money;
+import com.ecommerce.pricing.PricingContext;
+import com.ecommerce.pricing.PricingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart pricing: the BigDecimal checkout arithmetic versus the minor-unit engine
+ * Run with the gc profile to compare allocation per priced cart.
+ *
+ * @author E-Commerce Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PricingEngineBenchmark {
+
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.10");
+    private static final BigDecimal FREE_SHIPPING_THRESHOLD = new BigDecimal("100.00");
+    private static final BigDecimal STANDARD_SHIPPING = new BigDecimal("10.00");
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    private PricingEngine pricingEngine;
+    private List<CartItem> cartItems;
+
+    @Setup
+    public void setUp() {
+        pricingEngine = Fixtures.pricingEngine();
+        ShoppingCart cart = Fixtures.cart(items, new SplittableRandom(42));
+        cartItems = new ArrayList<>(cart.getItems());
+
+        // Both paths must agree before their speed is worth comparing
+        BigDecimal expected = bigDecimalTotal();
+        long actual = engineTotal();
+        if (Money.toMinor(expected) != actual) {
+            throw new IllegalStateException("Pricing mismatch: " + expected + " vs " + Money.toDecimal(actual));
+        }
+    }
+
+    /**
+     * Checkout math as previously written inline in OrderService (plus HALF_UP rounding)
+     */
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (CartItem item : cartItems) {
+            subtotal = subtotal.add(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        BigDecimal tax = subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal shipping = subtotal.compareTo(FREE_SHIPPING_THRESHOLD) >= 0 ? BigDecimal.ZERO : STANDARD_SHIPPING;
+        return subtotal.add(tax).add(shipping);
+    }
+
+    /**
+     * Engine pipeline with per-line discount and tax allocation, no DTO
+     */
+    @Benchmark
+    public long engineTotal() {
+        PricingContext context = pricingEngine.priceCartItems(cartItems, 1L, null);
+        return context.getTotal();
+    }
+
+    /**
+     * Engine pipeline plus the BigDecimal breakdown returned by the cart and quote endpoints
+     */
+    @Benchmark
+    public PriceBreakdown engineBreakdown() {
+        return pricingEngine.toBreakdown(pricingEngine.priceCartItems(cartItems, 1L, null));
+    }
+}
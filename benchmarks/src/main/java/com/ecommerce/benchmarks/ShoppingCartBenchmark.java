@@ -0,0 +1,65 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.model.CartItem;
+import com.ecommerce.model.ShoppingCart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart aggregate operations over carts of increasing size
+ *
+ * @author E-Commerce Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ShoppingCartBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    private ShoppingCart cart;
+    private Long lastProductId;
+    private Long missingProductId;
+
+    @Setup
+    public void setUp() {
+        cart = Fixtures.cart(items, new SplittableRandom(42));
+        lastProductId = (long) items;
+        missingProductId = (long) items + 1;
+    }
+
+    @Benchmark
+    public BigDecimal getSubtotal() {
+        return cart.getSubtotal();
+    }
+
+    /**
+     * Worst case hit: the product is the last line in the cart
+     */
+    @Benchmark
+    public CartItem findItemByProductIdHit() {
+        return cart.findItemByProductId(lastProductId);
+    }
+
+    @Benchmark
+    public CartItem findItemByProductIdMiss() {
+        return cart.findItemByProductId(missingProductId);
+    }
+}
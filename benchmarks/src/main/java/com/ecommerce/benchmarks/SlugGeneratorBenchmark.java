@@ -0,0 +1,49 @@
+package com.ecommerce.benchmarks;
+
+import com.ecommerce.util.SlugGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slug generation for product and category names
+ *
+ * @author E-Commerce Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SlugGeneratorBenchmark {
+
+    @Param({
+            "Laptops",
+            "Wireless Noise-Cancelling Headphones (2024 Edition)",
+            "Café Crème Brûlée Set – Édition Spéciale"
+    })
+    public String input;
+
+    private SlugGenerator slugGenerator;
+
+    @Setup
+    public void setUp() {
+        slugGenerator = new SlugGenerator();
+    }
+
+    @Benchmark
+    public String generateSlug() {
+        return slugGenerator.generateSlug(input);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Thin JSON client over {@link HttpClient}
+ * Requests with a route are timed into {@link RouteMetrics}; setup requests pass a null route.
+ *
+ * @author E-Commerce Team
+ */
+final class ApiClient {
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final RouteMetrics metrics;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ApiClient(String baseUrl, Duration timeout, RouteMetrics metrics) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.metrics = metrics;
+    }
+
+    Response get(Route route, String path, String token, long startNanos) {
+        return send(route, request(path, token).GET().build(), startNanos);
+    }
+
+    Response post(Route route, String path, String token, Object body, long startNanos) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+        HttpRequest request = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build();
+        return send(route, request, startNanos);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(Route route, HttpRequest request, long startNanos) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (route != null) {
+                metrics.record(route, startNanos, response.statusCode());
+            }
+            return new Response(response.statusCode(), response.body(), null);
+        } catch (IOException e) {
+            if (route != null) {
+                metrics.recordFailure(route, startNanos);
+            }
+            return new Response(-1, new byte[0], e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, new byte[0], e);
+        }
+    }
+
+    /**
+     * Status and body of an exchange
+     */
+    final class Response {
+        private final int status;
+        private final byte[] body;
+        private final Exception failure;
+
+        private Response(int status, byte[] body, Exception failure) {
+            this.status = status;
+            this.body = body;
+            this.failure = failure;
+        }
+
+        int status() {
+            return status;
+        }
+
+        boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+
+        /**
+         * The {@code data} member of the ApiResponse envelope
+         *
+         * @return data node (missing node if absent)
+         */
+        JsonNode data() {
+            try {
+                return objectMapper.readTree(body).path("data");
+            } catch (IOException e) {
+                throw new IllegalStateException("Response is not JSON", e);
+            }
+        }
+
+        /**
+         * Fail setup steps with a readable message
+         *
+         * @param what description of the request
+         * @return this response
+         */
+        Response orThrow(String what) {
+            if (!isSuccessful()) {
+                String detail = failure != null ? failure.toString()
+                        : "HTTP " + status + " " + new String(body, StandardCharsets.UTF_8);
+                throw new IllegalStateException(what + " failed: " + detail);
+            }
+            return this;
+        }
+    }
+}
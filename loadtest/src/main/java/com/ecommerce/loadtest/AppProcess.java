@@ -0,0 +1,93 @@
+package com.ecommerce.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application instance started from its jar for the duration of a run
+ * Output goes to app.log in the report directory.
+ *
+ * @author E-Commerce Team
+ */
+final class AppProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final Process process;
+
+    private AppProcess(Process process) {
+        this.process = process;
+    }
+
+    /**
+     * Start the jar and wait until /actuator/health answers 200
+     *
+     * @param options load test options
+     * @return running application
+     */
+    static AppProcess start(LoadTestOptions options) throws IOException, InterruptedException {
+        Path jar = options.getBootJar();
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException("Application jar not found: " + jar.toAbsolutePath());
+        }
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>(List.of(java, "-jar", jar.toString(),
+                "--server.port=" + options.getBootPort()));
+        command.addAll(options.getAppArgs());
+
+        Path log = options.getOutputDir().resolve("app.log");
+        System.out.println("[loadtest] starting " + String.join(" ", command) + " (log: " + log + ")");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        AppProcess app = new AppProcess(process);
+        try {
+            app.awaitHealthy(options.getBaseUrl());
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            app.close();
+            throw e;
+        }
+        return app;
+    }
+
+    private void awaitHealthy(String baseUrl) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue() + " during startup");
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    System.out.println("[loadtest] application is up at " + baseUrl);
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application did not become healthy within " + STARTUP_TIMEOUT.toSeconds() + "s");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
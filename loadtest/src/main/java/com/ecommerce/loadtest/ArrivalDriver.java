@@ -0,0 +1,138 @@
+package com.ecommerce.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load driver
+ * Each scenario has its own arrival thread emitting arrivals at the configured
+ * rate regardless of how fast the server answers; arrivals are executed by a
+ * bounded worker pool. When the backlog exceeds what the pool could work off in
+ * about a second, arrivals are dropped and counted instead of queued forever.
+ *
+ * @author E-Commerce Team
+ */
+final class ArrivalDriver {
+
+    private final LoadTestOptions options;
+    private final Scenarios scenarios;
+    private final ThreadPoolExecutor workers;
+    private final Map<Scenario, LongAdder> dropped = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+    private final int maxBacklog;
+
+    ArrivalDriver(LoadTestOptions options, Scenarios scenarios) {
+        this.options = options;
+        this.scenarios = scenarios;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(options.getConcurrency(), options.getConcurrency(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "loadtest-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        double totalRate = 0;
+        for (Scenario scenario : Scenario.values()) {
+            dropped.put(scenario, new LongAdder());
+            errors.put(scenario, new LongAdder());
+            totalRate += options.getRate(scenario);
+        }
+        this.maxBacklog = (int) Math.max(options.getConcurrency(), totalRate);
+    }
+
+    /**
+     * Generate load for warmup plus duration, then wait for in-flight scenarios
+     *
+     * @param onMeasurementStart called once the warmup has elapsed
+     */
+    void run(Runnable onMeasurementStart) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+
+        List<Thread> arrivals = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            double rate = options.getRate(scenario);
+            if (rate <= 0) {
+                continue;
+            }
+            if (!scenarios.isRunnable(scenario)) {
+                System.out.println("[loadtest] skipping " + scenario.getKey() + ": no accounts configured for it");
+                continue;
+            }
+            Thread thread = new Thread(() -> emit(scenario, rate, start, end), "loadtest-arrivals-" + scenario.getKey());
+            thread.setDaemon(true);
+            thread.start();
+            arrivals.add(thread);
+        }
+
+        parkUntil(measureFrom);
+        dropped.values().forEach(LongAdder::reset);
+        errors.values().forEach(LongAdder::reset);
+        onMeasurementStart.run();
+        for (Thread thread : arrivals) {
+            thread.join();
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(options.getTimeout().toSeconds() * 4 + 5, TimeUnit.SECONDS)) {
+            System.out.println("[loadtest] abandoning " + workers.getActiveCount() + " in-flight scenarios");
+            workers.shutdownNow();
+        }
+    }
+
+    private void emit(Scenario scenario, double ratePerSecond, long start, long end) {
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long next = start;
+        while (next < end) {
+            parkUntil(next);
+            long arrival = next;
+            if (workers.getQueue().size() >= maxBacklog) {
+                dropped.get(scenario).increment();
+            } else {
+                workers.execute(() -> execute(scenario, arrival));
+            }
+            next += nextInterval(meanIntervalNanos);
+        }
+    }
+
+    private void execute(Scenario scenario, long arrival) {
+        try {
+            scenarios.run(scenario, arrival);
+        } catch (RuntimeException e) {
+            errors.get(scenario).increment();
+        }
+    }
+
+    private long nextInterval(double meanIntervalNanos) {
+        if (options.getArrival() == LoadTestOptions.Arrival.CONSTANT) {
+            return Math.max(1, Math.round(meanIntervalNanos));
+        }
+        // Exponential inter-arrival times give a Poisson arrival process
+        double u = ThreadLocalRandom.current().nextDouble();
+        return Math.max(1, Math.round(-Math.log(1 - u) * meanIntervalNanos));
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    long getDropped(Scenario scenario) {
+        return dropped.get(scenario).sum();
+    }
+
+    long getErrors(Scenario scenario) {
+        return errors.get(scenario).sum();
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sample of the live catalog that scenarios pick products, categories and search terms from
+ *
+ * @author E-Commerce Team
+ */
+final class Catalog {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_KEYWORDS = 500;
+
+    private final List<Product> products;
+    private final List<Product> inStock;
+    private final List<Long> categoryIds;
+    private final List<String> keywords;
+    private final int listingPages;
+
+    private Catalog(List<Product> products, List<Long> categoryIds, List<String> keywords, int listingPages) {
+        this.products = products;
+        this.inStock = products.stream().filter(p -> p.stockQuantity() > 0).toList();
+        this.categoryIds = categoryIds;
+        this.keywords = keywords;
+        this.listingPages = listingPages;
+    }
+
+    /**
+     * Sample the catalog through the public API
+     *
+     * @param api API client
+     * @param pages number of product pages to read
+     * @return catalog sample
+     */
+    static Catalog discover(ApiClient api, int pages) {
+        List<Product> products = new ArrayList<>();
+        Set<String> keywords = new LinkedHashSet<>();
+        int totalPages = 0;
+        for (int page = 0; page < pages; page++) {
+            JsonNode data = api.get(null, "/api/products?page=" + page + "&size=" + PAGE_SIZE, null, System.nanoTime())
+                    .orThrow("Product listing").data();
+            totalPages = data.path("totalPages").asInt();
+            for (JsonNode node : data.path("content")) {
+                products.add(new Product(node.path("id").asLong(), node.path("slug").asText(),
+                        node.path("stockQuantity").asInt()));
+                if (keywords.size() < MAX_KEYWORDS) {
+                    for (String word : node.path("name").asText().split("\\W+")) {
+                        if (word.length() >= 4) {
+                            keywords.add(word.toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+            if (data.path("last").asBoolean(true)) {
+                break;
+            }
+        }
+        if (products.isEmpty()) {
+            throw new IllegalStateException("No active products found; the load test needs a populated catalog");
+        }
+
+        List<Long> categoryIds = new ArrayList<>();
+        for (JsonNode node : api.get(null, "/api/categories", null, System.nanoTime()).orThrow("Category listing").data()) {
+            categoryIds.add(node.path("id").asLong());
+        }
+
+        // Listing pages of the default size (20) that actually exist
+        int listingPages = Math.max(1, (int) Math.ceil(totalPages * (double) PAGE_SIZE / 20));
+        return new Catalog(products, categoryIds, new ArrayList<>(keywords), listingPages);
+    }
+
+    Product randomProduct() {
+        return products.get(ThreadLocalRandom.current().nextInt(products.size()));
+    }
+
+    /**
+     * Random product that had stock when sampled; falls back to any product
+     */
+    Product randomPurchasableProduct() {
+        List<Product> source = inStock.isEmpty() ? products : inStock;
+        return source.get(ThreadLocalRandom.current().nextInt(source.size()));
+    }
+
+    Long randomCategoryId() {
+        return categoryIds.isEmpty() ? null : categoryIds.get(ThreadLocalRandom.current().nextInt(categoryIds.size()));
+    }
+
+    String randomKeyword() {
+        return keywords.isEmpty() ? randomProduct().slug() : keywords.get(ThreadLocalRandom.current().nextInt(keywords.size()));
+    }
+
+    /**
+     * Random listing page, skewed towards the first pages like real browsing
+     */
+    int randomListingPage() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        return (int) Math.min(listingPages - 1, Math.floor(u * u * u * listingPages));
+    }
+
+    int size() {
+        return products.size();
+    }
+
+    int categoryCount() {
+        return categoryIds.size();
+    }
+
+    int keywordCount() {
+        return keywords.size();
+    }
+
+    record Product(long id, String slug, int stockQuantity) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the per-route recorders at a fixed interval
+ * Interval histograms are appended to an HdrHistogram log (tagged by route) for
+ * later comparison with HistogramLogProcessor or HdrHistogram plotters, and
+ * added to the run totals once the warmup is over.
+ *
+ * @author E-Commerce Team
+ */
+final class LatencyReporter {
+
+    private final RouteMetrics metrics;
+    private final HistogramLogWriter logWriter;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "loadtest-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean measuring;
+    private long measurementStartNanos;
+
+    LatencyReporter(RouteMetrics metrics, Path logFile, Duration interval) throws FileNotFoundException {
+        this.metrics = metrics;
+        this.interval = interval;
+        this.logWriter = new HistogramLogWriter(logFile.toFile());
+        long now = System.currentTimeMillis();
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(now);
+        logWriter.setBaseTime(now);
+        logWriter.outputLegend();
+    }
+
+    void start() {
+        scheduler.scheduleAtFixedRate(this::drain, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Discard everything recorded so far and start accumulating totals
+     */
+    void beginMeasurement() {
+        try {
+            scheduler.submit(() -> {
+                drain();
+                for (Route route : Route.values()) {
+                    RouteMetrics.RouteStats stats = metrics.get(route);
+                    stats.total.reset();
+                    stats.resetCounters();
+                }
+                measurementStartNanos = System.nanoTime();
+                measuring = true;
+            }).get();
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot start measurement", e);
+        }
+    }
+
+    /**
+     * Final drain; returns the measured wall time
+     *
+     * @return measured duration
+     */
+    Duration stop() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        drain();
+        logWriter.close();
+        return Duration.ofNanos(System.nanoTime() - measurementStartNanos);
+    }
+
+    private void drain() {
+        long requests = 0;
+        long worstP99 = 0;
+        for (Route route : Route.values()) {
+            RouteMetrics.RouteStats stats = metrics.get(route);
+            Histogram intervalHistogram = stats.recorder.getIntervalHistogram(stats.recycled);
+            if (intervalHistogram.getTotalCount() > 0) {
+                intervalHistogram.setTag(route.name());
+                logWriter.outputIntervalHistogram(intervalHistogram);
+                if (measuring) {
+                    stats.total.add(intervalHistogram);
+                }
+                requests += intervalHistogram.getTotalCount();
+                worstP99 = Math.max(worstP99, intervalHistogram.getValueAtPercentile(99));
+            }
+            stats.recycled = intervalHistogram;
+        }
+        if (requests > 0) {
+            System.out.printf("[loadtest] %s %8.1f req/s  worst route p99 %8.2f ms%n",
+                    measuring ? "measure" : "warmup ", requests / (double) interval.toSeconds(), worstP99 / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.loadtest;
+
+import java.nio.file.Files;
+import java.time.Duration;
+
+/**
+ * Entry point of the load test
+ * Samples the catalog, registers shopper accounts, drives the scenarios at the
+ * configured arrival rates and writes per-route latency percentiles.
+ *
+ * @author E-Commerce Team
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.usage());
+            System.exit(2);
+            return;
+        }
+        if (options == null) {
+            System.out.print(LoadTestOptions.usage());
+            return;
+        }
+        Files.createDirectories(options.getOutputDir());
+
+        try (AppProcess ignored = options.getBootJar() != null ? AppProcess.start(options) : null) {
+            run(options);
+        }
+    }
+
+    private static void run(LoadTestOptions options) throws Exception {
+        RouteMetrics metrics = new RouteMetrics();
+        ApiClient api = new ApiClient(options.getBaseUrl(), options.getTimeout(), metrics);
+
+        Catalog catalog = Catalog.discover(api, options.getCatalogPages());
+        System.out.printf("[loadtest] sampled %d products, %d categories, %d search keywords%n",
+                catalog.size(), catalog.categoryCount(), catalog.keywordCount());
+        Shoppers shoppers = Shoppers.register(api, options.getShoppers());
+        System.out.printf("[loadtest] registered %d shoppers%n", options.getShoppers());
+
+        Scenarios scenarios = new Scenarios(api, catalog, shoppers, options.getLogins());
+        LatencyReporter reporter = new LatencyReporter(metrics, options.getOutputDir().resolve("latency.hlog"),
+                options.getReportInterval());
+        ArrivalDriver driver = new ArrivalDriver(options, scenarios);
+
+        System.out.printf("[loadtest] %s arrivals for %ds after %ds warmup against %s%n",
+                options.getArrival().name().toLowerCase(), options.getDuration().toSeconds(),
+                options.getWarmup().toSeconds(), options.getBaseUrl());
+        reporter.start();
+        driver.run(reporter::beginMeasurement);
+        Duration measured = reporter.stop();
+
+        Report.write(metrics, driver, measured, options.getOutputDir());
+    }
+}
@@ -0,0 +1,204 @@
+package com.ecommerce.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line options of the load test
+ *
+ * @author E-Commerce Team
+ */
+final class LoadTestOptions {
+
+    enum Arrival { CONSTANT, POISSON }
+
+    private String baseUrl = "http://localhost:8080";
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration timeout = Duration.ofSeconds(10);
+    private Duration reportInterval = Duration.ofSeconds(5);
+    private final Map<Scenario, Double> rates = new EnumMap<>(Scenario.class);
+    private Arrival arrival = Arrival.POISSON;
+    private int shoppers = 50;
+    private int concurrency = 256;
+    private int catalogPages = 5;
+    private final List<Credentials> logins = new ArrayList<>();
+    private Path outputDir = Paths.get(System.getProperty("loadtest.output", "target/loadtest"));
+    private Path bootJar;
+    private int bootPort = 18080;
+    private final List<String> appArgs = new ArrayList<>();
+    private boolean baseUrlSet;
+
+    private LoadTestOptions() {
+        for (Scenario scenario : Scenario.values()) {
+            rates.put(scenario, scenario.getDefaultRate());
+        }
+    }
+
+    /**
+     * Parse command line arguments
+     *
+     * @param args arguments
+     * @return options, or null if usage was requested
+     */
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (name.equals("-help") || name.equals("-h")) {
+                return null;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "-base-url" -> {
+                    options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    options.baseUrlSet = true;
+                }
+                case "-duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "-warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "-timeout" -> options.timeout = Duration.ofSeconds(Long.parseLong(value));
+                case "-interval" -> options.reportInterval = Duration.ofSeconds(Long.parseLong(value));
+                case "-rate" -> options.parseRate(value);
+                case "-arrival" -> options.arrival = Arrival.valueOf(value.toUpperCase());
+                case "-shoppers" -> options.shoppers = Integer.parseInt(value);
+                case "-concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "-catalog-pages" -> options.catalogPages = Integer.parseInt(value);
+                case "-login" -> options.logins.add(Credentials.parse(value));
+                case "-output" -> options.outputDir = Paths.get(value);
+                case "-boot" -> options.bootJar = Paths.get(value);
+                case "-port" -> options.bootPort = Integer.parseInt(value);
+                case "-app-arg" -> options.appArgs.add(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        if (options.duration.isZero() || options.reportInterval.isZero() || options.concurrency < 1) {
+            throw new IllegalArgumentException("-duration, -interval and -concurrency must be positive");
+        }
+        if (options.bootJar != null && !options.baseUrlSet) {
+            options.baseUrl = "http://localhost:" + options.bootPort;
+        }
+        return options;
+    }
+
+    private void parseRate(String value) {
+        int eq = value.indexOf('=');
+        if (eq < 0) {
+            throw new IllegalArgumentException("Expected -rate SCENARIO=PER_SECOND, got " + value);
+        }
+        double rate = Double.parseDouble(value.substring(eq + 1));
+        if (rate < 0) {
+            throw new IllegalArgumentException("Rate must not be negative: " + value);
+        }
+        rates.put(Scenario.fromKey(value.substring(0, eq)), rate);
+    }
+
+    static String usage() {
+        StringBuilder usage = new StringBuilder()
+                .append("Usage: LoadTest [options]\n")
+                .append("  -base-url URL          target instance (default http://localhost:8080)\n")
+                .append("  -duration SECONDS      measured run time (default 60)\n")
+                .append("  -warmup SECONDS        load before measuring starts (default 10)\n")
+                .append("  -rate SCENARIO=N       arrivals per second for a scenario, 0 disables it (repeatable)\n")
+                .append("  -arrival MODE          poisson or constant inter-arrival times (default poisson)\n")
+                .append("  -shoppers N            shopper accounts registered for cart and checkout (default 50)\n")
+                .append("  -login USER:PASSWORD   active account used by the login scenario (repeatable)\n")
+                .append("  -concurrency N         maximum in-flight scenarios (default 256)\n")
+                .append("  -catalog-pages N       product pages of 100 sampled at startup (default 5)\n")
+                .append("  -timeout SECONDS       per-request timeout (default 10)\n")
+                .append("  -interval SECONDS      histogram log interval (default 5)\n")
+                .append("  -output DIR            report directory (default target/loadtest)\n")
+                .append("  -boot JAR              start the application jar and wait for /actuator/health\n")
+                .append("  -port PORT             server port for -boot (default 18080)\n")
+                .append("  -app-arg ARG           extra application argument for -boot (repeatable), e.g.\n")
+                .append("                         -app-arg --spring.profiles.active=prod\n")
+                .append("                         -app-arg --spring.datasource.url=jdbc:postgresql://localhost:5432/ecommerce\n")
+                .append("Scenarios:\n");
+        for (Scenario scenario : Scenario.values()) {
+            usage.append(String.format("  %-12s %5.1f/s  %s%n", scenario.getKey(), scenario.getDefaultRate(),
+                    scenario.getDescription()));
+        }
+        return usage.toString();
+    }
+
+    String getBaseUrl() {
+        return baseUrl;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getTimeout() {
+        return timeout;
+    }
+
+    Duration getReportInterval() {
+        return reportInterval;
+    }
+
+    double getRate(Scenario scenario) {
+        return rates.get(scenario);
+    }
+
+    Arrival getArrival() {
+        return arrival;
+    }
+
+    int getShoppers() {
+        return shoppers;
+    }
+
+    int getConcurrency() {
+        return concurrency;
+    }
+
+    int getCatalogPages() {
+        return catalogPages;
+    }
+
+    List<Credentials> getLogins() {
+        return logins;
+    }
+
+    Path getOutputDir() {
+        return outputDir;
+    }
+
+    Path getBootJar() {
+        return bootJar;
+    }
+
+    int getBootPort() {
+        return bootPort;
+    }
+
+    List<String> getAppArgs() {
+        return appArgs;
+    }
+
+    /**
+     * Username (or email) and password of an existing account
+     */
+    record Credentials(String usernameOrEmail, String password) {
+
+        static Credentials parse(String value) {
+            int colon = value.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Expected -login USER:PASSWORD, got " + value);
+            }
+            return new Credentials(value.substring(0, colon), value.substring(colon + 1));
+        }
+    }
+}
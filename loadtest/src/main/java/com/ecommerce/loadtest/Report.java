@@ -0,0 +1,79 @@
+package com.ecommerce.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * End-of-run report: console table, summary.csv and one .hgrm percentile file per route
+ * All latencies are reported in milliseconds.
+ *
+ * @author E-Commerce Team
+ */
+final class Report {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private Report() {
+    }
+
+    static void write(RouteMetrics metrics, ArrivalDriver driver, Duration measured, Path outputDir) throws IOException {
+        double seconds = Math.max(measured.toMillis() / 1000.0, 0.001);
+        Path summary = outputDir.resolve("summary.csv");
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(summary, StandardCharsets.UTF_8))) {
+            csv.println("route,method,path,requests,ok,client_errors,server_errors,failures,throughput_rps,"
+                    + "p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+
+            System.out.println();
+            System.out.printf("%-44s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                    "route", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Route route : Route.values()) {
+                RouteMetrics.RouteStats stats = metrics.get(route);
+                Histogram histogram = stats.total;
+                long requests = stats.requests();
+                if (requests == 0) {
+                    continue;
+                }
+                long errors = requests - stats.ok.sum();
+                double throughput = requests / seconds;
+
+                System.out.printf(Locale.ROOT, "%-44s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        route, requests, errors, throughput,
+                        millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                        millis(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MILLI);
+                csv.printf(Locale.ROOT, "%s,%s,%s,%d,%d,%d,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                        route.name(), route.getMethod(), route.getTemplate(), requests, stats.ok.sum(),
+                        stats.clientErrors.sum(), stats.serverErrors.sum(), stats.failures.sum(), throughput,
+                        millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                        millis(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MILLI);
+
+                try (PrintStream hgrm = new PrintStream(
+                        Files.newOutputStream(outputDir.resolve(route.name() + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                    histogram.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+                }
+            }
+        }
+
+        for (Scenario scenario : Scenario.values()) {
+            long dropped = driver.getDropped(scenario);
+            long errors = driver.getErrors(scenario);
+            if (dropped > 0 || errors > 0) {
+                System.out.printf("[loadtest] %s: %d arrivals dropped (backlog full), %d scenario errors%n",
+                        scenario.getKey(), dropped, errors);
+            }
+        }
+        System.out.println();
+        System.out.println("[loadtest] measured " + measured.toSeconds() + "s; reports written to " + outputDir.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.loadtest;
+
+/**
+ * API routes exercised by the load test; latency is reported per route
+ *
+ * @author E-Commerce Team
+ */
+enum Route {
+    PRODUCTS_LIST("GET", "/api/products"),
+    PRODUCTS_BY_CATEGORY("GET", "/api/products/category/{categoryId}"),
+    CATEGORIES_LIST("GET", "/api/categories"),
+    PRODUCTS_SEARCH("GET", "/api/products/search"),
+    PRODUCT_BY_SLUG("GET", "/api/products/slug/{slug}"),
+    CART_ADD_ITEM("POST", "/api/cart/items"),
+    ORDER_CREATE("POST", "/api/orders"),
+    AUTH_LOGIN("POST", "/api/auth/login");
+
+    private final String method;
+    private final String template;
+
+    Route(String method, String template) {
+        this.method = method;
+        this.template = template;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    String getTemplate() {
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + template;
+    }
+}
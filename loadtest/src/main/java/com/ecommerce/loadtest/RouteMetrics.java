@@ -0,0 +1,93 @@
+package com.ecommerce.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route latency recorders and response counters
+ * Latency is recorded in microseconds from the intended start of the request,
+ * so time spent queued behind a slow server counts (no coordinated omission).
+ *
+ * @author E-Commerce Team
+ */
+final class RouteMetrics {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+
+    RouteMetrics() {
+        for (Route route : Route.values()) {
+            stats.put(route, new RouteStats());
+        }
+    }
+
+    /**
+     * Record a completed HTTP exchange
+     *
+     * @param route route
+     * @param startNanos intended start ({@link System#nanoTime()})
+     * @param status HTTP status code
+     */
+    void record(Route route, long startNanos, int status) {
+        RouteStats routeStats = stats.get(route);
+        routeStats.recordLatency(startNanos);
+        if (status < 400) {
+            routeStats.ok.increment();
+        } else if (status < 500) {
+            routeStats.clientErrors.increment();
+        } else {
+            routeStats.serverErrors.increment();
+        }
+    }
+
+    /**
+     * Record an exchange that failed without a response (timeout, connection reset)
+     *
+     * @param route route
+     * @param startNanos intended start ({@link System#nanoTime()})
+     */
+    void recordFailure(Route route, long startNanos) {
+        RouteStats routeStats = stats.get(route);
+        routeStats.recordLatency(startNanos);
+        routeStats.failures.increment();
+    }
+
+    RouteStats get(Route route) {
+        return stats.get(route);
+    }
+
+    /**
+     * Recorder and counters of one route; totals are accumulated by {@link LatencyReporter}
+     */
+    static final class RouteStats {
+        final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder clientErrors = new LongAdder();
+        final LongAdder serverErrors = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        Histogram recycled;
+
+        private void recordLatency(long startNanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            recorder.recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+        }
+
+        long requests() {
+            return ok.sum() + clientErrors.sum() + serverErrors.sum() + failures.sum();
+        }
+
+        void resetCounters() {
+            ok.reset();
+            clientErrors.reset();
+            serverErrors.reset();
+            failures.reset();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Scripted shopper scenarios with their default arrival rates (per second)
+ *
+ * @author E-Commerce Team
+ */
+enum Scenario {
+    BROWSE("browse", 20, "list products, then categories or a category page"),
+    SEARCH("search", 10, "keyword search"),
+    VIEW("view", 20, "product detail by slug"),
+    ADD_TO_CART("add-to-cart", 5, "add a product to a shopper's cart"),
+    CHECKOUT("checkout", 1, "add 1-3 products to the cart and place an order"),
+    LOGIN("login", 1, "log in with one of the -login accounts");
+
+    private final String key;
+    private final double defaultRate;
+    private final String description;
+
+    Scenario(String key, double defaultRate, String description) {
+        this.key = key;
+        this.defaultRate = defaultRate;
+        this.description = description;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    double getDefaultRate() {
+        return defaultRate;
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    static Scenario fromKey(String key) {
+        String normalized = key.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(normalized)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + key);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.loadtest.LoadTestOptions.Credentials;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Request scripts of the shopper scenarios
+ * The first request of a scenario is timed from the scheduled arrival, later
+ * requests of the same scenario from the moment they are sent.
+ *
+ * @author E-Commerce Team
+ */
+final class Scenarios {
+
+    private final ApiClient api;
+    private final Catalog catalog;
+    private final Shoppers shoppers;
+    private final List<Credentials> logins;
+
+    Scenarios(ApiClient api, Catalog catalog, Shoppers shoppers, List<Credentials> logins) {
+        this.api = api;
+        this.catalog = catalog;
+        this.shoppers = shoppers;
+        this.logins = logins;
+    }
+
+    /**
+     * Whether a scenario can run with the accounts available
+     */
+    boolean isRunnable(Scenario scenario) {
+        return switch (scenario) {
+            case ADD_TO_CART, CHECKOUT -> !shoppers.isEmpty();
+            case LOGIN -> !logins.isEmpty();
+            default -> true;
+        };
+    }
+
+    void run(Scenario scenario, long arrivalNanos) {
+        switch (scenario) {
+            case BROWSE -> browse(arrivalNanos);
+            case SEARCH -> search(arrivalNanos);
+            case VIEW -> view(arrivalNanos);
+            case ADD_TO_CART -> addToCart(shoppers.random(), arrivalNanos);
+            case CHECKOUT -> checkout(arrivalNanos);
+            case LOGIN -> login(arrivalNanos);
+        }
+    }
+
+    private void browse(long arrivalNanos) {
+        api.get(Route.PRODUCTS_LIST, "/api/products?page=" + catalog.randomListingPage() + "&size=20",
+                null, arrivalNanos);
+        Long categoryId = catalog.randomCategoryId();
+        if (categoryId == null || ThreadLocalRandom.current().nextBoolean()) {
+            api.get(Route.CATEGORIES_LIST, "/api/categories", null, System.nanoTime());
+        } else {
+            api.get(Route.PRODUCTS_BY_CATEGORY, "/api/products/category/" + categoryId + "?page=0&size=20",
+                    null, System.nanoTime());
+        }
+    }
+
+    private void search(long arrivalNanos) {
+        String keyword = URLEncoder.encode(catalog.randomKeyword(), StandardCharsets.UTF_8);
+        api.get(Route.PRODUCTS_SEARCH, "/api/products/search?keyword=" + keyword + "&page=0&size=20",
+                null, arrivalNanos);
+    }
+
+    private void view(long arrivalNanos) {
+        api.get(Route.PRODUCT_BY_SLUG, "/api/products/slug/" + catalog.randomProduct().slug(), null, arrivalNanos);
+    }
+
+    private boolean addToCart(Shoppers.Shopper shopper, long startNanos) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("productId", catalog.randomPurchasableProduct().id());
+        item.put("quantity", 1);
+        return api.post(Route.CART_ADD_ITEM, "/api/cart/items", shopper.token(), item, startNanos).isSuccessful();
+    }
+
+    private void checkout(long arrivalNanos) {
+        Shoppers.Shopper shopper = shoppers.random();
+        int lines = ThreadLocalRandom.current().nextInt(1, 4);
+        boolean added = false;
+        long startNanos = arrivalNanos;
+        for (int i = 0; i < lines; i++) {
+            added |= addToCart(shopper, startNanos);
+            startNanos = System.nanoTime();
+        }
+        if (!added) {
+            return;
+        }
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("shippingAddressId", shopper.addressId());
+        order.put("billingAddressId", shopper.addressId());
+        order.put("paymentMethod", "CREDIT_CARD");
+        api.post(Route.ORDER_CREATE, "/api/orders", shopper.token(), order, System.nanoTime());
+    }
+
+    private void login(long arrivalNanos) {
+        Credentials credentials = logins.get(ThreadLocalRandom.current().nextInt(logins.size()));
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("usernameOrEmail", credentials.usernameOrEmail());
+        request.put("password", credentials.password());
+        api.post(Route.AUTH_LOGIN, "/api/auth/login", null, request, arrivalNanos);
+    }
+}
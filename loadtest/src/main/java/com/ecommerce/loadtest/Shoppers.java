@@ -0,0 +1,74 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shopper accounts registered for the run, each with its own cart and an address for checkout
+ *
+ * @author E-Commerce Team
+ */
+final class Shoppers {
+
+    private static final String PASSWORD = "LoadTest#2024";
+
+    private final List<Shopper> shoppers;
+
+    private Shoppers(List<Shopper> shoppers) {
+        this.shoppers = shoppers;
+    }
+
+    /**
+     * Register shoppers through the public API
+     *
+     * @param api API client
+     * @param count number of shoppers
+     * @return registered shoppers
+     */
+    static Shoppers register(ApiClient api, int count) {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<Shopper> shoppers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String username = "lt-" + runId + "-" + i;
+            Map<String, Object> registration = new LinkedHashMap<>();
+            registration.put("username", username);
+            registration.put("email", username + "@loadtest.example.com");
+            registration.put("password", PASSWORD);
+            registration.put("firstName", "Load");
+            registration.put("lastName", "Tester " + i);
+            String token = api.post(null, "/api/auth/register", null, registration, System.nanoTime())
+                    .orThrow("Registering " + username).data().path("token").asText();
+
+            Map<String, Object> address = new LinkedHashMap<>();
+            address.put("addressType", "BOTH");
+            address.put("fullName", "Load Tester " + i);
+            address.put("phoneNumber", "+15550100" + String.format("%03d", i % 1000));
+            address.put("streetAddress", (100 + i) + " Benchmark Avenue");
+            address.put("city", "Springfield");
+            address.put("state", "IL");
+            address.put("postalCode", "62701");
+            address.put("country", "US");
+            JsonNode created = api.post(null, "/api/users/me/addresses", token, address, System.nanoTime())
+                    .orThrow("Adding address for " + username).data();
+
+            shoppers.add(new Shopper(username, token, created.path("id").asLong()));
+        }
+        return new Shoppers(shoppers);
+    }
+
+    Shopper random() {
+        return shoppers.get(ThreadLocalRandom.current().nextInt(shoppers.size()));
+    }
+
+    boolean isEmpty() {
+        return shoppers.isEmpty();
+    }
+
+    record Shopper(String username, String token, long addressId) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.ecommerce.build;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Build-time static asset stage (run by exec-maven-plugin at process-classes)
+ * Lives in src/build/java and is launched from source with the project
+ * classpath, so it is never compiled into or packaged with the application.
+ * Copies css/js from the source static/ directory to static/assets/ in the build
+ * output with a content hash in the file name, rewrites references in the HTML
+ * pages, and writes .gz and .br variants next to each fingerprinted file.
+ * Brotli is produced only when a {@code brotli} executable is on the PATH;
+ * otherwise the stage logs and continues with gzip.
+ *
+ * @author E-Commerce Team
+ */
+public final class StaticAssetPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticAssetPipeline.class);
+
+    private static final String ASSETS_DIR = "assets";
+    private static final int HASH_LENGTH = 12;
+
+    private StaticAssetPipeline() {
+    }
+
+    /**
+     * Entry point
+     *
+     * @param args source static directory and output static directory
+     *             (default src/main/resources/static and target/classes/static)
+     */
+    public static void main(String[] args) throws Exception {
+        Path sourceDir = Paths.get(args.length > 0 ? args[0] : "src/main/resources/static");
+        Path outputDir = Paths.get(args.length > 1 ? args[1] : "target/classes/static");
+        if (!Files.isDirectory(sourceDir)) {
+            logger.info("{} not found, skipping", sourceDir);
+            return;
+        }
+        // Rebuilt from scratch so stale fingerprints never linger between builds
+        Path assetsDir = outputDir.resolve(ASSETS_DIR);
+        deleteRecursively(assetsDir);
+        Files.createDirectories(assetsDir);
+        boolean brotli = brotliAvailable();
+        if (!brotli) {
+            logger.info("brotli executable not found, writing gzip variants only");
+        }
+
+        // Original relative path (e.g. css/style.css) -> fingerprinted path (assets/style.1a2b3c4d5e6f.css)
+        Map<String, String> renamed = new LinkedHashMap<>();
+        for (Path asset : listAssets(sourceDir)) {
+            byte[] content = Files.readAllBytes(asset);
+            String fileName = asset.getFileName().toString();
+            int dot = fileName.lastIndexOf('.');
+            String fingerprinted = fileName.substring(0, dot) + "." + hash(content) + fileName.substring(dot);
+            Path target = assetsDir.resolve(fingerprinted);
+
+            Files.write(target, content);
+            writeGzip(content, target);
+            if (brotli) {
+                writeBrotli(target);
+            }
+            renamed.put(sourceDir.relativize(asset).toString().replace('\\', '/'), ASSETS_DIR + "/" + fingerprinted);
+        }
+
+        // Pages are always rewritten from the source copy; the output copy may already be rewritten
+        try (Stream<Path> pages = Files.list(sourceDir)) {
+            for (Path page : pages.filter(p -> p.toString().endsWith(".html")).toList()) {
+                String html = Files.readString(page, StandardCharsets.UTF_8);
+                for (Map.Entry<String, String> entry : renamed.entrySet()) {
+                    html = html
+                            .replace("\"" + entry.getKey() + "\"", "\"" + entry.getValue() + "\"")
+                            .replace("\"/" + entry.getKey() + "\"", "\"/" + entry.getValue() + "\"");
+                }
+                Files.writeString(outputDir.resolve(page.getFileName()), html, StandardCharsets.UTF_8);
+            }
+        }
+
+        renamed.forEach((from, to) -> logger.info("{} -> {}", from, to));
+    }
+
+    private static List<Path> listAssets(Path sourceDir) throws IOException {
+        List<Path> assets = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(sourceDir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(p -> p.toString().endsWith(".css") || p.toString().endsWith(".js"))
+                    .forEach(assets::add);
+        }
+        return assets;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static String hash(byte[] content) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+        return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+    }
+
+    private static void writeGzip(byte[] content, Path target) throws IOException {
+        Path gz = target.resolveSibling(target.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz)) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(content);
+        }
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            Process process = new ProcessBuilder("brotli", "--version").redirectErrorStream(true).start();
+            process.getInputStream().readAllBytes();
+            return process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void writeBrotli(Path target) throws IOException, InterruptedException {
+        Path br = target.resolveSibling(target.getFileName() + ".br");
+        Process process = new ProcessBuilder("brotli", "--best", "--force", "--output=" + br, target.toString())
+                .inheritIO()
+                .start();
+        if (process.waitFor() != 0) {
+            throw new IOException("brotli failed for " + target);
+        }
+    }
+}
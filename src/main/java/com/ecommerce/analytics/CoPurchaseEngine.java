@@ -0,0 +1,174 @@
+package com.ecommerce.analytics;
+
+import com.ecommerce.config.RecommendationProperties;
+import com.ecommerce.event.OrderPlacedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the {@link CoPurchaseIndex} from order history
+ * At startup the order lines placed so far are streamed once, grouped by
+ * order, on a background thread; orders placed afterwards are added as they
+ * commit. The highest order ID at the start of the bulk build separates the
+ * two, so no order is counted twice.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(RecommendationProperties.class)
+public class CoPurchaseEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoPurchaseEngine.class);
+
+    private static final String SELECT_LINES =
+            "SELECT order_id, product_id FROM order_items WHERE order_id <= ? AND deleted = false ORDER BY order_id";
+
+    private final CoPurchaseIndex index;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RecommendationProperties properties;
+
+    /**
+     * Orders up to this ID belong to the bulk build; none are taken live before it starts
+     */
+    private volatile long bulkThroughOrderId = Long.MAX_VALUE;
+
+    public CoPurchaseEngine(DataSource dataSource,
+                            PlatformTransactionManager transactionManager,
+                            RecommendationProperties properties) {
+        this.index = new CoPurchaseIndex(properties.getNeighbours(), properties.getMaxCounters());
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        // PostgreSQL only honours the fetch size inside a transaction (autocommit off)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties;
+    }
+
+    /**
+     * Ranked neighbours of a product
+     *
+     * @param productId product ID
+     * @return neighbours, most frequently bought together first
+     */
+    public CoPurchaseIndex.Neighbours neighbours(long productId) {
+        return index.neighbours(productId);
+    }
+
+    /**
+     * Products most often bought with any of the given ones
+     *
+     * @param productIds product IDs (excluded from the result)
+     * @param limit maximum number of products
+     * @return product IDs and scores, best first
+     */
+    public List<CoPurchaseIndex.Scored> recommend(Collection<Long> productIds, int limit) {
+        return index.recommend(productIds, limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        if (event.getOrderId() == null || event.getOrderId() <= bulkThroughOrderId) {
+            return;
+        }
+        add(event.getLines().stream()
+                .map(OrderPlacedEvent.Line::productId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .toArray());
+    }
+
+    /**
+     * Stream the order lines placed before startup into the index
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        try {
+            Long maxOrderId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM orders", Long.class);
+            long boundary = maxOrderId != null ? maxOrderId : 0;
+            // From here on live orders flow in; a line committed by an order
+            // with a lower ID that was still in flight may be missed, which is harmless
+            bulkThroughOrderId = boundary;
+            if (!properties.isBulkBuild() || boundary == 0) {
+                return;
+            }
+            BasketCollector collector = new BasketCollector();
+            readOnlyTransaction.executeWithoutResult(tx -> jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement ps = connection.prepareStatement(SELECT_LINES,
+                                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setLong(1, boundary);
+                        return ps;
+                    },
+                    collector));
+            collector.flush();
+            logger.info("Co-purchase index built from {} orders in {} ms ({} products)",
+                    collector.orders, System.currentTimeMillis() - start, index.size());
+        } catch (DataAccessException ex) {
+            if (bulkThroughOrderId == Long.MAX_VALUE) {
+                bulkThroughOrderId = 0;
+            }
+            logger.warn("Could not build the co-purchase index from order history", ex);
+        }
+    }
+
+    private void add(long[] productIds) {
+        if (productIds.length >= 2 && productIds.length <= properties.getMaxBasketSize()) {
+            index.addBasket(productIds);
+        }
+    }
+
+    /**
+     * Groups streamed lines, ordered by order ID, into baskets
+     */
+    private final class BasketCollector implements RowCallbackHandler {
+        private long currentOrderId = -1;
+        private long[] basket = new long[16];
+        private int size;
+        private long orders;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong(1);
+            if (orderId != currentOrderId) {
+                flush();
+                currentOrderId = orderId;
+            }
+            if (size == basket.length) {
+                basket = Arrays.copyOf(basket, size * 2);
+            }
+            basket[size++] = rs.getLong(2);
+        }
+
+        void flush() {
+            if (size > 0) {
+                orders++;
+                add(Arrays.copyOf(basket, size));
+                size = 0;
+            }
+        }
+    }
+}
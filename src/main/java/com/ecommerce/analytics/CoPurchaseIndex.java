@@ -0,0 +1,263 @@
+package com.ecommerce.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Item-to-item co-purchase index ("frequently bought together")
+ * Each product has a bounded map of how often other products were ordered
+ * with it, kept in a {@link LongIntMap}, and a ranked top-N neighbour list
+ * that each count increment moves at most one entry of. Readers only ever
+ * see an immutable published copy, so a lookup is one hash probe and no query.
+ * When a product's counters are full, a new pair decrements every counter
+ * instead (Misra-Gries): rare pairs fade out while any product bought with
+ * it in more than 1/{@code maxCounters} of its pairings is guaranteed to stay.
+ * Rows are keyed by product in a {@link LongObjectMap}: lookups take no lock,
+ * and baskets added concurrently only serialize to insert a product not seen
+ * before and on the rows they share.
+ *
+ * @author E-Commerce Team
+ */
+public final class CoPurchaseIndex {
+
+    private final int neighbours;
+    private final int maxCounters;
+    private final LongObjectMap<Row> rows = new LongObjectMap<>(1024);
+
+    /**
+     * @param neighbours ranked neighbours kept per product
+     * @param maxCounters co-purchase counters kept per product
+     */
+    public CoPurchaseIndex(int neighbours, int maxCounters) {
+        if (neighbours < 1 || maxCounters < neighbours) {
+            throw new IllegalArgumentException("Need at least one neighbour and as many counters as neighbours");
+        }
+        this.neighbours = neighbours;
+        this.maxCounters = maxCounters;
+    }
+
+    /**
+     * Count every pair of distinct products in one order
+     *
+     * @param products product IDs of the order lines (duplicates are ignored)
+     */
+    public void addBasket(long[] products) {
+        long[] basket = products.clone();
+        Arrays.sort(basket);
+        int size = 0;
+        for (int i = 0; i < basket.length; i++) {
+            if (basket[i] > 0 && (size == 0 || basket[size - 1] != basket[i])) {
+                basket[size++] = basket[i];
+            }
+        }
+        if (size < 2) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            row(basket[i]).add(basket, size, i);
+        }
+    }
+
+    /**
+     * Ranked neighbours of a product
+     *
+     * @param product product ID
+     * @return neighbours, most frequent first
+     */
+    public Neighbours neighbours(long product) {
+        Row row = rows.get(product);
+        return row != null ? row.top : Neighbours.EMPTY;
+    }
+
+    /**
+     * Products most often bought with any of the given ones, excluding them
+     * Scores are summed over the neighbour lists of the inputs.
+     *
+     * @param products product IDs (e.g. the cart contents)
+     * @param limit maximum number of products
+     * @return product IDs and summed counts, best first
+     */
+    public List<Scored> recommend(Collection<Long> products, int limit) {
+        LongIntMap scores = new LongIntMap(products.size() * neighbours);
+        for (Long product : products) {
+            Neighbours top = neighbours(product);
+            for (int i = 0; i < top.size(); i++) {
+                scores.addTo(top.item(i), top.count(i));
+            }
+        }
+        List<Scored> ranked = new ArrayList<>(scores.size());
+        for (int slot = 0; slot < scores.capacity(); slot++) {
+            long item = scores.keyAt(slot);
+            if (item != 0 && !products.contains(item)) {
+                ranked.add(new Scored(item, scores.valueAt(slot)));
+            }
+        }
+        ranked.sort(Comparator.comparingLong(Scored::score).reversed().thenComparingLong(Scored::item));
+        return ranked.size() > limit ? List.copyOf(ranked.subList(0, limit)) : ranked;
+    }
+
+    /**
+     * Number of products with at least one neighbour
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    public void clear() {
+        synchronized (rows) {
+            rows.clear();
+        }
+    }
+
+    private Row row(long product) {
+        Row row = rows.get(product);
+        if (row == null) {
+            // The map takes one writer at a time
+            synchronized (rows) {
+                row = rows.computeIfAbsent(product, id -> new Row());
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Co-purchase counters of one product, its working top list and the published copy
+     */
+    private final class Row {
+        private final LongIntMap counts = new LongIntMap(maxCounters);
+        private final long[] topItems = new long[neighbours];
+        private final int[] topCounts = new int[neighbours];
+        private int topSize;
+        private volatile Neighbours top = Neighbours.EMPTY;
+
+        synchronized void add(long[] basket, int size, int self) {
+            boolean changed = false;
+            boolean rescan = false;
+            for (int i = 0; i < size; i++) {
+                if (i == self) {
+                    continue;
+                }
+                long other = basket[i];
+                if (counts.size() >= maxCounters && counts.get(other) == 0) {
+                    // A uniform decrement keeps the order; only neighbours dropping to zero need a rescan
+                    counts.decrementAll(1);
+                    for (int j = 0; j < topSize; j++) {
+                        rescan |= --topCounts[j] == 0;
+                    }
+                    changed = true;
+                    continue;
+                }
+                changed |= promote(other, counts.addTo(other, 1));
+            }
+            if (rescan) {
+                rank();
+            }
+            if (changed) {
+                top = new Neighbours(Arrays.copyOf(topItems, topSize), Arrays.copyOf(topCounts, topSize));
+            }
+        }
+
+        /**
+         * Move an item whose count just went up by one to its place in the top list
+         *
+         * @return whether the top list changed
+         */
+        private boolean promote(long item, int count) {
+            int i = 0;
+            while (i < topSize && topItems[i] != item) {
+                i++;
+            }
+            if (i == topSize) {
+                if (topSize < neighbours) {
+                    topSize++;
+                } else if (ranksBefore(count, item, topCounts[i - 1], topItems[i - 1])) {
+                    // Everything outside the list ranks below its last entry, which this one displaces
+                    i--;
+                } else {
+                    return false;
+                }
+            }
+            while (i > 0 && ranksBefore(count, item, topCounts[i - 1], topItems[i - 1])) {
+                topItems[i] = topItems[i - 1];
+                topCounts[i] = topCounts[i - 1];
+                i--;
+            }
+            topItems[i] = item;
+            topCounts[i] = count;
+            return true;
+        }
+
+        /**
+         * Rebuild the top list from all counters
+         */
+        private void rank() {
+            topSize = 0;
+            for (int slot = 0; slot < counts.capacity(); slot++) {
+                long item = counts.keyAt(slot);
+                if (item == 0) {
+                    continue;
+                }
+                int count = counts.valueAt(slot);
+                if (topSize == neighbours && !ranksBefore(count, item, topCounts[topSize - 1], topItems[topSize - 1])) {
+                    continue;
+                }
+                // Insertion into a short sorted array
+                int i = topSize < neighbours ? topSize++ : topSize - 1;
+                while (i > 0 && ranksBefore(count, item, topCounts[i - 1], topItems[i - 1])) {
+                    topItems[i] = topItems[i - 1];
+                    topCounts[i] = topCounts[i - 1];
+                    i--;
+                }
+                topItems[i] = item;
+                topCounts[i] = count;
+            }
+        }
+
+        private boolean ranksBefore(int count, long item, int otherCount, long otherItem) {
+            return count > otherCount || (count == otherCount && item < otherItem);
+        }
+    }
+
+    /**
+     * Immutable ranked neighbour list of a product
+     */
+    public static final class Neighbours {
+
+        static final Neighbours EMPTY = new Neighbours(new long[0], new int[0]);
+
+        private final long[] items;
+        private final int[] counts;
+
+        private Neighbours(long[] items, int[] counts) {
+            this.items = items;
+            this.counts = counts;
+        }
+
+        public int size() {
+            return items.length;
+        }
+
+        public long item(int index) {
+            return items[index];
+        }
+
+        /**
+         * Orders containing both products (an underestimate once counters decay)
+         */
+        public int count(int index) {
+            return counts[index];
+        }
+    }
+
+    /**
+     * A recommended product and its summed co-purchase count
+     *
+     * @param item product ID
+     * @param score summed count
+     */
+    public record Scored(long item, long score) {
+    }
+}
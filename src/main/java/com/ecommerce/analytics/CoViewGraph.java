@@ -0,0 +1,366 @@
+package com.ecommerce.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Decayed co-view graph ("customers who viewed this also viewed")
+ * Each viewer has a small ring of recently viewed products; a new view is
+ * paired with every product still in the ring, both ways. Each product keeps
+ * a capped neighbour list in primitive arrays, where a new neighbour only
+ * displaces the weakest one if it beats it. Weights decay exponentially
+ * with age using forward decay: a co-view adds {@code e^((t - epoch) / tau)}
+ * so older weights never need touching, and all scores are rescaled once
+ * the factor grows large. Viewer rings and neighbour lists are held in
+ * primitive long-keyed maps, so neither costs a boxed key per entry; once
+ * the viewer limit is reached, the ring of a viewer not seen for a while
+ * is reused, picked by a clock sweep that approximates least recently used.
+ * <p>
+ * Updates and {@link #writeTo} must come from a single thread; lookups may
+ * run concurrently and only see immutable published neighbour lists.
+ *
+ * @author E-Commerce Team
+ */
+public final class CoViewGraph {
+
+    private static final int FORMAT = 1;
+
+    /**
+     * Rescale once the forward-decay exponent exceeds this
+     */
+    private static final double MAX_EXPONENT = 32;
+
+    /**
+     * Scores below this after a rescale are dropped
+     */
+    private static final double MIN_SCORE = 1e-3;
+
+    private static final long[] NONE = new long[0];
+
+    private final int recentViews;
+    private final long sessionGapMillis;
+    private final int neighbours;
+    private final double tauMillis;
+    private final ViewRings viewers;
+    private final LongObjectMap<Node> nodes = new LongObjectMap<>(1024);
+
+    private long epochMillis;
+
+    /**
+     * @param recentViews recent views remembered per viewer
+     * @param sessionGapMillis views further apart are not paired
+     * @param maxViewers viewers remembered
+     * @param neighbours neighbours kept per product
+     * @param halfLifeMillis half-life of a co-view
+     * @param nowMillis current time (the initial decay epoch)
+     */
+    public CoViewGraph(int recentViews, long sessionGapMillis, int maxViewers, int neighbours,
+                       double halfLifeMillis, long nowMillis) {
+        this.recentViews = recentViews;
+        this.sessionGapMillis = sessionGapMillis;
+        this.neighbours = neighbours;
+        this.tauMillis = halfLifeMillis / Math.log(2);
+        this.epochMillis = nowMillis;
+        this.viewers = new ViewRings(maxViewers);
+    }
+
+    /**
+     * Record that a viewer opened a product
+     *
+     * @param viewer viewer key
+     * @param product product ID
+     * @param nowMillis time of the view
+     */
+    public void record(long viewer, long product, long nowMillis) {
+        double exponent = (nowMillis - epochMillis) / tauMillis;
+        if (exponent > MAX_EXPONENT) {
+            rescale(nowMillis);
+            exponent = 0;
+        }
+        double weight = Math.exp(exponent);
+        int ring = viewers.ringOf(viewer);
+        int start = ring * recentViews;
+        int end = start + viewers.sizes[ring];
+        int seen = viewers.indexOf(ring, product);
+        if (seen >= 0) {
+            // Already paired with everything viewed before and since; just keep it fresh
+            viewers.times[seen] = nowMillis;
+            return;
+        }
+        Node viewed = null;
+        boolean changed = false;
+        for (int i = start; i < end; i++) {
+            long other = viewers.products[i];
+            if (other != product && nowMillis - viewers.times[i] <= sessionGapMillis) {
+                viewed = viewed != null ? viewed : node(product);
+                changed |= viewed.add(other, weight);
+                Node otherNode = node(other);
+                if (otherNode.add(product, weight)) {
+                    otherNode.publish();
+                }
+            }
+        }
+        if (changed) {
+            viewed.publish();
+        }
+        viewers.push(ring, product, nowMillis);
+    }
+
+    /**
+     * Strongest neighbours of a product
+     *
+     * @param product product ID
+     * @param limit maximum number of neighbours
+     * @return product IDs, most viewed together first
+     */
+    public long[] neighbours(long product, int limit) {
+        Node node = nodes.get(product);
+        if (node == null) {
+            return NONE;
+        }
+        long[] published = node.published;
+        return published.length > limit ? Arrays.copyOf(published, limit) : published.clone();
+    }
+
+    /**
+     * Number of products with at least one neighbour
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Write the neighbour lists (not the viewer rings)
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(FORMAT);
+        out.writeLong(epochMillis);
+        out.writeInt(nodes.size());
+        for (int slot = 0; slot < nodes.capacity(); slot++) {
+            long product = nodes.keyAt(slot);
+            if (product == 0) {
+                continue;
+            }
+            Node node = nodes.valueAt(slot);
+            out.writeLong(product);
+            out.writeInt(node.size);
+            for (int i = 0; i < node.size; i++) {
+                out.writeLong(node.items[i]);
+                out.writeDouble(node.scores[i]);
+            }
+        }
+    }
+
+    /**
+     * Replace the neighbour lists with ones written by {@link #writeTo}
+     * Lists longer than this graph keeps are cut to their strongest entries.
+     *
+     * @return false if the data is in an unknown format
+     */
+    public boolean readFrom(DataInput in, long nowMillis) throws IOException {
+        if (in.readInt() != FORMAT) {
+            return false;
+        }
+        long savedEpoch = in.readLong();
+        // Bring saved scores onto the current epoch
+        double factor = Math.exp((savedEpoch - nowMillis) / tauMillis);
+        nodes.clear();
+        int count = in.readInt();
+        for (int n = 0; n < count; n++) {
+            long product = in.readLong();
+            int size = in.readInt();
+            Node node = new Node();
+            for (int i = 0; i < size; i++) {
+                long item = in.readLong();
+                double score = in.readDouble() * factor;
+                if (score >= MIN_SCORE) {
+                    node.add(item, score);
+                }
+            }
+            if (node.size > 0) {
+                node.publish();
+                nodes.put(product, node);
+            }
+        }
+        epochMillis = nowMillis;
+        return true;
+    }
+
+    private Node node(long product) {
+        return nodes.computeIfAbsent(product, id -> new Node());
+    }
+
+    private void rescale(long nowMillis) {
+        double factor = Math.exp((epochMillis - nowMillis) / tauMillis);
+        nodes.removeIf(node -> !node.rescale(factor));
+        epochMillis = nowMillis;
+    }
+
+    /**
+     * Recently viewed products of each viewer, one fixed-size ring per viewer
+     * laid out back to back in shared arrays, oldest view overwritten first
+     */
+    private final class ViewRings {
+        private final int maxViewers;
+        private final LongIntMap ringByViewer;
+        private long[] viewerOf = NONE;
+        private long[] products = NONE;
+        private long[] times = NONE;
+        private int[] sizes = new int[0];
+        private int[] nexts = new int[0];
+        private boolean[] referenced = new boolean[0];
+        private int used;
+        private int hand;
+
+        ViewRings(int maxViewers) {
+            this.maxViewers = Math.max(maxViewers, 1);
+            int capacity = Math.min(this.maxViewers, 1024);
+            this.ringByViewer = new LongIntMap(capacity);
+            allocate(capacity);
+        }
+
+        /**
+         * Ring of a viewer, claiming one (and emptying it) for a viewer not remembered
+         */
+        int ringOf(long viewer) {
+            // The index only takes positive keys; folding the sign bit merely merges two viewers
+            long key = Math.max(viewer & Long.MAX_VALUE, 1);
+            int ring = ringByViewer.get(key) - 1;
+            if (ring >= 0) {
+                referenced[ring] = true;
+                return ring;
+            }
+            if (used < maxViewers) {
+                if (used == viewerOf.length) {
+                    allocate(Math.min(used * 2, maxViewers));
+                }
+                ring = used++;
+            } else {
+                ring = evict();
+                ringByViewer.remove(viewerOf[ring]);
+                sizes[ring] = 0;
+                nexts[ring] = 0;
+            }
+            viewerOf[ring] = key;
+            ringByViewer.addTo(key, ring + 1);
+            return ring;
+        }
+
+        /**
+         * @return array index of a product in a ring, or -1
+         */
+        int indexOf(int ring, long product) {
+            int start = ring * recentViews;
+            for (int i = start; i < start + sizes[ring]; i++) {
+                if (products[i] == product) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void push(int ring, long product, long nowMillis) {
+            int i = ring * recentViews + nexts[ring];
+            products[i] = product;
+            times[i] = nowMillis;
+            nexts[ring] = (nexts[ring] + 1) % recentViews;
+            sizes[ring] = Math.min(sizes[ring] + 1, recentViews);
+        }
+
+        /**
+         * Clock sweep: skip (and clear) rings viewed since the hand last passed them
+         */
+        private int evict() {
+            while (referenced[hand]) {
+                referenced[hand] = false;
+                hand = (hand + 1) % used;
+            }
+            int ring = hand;
+            hand = (hand + 1) % used;
+            return ring;
+        }
+
+        private void allocate(int capacity) {
+            viewerOf = Arrays.copyOf(viewerOf, capacity);
+            products = Arrays.copyOf(products, capacity * recentViews);
+            times = Arrays.copyOf(times, capacity * recentViews);
+            sizes = Arrays.copyOf(sizes, capacity);
+            nexts = Arrays.copyOf(nexts, capacity);
+            referenced = Arrays.copyOf(referenced, capacity);
+        }
+    }
+
+    /**
+     * Capped neighbour list of one product, with its published ranking
+     */
+    private final class Node {
+        private final long[] items = new long[neighbours];
+        private final double[] scores = new double[neighbours];
+        private int size;
+        private volatile long[] published = NONE;
+
+        /**
+         * Add weight to a neighbour; a new one displaces the weakest only if it is stronger
+         *
+         * @return whether the list changed (publish it afterwards)
+         */
+        boolean add(long item, double weight) {
+            int weakest = -1;
+            for (int i = 0; i < size; i++) {
+                if (items[i] == item) {
+                    scores[i] += weight;
+                    return true;
+                }
+                if (weakest < 0 || scores[i] < scores[weakest]) {
+                    weakest = i;
+                }
+            }
+            if (size < neighbours) {
+                items[size] = item;
+                scores[size++] = weight;
+            } else if (scores[weakest] < weight) {
+                items[weakest] = item;
+                scores[weakest] = weight;
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * @return whether any neighbour is left
+         */
+        boolean rescale(double factor) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                double score = scores[i] * factor;
+                if (score >= MIN_SCORE) {
+                    items[kept] = items[i];
+                    scores[kept++] = score;
+                }
+            }
+            size = kept;
+            publish();
+            return size > 0;
+        }
+
+        void publish() {
+            // Insertion sort by score; lists are a few dozen entries
+            long[] ranked = new long[size];
+            double[] rankedScores = new double[size];
+            for (int n = 0; n < size; n++) {
+                int i = n;
+                while (i > 0 && rankedScores[i - 1] < scores[n]) {
+                    ranked[i] = ranked[i - 1];
+                    rankedScores[i] = rankedScores[i - 1];
+                    i--;
+                }
+                ranked[i] = items[n];
+                rankedScores[i] = scores[n];
+            }
+            published = ranked;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.ecommerce.analytics;
+
+import com.ecommerce.config.RecommendationProperties;
+import com.ecommerce.event.ProductViewedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Feeds product views into the {@link CoViewGraph} off the request path
+ * Views are handed to a single worker thread through a bounded queue, so a
+ * page view only pays for an enqueue; when the queue is full views are
+ * dropped and counted rather than slowing requests down. The worker also
+ * writes the graph to a snapshot file periodically and on shutdown, which
+ * is read back at startup.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(RecommendationProperties.class)
+public class CoViewTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoViewTracker.class);
+
+    private final RecommendationProperties.CoView properties;
+    private final CoViewGraph graph;
+    private final ThreadPoolExecutor worker;
+    private final Counter droppedViews;
+    private final Path snapshotPath;
+
+    public CoViewTracker(RecommendationProperties properties, MeterRegistry registry) {
+        this.properties = properties.getCoView();
+        this.graph = new CoViewGraph(this.properties.getRecentViews(), this.properties.getSessionGapMs(),
+                this.properties.getMaxViewers(), this.properties.getNeighbours(),
+                this.properties.getHalfLifeHours() * TimeUnit.HOURS.toMillis(1), System.currentTimeMillis());
+        this.worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.properties.getQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "co-view-tracker");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.droppedViews = Counter.builder("recommendations.coview.dropped")
+                .description("Product views not tracked because the co-view queue was full")
+                .register(registry);
+        this.snapshotPath = Paths.get(this.properties.getSnapshotPath());
+    }
+
+    /**
+     * Products most often viewed in the same sessions as a product
+     *
+     * @param productId product ID
+     * @param limit maximum number of products
+     * @return product IDs, strongest first
+     */
+    public long[] alsoViewed(long productId, int limit) {
+        return graph.neighbours(productId, limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductViewed(ProductViewedEvent event) {
+        if (!properties.isEnabled() || event.getProductId() == null || event.getViewerKey() == null) {
+            return;
+        }
+        long viewer = hash(event.getViewerKey());
+        long product = event.getProductId();
+        long now = System.currentTimeMillis();
+        try {
+            worker.execute(() -> graph.record(viewer, product, now));
+        } catch (RejectedExecutionException ex) {
+            droppedViews.increment();
+        }
+    }
+
+    /**
+     * Load the graph saved by the previous run
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        if (!Files.isReadable(snapshotPath)) {
+            return;
+        }
+        submit(() -> {
+            try (DataInputStream in = new DataInputStream(new GZIPInputStream(
+                    new BufferedInputStream(Files.newInputStream(snapshotPath))))) {
+                if (graph.readFrom(in, System.currentTimeMillis())) {
+                    logger.info("Restored co-view graph of {} products from {}", graph.size(), snapshotPath);
+                } else {
+                    logger.info("Ignoring co-view snapshot in an unknown format: {}", snapshotPath);
+                }
+            } catch (IOException ex) {
+                logger.warn("Unreadable co-view snapshot ignored: {}", snapshotPath, ex);
+            }
+        });
+    }
+
+    /**
+     * Save the graph on the worker thread
+     */
+    @Scheduled(fixedDelayString = "${app.recommendations.co-view.snapshot-interval-ms:300000}",
+               initialDelayString = "${app.recommendations.co-view.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (properties.isEnabled()) {
+            submit(this::writeSnapshot);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        snapshot();
+        worker.shutdown();
+        if (!worker.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Co-view tracker did not drain in time; recent views are lost");
+        }
+    }
+
+    private void writeSnapshot() {
+        try {
+            Files.createDirectories(snapshotPath.toAbsolutePath().getParent());
+            Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp))))) {
+                graph.writeTo(out);
+            }
+            // Readers of the file never see a half-written snapshot
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            logger.warn("Could not save co-view snapshot to {}", snapshotPath, ex);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            worker.execute(task);
+        } catch (RejectedExecutionException ex) {
+            logger.warn("Co-view tracker busy or stopped; task skipped");
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a of the viewer key, so viewers are held as primitives
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,114 @@
+package com.ecommerce.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Count-min sketch over product IDs
+ * A fixed {@code depth x width} grid of counters: an estimate is never below
+ * the true count and exceeds it by a small fraction of the total with high
+ * probability. Sketches of the same shape can be added and subtracted, which
+ * is how sliding windows are maintained. Not thread-safe.
+ *
+ * @author E-Commerce Team
+ */
+public final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int depth;
+    private final int mask;
+    private final int[] counters;
+
+    /**
+     * Create an empty sketch
+     *
+     * @param depth number of hash rows (at most 8)
+     * @param width counters per row (a power of two)
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Depth must be 1-" + SEEDS.length + " and width a power of two");
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counters = new int[depth * width];
+    }
+
+    /**
+     * Add to the count of an item
+     *
+     * @param item product ID
+     * @param count amount to add
+     */
+    public void add(long item, int count) {
+        int width = mask + 1;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + slot(item, row);
+            // Saturate rather than wrap on absurd volumes
+            counters[index] = (int) Math.min((long) counters[index] + count, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Estimated count of an item (never an underestimate)
+     *
+     * @param item product ID
+     * @return estimate
+     */
+    public int estimate(long item) {
+        int width = mask + 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[row * width + slot(item, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * Add every counter of {@code other} (same shape) to this sketch
+     */
+    public void addAll(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = (int) Math.min((long) counters[i] + other.counters[i], Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Subtract every counter of {@code other} (previously added) from this sketch
+     */
+    public void subtractAll(CountMinSketch other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = Math.max(counters[i] - other.counters[i], 0);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(counters, 0);
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        for (int counter : counters) {
+            out.writeInt(counter);
+        }
+    }
+
+    void readFrom(DataInput in) throws IOException {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = in.readInt();
+        }
+    }
+
+    private int slot(long item, int row) {
+        long h = (item + 1) * SEEDS[row];
+        h ^= h >>> 31;
+        h *= 0x7FB5D329728EA185L;
+        h ^= h >>> 27;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,177 @@
+package com.ecommerce.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from positive long keys to int values
+ * Keys and values live in two parallel primitive arrays probed linearly, so
+ * an entry costs 12 bytes rather than two boxed objects and a map node.
+ * Key 0 marks a free slot and cannot be stored. Not thread-safe.
+ *
+ * @author E-Commerce Team
+ */
+public final class LongIntMap {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * @param expectedSize number of entries to hold without resizing
+     */
+    public LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Value of a key
+     *
+     * @param key key (positive)
+     * @return value, or 0 if absent
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Add to the value of a key, inserting it if absent
+     *
+     * @param key key (positive)
+     * @param delta amount to add
+     * @return new value
+     */
+    public int addTo(long key, int delta) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Key must be positive");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                values[slot] += delta;
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    /**
+     * Remove a key
+     *
+     * @param key key (positive)
+     * @return its value, or 0 if absent
+     */
+    public int remove(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                int value = values[slot];
+                // Shift later entries of the probe run back, so lookups still reach them
+                int free = slot;
+                for (int next = (free + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+                    int home = slot(keys[next], mask);
+                    if (((next - home) & mask) >= ((next - free) & mask)) {
+                        keys[free] = keys[next];
+                        values[free] = values[next];
+                        free = next;
+                    }
+                }
+                keys[free] = 0;
+                values[free] = 0;
+                size--;
+                return value;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Subtract from every value and drop the entries that reach zero or less
+     *
+     * @param amount amount to subtract
+     */
+    public void decrementAll(int amount) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                values[i] -= amount;
+            }
+        }
+        rehash(keys.length);
+    }
+
+    /**
+     * Number of slots; iterate with {@link #keyAt} and {@link #valueAt}
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Key stored in a slot
+     *
+     * @param slot slot index
+     * @return key, or 0 if the slot is free
+     */
+    public long keyAt(int slot) {
+        return keys[slot];
+    }
+
+    public int valueAt(int slot) {
+        return values[slot];
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    /**
+     * Move live entries (positive values) into tables of the given capacity
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        size = 0;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && oldValues[i] > 0) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        // Sequential IDs would cluster under linear probing; mix the bits first
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
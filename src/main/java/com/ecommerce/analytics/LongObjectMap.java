@@ -0,0 +1,196 @@
+package com.ecommerce.analytics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * Open-addressing hash map from positive long keys to objects, for one
+ * writer and any number of readers
+ * Keys and values live in two parallel arrays probed linearly, so an entry
+ * costs a long and a reference rather than a boxed key and a map node. The
+ * writer stores a value before releasing its key and readers acquire the
+ * key before reading the value, so a reader that finds a key sees the value
+ * stored with it. Growing and removing build a new table that replaces the
+ * old one whole; a reader still probing the old table may miss entries
+ * added meanwhile. Key 0 marks a free slot and cannot be stored.
+ *
+ * @param <V> value type
+ * @author E-Commerce Team
+ */
+public final class LongObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private volatile Table table;
+    private volatile int size;
+
+    /**
+     * @param expectedSize number of entries to hold without resizing
+     */
+    public LongObjectMap(int expectedSize) {
+        this.table = new Table(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Value of a key; safe from any thread
+     *
+     * @param key key (positive)
+     * @return value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        Table current = table;
+        int mask = current.keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long stored = (long) KEYS.getAcquire(current.keys, slot);
+            if (stored == 0) {
+                return null;
+            }
+            if (stored == key) {
+                return (V) VALUES.getAcquire(current.values, slot);
+            }
+        }
+    }
+
+    /**
+     * Value of a key, created and inserted if absent; writer only
+     *
+     * @param key key (positive)
+     * @param factory creates the value of a missing key
+     * @return existing or new value
+     */
+    public V computeIfAbsent(long key, LongFunction<V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Insert or replace the value of a key; writer only
+     *
+     * @param key key (positive)
+     * @param value value (not null)
+     */
+    public void put(long key, V value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Key must be positive");
+        }
+        Table current = table;
+        int mask = current.keys.length - 1;
+        int slot = slot(key, mask);
+        while (current.keys[slot] != 0) {
+            if (current.keys[slot] == key) {
+                VALUES.setRelease(current.values, slot, value);
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        VALUES.setRelease(current.values, slot, value);
+        KEYS.setRelease(current.keys, slot, key);
+        size++;
+        if (size * 2 > current.keys.length) {
+            table = copy(current, current.keys.length << 1, null);
+        }
+    }
+
+    /**
+     * Remove the entries whose value matches; writer only
+     *
+     * @param filter entries to remove
+     */
+    public void removeIf(Predicate<? super V> filter) {
+        table = copy(table, table.keys.length, filter);
+    }
+
+    /**
+     * Remove every entry; writer only
+     */
+    public void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Number of slots; iterate with {@link #keyAt} and {@link #valueAt} (writer only)
+     */
+    public int capacity() {
+        return table.keys.length;
+    }
+
+    /**
+     * Key stored in a slot
+     *
+     * @param slot slot index
+     * @return key, or 0 if the slot is free
+     */
+    public long keyAt(int slot) {
+        return table.keys[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int slot) {
+        return (V) table.values[slot];
+    }
+
+    /**
+     * Copy the entries not matching the filter into a new table of the given capacity
+     */
+    @SuppressWarnings("unchecked")
+    private Table copy(Table from, int capacity, Predicate<? super V> filter) {
+        int kept = 0;
+        for (int i = 0; i < from.keys.length; i++) {
+            if (from.keys[i] != 0 && (filter == null || !filter.test((V) from.values[i]))) {
+                kept++;
+            }
+        }
+        Table to = new Table(Math.max(capacity, capacityFor(kept)));
+        int mask = to.keys.length - 1;
+        for (int i = 0; i < from.keys.length; i++) {
+            if (from.keys[i] != 0 && (filter == null || !filter.test((V) from.values[i]))) {
+                int slot = slot(from.keys[i], mask);
+                while (to.keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                to.keys[slot] = from.keys[i];
+                to.values[slot] = from.values[i];
+            }
+        }
+        size = kept;
+        return to;
+    }
+
+    private static int capacityFor(int entries) {
+        return Integer.highestOneBit(Math.max(MIN_CAPACITY, entries * 2 - 1)) << 1;
+    }
+
+    private static int slot(long key, int mask) {
+        // Sequential IDs would cluster under linear probing; mix the bits first
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Slot arrays, replaced whole when the map grows or shrinks
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final Object[] values;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+}
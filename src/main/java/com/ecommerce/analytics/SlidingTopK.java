@@ -0,0 +1,203 @@
+package com.ecommerce.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate top-K items over a sliding time window
+ * Counts go into a ring of per-slice count-min sketches plus a running sum of
+ * the live slices, so an estimate for the whole window is one sketch lookup
+ * and expiring a slice is one subtraction. The top-K are tracked as a small
+ * candidate set: an item enters once its estimate beats the weakest
+ * candidate, and candidates are re-scored whenever a slice expires.
+ *
+ * @author E-Commerce Team
+ */
+public final class SlidingTopK {
+
+    private static final int FORMAT = 1;
+
+    private final TrendWindow window;
+    private final int depth;
+    private final int width;
+    private final int capacity;
+    private final CountMinSketch[] ring;
+    private final long[] ringSlice;
+    private final CountMinSketch total;
+    private final Map<Long, Integer> candidates;
+
+    private long currentSlice = -1;
+    private int threshold;
+
+    SlidingTopK(TrendWindow window, int depth, int width, int capacity) {
+        this.window = window;
+        this.depth = depth;
+        this.width = width;
+        this.capacity = capacity;
+        this.ring = new CountMinSketch[window.getSlices()];
+        this.ringSlice = new long[window.getSlices()];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new CountMinSketch(depth, width);
+        }
+        Arrays.fill(ringSlice, -1);
+        this.total = new CountMinSketch(depth, width);
+        this.candidates = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Count {@code weight} occurrences of an item at {@code nowMillis}
+     */
+    synchronized void record(long item, int weight, long nowMillis) {
+        advance(nowMillis);
+        ring[slot(currentSlice)].add(item, weight);
+        total.add(item, weight);
+        offer(item, total.estimate(item));
+    }
+
+    /**
+     * Highest-scoring items in the window, best first
+     *
+     * @param limit maximum number of items
+     * @param nowMillis current time
+     * @return item IDs and scores
+     */
+    synchronized List<Ranked> top(int limit, long nowMillis) {
+        advance(nowMillis);
+        List<Ranked> ranked = new ArrayList<>(candidates.size());
+        candidates.forEach((item, score) -> ranked.add(new Ranked(item, score)));
+        ranked.sort(Comparator.comparingLong(Ranked::score).reversed().thenComparingLong(Ranked::item));
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeInt(FORMAT);
+        out.writeInt(depth);
+        out.writeInt(width);
+        out.writeInt(ring.length);
+        out.writeLong(currentSlice);
+        for (int i = 0; i < ring.length; i++) {
+            out.writeLong(ringSlice[i]);
+            if (ringSlice[i] >= 0) {
+                ring[i].writeTo(out);
+            }
+        }
+        out.writeInt(candidates.size());
+        for (Long item : candidates.keySet()) {
+            out.writeLong(item);
+        }
+    }
+
+    /**
+     * Restore state written by {@link #writeTo}; slices that have expired
+     * since are dropped on the next read or write
+     *
+     * @return false if the data was written with a different shape and was ignored
+     */
+    synchronized boolean readFrom(DataInput in) throws IOException {
+        if (in.readInt() != FORMAT || in.readInt() != depth || in.readInt() != width || in.readInt() != ring.length) {
+            return false;
+        }
+        currentSlice = in.readLong();
+        total.clear();
+        for (int i = 0; i < ring.length; i++) {
+            ringSlice[i] = in.readLong();
+            ring[i].clear();
+            if (ringSlice[i] >= 0) {
+                ring[i].readFrom(in);
+                total.addAll(ring[i]);
+            }
+        }
+        candidates.clear();
+        for (int i = in.readInt(); i > 0; i--) {
+            candidates.put(in.readLong(), 0);
+        }
+        rescore();
+        return true;
+    }
+
+    /**
+     * Move to the slice containing {@code nowMillis}, expiring slices that left the window
+     */
+    private void advance(long nowMillis) {
+        long slice = nowMillis / window.getSliceMillis();
+        if (slice <= currentSlice) {
+            // Same slice, or the clock stepped back: keep counting into the current one
+            return;
+        }
+        long oldestLive = slice - ring.length + 1;
+        boolean expired = false;
+        for (int i = 0; i < ring.length; i++) {
+            if (ringSlice[i] >= 0 && ringSlice[i] < oldestLive) {
+                total.subtractAll(ring[i]);
+                ring[i].clear();
+                ringSlice[i] = -1;
+                expired = true;
+            }
+        }
+        ringSlice[slot(slice)] = slice;
+        currentSlice = slice;
+        if (expired) {
+            rescore();
+        }
+    }
+
+    private void offer(long item, int estimate) {
+        if (candidates.containsKey(item) || candidates.size() < capacity) {
+            candidates.put(item, estimate);
+            return;
+        }
+        if (estimate <= threshold) {
+            return;
+        }
+        // Re-estimate while looking for the weakest candidate; stored scores may be stale
+        Long weakest = null;
+        int weakestScore = Integer.MAX_VALUE;
+        for (Map.Entry<Long, Integer> candidate : candidates.entrySet()) {
+            int score = total.estimate(candidate.getKey());
+            candidate.setValue(score);
+            if (score < weakestScore) {
+                weakestScore = score;
+                weakest = candidate.getKey();
+            }
+        }
+        if (estimate > weakestScore) {
+            candidates.remove(weakest);
+            candidates.put(item, estimate);
+        }
+        updateThreshold();
+    }
+
+    private void rescore() {
+        candidates.replaceAll((item, score) -> total.estimate(item));
+        candidates.values().removeIf(score -> score == 0);
+        updateThreshold();
+    }
+
+    private void updateThreshold() {
+        int min = Integer.MAX_VALUE;
+        for (int score : candidates.values()) {
+            min = Math.min(min, score);
+        }
+        threshold = candidates.size() < capacity ? 0 : min;
+    }
+
+    private int slot(long slice) {
+        return (int) (slice % ring.length);
+    }
+
+    /**
+     * An item and its estimated weighted count
+     *
+     * @param item product ID
+     * @param score estimated count in the window
+     */
+    public record Ranked(long item, long score) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.analytics;
+
+import com.ecommerce.exception.BadRequestException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trending windows and how each is sliced
+ * A window slides by one slice at a time: counts older than
+ * {@code slices x sliceMillis} drop out a slice at a time.
+ *
+ * @author E-Commerce Team
+ */
+public enum TrendWindow {
+    /**
+     * Last hour, in 5-minute slices
+     */
+    HOUR("1h", TimeUnit.MINUTES.toMillis(5), 12),
+
+    /**
+     * Last 24 hours, in 1-hour slices
+     */
+    DAY("24h", TimeUnit.HOURS.toMillis(1), 24),
+
+    /**
+     * Last 7 days, in 6-hour slices
+     */
+    WEEK("7d", TimeUnit.HOURS.toMillis(6), 28);
+
+    private final String key;
+    private final long sliceMillis;
+    private final int slices;
+
+    TrendWindow(String key, long sliceMillis, int slices) {
+        this.key = key;
+        this.sliceMillis = sliceMillis;
+        this.slices = slices;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSliceMillis() {
+        return sliceMillis;
+    }
+
+    public int getSlices() {
+        return slices;
+    }
+
+    /**
+     * Parse a window key such as {@code 24h}
+     *
+     * @param key window key
+     * @return window
+     * @throws BadRequestException if the key is unknown
+     */
+    public static TrendWindow fromKey(String key) {
+        for (TrendWindow window : values()) {
+            if (window.key.equalsIgnoreCase(key)) {
+                return window;
+            }
+        }
+        throw new BadRequestException("Unknown trending window: " + key + " (use 1h, 24h or 7d)");
+    }
+}
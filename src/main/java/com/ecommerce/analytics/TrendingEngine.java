@@ -0,0 +1,144 @@
+package com.ecommerce.analytics;
+
+import com.ecommerce.config.TrendingProperties;
+import com.ecommerce.event.OrderPlacedEvent;
+import com.ecommerce.event.ProductViewedEvent;
+import com.ecommerce.model.TrendingSnapshot;
+import com.ecommerce.repository.TrendingSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming trending-products engine
+ * Committed orders and product views are folded into one sliding top-K per
+ * window (last hour, day and week) as they happen, so ranking never touches
+ * the database. Windows are snapshotted to the database periodically and on
+ * shutdown, and restored at startup.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(TrendingProperties.class)
+public class TrendingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingEngine.class);
+
+    private final TrendingSnapshotRepository snapshotRepository;
+    private final TrendingProperties properties;
+    private final Map<TrendWindow, SlidingTopK> windows = new EnumMap<>(TrendWindow.class);
+
+    public TrendingEngine(TrendingSnapshotRepository snapshotRepository, TrendingProperties properties) {
+        this.snapshotRepository = snapshotRepository;
+        this.properties = properties;
+        for (TrendWindow window : TrendWindow.values()) {
+            windows.put(window, new SlidingTopK(window, properties.getSketchDepth(),
+                    properties.getSketchWidth(), properties.getCandidates()));
+        }
+    }
+
+    /**
+     * Highest-scoring products of a window
+     *
+     * @param window trending window
+     * @param limit maximum number of products
+     * @return product IDs and scores, best first
+     */
+    public List<SlidingTopK.Ranked> top(TrendWindow window, int limit) {
+        return windows.get(window).top(limit, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        long now = System.currentTimeMillis();
+        for (OrderPlacedEvent.Line line : event.getLines()) {
+            record(line.productId(), line.quantity() * properties.getPurchaseWeight(), now);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductViewed(ProductViewedEvent event) {
+        record(event.getProductId(), properties.getViewWeight(), System.currentTimeMillis());
+    }
+
+    /**
+     * Restore the windows saved by the previous run
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        for (Map.Entry<TrendWindow, SlidingTopK> entry : windows.entrySet()) {
+            try {
+                snapshotRepository.findByWindowKey(entry.getKey().getKey()).ifPresent(snapshot -> {
+                    try (DataInputStream in = new DataInputStream(
+                            new GZIPInputStream(new ByteArrayInputStream(snapshot.getPayload())))) {
+                        if (!entry.getValue().readFrom(in)) {
+                            logger.info("Ignoring {} trending snapshot with a different sketch shape", entry.getKey().getKey());
+                        }
+                    } catch (IOException ex) {
+                        logger.warn("Unreadable {} trending snapshot ignored", entry.getKey().getKey(), ex);
+                    }
+                });
+            } catch (DataAccessException ex) {
+                logger.warn("Could not load {} trending snapshot", entry.getKey().getKey(), ex);
+            }
+        }
+    }
+
+    /**
+     * Save every window
+     */
+    @Scheduled(fixedDelayString = "${app.trending.persist-interval-ms:60000}",
+               initialDelayString = "${app.trending.persist-interval-ms:60000}")
+    public void persist() {
+        for (Map.Entry<TrendWindow, SlidingTopK> entry : windows.entrySet()) {
+            String key = entry.getKey().getKey();
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+                    entry.getValue().writeTo(out);
+                }
+                TrendingSnapshot snapshot = snapshotRepository.findByWindowKey(key)
+                        .orElseGet(() -> TrendingSnapshot.builder().windowKey(key).build());
+                snapshot.setPayload(bytes.toByteArray());
+                snapshot.setSavedAt(LocalDateTime.now());
+                snapshotRepository.save(snapshot);
+            } catch (IOException | DataAccessException ex) {
+                logger.warn("Could not save {} trending snapshot", key, ex);
+            }
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void persistOnShutdown() {
+        persist();
+    }
+
+    private void record(Long productId, int weight, long now) {
+        if (productId == null || weight <= 0) {
+            return;
+        }
+        for (SlidingTopK window : windows.values()) {
+            window.record(productId, weight, now);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.ecommerce.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-replica routing configuration
+ * Routes @Transactional(readOnly = true) work to replica pools when
+ * app.datasource.routing.enabled is set; otherwise Spring Boot's single
+ * auto-configured data source is used unchanged.
+ *
+ * @author E-Commerce Team
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+@RequiredArgsConstructor
+public class DataSourceRoutingConfig {
+
+    private final DataSourceRoutingProperties routingProperties;
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        int index = 0;
+        for (DataSourceRoutingProperties.Replica replica : routingProperties.getReplicas()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + index++);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setDriverClassName(replica.getDriverClassName() != null
+                    ? replica.getDriverClassName()
+                    : dataSourceProperties.determineDriverClassName());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setConnectionTimeout(replica.getConnectionTimeoutMs());
+            pool.setReadOnly(true);
+            replicas.add(pool);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, routingProperties.getSelection());
+    }
+
+    /**
+     * Lazy proxy so the routing decision is made after the transaction
+     * definition (including the read-only flag) has been bound to the thread
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthMonitor(replicaRoutingDataSource, routingProperties.getHealthCheckTimeoutSeconds());
+    }
+
+    @Bean
+    public PrimaryPinningFilter primaryPinningFilter() {
+        return new PrimaryPinningFilter(routingProperties.getPrimaryPinnedPaths());
+    }
+
+    /**
+     * Periodically validates replicas; failed replicas are skipped until they recover
+     */
+    public static class ReplicaHealthMonitor {
+
+        private final ReplicaRoutingDataSource routingDataSource;
+        private final int timeoutSeconds;
+
+        public ReplicaHealthMonitor(ReplicaRoutingDataSource routingDataSource, int timeoutSeconds) {
+            this.routingDataSource = routingDataSource;
+            this.timeoutSeconds = timeoutSeconds;
+        }
+
+        @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval-ms:10000}")
+        public void checkReplicas() {
+            routingDataSource.checkReplicaHealth(timeoutSeconds);
+        }
+    }
+
+    /**
+     * Pins read-your-writes requests (cart, checkout) to the primary so that a
+     * read following a write never observes replication lag
+     */
+    public static class PrimaryPinningFilter extends OncePerRequestFilter {
+
+        private final AntPathMatcher pathMatcher = new AntPathMatcher();
+        private final List<String> pinnedPaths;
+
+        public PrimaryPinningFilter(List<String> pinnedPaths) {
+            this.pinnedPaths = List.copyOf(pinnedPaths);
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            if (!isPinned(request.getRequestURI())) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            boolean previous = ReplicaRoutingDataSource.pinToPrimary();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                ReplicaRoutingDataSource.restorePinning(previous);
+            }
+        }
+
+        private boolean isPinned(String path) {
+            for (String pattern : pinnedPaths) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
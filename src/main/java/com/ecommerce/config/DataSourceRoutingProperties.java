@@ -0,0 +1,69 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for read-replica routing
+ * Bound from the app.datasource.routing namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Whether read-only transactions are routed to replicas
+     */
+    private boolean enabled = false;
+
+    /**
+     * How a replica is picked for each read-only transaction
+     */
+    private SelectionStrategy selection = SelectionStrategy.ROUND_ROBIN;
+
+    /**
+     * Interval between replica health checks in milliseconds
+     */
+    private long healthCheckIntervalMs = 10000;
+
+    /**
+     * Timeout for a single replica validation query in seconds
+     */
+    private int healthCheckTimeoutSeconds = 2;
+
+    /**
+     * Request paths that must always read from the primary (read-your-writes)
+     */
+    private List<String> primaryPinnedPaths = new ArrayList<>(List.of("/api/cart/**", "/api/orders/**"));
+
+    /**
+     * Replica connection pools
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Replica pool settings
+     */
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+        private long connectionTimeoutMs = 2000;
+    }
+
+    /**
+     * Replica selection strategies
+     */
+    public enum SelectionStrategy {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+}
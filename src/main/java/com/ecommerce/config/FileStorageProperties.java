@@ -0,0 +1,60 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for uploaded files and the images served from them
+ * Bound from the app.file namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.file")
+public class FileStorageProperties {
+
+    /**
+     * Directory holding uploaded files; served read-only under /images/**
+     */
+    private String uploadDir = "./uploads";
+
+    /**
+     * Largest accepted upload in bytes
+     */
+    private long maxSize = 5242880;
+
+    /**
+     * Max-age of served images in days; images are also marked immutable,
+     * so a file must never be replaced under the same name
+     */
+    private int cacheMaxAgeDays = 365;
+
+    /**
+     * Resized variants
+     */
+    private Thumbnails thumbnails = new Thumbnails();
+
+    /**
+     * Settings of the resized-variant cache
+     */
+    @Data
+    public static class Thumbnails {
+        /** Directory holding generated variants */
+        private String cacheDir = System.getProperty("java.io.tmpdir") + "/ecommerce/thumbnails";
+        /** Total size of the variant directory in bytes; least recently served variants are deleted beyond it */
+        private long maxCacheBytes = 536870912;
+        /** Widths generated; a requested width is rounded up to the next one, larger ones get the original */
+        private List<Integer> widths = new ArrayList<>(List.of(160, 320, 640, 1024));
+        /** Variants generated at the same time at most, and threads pregenerating uploads; each holds a decoded image in memory */
+        private int maxConcurrent = 2;
+        /** Uploaded images waiting for pregeneration at most; beyond it variants are made on first request */
+        private int queueCapacity = 200;
+        /** Sources with more pixels than this are served unresized rather than decoded */
+        private long maxSourcePixels = 40000000;
+        /** How long a request waits for a variant being generated, in milliseconds */
+        private long waitTimeoutMs = 10000;
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for Idempotency-Key handling
+ * Bound from the app.idempotency namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Whether the Idempotency-Key header is honored
+     */
+    private boolean enabled = true;
+
+    /**
+     * Request paths whose mutations accept an Idempotency-Key
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/orders/**", "/api/cart/**"));
+
+    /**
+     * HTTP methods that accept an Idempotency-Key
+     */
+    private List<String> methods = new ArrayList<>(List.of("POST", "PUT"));
+
+    /**
+     * How long a recorded response is replayed, in milliseconds
+     */
+    private long ttlMs = 86400000;
+
+    /**
+     * How long a duplicate waits for the in-flight original, and how long an
+     * unfinished claim blocks the key, in milliseconds
+     */
+    private long inFlightTimeoutMs = 30000;
+
+    /**
+     * Recorded responses kept in memory; older ones are served from the database
+     */
+    private int maxEntries = 10000;
+
+    /**
+     * Interval between purges of expired records in milliseconds
+     */
+    private long purgeIntervalMs = 600000;
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.config;
+
+import com.ecommerce.inventory.AllocationStrategy;
+import com.ecommerce.model.enums.UserRole;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for inventory monitoring
+ * Bound from the app.inventory namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.inventory")
+public class InventoryProperties {
+
+    /**
+     * Low-stock alerts
+     */
+    private LowStock lowStock = new LowStock();
+
+    /**
+     * Choice of warehouses at checkout
+     */
+    private Allocation allocation = new Allocation();
+
+    /**
+     * Settings of low-stock alerting
+     */
+    @Data
+    public static class LowStock {
+        /** Whether products dropping to their low-stock threshold or running out are mailed to the recipients */
+        private boolean enabled = true;
+        /** Interval between alert mails in milliseconds; a product that recovers within it is not reported */
+        private long alertIntervalMs = 300000;
+        /** Hours before a product is reported again at the same level */
+        private int realertHours = 24;
+        /** Roles of the active users who receive the alerts */
+        private List<UserRole> recipientRoles = new ArrayList<>(List.of(UserRole.ADMIN, UserRole.SELLER));
+    }
+
+    /**
+     * Settings of warehouse allocation
+     */
+    @Data
+    public static class Allocation {
+        /** How the warehouses shipping an order are chosen */
+        private AllocationStrategy strategy = AllocationStrategy.FEWEST_SHIPMENTS;
+        /** Times an order is re-planned when a concurrent order took the stock it was planned on */
+        private int maxAttempts = 3;
+    }
+}
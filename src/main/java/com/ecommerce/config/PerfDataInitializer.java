@@ -0,0 +1,602 @@
+package com.ecommerce.config;
+
+import com.ecommerce.config.SyntheticDataset.AddressSpec;
+import com.ecommerce.config.SyntheticDataset.ProductSpec;
+import com.ecommerce.config.SyntheticDataset.ReviewText;
+import com.ecommerce.config.SyntheticDataset.UserSpec;
+import com.ecommerce.model.enums.OrderStatus;
+import com.ecommerce.model.enums.PaymentMethod;
+import com.ecommerce.model.enums.PaymentStatus;
+import com.ecommerce.model.enums.UserRole;
+import com.ecommerce.model.enums.UserStatus;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic dataset generator for performance work (perf-data profile)
+ * Runs after {@link DataInitializer} and adds a reproducible catalog, customers
+ * and order history on top of the sample data. Rows are written with JDBC batch
+ * inserts from parallel workers, using explicit ids so no sequence round trips
+ * are needed; identity columns are moved past the generated ids afterwards.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@RequiredArgsConstructor
+@Profile("perf-data")
+@Order(2)
+@EnableConfigurationProperties(PerfDataProperties.class)
+public class PerfDataInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerfDataInitializer.class);
+
+    private static final int MAX_CART_ITEMS = 5;
+    private static final int MAX_WISHLIST_ITEMS = 8;
+    private static final int MAX_ADDRESSES_PER_USER = 64;
+    private static final long FREE_SHIPPING_CENTS = 100_00;
+    private static final long SHIPPING_CENTS = 10_00;
+
+    private static final String[] TABLES = {
+            "categories", "products", "users", "addresses", "shopping_carts", "cart_items",
+            "wishlist_items", "orders", "order_items", "product_reviews"
+    };
+
+    private static final Insert CATEGORY_INSERT = new Insert("categories")
+            .column("id", Types.BIGINT).column("name", Types.VARCHAR).column("slug", Types.VARCHAR)
+            .column("description", Types.VARCHAR).column("display_order", Types.INTEGER)
+            .column("active", Types.BOOLEAN).column("parent_id", Types.BIGINT).audited();
+
+    private static final Insert PRODUCT_INSERT = new Insert("products")
+            .column("id", Types.BIGINT).column("name", Types.VARCHAR).column("slug", Types.VARCHAR)
+            .column("sku", Types.VARCHAR).column("short_description", Types.VARCHAR)
+            .column("description", Types.VARCHAR).column("price", Types.DECIMAL)
+            .column("sale_price", Types.DECIMAL).column("cost", Types.DECIMAL)
+            .column("stock_quantity", Types.INTEGER).column("low_stock_threshold", Types.INTEGER)
+            .column("weight", Types.DECIMAL).column("status", Types.VARCHAR).column("featured", Types.BOOLEAN)
+            .column("average_rating", Types.DECIMAL).column("review_count", Types.INTEGER)
+            .column("view_count", Types.BIGINT).column("sales_count", Types.BIGINT)
+            .column("brand", Types.VARCHAR).column("manufacturer", Types.VARCHAR)
+            .column("main_image_url", Types.VARCHAR).column("category_id", Types.BIGINT).audited();
+
+    private static final Insert USER_INSERT = new Insert("users")
+            .column("id", Types.BIGINT).column("username", Types.VARCHAR).column("email", Types.VARCHAR)
+            .column("password", Types.VARCHAR).column("first_name", Types.VARCHAR)
+            .column("last_name", Types.VARCHAR).column("phone_number", Types.VARCHAR)
+            .column("role", Types.VARCHAR).column("status", Types.VARCHAR)
+            .column("email_verified", Types.BOOLEAN).column("failed_login_attempts", Types.INTEGER).audited();
+
+    private static final Insert ADDRESS_INSERT = new Insert("addresses")
+            .column("id", Types.BIGINT).column("address_type", Types.VARCHAR).column("full_name", Types.VARCHAR)
+            .column("phone_number", Types.VARCHAR).column("street_address", Types.VARCHAR)
+            .column("address_line2", Types.VARCHAR).column("city", Types.VARCHAR).column("state", Types.VARCHAR)
+            .column("postal_code", Types.VARCHAR).column("country", Types.VARCHAR)
+            .column("is_default", Types.BOOLEAN).column("user_id", Types.BIGINT).audited();
+
+    private static final Insert CART_INSERT = new Insert("shopping_carts")
+            .column("id", Types.BIGINT).column("last_activity", Types.TIMESTAMP)
+            .column("user_id", Types.BIGINT).audited();
+
+    private static final Insert CART_ITEM_INSERT = new Insert("cart_items")
+            .column("id", Types.BIGINT).column("quantity", Types.INTEGER).column("unit_price", Types.DECIMAL)
+            .column("total_price", Types.DECIMAL).column("cart_id", Types.BIGINT)
+            .column("product_id", Types.BIGINT).audited();
+
+    private static final Insert WISHLIST_INSERT = new Insert("wishlist_items")
+            .column("id", Types.BIGINT).column("notify_on_sale", Types.BOOLEAN)
+            .column("notify_on_restock", Types.BOOLEAN).column("user_id", Types.BIGINT)
+            .column("product_id", Types.BIGINT).audited();
+
+    private static final Insert ORDER_INSERT = new Insert("orders")
+            .column("id", Types.BIGINT).column("order_number", Types.VARCHAR)
+            .column("order_date", Types.TIMESTAMP).column("status", Types.VARCHAR)
+            .column("payment_method", Types.VARCHAR).column("payment_status", Types.VARCHAR)
+            .column("subtotal", Types.DECIMAL).column("tax_amount", Types.DECIMAL)
+            .column("shipping_cost", Types.DECIMAL).column("discount_amount", Types.DECIMAL)
+            .column("total_amount", Types.DECIMAL).column("tracking_number", Types.VARCHAR)
+            .column("carrier", Types.VARCHAR).column("delivered_date", Types.TIMESTAMP)
+            .column("cancelled_date", Types.TIMESTAMP).column("user_id", Types.BIGINT)
+            .column("shipping_address", Types.VARCHAR).column("billing_address", Types.VARCHAR).audited();
+
+    private static final Insert ORDER_ITEM_INSERT = new Insert("order_items")
+            .column("id", Types.BIGINT).column("quantity", Types.INTEGER).column("unit_price", Types.DECIMAL)
+            .column("total_price", Types.DECIMAL).column("discount", Types.DECIMAL).column("tax", Types.DECIMAL)
+            .column("product_name", Types.VARCHAR).column("product_sku", Types.VARCHAR)
+            .column("order_id", Types.BIGINT).column("product_id", Types.BIGINT).audited();
+
+    private static final Insert REVIEW_INSERT = new Insert("product_reviews")
+            .column("id", Types.BIGINT).column("rating", Types.DECIMAL).column("title", Types.VARCHAR)
+            .column("comment", Types.VARCHAR).column("verified_purchase", Types.BOOLEAN)
+            .column("helpful_count", Types.INTEGER).column("not_helpful_count", Types.INTEGER)
+            .column("approved", Types.BOOLEAN).column("product_id", Types.BIGINT)
+            .column("user_id", Types.BIGINT).audited();
+
+    private static final String[] CARRIERS = {"UPS", "FedEx", "USPS", "DHL"};
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final PerfDataProperties properties;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private ExecutorService writers;
+    private SyntheticDataset dataset;
+    private final Map<String, Long> idBase = new LinkedHashMap<>();
+
+    @Override
+    public void run(String... args) throws Exception {
+        validate();
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), poolSize - 2));
+        logger.info("Generating perf-data: seed={}, products={}, users={}, orders={}, reviews={}, writers={}",
+                properties.getSeed(), properties.getProducts(), properties.getUsers(), properties.getOrders(),
+                properties.getReviews(), parallelism);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        dataset = new SyntheticDataset(properties);
+        Long existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username = '" + dataset.user(0).username() + "'", Long.class);
+        if (existing != null && existing > 0) {
+            logger.info("perf-data already present, skipping generation");
+            return;
+        }
+        for (String table : TABLES) {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            idBase.put(table, max != null ? max : 0L);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "perf-data-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        long rows = 0;
+        try {
+            rows += timed("categories", this::writeCategories);
+            rows += timed("products", () -> parallel(properties.getProducts(), this::writeProducts));
+            String passwordHash = passwordEncoder.encode(properties.getUserPassword());
+            rows += timed("users", () -> parallel(properties.getUsers(), (from, to) -> writeUsers(from, to, passwordHash)));
+            rows += timed("addresses", () -> parallel(properties.getUsers(), this::writeAddresses));
+            rows += timed("carts", () -> parallel(properties.getUsers(), this::writeCarts));
+            rows += timed("wishlists", () -> parallel(properties.getUsers(), this::writeWishlists));
+            rows += timed("orders", () -> parallel(properties.getOrders(), this::writeOrders));
+            rows += timed("reviews", () -> parallel(properties.getReviews(), this::writeReviews));
+        } finally {
+            writers.shutdownNow();
+        }
+        restartIdentities();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        logger.info("perf-data complete: {} rows in {} ms ({} rows/s); generated users log in as shopperN / {}",
+                rows, elapsed.toMillis(), rate(rows, elapsed), properties.getUserPassword());
+    }
+
+    private void validate() {
+        if (properties.getRootCategories() < 1 || properties.getChildCategories() < 1
+                || properties.getLeafCategories() < 1) {
+            throw new IllegalStateException("app.perf-data category fan-outs must be at least 1");
+        }
+        if (properties.getProducts() < 1 || properties.getUsers() < 1 || properties.getBatchSize() < 1
+                || properties.getMaxItemsPerOrder() < 1) {
+            throw new IllegalStateException("app.perf-data products, users, batch-size and max-items-per-order must be positive");
+        }
+        if (properties.getAddressesPerUser() < 1 || properties.getAddressesPerUser() > MAX_ADDRESSES_PER_USER) {
+            throw new IllegalStateException("app.perf-data.addresses-per-user must be between 1 and " + MAX_ADDRESSES_PER_USER);
+        }
+    }
+
+    // ---------------------------------------------------------------- tables
+
+    private long writeCategories() {
+        int roots = properties.getRootCategories();
+        int children = dataset.childCategoryCount();
+        long base = idBase.get("categories");
+        LocalDateTime created = dataset.getAnchor().minusYears(3);
+        List<Object[]> rows = new ArrayList<>();
+
+        for (int root = 0; root < roots; root++) {
+            long id = base + 1 + root;
+            String name = dataset.departmentName(root);
+            rows.add(CATEGORY_INSERT.row(id, name, SyntheticDataset.slug(name) + "-" + id,
+                    "All " + name.toLowerCase() + " products", root, true, null, created));
+        }
+        for (int child = 0; child < children; child++) {
+            long id = base + 1 + roots + child;
+            String name = dataset.childCategoryName(child);
+            rows.add(CATEGORY_INSERT.row(id, name, SyntheticDataset.slug(name) + "-" + id, name,
+                    child % properties.getChildCategories(), true, base + 1 + dataset.departmentOfChild(child), created));
+        }
+        for (int leaf = 0; leaf < dataset.leafCategoryCount(); leaf++) {
+            long id = leafCategoryId(leaf);
+            String name = dataset.leafCategoryName(leaf);
+            rows.add(CATEGORY_INSERT.row(id, name, SyntheticDataset.slug(name) + "-" + id, name,
+                    leaf % properties.getLeafCategories(), true, base + 1 + roots + dataset.childOfLeaf(leaf), created));
+        }
+        insert(CATEGORY_INSERT, rows);
+        return rows.size();
+    }
+
+    private long writeProducts(int from, int to) {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            ProductSpec product = dataset.product(index);
+            long id = productId(index);
+            rows.add(PRODUCT_INSERT.row(id, product.name(), product.slug() + "-" + id, product.sku(id),
+                    product.shortDescription(), product.description(), money(product.priceCents()),
+                    product.salePriceCents() > 0 ? money(product.salePriceCents()) : null,
+                    money(product.costCents()), product.stockQuantity(), 10,
+                    BigDecimal.valueOf(product.weightGrams(), 3), product.status().name(), product.featured(),
+                    BigDecimal.valueOf(product.ratingHundredths(), 2), product.reviewCount(), product.viewCount(),
+                    product.salesCount(), product.brand(), product.brand() + " Manufacturing",
+                    "https://cdn.example.com/products/" + id + "/main.jpg",
+                    leafCategoryId(product.leafCategory()), product.createdAt()));
+        }
+        insert(PRODUCT_INSERT, rows);
+        return rows.size();
+    }
+
+    private long writeUsers(int from, int to, String passwordHash) {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int index = from; index < to; index++) {
+            UserSpec user = dataset.user(index);
+            rows.add(USER_INSERT.row(userId(index), user.username(), user.email(), passwordHash,
+                    user.firstName(), user.lastName(), user.phoneNumber(), UserRole.CUSTOMER.name(),
+                    (user.active() ? UserStatus.ACTIVE : UserStatus.INACTIVE).name(), true, 0, user.createdAt()));
+        }
+        insert(USER_INSERT, rows);
+        return rows.size();
+    }
+
+    private long writeAddresses(int from, int to) {
+        int perUser = properties.getAddressesPerUser();
+        List<Object[]> rows = new ArrayList<>((to - from) * perUser);
+        for (int index = from; index < to; index++) {
+            LocalDateTime created = dataset.user(index).createdAt();
+            for (int slot = 0; slot < perUser; slot++) {
+                AddressSpec address = dataset.address(index, slot);
+                rows.add(ADDRESS_INSERT.row(addressId(index, slot), "BOTH", address.fullName(),
+                        address.phoneNumber(), address.streetAddress(), address.addressLine2(), address.city(),
+                        address.state(), address.postalCode(), address.country(), slot == 0, userId(index), created));
+            }
+        }
+        insert(ADDRESS_INSERT, rows);
+        return rows.size();
+    }
+
+    private long writeCarts(int from, int to) {
+        List<Object[]> carts = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        long cartBase = idBase.get("shopping_carts");
+        long itemBase = idBase.get("cart_items");
+        for (int index = from; index < to; index++) {
+            SplittableRandom random = dataset.random(SyntheticDataset.CARTS, index);
+            if (random.nextDouble() >= properties.getCartRatio()) {
+                continue;
+            }
+            long cartId = cartBase + 1 + index;
+            LocalDateTime lastActivity = dataset.pastTimestamp(random, 30);
+            carts.add(CART_INSERT.row(cartId, Timestamp.valueOf(lastActivity), userId(index), lastActivity));
+
+            int[] products = distinctProducts(random, 1 + random.nextInt(MAX_CART_ITEMS));
+            for (int line = 0; line < products.length; line++) {
+                long unitCents = dataset.product(products[line]).effectivePriceCents();
+                int quantity = 1 + (random.nextInt(5) == 0 ? random.nextInt(3) : 0);
+                items.add(CART_ITEM_INSERT.row(itemBase + 1 + (long) index * MAX_CART_ITEMS + line, quantity,
+                        money(unitCents), money(unitCents * quantity), cartId, productId(products[line]), lastActivity));
+            }
+        }
+        insert(CART_INSERT, carts);
+        insert(CART_ITEM_INSERT, items);
+        return carts.size() + items.size();
+    }
+
+    private long writeWishlists(int from, int to) {
+        List<Object[]> rows = new ArrayList<>();
+        long base = idBase.get("wishlist_items");
+        for (int index = from; index < to; index++) {
+            SplittableRandom random = dataset.random(SyntheticDataset.WISHLISTS, index);
+            if (random.nextDouble() >= properties.getWishlistRatio()) {
+                continue;
+            }
+            int[] products = distinctProducts(random, 1 + random.nextInt(MAX_WISHLIST_ITEMS));
+            for (int line = 0; line < products.length; line++) {
+                rows.add(WISHLIST_INSERT.row(base + 1 + (long) index * MAX_WISHLIST_ITEMS + line,
+                        random.nextInt(3) == 0, random.nextInt(4) == 0, userId(index), productId(products[line]),
+                        dataset.pastTimestamp(random, 365)));
+            }
+        }
+        insert(WISHLIST_INSERT, rows);
+        return rows.size();
+    }
+
+    private long writeOrders(int from, int to) {
+        List<Object[]> orders = new ArrayList<>(to - from);
+        List<Object[]> items = new ArrayList<>();
+        long orderBase = idBase.get("orders");
+        long itemBase = idBase.get("order_items");
+        int maxItems = properties.getMaxItemsPerOrder();
+        PaymentMethod[] paymentMethods = PaymentMethod.values();
+
+        for (int index = from; index < to; index++) {
+            SplittableRandom random = dataset.random(SyntheticDataset.ORDERS, index);
+            long orderId = orderBase + 1 + index;
+            int user = dataset.activeUser(random);
+            LocalDateTime orderDate = dataset.pastTimestamp(random, 2 * 365);
+            long ageDays = Duration.between(orderDate, dataset.getAnchor()).toDays();
+
+            // Geometric number of lines, most orders have one or two
+            int lines = 1;
+            while (lines < maxItems && random.nextDouble() < 0.45) {
+                lines++;
+            }
+            int[] products = distinctProducts(random, lines);
+            long subtotalCents = 0;
+            for (int line = 0; line < products.length; line++) {
+                ProductSpec product = dataset.product(products[line]);
+                long unitCents = product.effectivePriceCents();
+                int quantity = 1 + (random.nextInt(5) == 0 ? random.nextInt(3) : 0);
+                subtotalCents += unitCents * quantity;
+                items.add(ORDER_ITEM_INSERT.row(itemBase + 1 + (long) index * maxItems + line, quantity,
+                        money(unitCents), money(unitCents * quantity), money(0), money(0), product.name(),
+                        product.sku(productId(products[line])), orderId, productId(products[line]), orderDate));
+            }
+            long taxCents = (subtotalCents + 5) / 10;
+            long shippingCents = subtotalCents >= FREE_SHIPPING_CENTS ? 0 : SHIPPING_CENTS;
+
+            OrderStatus status = orderStatus(random, ageDays);
+            boolean shipped = status == OrderStatus.SHIPPED || status == OrderStatus.OUT_FOR_DELIVERY
+                    || status == OrderStatus.DELIVERED || status == OrderStatus.RETURNED || status == OrderStatus.REFUNDED;
+            LocalDateTime delivered = status == OrderStatus.DELIVERED || status == OrderStatus.RETURNED
+                    || status == OrderStatus.REFUNDED ? orderDate.plusDays(2 + random.nextInt(6)) : null;
+            String address = dataset.address(user, 0).formatted();
+
+            orders.add(ORDER_INSERT.row(orderId, String.format("SYN-%010d", orderId), Timestamp.valueOf(orderDate),
+                    status.name(), paymentMethods[random.nextInt(paymentMethods.length)].name(),
+                    paymentStatus(status).name(), money(subtotalCents), money(taxCents), money(shippingCents),
+                    money(0), money(subtotalCents + taxCents + shippingCents),
+                    shipped ? "1Z" + Long.toString(orderId * 7919 + 1_000_000_000L, 36).toUpperCase() : null,
+                    shipped ? CARRIERS[random.nextInt(CARRIERS.length)] : null,
+                    delivered != null ? Timestamp.valueOf(delivered) : null,
+                    status == OrderStatus.CANCELLED ? Timestamp.valueOf(orderDate.plusHours(1 + random.nextInt(48))) : null,
+                    userId(user), address, address, orderDate));
+        }
+        insert(ORDER_INSERT, orders);
+        insert(ORDER_ITEM_INSERT, items);
+        return orders.size() + items.size();
+    }
+
+    private long writeReviews(int from, int to) {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        long base = idBase.get("product_reviews");
+        for (int index = from; index < to; index++) {
+            SplittableRandom random = dataset.random(SyntheticDataset.REVIEWS, index);
+            int product = dataset.popularProduct(random);
+            int user = dataset.activeUser(random);
+            ReviewText text = dataset.reviewText(random);
+            rows.add(REVIEW_INSERT.row(base + 1 + index, BigDecimal.valueOf(text.rating() * 10L, 1), text.title(),
+                    text.comment(), random.nextInt(10) < 7, random.nextInt(40), random.nextInt(8),
+                    random.nextInt(20) != 0, productId(product), userId(user), dataset.pastTimestamp(random, 2 * 365)));
+        }
+        insert(REVIEW_INSERT, rows);
+        return rows.size();
+    }
+
+    private static OrderStatus orderStatus(SplittableRandom random, long ageDays) {
+        double u = random.nextDouble();
+        if (u < 0.04) {
+            return OrderStatus.CANCELLED;
+        }
+        if (ageDays > 14) {
+            return u < 0.06 ? OrderStatus.RETURNED : u < 0.07 ? OrderStatus.REFUNDED : OrderStatus.DELIVERED;
+        }
+        if (ageDays > 5) {
+            return u < 0.4 ? OrderStatus.SHIPPED : u < 0.5 ? OrderStatus.OUT_FOR_DELIVERY : OrderStatus.DELIVERED;
+        }
+        return u < 0.3 ? OrderStatus.PENDING : u < 0.6 ? OrderStatus.CONFIRMED : u < 0.85 ? OrderStatus.PROCESSING
+                : OrderStatus.SHIPPED;
+    }
+
+    private static PaymentStatus paymentStatus(OrderStatus status) {
+        return switch (status) {
+            case PENDING -> PaymentStatus.PENDING;
+            case CANCELLED -> PaymentStatus.CANCELLED;
+            case RETURNED, REFUNDED -> PaymentStatus.REFUNDED;
+            default -> PaymentStatus.COMPLETED;
+        };
+    }
+
+    /**
+     * Distinct popular products (at most {@code count}, fewer for tiny catalogs)
+     */
+    private int[] distinctProducts(SplittableRandom random, int count) {
+        int wanted = Math.min(count, properties.getProducts());
+        int[] products = new int[wanted];
+        int found = 0;
+        for (int attempt = 0; found < wanted && attempt < wanted * 20; attempt++) {
+            int candidate = dataset.popularProduct(random);
+            boolean duplicate = false;
+            for (int i = 0; i < found && !duplicate; i++) {
+                duplicate = products[i] == candidate;
+            }
+            if (!duplicate) {
+                products[found++] = candidate;
+            }
+        }
+        return found == wanted ? products : Arrays.copyOf(products, found);
+    }
+
+    // ---------------------------------------------------------------- ids
+
+    private long leafCategoryId(int leaf) {
+        return idBase.get("categories") + 1 + properties.getRootCategories() + dataset.childCategoryCount() + leaf;
+    }
+
+    private long productId(int index) {
+        return idBase.get("products") + 1 + index;
+    }
+
+    private long userId(int index) {
+        return idBase.get("users") + 1 + index;
+    }
+
+    private long addressId(int userIndex, int slot) {
+        return idBase.get("addresses") + 1 + (long) userIndex * properties.getAddressesPerUser() + slot;
+    }
+
+    /**
+     * Move identity columns past the explicitly inserted ids (H2 and PostgreSQL syntax)
+     */
+    private void restartIdentities() {
+        for (String table : TABLES) {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + ((max != null ? max : 0) + 1));
+            } catch (RuntimeException e) {
+                logger.warn("Could not restart identity of {}; new rows may collide with generated ids: {}",
+                        table, e.getMessage());
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- execution
+
+    private long timed(String label, Step step) throws Exception {
+        long start = System.nanoTime();
+        long rows = step.run();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        logger.info("perf-data {}: {} rows in {} ms ({} rows/s)", label, rows, elapsed.toMillis(), rate(rows, elapsed));
+        return rows;
+    }
+
+    /**
+     * Split [0, count) into batch-sized chunks written concurrently
+     */
+    private long parallel(int count, ChunkWriter writer) throws InterruptedException {
+        List<Future<Long>> chunks = new ArrayList<>();
+        int batchSize = properties.getBatchSize();
+        for (int from = 0; from < count; from += batchSize) {
+            int chunkFrom = from;
+            int chunkTo = (int) Math.min((long) from + batchSize, count);
+            chunks.add(writers.submit(() -> writer.write(chunkFrom, chunkTo)));
+        }
+        long rows = 0;
+        try {
+            for (Future<Long> chunk : chunks) {
+                rows += chunk.get();
+            }
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("perf-data generation failed", e.getCause());
+        }
+        return rows;
+    }
+
+    private void insert(Insert insert, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert.sql(), rows, insert.types());
+        }
+    }
+
+    private static BigDecimal money(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static long rate(long rows, Duration elapsed) {
+        return elapsed.toNanos() > 0 ? rows * 1_000_000_000L / elapsed.toNanos() : rows;
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        long run() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        long write(int from, int to);
+    }
+
+    /**
+     * Parameterized INSERT with explicit JDBC types (avoids per-null type lookups)
+     * Audited tables get created_at, updated_at, deleted and version appended.
+     */
+    private static final class Insert {
+        private final String table;
+        private final List<String> columns = new ArrayList<>();
+        private final List<Integer> types = new ArrayList<>();
+        private String sql;
+        private int[] typeArray;
+
+        Insert(String table) {
+            this.table = table;
+        }
+
+        Insert column(String name, int type) {
+            columns.add(name);
+            types.add(type);
+            return this;
+        }
+
+        Insert audited() {
+            column("created_at", Types.TIMESTAMP).column("updated_at", Types.TIMESTAMP);
+            column("deleted", Types.BOOLEAN).column("version", Types.BIGINT);
+            sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+            typeArray = types.stream().mapToInt(Integer::intValue).toArray();
+            return this;
+        }
+
+        /**
+         * Build a row; the last value is the creation time used for both audit timestamps
+         */
+        Object[] row(Object... values) {
+            Object[] row = new Object[values.length + 3];
+            System.arraycopy(values, 0, row, 0, values.length - 1);
+            Timestamp created = Timestamp.valueOf((LocalDateTime) values[values.length - 1]);
+            row[values.length - 1] = created;
+            row[values.length] = created;
+            row[values.length + 1] = false;
+            row[values.length + 2] = 0L;
+            return row;
+        }
+
+        String sql() {
+            return sql;
+        }
+
+        int[] types() {
+            return typeArray;
+        }
+    }
+}
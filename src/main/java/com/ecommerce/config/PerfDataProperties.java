@@ -0,0 +1,105 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Configuration properties for the synthetic performance dataset
+ * Bound from the app.perf-data namespace; only used with the perf-data profile
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.perf-data")
+public class PerfDataProperties {
+
+    /**
+     * Seed of every random choice; the same seed and sizes produce the same rows
+     */
+    private long seed = 42;
+
+    /**
+     * Day that generated timestamps count back from (fixed so runs are reproducible)
+     */
+    private LocalDate anchorDate = LocalDate.of(2025, 1, 1);
+
+    /**
+     * Top-level categories (departments)
+     */
+    private int rootCategories = 12;
+
+    /**
+     * Subcategories under each department
+     */
+    private int childCategories = 8;
+
+    /**
+     * Leaf categories under each subcategory
+     */
+    private int leafCategories = 4;
+
+    /**
+     * Number of distinct brands
+     */
+    private int brands = 400;
+
+    private int products = 100_000;
+
+    private int users = 20_000;
+
+    /**
+     * Addresses per generated user
+     */
+    private int addressesPerUser = 1;
+
+    /**
+     * Share of users with a non-empty cart (0..1)
+     */
+    private double cartRatio = 0.3;
+
+    /**
+     * Share of users with a wishlist (0..1)
+     */
+    private double wishlistRatio = 0.2;
+
+    private int orders = 50_000;
+
+    /**
+     * Upper bound of lines per order
+     */
+    private int maxItemsPerOrder = 6;
+
+    private int reviews = 100_000;
+
+    /**
+     * Skew of product popularity (views, sales, reviews, cart and order lines)
+     */
+    private double productSkew = 1.05;
+
+    /**
+     * Skew of customer activity (orders and reviews per user)
+     */
+    private double userSkew = 0.7;
+
+    /**
+     * Skew of brand and category sizes
+     */
+    private double catalogSkew = 0.9;
+
+    /**
+     * Password of every generated user (hashed once)
+     */
+    private String userPassword = "Shopper@123";
+
+    /**
+     * Rows per JDBC batch
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Concurrent writers; 0 uses the number of cores, capped below the pool size
+     */
+    private int parallelism = 0;
+}
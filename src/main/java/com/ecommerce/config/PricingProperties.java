@@ -0,0 +1,32 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Configuration properties for the pricing engine
+ * Bound from the app.pricing namespace; compiled to minor units at startup
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.pricing")
+public class PricingProperties {
+
+    /**
+     * Sales tax applied to the discounted merchandise subtotal (0.10 = 10%)
+     */
+    private BigDecimal taxRate = new BigDecimal("0.10");
+
+    /**
+     * Discounted subtotal from which shipping is free
+     */
+    private BigDecimal freeShippingThreshold = new BigDecimal("100.00");
+
+    /**
+     * Flat shipping charged below the free shipping threshold
+     */
+    private BigDecimal standardShipping = new BigDecimal("10.00");
+}
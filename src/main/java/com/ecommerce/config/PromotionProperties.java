@@ -0,0 +1,26 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for discount codes
+ * Bound from the app.promotions namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.promotions")
+public class PromotionProperties {
+
+    /**
+     * Reload interval of the in-memory discount code index
+     */
+    private long refreshIntervalMs = 60_000;
+
+    /**
+     * Counter rows a usage limit is split over; more rows let more checkouts
+     * with the same code claim concurrently. Applies when a limit is set.
+     */
+    private int redemptionSlots = 8;
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for API rate limiting
+ * Bound from the app.rate-limit namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether requests are rate limited
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of buckets held in memory; beyond it new keys share one
+     * overflow bucket per route until idle buckets are swept
+     */
+    private int maxKeys = 100000;
+
+    /**
+     * Interval between sweeps of idle (full) buckets in milliseconds
+     */
+    private long sweepIntervalMs = 30000;
+
+    /**
+     * Route classes, matched in order; the first match decides the quotas.
+     * Requests matching no route are not limited.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * Quotas of one class of routes
+     */
+    @Data
+    public static class Route {
+        /** Name used in metrics and bucket keys */
+        private String name;
+        /** Ant-style request path patterns */
+        private List<String> patterns = new ArrayList<>();
+        /** HTTP methods; empty matches every method */
+        private List<String> methods = new ArrayList<>();
+        /** Quota per client IP address */
+        private Quota perIp;
+        /** Quota per authenticated user (bearer token); absent means none */
+        private Quota perUser;
+    }
+
+    /**
+     * Token bucket size and refill rate
+     */
+    @Data
+    public static class Quota {
+        /** Requests allowed in a burst */
+        private int capacity;
+        /** Tokens added per second */
+        private double refillPerSecond;
+    }
+}
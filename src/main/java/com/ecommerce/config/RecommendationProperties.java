@@ -0,0 +1,79 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for product recommendations
+ * Bound from the app.recommendations namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.recommendations")
+public class RecommendationProperties {
+
+    /**
+     * Whether order history is streamed into the co-purchase index at startup;
+     * orders placed while the application runs are always added
+     */
+    private boolean bulkBuild = true;
+
+    /**
+     * Rows fetched per round trip while streaming order lines
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Neighbours kept ranked per product; bounds the largest result size
+     */
+    private int neighbours = 12;
+
+    /**
+     * Co-purchase counters kept per product; beyond it rare pairs are decayed away
+     */
+    private int maxCounters = 128;
+
+    /**
+     * Orders with more distinct products than this are ignored (bulk buys say
+     * little about affinity and cost quadratically many pairs)
+     */
+    private int maxBasketSize = 30;
+
+    /**
+     * Products suggested with the cart
+     */
+    private int cartLimit = 4;
+
+    /**
+     * "Also viewed" co-view graph
+     */
+    private CoView coView = new CoView();
+
+    /**
+     * Settings of the co-view graph fed by product page views
+     */
+    @Data
+    public static class CoView {
+        /** Whether product views are tracked */
+        private boolean enabled = true;
+        /** Recent views remembered per viewer; each new view pairs with all of them */
+        private int recentViews = 8;
+        /** Views further apart than this (milliseconds) are not paired */
+        private long sessionGapMs = 1800000;
+        /** Viewers remembered; the least recently active are forgotten first */
+        private int maxViewers = 100000;
+        /** Neighbours kept per product; weaker ones are displaced */
+        private int neighbours = 24;
+        /** Half-life of a co-view in hours */
+        private double halfLifeHours = 168;
+        /** Views waiting to be applied; further views are dropped while it is full */
+        private int queueCapacity = 10000;
+        /** File the graph is saved to and restored from */
+        private String snapshotPath = System.getProperty("java.io.tmpdir") + "/ecommerce/co-view.bin";
+        /** Interval between snapshots in milliseconds */
+        private long snapshotIntervalMs = 300000;
+        /** How long a hydrated "also viewed" list is reused, in milliseconds */
+        private long resultTtlMs = 60000;
+    }
+}
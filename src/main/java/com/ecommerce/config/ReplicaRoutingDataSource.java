@@ -0,0 +1,204 @@
+package com.ecommerce.config;
+
+import com.ecommerce.config.DataSourceRoutingProperties.SelectionStrategy;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routing data source that sends read-only transactions to replica pools
+ * Writes, pinned requests and replica failures fall back to the primary pool
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so that the physical
+ * connection is fetched after the transaction's read-only flag is bound.
+ *
+ * @author E-Commerce Team
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY_KEY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final SelectionStrategy selection;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    /**
+     * Replicas currently considered healthy; replaced wholesale on health changes
+     */
+    private volatile HikariDataSource[] healthyReplicas;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    SelectionStrategy selection) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.healthyReplicas = replicas.toArray(new HikariDataSource[0]);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY_KEY, primary);
+        for (HikariDataSource replica : replicas) {
+            targets.put(replica.getPoolName(), replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Pin the current thread to the primary until {@link #restorePinning(boolean)} is called
+     *
+     * @return previous pinning state, to be passed back to restorePinning
+     */
+    public static boolean pinToPrimary() {
+        boolean previous = Boolean.TRUE.equals(PRIMARY_PINNED.get());
+        PRIMARY_PINNED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    /**
+     * Restore the pinning state returned by {@link #pinToPrimary()}
+     *
+     * @param previous previous pinning state
+     */
+    public static void restorePinning(boolean previous) {
+        if (previous) {
+            PRIMARY_PINNED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (Boolean.TRUE.equals(PRIMARY_PINNED.get())
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY_KEY;
+        }
+        HikariDataSource replica = selectReplica();
+        return replica != null ? replica.getPoolName() : PRIMARY_KEY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        HikariDataSource target = (HikariDataSource) determineTargetDataSource();
+        if (target == primary) {
+            return primary.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException ex) {
+            logger.warn("Replica {} unavailable, failing over to primary: {}", target.getPoolName(), ex.getMessage());
+            markUnhealthy(target);
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Validate every replica and rebuild the healthy set
+     *
+     * @param timeoutSeconds validation timeout per replica
+     */
+    public void checkReplicaHealth(int timeoutSeconds) {
+        List<HikariDataSource> healthy = new ArrayList<>(replicas.size());
+        for (HikariDataSource replica : replicas) {
+            if (isValid(replica, timeoutSeconds)) {
+                healthy.add(replica);
+            }
+        }
+        HikariDataSource[] current = healthyReplicas;
+        if (current.length != healthy.size()) {
+            logger.info("Healthy replicas changed: {} of {} available", healthy.size(), replicas.size());
+        }
+        healthyReplicas = healthy.toArray(new HikariDataSource[0]);
+    }
+
+    /**
+     * Get the primary pool
+     *
+     * @return primary pool
+     */
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    /**
+     * Get all configured replica pools
+     *
+     * @return replica pools
+     */
+    public List<HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Close the primary and every replica pool
+     */
+    public void close() {
+        for (HikariDataSource replica : replicas) {
+            replica.close();
+        }
+        primary.close();
+    }
+
+    private HikariDataSource selectReplica() {
+        HikariDataSource[] candidates = healthyReplicas;
+        if (candidates.length == 0) {
+            return null;
+        }
+        if (candidates.length == 1) {
+            return candidates[0];
+        }
+        if (selection == SelectionStrategy.LEAST_CONNECTIONS) {
+            HikariDataSource best = candidates[0];
+            int bestActive = activeConnections(best);
+            for (int i = 1; i < candidates.length; i++) {
+                int active = activeConnections(candidates[i]);
+                if (active < bestActive) {
+                    best = candidates[i];
+                    bestActive = active;
+                }
+            }
+            return best;
+        }
+        return candidates[Math.floorMod(roundRobin.getAndIncrement(), candidates.length)];
+    }
+
+    private synchronized void markUnhealthy(HikariDataSource replica) {
+        List<HikariDataSource> remaining = new ArrayList<>();
+        for (HikariDataSource candidate : healthyReplicas) {
+            if (candidate != replica) {
+                remaining.add(candidate);
+            }
+        }
+        healthyReplicas = remaining.toArray(new HikariDataSource[0]);
+    }
+
+    private static int activeConnections(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean != null ? mxBean.getActiveConnections() : 0;
+    }
+
+    private static boolean isValid(HikariDataSource replica, int timeoutSeconds) {
+        try (Connection connection = replica.getConnection()) {
+            return connection.isValid(timeoutSeconds);
+        } catch (SQLException ex) {
+            logger.warn("Replica {} failed health check: {}", replica.getPoolName(), ex.getMessage());
+            return false;
+        }
+    }
+}
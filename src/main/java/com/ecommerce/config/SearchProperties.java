@@ -0,0 +1,53 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for in-memory product search
+ * Bound from the app.search namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    /**
+     * Search-as-you-type suggestions
+     */
+    private Suggest suggest = new Suggest();
+
+    /**
+     * Typo-tolerant search
+     */
+    private Fuzzy fuzzy = new Fuzzy();
+
+    /**
+     * Settings of the suggestion index
+     */
+    @Data
+    public static class Suggest {
+        /** Suggestions returned at most */
+        private int maxResults = 10;
+        /** Popularity per unit sold */
+        private long salesWeight = 10;
+        /** Popularity per product page view */
+        private long viewWeight = 1;
+        /** Delay in milliseconds after a catalog change before changed products are re-read and applied to the index */
+        private long rebuildDelayMs = 1000;
+        /** Interval between full reloads in milliseconds, which pick up popularity changes */
+        private long refreshIntervalMs = 600000;
+        /** Products changed since the last full build that are layered over it at most; more trigger a full build */
+        private int maxOverlayProducts = 5000;
+    }
+
+    /**
+     * Settings of typo-tolerant search
+     */
+    @Data
+    public static class Fuzzy {
+        /** Products returned at most */
+        private int maxResults = 50;
+    }
+}
@@ -0,0 +1,458 @@
+package com.ecommerce.config;
+
+import com.ecommerce.model.enums.ProductStatus;
+import com.ecommerce.util.ZipfSampler;
+
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic value synthesis for the perf-data generator
+ * Every row is derived from (seed, entity, index) alone, so any row can be
+ * regenerated on demand (an order line recomputes its product's price and name)
+ * and the output does not depend on how work is split across threads.
+ *
+ * @author E-Commerce Team
+ */
+final class SyntheticDataset {
+
+    static final long CATEGORIES = 0x1L;
+    static final long PRODUCTS = 0x2L;
+    static final long USERS = 0x3L;
+    static final long ADDRESSES = 0x4L;
+    static final long CARTS = 0x5L;
+    static final long WISHLISTS = 0x6L;
+    static final long ORDERS = 0x7L;
+    static final long REVIEWS = 0x8L;
+
+    private static final String[] DEPARTMENTS = {
+            "Electronics", "Computers", "Home & Kitchen", "Clothing", "Shoes", "Sports & Outdoors",
+            "Books", "Toys & Games", "Beauty", "Health", "Garden", "Automotive"
+    };
+
+    private static final String[][] DEPARTMENT_NOUNS = {
+            {"Headphones", "Speaker", "Television", "Camera", "Smartwatch", "Soundbar", "Projector", "Earbuds"},
+            {"Laptop", "Monitor", "Keyboard", "Mouse", "Router", "Webcam", "SSD", "Docking Station"},
+            {"Blender", "Coffee Maker", "Cookware Set", "Knife Set", "Air Fryer", "Kettle", "Toaster", "Mixer"},
+            {"T-Shirt", "Hoodie", "Jacket", "Jeans", "Dress", "Sweater", "Shorts", "Polo Shirt"},
+            {"Running Shoes", "Sneakers", "Boots", "Sandals", "Loafers", "Hiking Shoes", "Slippers", "Trainers"},
+            {"Yoga Mat", "Tent", "Backpack", "Dumbbell Set", "Bicycle Helmet", "Water Bottle", "Sleeping Bag", "Kayak Paddle"},
+            {"Novel", "Cookbook", "Biography", "Programming Guide", "Atlas", "Comic Collection", "Workbook", "Travel Guide"},
+            {"Puzzle", "Board Game", "Building Set", "Action Figure", "Plush Toy", "RC Car", "Doll House", "Card Game"},
+            {"Face Serum", "Shampoo", "Moisturizer", "Lipstick", "Perfume", "Hair Dryer", "Nail Kit", "Sunscreen"},
+            {"Vitamin Pack", "Protein Powder", "Massage Gun", "Thermometer", "First Aid Kit", "Scale", "Heating Pad", "Pill Organizer"},
+            {"Garden Hose", "Planter", "Pruning Shears", "Lawn Mower", "Seed Kit", "Leaf Blower", "Garden Gloves", "Sprinkler"},
+            {"Dash Cam", "Car Charger", "Floor Mats", "Tire Inflator", "Seat Covers", "Jump Starter", "Car Wax", "Phone Mount"}
+    };
+
+    private static final String[] LEAF_QUALIFIERS = {"Premium", "Everyday", "Pro", "Compact", "Kids", "Outdoor", "Smart", "Classic"};
+
+    private static final String[] ADJECTIVES = {
+            "Ultra", "Wireless", "Portable", "Deluxe", "Eco", "Advanced", "Essential", "Lightweight",
+            "Heavy-Duty", "Slim", "Ergonomic", "Vintage", "Modern", "Rugged", "Quiet", "Turbo"
+    };
+
+    private static final String[] BRAND_PREFIXES = {
+            "Acme", "Nova", "Zen", "Apex", "Blue", "Terra", "Vita", "Lumen", "Orbit", "Peak",
+            "Pixel", "Summit", "North", "Echo", "Vertex", "Aero", "Iron", "Willow", "Solar", "Crest"
+    };
+
+    private static final String[] BRAND_SUFFIXES = {"", "Labs", "Works", "Co", "Gear", "Tech", "Home", "Craft", "Line", "Pro"};
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos", "Karen",
+            "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sandra", "Mark", "Ashley", "Wei", "Priya"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Chen", "Patel"
+    };
+
+    private static final String[] STREETS = {
+            "Main", "Oak", "Pine", "Maple", "Cedar", "Elm", "Washington", "Lake", "Hill", "Park",
+            "Sunset", "Lincoln", "Jackson", "River", "Highland", "Church", "Spring", "Center"
+    };
+
+    private static final String[][] CITIES = {
+            {"New York", "NY", "100"}, {"Los Angeles", "CA", "900"}, {"Chicago", "IL", "606"},
+            {"Houston", "TX", "770"}, {"Phoenix", "AZ", "850"}, {"Philadelphia", "PA", "191"},
+            {"San Antonio", "TX", "782"}, {"San Diego", "CA", "921"}, {"Dallas", "TX", "752"},
+            {"Austin", "TX", "787"}, {"Seattle", "WA", "981"}, {"Denver", "CO", "802"},
+            {"Boston", "MA", "021"}, {"Atlanta", "GA", "303"}, {"Miami", "FL", "331"},
+            {"Portland", "OR", "972"}, {"Minneapolis", "MN", "554"}, {"Nashville", "TN", "372"}
+    };
+
+    private static final String[] REVIEW_TITLES = {
+            "Terrible, returned it", "Not worth the price", "Does the job", "Pretty good overall", "Absolutely love it"
+    };
+
+    private static final String[] REVIEW_SENTENCES = {
+            "Arrived quickly and well packaged.", "Build quality is better than expected.",
+            "Instructions could be clearer.", "Works exactly as described.", "Battery life is impressive.",
+            "Stopped working after a few weeks.", "Great value for the money.", "Would buy again.",
+            "The color is slightly different from the photos.", "Customer support was helpful."
+    };
+
+    private final long seed;
+    private final LocalDateTime anchor;
+    private final int products;
+    private final int brands;
+    private final int leafCategories;
+    private final int childrenPerRoot;
+    private final int childCategories;
+    private final int leavesPerChild;
+    private final double reviewsPerWeight;
+    private final double salesPerWeight;
+    private final double viewsPerWeight;
+
+    private final ZipfSampler productPopularity;
+    private final ZipfSampler brandPopularity;
+    private final ZipfSampler categoryPopularity;
+    private final ZipfSampler userActivity;
+    private final Permutation productByRank;
+    private final Permutation userByRank;
+    private final Permutation categoryByRank;
+    private final double productHarmonic;
+    private final double productSkew;
+
+    SyntheticDataset(PerfDataProperties properties) {
+        this.seed = properties.getSeed();
+        this.anchor = properties.getAnchorDate().atStartOfDay();
+        this.products = properties.getProducts();
+        this.brands = Math.max(1, properties.getBrands());
+        this.childrenPerRoot = properties.getChildCategories();
+        this.childCategories = properties.getRootCategories() * childrenPerRoot;
+        this.leavesPerChild = properties.getLeafCategories();
+        this.leafCategories = childCategories * leavesPerChild;
+
+        this.productSkew = properties.getProductSkew();
+        this.productPopularity = new ZipfSampler(Math.max(1, products), productSkew);
+        this.brandPopularity = new ZipfSampler(brands, properties.getCatalogSkew());
+        this.categoryPopularity = new ZipfSampler(Math.max(1, leafCategories), properties.getCatalogSkew());
+        this.userActivity = new ZipfSampler(Math.max(1, properties.getUsers()), properties.getUserSkew());
+        this.productByRank = new Permutation(Math.max(1, products), mix(seed, PRODUCTS, -1));
+        this.userByRank = new Permutation(Math.max(1, properties.getUsers()), mix(seed, USERS, -1));
+        this.categoryByRank = new Permutation(Math.max(1, leafCategories), mix(seed, CATEGORIES, -1));
+
+        double harmonic = 0;
+        for (int rank = 1; rank <= products; rank++) {
+            harmonic += Math.pow(rank, -productSkew);
+        }
+        this.productHarmonic = harmonic;
+        double averageItems = (1 + Math.max(1, properties.getMaxItemsPerOrder())) / 2.0;
+        this.reviewsPerWeight = properties.getReviews();
+        this.salesPerWeight = properties.getOrders() * averageItems * 2;
+        this.viewsPerWeight = products * 500.0;
+    }
+
+    /**
+     * Independent random stream for one row
+     *
+     * @param entity entity constant
+     * @param index row index
+     * @return random stream
+     */
+    SplittableRandom random(long entity, long index) {
+        return new SplittableRandom(mix(seed, entity, index));
+    }
+
+    // ---------------------------------------------------------------- categories
+
+    int leafCategoryCount() {
+        return leafCategories;
+    }
+
+    int childCategoryCount() {
+        return childCategories;
+    }
+
+    String departmentName(int root) {
+        String name = DEPARTMENTS[root % DEPARTMENTS.length];
+        return root < DEPARTMENTS.length ? name : name + " " + (root / DEPARTMENTS.length + 1);
+    }
+
+    String childCategoryName(int child) {
+        int local = child % childrenPerRoot;
+        String[] nouns = DEPARTMENT_NOUNS[departmentOfChild(child) % DEPARTMENT_NOUNS.length];
+        String noun = nouns[local % nouns.length];
+        return local < nouns.length ? noun : noun + " " + (local / nouns.length + 1);
+    }
+
+    String leafCategoryName(int leaf) {
+        int local = leaf % leavesPerChild;
+        String qualifier = LEAF_QUALIFIERS[local % LEAF_QUALIFIERS.length];
+        if (local >= LEAF_QUALIFIERS.length) {
+            qualifier = qualifier + " " + (local / LEAF_QUALIFIERS.length + 1);
+        }
+        return qualifier + " " + childCategoryName(childOfLeaf(leaf));
+    }
+
+    int childOfLeaf(int leaf) {
+        return leaf / leavesPerChild;
+    }
+
+    int departmentOfChild(int child) {
+        return child / childrenPerRoot;
+    }
+
+    // ---------------------------------------------------------------- products
+
+    /**
+     * Synthesize product {@code index}
+     *
+     * @param index zero-based product index
+     * @return product values
+     */
+    ProductSpec product(int index) {
+        SplittableRandom random = random(PRODUCTS, index);
+        int rank = productByRank.inverse(index) + 1;
+        double weight = Math.pow(rank, -productSkew) / productHarmonic;
+
+        int leaf = categoryByRank.apply(categoryPopularity.sampleIndex(random));
+        int child = childOfLeaf(leaf);
+        String[] nouns = DEPARTMENT_NOUNS[departmentOfChild(child) % DEPARTMENT_NOUNS.length];
+        String noun = nouns[(child % childrenPerRoot) % nouns.length];
+        String brand = brandName(brandPopularity.sampleIndex(random));
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        String model = (char) ('A' + random.nextInt(26)) + "-" + (100 + random.nextInt(900));
+        String name = brand + " " + adjective + " " + noun + " " + model;
+
+        // Log-normal prices around $30, ending in .99
+        long priceCents = Math.round(Math.exp(3.4 + 1.1 * random.nextGaussian()) * 100);
+        priceCents = Math.min(Math.max(priceCents, 199), 499_999) / 100 * 100 + 99;
+        long salePriceCents = 0;
+        if (random.nextDouble() < 0.15) {
+            salePriceCents = Math.max(99, priceCents * (60 + random.nextInt(36)) / 100 / 100 * 100 + 99);
+            if (salePriceCents >= priceCents) {
+                salePriceCents = 0;
+            }
+        }
+        long costCents = priceCents * (40 + random.nextInt(31)) / 100;
+
+        ProductStatus status;
+        double u = random.nextDouble();
+        if (u < 0.03) {
+            status = ProductStatus.DRAFT;
+        } else if (u < 0.05) {
+            status = ProductStatus.DISCONTINUED;
+        } else if (u < 0.09) {
+            status = ProductStatus.OUT_OF_STOCK;
+        } else {
+            status = ProductStatus.ACTIVE;
+        }
+        double stockDraw = random.nextDouble();
+        int stock = status == ProductStatus.OUT_OF_STOCK ? 0 : 1 + (int) (500 * stockDraw * stockDraw);
+
+        return new ProductSpec(
+                name,
+                slug(name),
+                noun,
+                brand,
+                leaf,
+                priceCents,
+                salePriceCents,
+                costCents,
+                stock,
+                status,
+                rank <= Math.max(1, products / 50) && random.nextInt(3) == 0,
+                300 + random.nextInt(201),
+                (int) Math.round(weight * reviewsPerWeight),
+                Math.round(weight * viewsPerWeight) + random.nextInt(50),
+                Math.round(weight * salesPerWeight),
+                10 + random.nextInt(4_000),
+                pastTimestamp(random, 3 * 365));
+    }
+
+    /**
+     * Product index drawn by popularity
+     */
+    int popularProduct(SplittableRandom random) {
+        return productByRank.apply(productPopularity.sampleIndex(random));
+    }
+
+    String brandName(int brand) {
+        String prefix = BRAND_PREFIXES[brand % BRAND_PREFIXES.length];
+        String suffix = BRAND_SUFFIXES[(brand / BRAND_PREFIXES.length) % BRAND_SUFFIXES.length];
+        int generation = brand / (BRAND_PREFIXES.length * BRAND_SUFFIXES.length);
+        String name = suffix.isEmpty() ? prefix : prefix + " " + suffix;
+        return generation == 0 ? name : name + " " + (generation + 1);
+    }
+
+    // ---------------------------------------------------------------- users
+
+    /**
+     * Synthesize user {@code index}
+     *
+     * @param index zero-based user index
+     * @return user values
+     */
+    UserSpec user(int index) {
+        SplittableRandom random = random(USERS, index);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String username = "shopper" + (index + 1);
+        return new UserSpec(
+                username,
+                username + "@example.com",
+                firstName,
+                lastName,
+                String.format("+1555%07d", index % 10_000_000),
+                random.nextDouble() >= 0.03,
+                pastTimestamp(random, 3 * 365));
+    }
+
+    /**
+     * User index drawn by activity (a few heavy customers, a long tail)
+     */
+    int activeUser(SplittableRandom random) {
+        return userByRank.apply(userActivity.sampleIndex(random));
+    }
+
+    /**
+     * Synthesize address {@code slot} of user {@code userIndex}
+     */
+    AddressSpec address(int userIndex, int slot) {
+        SplittableRandom random = random(ADDRESSES, (long) userIndex * 64 + slot);
+        UserSpec user = user(userIndex);
+        String[] city = CITIES[random.nextInt(CITIES.length)];
+        return new AddressSpec(
+                user.firstName() + " " + user.lastName(),
+                user.phoneNumber(),
+                (1 + random.nextInt(9_999)) + " " + STREETS[random.nextInt(STREETS.length)] + " St",
+                random.nextInt(4) == 0 ? "Apt " + (1 + random.nextInt(400)) : null,
+                city[0],
+                city[1],
+                city[2] + String.format("%02d", random.nextInt(100)),
+                "US");
+    }
+
+    // ---------------------------------------------------------------- reviews
+
+    ReviewText reviewText(SplittableRandom random) {
+        double u = random.nextDouble();
+        int rating = u < 0.07 ? 1 : u < 0.13 ? 2 : u < 0.25 ? 3 : u < 0.55 ? 4 : 5;
+        StringBuilder comment = new StringBuilder();
+        int sentences = 1 + random.nextInt(4);
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                comment.append(' ');
+            }
+            comment.append(REVIEW_SENTENCES[random.nextInt(REVIEW_SENTENCES.length)]);
+        }
+        return new ReviewText(rating, REVIEW_TITLES[rating - 1], comment.toString());
+    }
+
+    // ---------------------------------------------------------------- helpers
+
+    /**
+     * Timestamp up to {@code maxDaysBack} days before the anchor date
+     */
+    LocalDateTime pastTimestamp(SplittableRandom random, int maxDaysBack) {
+        return anchor.minusSeconds(random.nextLong((long) maxDaysBack * 86_400));
+    }
+
+    LocalDateTime getAnchor() {
+        return anchor;
+    }
+
+    static String slug(String text) {
+        StringBuilder slug = new StringBuilder(text.length());
+        boolean dash = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                slug.append(c);
+                dash = false;
+            } else if (!dash) {
+                slug.append('-');
+                dash = true;
+            }
+        }
+        int length = slug.length();
+        return length > 0 && slug.charAt(length - 1) == '-' ? slug.substring(0, length - 1) : slug.toString();
+    }
+
+    private static long mix(long seed, long entity, long index) {
+        return stafford(stafford(seed ^ (entity * 0x9E3779B97F4A7C15L)) + index);
+    }
+
+    private static long stafford(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Bijection on [0, n) used to scatter popularity ranks across ids
+     */
+    static final class Permutation {
+        private final long n;
+        private final long multiplier;
+        private final long inverse;
+        private final long offset;
+
+        Permutation(long n, long salt) {
+            this.n = n;
+            long candidate = Math.floorMod(salt, Math.max(n, 1)) | 1;
+            BigInteger modulus = BigInteger.valueOf(n);
+            while (n > 1 && !BigInteger.valueOf(candidate).gcd(modulus).equals(BigInteger.ONE)) {
+                candidate += 2;
+            }
+            this.multiplier = n > 1 ? candidate % n : 0;
+            this.inverse = n > 1 ? BigInteger.valueOf(multiplier).modInverse(modulus).longValue() : 0;
+            this.offset = n > 1 ? Math.floorMod(salt >>> 17, n) : 0;
+        }
+
+        int apply(long x) {
+            return n <= 1 ? 0 : (int) ((x * multiplier + offset) % n);
+        }
+
+        int inverse(long y) {
+            return n <= 1 ? 0 : (int) (Math.floorMod(y - offset, n) * inverse % n);
+        }
+    }
+
+    record ProductSpec(String name, String slug, String noun, String brand, int leafCategory,
+                       long priceCents, long salePriceCents, long costCents, int stockQuantity,
+                       ProductStatus status, boolean featured, int ratingHundredths, int reviewCount,
+                       long viewCount, long salesCount, int weightGrams, LocalDateTime createdAt) {
+
+        long effectivePriceCents() {
+            return salePriceCents > 0 ? salePriceCents : priceCents;
+        }
+
+        String sku(long id) {
+            return "SYN-" + id;
+        }
+
+        String shortDescription() {
+            return brand + " " + noun.toLowerCase(Locale.ROOT) + " built for everyday use";
+        }
+
+        String description() {
+            return name + " from " + brand + ". Designed for reliability and comfort, backed by a two-year "
+                    + "warranty and free returns within 30 days.";
+        }
+    }
+
+    record UserSpec(String username, String email, String firstName, String lastName, String phoneNumber,
+                    boolean active, LocalDateTime createdAt) {
+    }
+
+    record AddressSpec(String fullName, String phoneNumber, String streetAddress, String addressLine2,
+                       String city, String state, String postalCode, String country) {
+
+        String formatted() {
+            return fullName + ", " + streetAddress + (addressLine2 != null ? ", " + addressLine2 : "")
+                    + ", " + city + ", " + state + " " + postalCode + ", " + country;
+        }
+    }
+
+    record ReviewText(int rating, String title, String comment) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the trending products engine
+ * Bound from the app.trending namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.trending")
+public class TrendingProperties {
+
+    /**
+     * Score added per product detail view
+     */
+    private int viewWeight = 1;
+
+    /**
+     * Score added per unit ordered
+     */
+    private int purchaseWeight = 5;
+
+    /**
+     * Candidates tracked per window; bounds the largest meaningful result size
+     */
+    private int candidates = 200;
+
+    /**
+     * Counters per count-min sketch row (power of two); more means fewer overestimates
+     */
+    private int sketchWidth = 2048;
+
+    /**
+     * Rows per count-min sketch
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * Interval between snapshots of the windows to the database in milliseconds
+     */
+    private long persistIntervalMs = 60000;
+
+    /**
+     * How long a ranked, hydrated result is served before it is rebuilt, in milliseconds
+     */
+    private long resultTtlMs = 5000;
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Web MVC configuration
+ * Adds binary Jackson formats (Smile, CBOR) for clients that ask for them via Accept,
+ * marks API responses as varying by Accept accordingly, and serves fingerprinted
+ * static assets with their precompressed variants
+ * 
+ * @author E-Commerce Team
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // File names carry a content hash (see StaticAssetPipeline), so they never change in place
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Bodies and catalog ETags depend on the negotiated format, so a shared cache must key
+        // on Accept; set before the handler runs so 304s answered by checkNotModified carry it too
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Appended after the JSON converter so Accept: */* keeps getting JSON
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.build().copyWith(new SmileFactory())));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.build().copyWith(new CBORFactory())));
+    }
+}
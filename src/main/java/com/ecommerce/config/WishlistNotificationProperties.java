@@ -0,0 +1,35 @@
+package com.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for wishlist restock and sale notifications
+ * Bound from the app.wishlist.notifications namespace
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.wishlist.notifications")
+public class WishlistNotificationProperties {
+
+    /**
+     * Whether restocks and price drops are mailed to wishlist subscribers
+     */
+    private boolean enabled = true;
+
+    /**
+     * Interval between digests in milliseconds; changes within it are sent together
+     */
+    private long batchIntervalMs = 60000;
+
+    /**
+     * Hours during which the same product is not announced to the same subscriber again
+     */
+    private int dedupeWindowHours = 24;
+
+    /**
+     * Subscribers read per query, and products per query
+     */
+    private int pageSize = 500;
+}
@@ -4,12 +4,16 @@ import com.ecommerce.dto.CategoryDTO;
 import com.ecommerce.dto.response.ApiResponse;
 import com.ecommerce.model.Category;
 import com.ecommerce.repository.CategoryRepository;
+import com.ecommerce.service.CatalogVersionTracker;
 import com.ecommerce.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,50 +31,87 @@ public class CategoryController {
 
     private final CategoryService categoryService;
     private final CategoryRepository categoryRepository;
+    private final CatalogVersionTracker catalogVersionTracker;
 
     @GetMapping
     @Operation(summary = "Get all categories")
-    public ResponseEntity<ApiResponse<List<CategoryDTO>>> getAllCategories() {
+    public ResponseEntity<ApiResponse<List<CategoryDTO>>> getAllCategories(WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        
         List<Category> categories = categoryRepository.findAll();
         List<CategoryDTO> dtos = categories.stream()
                 .map(categoryService::convertToDTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(ApiResponse.success(dtos));
+        return revalidated(ApiResponse.success(dtos));
     }
 
     @GetMapping("/root")
     @Operation(summary = "Get root categories")
-    public ResponseEntity<ApiResponse<List<CategoryDTO>>> getRootCategories() {
+    public ResponseEntity<ApiResponse<List<CategoryDTO>>> getRootCategories(WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        
         List<Category> categories = categoryRepository.findActiveRootCategories();
         List<CategoryDTO> dtos = categories.stream()
                 .map(categoryService::convertToDTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(ApiResponse.success(dtos));
+        return revalidated(ApiResponse.success(dtos));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID")
-    public ResponseEntity<ApiResponse<CategoryDTO>> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<CategoryDTO>> getCategoryById(@PathVariable Long id, WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        
         Category category = categoryService.getCategoryById(id);
         CategoryDTO dto = categoryService.convertToDTO(category);
-        return ResponseEntity.ok(ApiResponse.success(dto));
+        return revalidated(ApiResponse.success(dto));
     }
 
     @GetMapping("/slug/{slug}")
     @Operation(summary = "Get category by slug")
-    public ResponseEntity<ApiResponse<CategoryDTO>> getCategoryBySlug(@PathVariable String slug) {
+    public ResponseEntity<ApiResponse<CategoryDTO>> getCategoryBySlug(@PathVariable String slug, WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        
         Category category = categoryService.getCategoryBySlug(slug);
         CategoryDTO dto = categoryService.convertToDTO(category);
-        return ResponseEntity.ok(ApiResponse.success(dto));
+        return revalidated(ApiResponse.success(dto));
     }
 
     @GetMapping("/{id}/children")
     @Operation(summary = "Get child categories")
-    public ResponseEntity<ApiResponse<List<CategoryDTO>>> getChildCategories(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<List<CategoryDTO>>> getChildCategories(@PathVariable Long id, WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        
         List<Category> categories = categoryRepository.findActiveByParentId(id);
         List<CategoryDTO> dtos = categories.stream()
                 .map(categoryService::convertToDTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(ApiResponse.success(dtos));
+        return revalidated(ApiResponse.success(dtos));
+    }
+
+    /**
+     * Answer If-None-Match / If-Modified-Since before any query runs
+     */
+    private boolean isNotModified(WebRequest webRequest) {
+        return webRequest.checkNotModified(
+                catalogVersionTracker.categoryETag(webRequest.getHeader(HttpHeaders.ACCEPT)),
+                catalogVersionTracker.lastModified());
+    }
+
+    /**
+     * Cacheable catalog response that clients must revalidate
+     */
+    private static <T> ResponseEntity<T> revalidated(T body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
     }
 }
@@ -0,0 +1,41 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.diagnostics.SqlMetrics;
+import com.ecommerce.dto.SqlDiagnosticsReport;
+import com.ecommerce.dto.response.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for runtime diagnostics endpoints
+ *
+ * @author E-Commerce Team
+ */
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Diagnostics", description = "Runtime diagnostics API")
+public class DiagnosticsController {
+
+    private final SqlMetrics sqlMetrics;
+
+    @GetMapping("/sql")
+    @Operation(summary = "Get connection pool, statement and N+1 statistics")
+    public ResponseEntity<ApiResponse<SqlDiagnosticsReport>> getSqlReport() {
+        return ResponseEntity.ok(ApiResponse.success(sqlMetrics.report()));
+    }
+
+    @DeleteMapping("/sql")
+    @Operation(summary = "Reset SQL statistics")
+    public ResponseEntity<ApiResponse<Void>> resetSqlReport() {
+        sqlMetrics.reset();
+        return ResponseEntity.ok(ApiResponse.success("SQL statistics reset", null));
+    }
+}
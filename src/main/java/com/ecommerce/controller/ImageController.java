@@ -0,0 +1,103 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.config.FileStorageProperties;
+import com.ecommerce.exception.BadRequestException;
+import com.ecommerce.media.ByteRange;
+import com.ecommerce.media.FileTransfer;
+import com.ecommerce.media.ImageStorage;
+import com.ecommerce.media.ThumbnailCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves uploaded images and resized variants of them
+ * Bodies are sent zero-copy where the connector allows it (see
+ * {@link FileTransfer}); single byte ranges, conditional requests on the
+ * ETag and long-lived immutable caching are supported.
+ *
+ * @author E-Commerce Team
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Images", description = "Image API")
+public class ImageController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageController.class);
+
+    private final ImageStorage imageStorage;
+    private final ThumbnailCache thumbnailCache;
+    private final FileStorageProperties properties;
+
+    @GetMapping("/images/{*path}")
+    @Operation(summary = "Get an uploaded image, optionally resized to a maximum width")
+    public void getImage(
+            @PathVariable String path,
+            @RequestParam(required = false) Integer w,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        ImageStorage.StoredFile file = imageStorage.resolve(path.startsWith("/") ? path.substring(1) : path);
+        if (w != null) {
+            if (w <= 0) {
+                throw new BadRequestException("Width must be positive");
+            }
+            try {
+                file = thumbnailCache.variant(file, thumbnailCache.resolveWidth(w));
+            } catch (IOException ex) {
+                logger.warn("Could not produce a {}px variant of {}: {}", w, path, ex.getMessage());
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return;
+            }
+        }
+
+        String etag = file.etag();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl
+                .maxAge(properties.getCacheMaxAgeDays(), TimeUnit.DAYS).cachePublic().immutable().getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Sets ETag and Last-Modified, and answers 304 or 412 when the preconditions say so
+        if (new ServletWebRequest(request, response).checkNotModified(etag, file.lastModified())) {
+            return;
+        }
+
+        // A Range conditioned on an older version gets the whole current file
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        ByteRange range = ifRange == null || ifRange.equals(etag)
+                ? ByteRange.parse(request.getHeader(HttpHeaders.RANGE), file.size())
+                : null;
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size());
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        response.setContentType(MediaTypeFactory.getMediaType(file.path().getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        if (range == null) {
+            FileTransfer.send(file.path(), 0, file.size(), request, response);
+        } else {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + file.size());
+            FileTransfer.send(file.path(), range.start(), range.length(), request, response);
+        }
+    }
+}
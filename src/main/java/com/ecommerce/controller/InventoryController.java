@@ -0,0 +1,92 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.LowStockProductDTO;
+import com.ecommerce.dto.ProductStockDTO;
+import com.ecommerce.dto.WarehouseDTO;
+import com.ecommerce.dto.request.CreateWarehouseRequest;
+import com.ecommerce.dto.request.StockAdjustmentRequest;
+import com.ecommerce.dto.response.ApiResponse;
+import com.ecommerce.inventory.LowStockMonitor;
+import com.ecommerce.model.Warehouse;
+import com.ecommerce.model.enums.StockLevel;
+import com.ecommerce.service.WarehouseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for inventory monitoring and warehouse endpoints
+ *
+ * @author E-Commerce Team
+ */
+@RestController
+@RequestMapping("/api/admin/inventory")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Inventory", description = "Inventory monitoring API")
+public class InventoryController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final LowStockMonitor lowStockMonitor;
+    private final WarehouseService warehouseService;
+
+    @GetMapping("/low-stock")
+    @Operation(summary = "Get products at or below their low-stock threshold, lowest stock first")
+    public ResponseEntity<ApiResponse<List<LowStockProductDTO>>> getLowStockProducts(
+            @RequestParam(required = false) StockLevel level,
+            @RequestParam(defaultValue = "100") int limit) {
+        List<LowStockProductDTO> products = lowStockMonitor.lowStockProducts(level,
+                Math.min(Math.max(limit, 1), MAX_LIMIT));
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
+    @GetMapping("/warehouses")
+    @Operation(summary = "Get all warehouses")
+    public ResponseEntity<ApiResponse<List<WarehouseDTO>>> getWarehouses() {
+        List<WarehouseDTO> warehouses = warehouseService.getAllWarehouses().stream()
+                .map(warehouseService::convertToDTO)
+                .toList();
+        return ResponseEntity.ok(ApiResponse.success(warehouses));
+    }
+
+    @PostMapping("/warehouses")
+    @Operation(summary = "Create a warehouse")
+    public ResponseEntity<ApiResponse<WarehouseDTO>> createWarehouse(@Valid @RequestBody CreateWarehouseRequest request) {
+        Warehouse warehouse = warehouseService.createWarehouse(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Warehouse created successfully", warehouseService.convertToDTO(warehouse)));
+    }
+
+    @PutMapping("/warehouses/{id}")
+    @Operation(summary = "Update a warehouse")
+    public ResponseEntity<ApiResponse<WarehouseDTO>> updateWarehouse(
+            @PathVariable Long id,
+            @Valid @RequestBody CreateWarehouseRequest request) {
+        Warehouse warehouse = warehouseService.updateWarehouse(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Warehouse updated successfully", warehouseService.convertToDTO(warehouse)));
+    }
+
+    @PostMapping("/warehouses/{code}/stock")
+    @Operation(summary = "Receive or remove units of a product in a warehouse")
+    public ResponseEntity<ApiResponse<ProductStockDTO>> adjustStock(
+            @PathVariable String code,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Stock adjusted", warehouseService.adjustStock(code, request)));
+    }
+
+    @GetMapping("/products/{productId}/stock")
+    @Operation(summary = "Get the stock of a product per warehouse")
+    public ResponseEntity<ApiResponse<ProductStockDTO>> getProductStock(@PathVariable Long productId) {
+        return ResponseEntity.ok(ApiResponse.success(warehouseService.getProductStock(productId)));
+    }
+}
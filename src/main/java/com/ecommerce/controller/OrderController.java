@@ -1,28 +1,40 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.dto.BulkOrderStatusResult;
 import com.ecommerce.dto.OrderDTO;
+import com.ecommerce.dto.PriceBreakdown;
+import com.ecommerce.dto.request.BulkOrderStatusRequest;
 import com.ecommerce.dto.request.CreateOrderRequest;
+import com.ecommerce.dto.request.QuoteRequest;
 import com.ecommerce.dto.response.ApiResponse;
 import com.ecommerce.dto.response.PageResponse;
 import com.ecommerce.model.Order;
 import com.ecommerce.model.enums.OrderStatus;
 import com.ecommerce.model.enums.PaymentStatus;
 import com.ecommerce.service.AuthService;
+import com.ecommerce.service.BulkOrderUpdateService;
+import com.ecommerce.service.OrderExportService;
 import com.ecommerce.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+
 /**
  * REST controller for order endpoints
  * 
@@ -37,6 +49,8 @@ public class OrderController {
 
     private final OrderService orderService;
     private final AuthService authService;
+    private final OrderExportService orderExportService;
+    private final BulkOrderUpdateService bulkOrderUpdateService;
 
     @PostMapping
     @Operation(summary = "Create a new order")
@@ -48,6 +62,15 @@ public class OrderController {
                 .body(ApiResponse.success("Order created successfully", dto));
     }
 
+    @PostMapping("/quote")
+    @Operation(summary = "Price the current cart as it would be charged at checkout")
+    public ResponseEntity<ApiResponse<PriceBreakdown>> quoteOrder(
+            @Valid @RequestBody(required = false) QuoteRequest request) {
+        Long userId = authService.getCurrentUserId();
+        PriceBreakdown quote = orderService.quoteOrder(userId, request != null ? request.getDiscountCode() : null);
+        return ResponseEntity.ok(ApiResponse.success(quote));
+    }
+
     @GetMapping
     @Operation(summary = "Get current user's orders")
     public ResponseEntity<ApiResponse<PageResponse<OrderDTO>>> getMyOrders(
@@ -128,6 +151,26 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @GetMapping("/admin/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Stream orders with items as CSV or NDJSON (Admin only)")
+    public void exportOrders(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            HttpServletResponse response) throws IOException {
+        
+        OrderExportService.Format exportFormat = OrderExportService.Format.from(format);
+        response.setContentType(exportFormat.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + exportFormat.getExtension() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        
+        orderExportService.exportOrders(exportFormat, from, to, status, paymentStatus, response.getOutputStream());
+    }
+
     @PatchMapping("/admin/{orderId}/status")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update order status (Admin only)")
@@ -161,4 +204,14 @@ public class OrderController {
         OrderDTO dto = orderService.convertToDTO(order);
         return ResponseEntity.ok(ApiResponse.success("Tracking info updated", dto));
     }
+
+    @PostMapping("/admin/bulk-status")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update status, tracking number and carrier of many orders (Admin only)")
+    public ResponseEntity<ApiResponse<BulkOrderStatusResult>> bulkUpdateStatus(
+            @Valid @RequestBody BulkOrderStatusRequest request) {
+        BulkOrderStatusResult result = bulkOrderUpdateService.apply(request);
+        return ResponseEntity.ok(ApiResponse.success(
+                result.getUpdated() + " of " + result.getRequested() + " orders updated", result));
+    }
 }
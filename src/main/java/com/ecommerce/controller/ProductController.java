@@ -1,25 +1,45 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.analytics.TrendWindow;
+import com.ecommerce.dto.FuzzySearchResultDTO;
 import com.ecommerce.dto.ProductDTO;
+import com.ecommerce.dto.ProductImageDTO;
+import com.ecommerce.dto.ProductSummaryDTO;
+import com.ecommerce.dto.SuggestionDTO;
+import com.ecommerce.dto.TrendingProductDTO;
 import com.ecommerce.dto.request.CreateProductRequest;
 import com.ecommerce.dto.response.ApiResponse;
 import com.ecommerce.dto.response.PageResponse;
 import com.ecommerce.model.Product;
 import com.ecommerce.model.enums.ProductStatus;
+import com.ecommerce.service.CatalogVersionTracker;
+import com.ecommerce.service.ProductImageService;
 import com.ecommerce.service.ProductService;
+import com.ecommerce.service.RecommendationService;
+import com.ecommerce.service.SearchService;
+import com.ecommerce.service.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for product endpoints
@@ -34,149 +54,202 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     private final ProductService productService;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final TrendingService trendingService;
+    private final RecommendationService recommendationService;
+    private final SearchService searchService;
+    private final ProductImageService productImageService;
 
     @GetMapping
     @Operation(summary = "Get all products")
-    public ResponseEntity<ApiResponse<PageResponse<ProductDTO>>> getAllProducts(
+    public ResponseEntity<ApiResponse<PageResponse<ProductSummaryDTO>>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDir) {
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            WebRequest webRequest) {
+        
+        if (isListNotModified(webRequest)) {
+            return null;
+        }
         
         Sort sort = sortDir.equalsIgnoreCase("ASC") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<Product> productPage = productService.getActiveProducts(pageable);
-        Page<ProductDTO> dtoPage = productPage.map(productService::convertToDTO);
-        
-        PageResponse<ProductDTO> response = PageResponse.<ProductDTO>builder()
-                .content(dtoPage.getContent())
-                .pageNumber(dtoPage.getNumber())
-                .pageSize(dtoPage.getSize())
-                .totalElements(dtoPage.getTotalElements())
-                .totalPages(dtoPage.getTotalPages())
-                .first(dtoPage.isFirst())
-                .last(dtoPage.isLast())
-                .empty(dtoPage.isEmpty())
-                .build();
+        Page<ProductSummaryDTO> productPage = productService.getActiveProducts(pageable);
+        PageResponse<ProductSummaryDTO> response = PageResponse.of(productPage);
         
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return revalidated(ApiResponse.success(response));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID")
-    public ResponseEntity<ApiResponse<ProductDTO>> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id);
-        productService.incrementViewCount(id);
+    public ResponseEntity<ApiResponse<ProductDTO>> getProductById(@PathVariable Long id, WebRequest webRequest,
+                                                                  HttpServletRequest request) {
+        // Revalidation of a known version is answered without loading the product
+        CatalogVersionTracker.EntityVersion version = catalogVersionTracker.findProductVersion(id);
+        Product product = null;
+        if (version == null) {
+            long generation = catalogVersionTracker.productGeneration();
+            product = productService.getProductById(id);
+            version = catalogVersionTracker.recordProduct(product, generation);
+        }
+        productService.incrementViewCount(id, viewerKey(request));
+        if (webRequest.checkNotModified(version.eTag(webRequest.getHeader(HttpHeaders.ACCEPT)), version.getLastModified())) {
+            return null;
+        }
+        
+        if (product == null) {
+            product = productService.getProductById(id);
+        }
         ProductDTO dto = productService.convertToDTO(product);
-        return ResponseEntity.ok(ApiResponse.success(dto));
+        return revalidated(ApiResponse.success(dto));
+    }
+
+    @GetMapping("/{id}/frequently-bought-together")
+    @Operation(summary = "Get products frequently bought together with a product")
+    public ResponseEntity<ApiResponse<List<ProductSummaryDTO>>> getFrequentlyBoughtTogether(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "6") int limit) {
+        List<ProductSummaryDTO> products = recommendationService.getFrequentlyBoughtTogether(id, limit);
+        // Co-purchase counts drift slowly; let shared caches hold the list for a minute
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .body(ApiResponse.success(products));
+    }
+
+    @GetMapping("/{id}/also-viewed")
+    @Operation(summary = "Get products viewed in the same sessions as a product")
+    public ResponseEntity<ApiResponse<List<ProductSummaryDTO>>> getAlsoViewed(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "6") int limit) {
+        List<ProductSummaryDTO> products = recommendationService.getAlsoViewed(id, limit);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .body(ApiResponse.success(products));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending products of the last hour, day or week")
+    public ResponseEntity<ApiResponse<List<TrendingProductDTO>>> getTrendingProducts(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<TrendingProductDTO> trending = trendingService.getTrending(TrendWindow.fromKey(window), limit);
+        // Rankings move continuously; let shared caches hold them briefly
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.SECONDS).cachePublic())
+                .body(ApiResponse.success(trending));
     }
 
     @GetMapping("/slug/{slug}")
     @Operation(summary = "Get product by slug")
-    public ResponseEntity<ApiResponse<ProductDTO>> getProductBySlug(@PathVariable String slug) {
+    public ResponseEntity<ApiResponse<ProductDTO>> getProductBySlug(@PathVariable String slug, WebRequest webRequest,
+                                                                    HttpServletRequest request) {
+        long generation = catalogVersionTracker.productGeneration();
         Product product = productService.getProductBySlug(slug);
-        productService.incrementViewCount(product.getId());
+        productService.incrementViewCount(product.getId(), viewerKey(request));
+        CatalogVersionTracker.EntityVersion version = catalogVersionTracker.recordProduct(product, generation);
+        if (webRequest.checkNotModified(version.eTag(webRequest.getHeader(HttpHeaders.ACCEPT)), version.getLastModified())) {
+            return null;
+        }
+        
         ProductDTO dto = productService.convertToDTO(product);
-        return ResponseEntity.ok(ApiResponse.success(dto));
+        return revalidated(ApiResponse.success(dto));
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search products")
-    public ResponseEntity<ApiResponse<PageResponse<ProductDTO>>> searchProducts(
+    public ResponseEntity<ApiResponse<PageResponse<ProductSummaryDTO>>> searchProducts(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Product> productPage = productService.searchProducts(keyword, pageable);
-        Page<ProductDTO> dtoPage = productPage.map(productService::convertToDTO);
+        if (isListNotModified(webRequest)) {
+            return null;
+        }
         
-        PageResponse<ProductDTO> response = PageResponse.<ProductDTO>builder()
-                .content(dtoPage.getContent())
-                .pageNumber(dtoPage.getNumber())
-                .pageSize(dtoPage.getSize())
-                .totalElements(dtoPage.getTotalElements())
-                .totalPages(dtoPage.getTotalPages())
-                .first(dtoPage.isFirst())
-                .last(dtoPage.isLast())
-                .empty(dtoPage.isEmpty())
-                .build();
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ProductSummaryDTO> productPage = productService.searchProducts(keyword, pageable);
+        PageResponse<ProductSummaryDTO> response = PageResponse.of(productPage);
         
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return revalidated(ApiResponse.success(response));
+    }
+
+    @GetMapping("/search/fuzzy")
+    @Operation(summary = "Search products tolerating typos, with a spelling suggestion")
+    public ResponseEntity<ApiResponse<FuzzySearchResultDTO>> fuzzySearch(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        FuzzySearchResultDTO result = searchService.fuzzySearch(q, limit);
+        return revalidated(ApiResponse.success(result));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest products, brands and categories as the user types")
+    public ResponseEntity<ApiResponse<List<SuggestionDTO>>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        List<SuggestionDTO> suggestions = searchService.suggest(q, limit);
+        // The same prefixes are typed by many users; let shared caches answer them
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic())
+                .body(ApiResponse.success(suggestions));
     }
 
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category")
-    public ResponseEntity<ApiResponse<PageResponse<ProductDTO>>> getProductsByCategory(
+    public ResponseEntity<ApiResponse<PageResponse<ProductSummaryDTO>>> getProductsByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Product> productPage = productService.getProductsByCategory(categoryId, pageable);
-        Page<ProductDTO> dtoPage = productPage.map(productService::convertToDTO);
+        if (isListNotModified(webRequest)) {
+            return null;
+        }
         
-        PageResponse<ProductDTO> response = PageResponse.<ProductDTO>builder()
-                .content(dtoPage.getContent())
-                .pageNumber(dtoPage.getNumber())
-                .pageSize(dtoPage.getSize())
-                .totalElements(dtoPage.getTotalElements())
-                .totalPages(dtoPage.getTotalPages())
-                .first(dtoPage.isFirst())
-                .last(dtoPage.isLast())
-                .empty(dtoPage.isEmpty())
-                .build();
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ProductSummaryDTO> productPage = productService.getProductsByCategory(categoryId, pageable);
+        PageResponse<ProductSummaryDTO> response = PageResponse.of(productPage);
         
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return revalidated(ApiResponse.success(response));
     }
 
     @GetMapping("/featured")
     @Operation(summary = "Get featured products")
-    public ResponseEntity<ApiResponse<PageResponse<ProductDTO>>> getFeaturedProducts(
+    public ResponseEntity<ApiResponse<PageResponse<ProductSummaryDTO>>> getFeaturedProducts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Product> productPage = productService.getFeaturedProducts(pageable);
-        Page<ProductDTO> dtoPage = productPage.map(productService::convertToDTO);
+        if (isListNotModified(webRequest)) {
+            return null;
+        }
         
-        PageResponse<ProductDTO> response = PageResponse.<ProductDTO>builder()
-                .content(dtoPage.getContent())
-                .pageNumber(dtoPage.getNumber())
-                .pageSize(dtoPage.getSize())
-                .totalElements(dtoPage.getTotalElements())
-                .totalPages(dtoPage.getTotalPages())
-                .first(dtoPage.isFirst())
-                .last(dtoPage.isLast())
-                .empty(dtoPage.isEmpty())
-                .build();
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ProductSummaryDTO> productPage = productService.getFeaturedProducts(pageable);
+        PageResponse<ProductSummaryDTO> response = PageResponse.of(productPage);
         
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return revalidated(ApiResponse.success(response));
     }
 
     @GetMapping("/on-sale")
     @Operation(summary = "Get products on sale")
-    public ResponseEntity<ApiResponse<PageResponse<ProductDTO>>> getProductsOnSale(
+    public ResponseEntity<ApiResponse<PageResponse<ProductSummaryDTO>>> getProductsOnSale(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
         
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Product> productPage = productService.getProductsOnSale(pageable);
-        Page<ProductDTO> dtoPage = productPage.map(productService::convertToDTO);
+        if (isListNotModified(webRequest)) {
+            return null;
+        }
         
-        PageResponse<ProductDTO> response = PageResponse.<ProductDTO>builder()
-                .content(dtoPage.getContent())
-                .pageNumber(dtoPage.getNumber())
-                .pageSize(dtoPage.getSize())
-                .totalElements(dtoPage.getTotalElements())
-                .totalPages(dtoPage.getTotalPages())
-                .first(dtoPage.isFirst())
-                .last(dtoPage.isLast())
-                .empty(dtoPage.isEmpty())
-                .build();
+        Pageable pageable = PageRequest.of(page, size);
+        Page<ProductSummaryDTO> productPage = productService.getProductsOnSale(pageable);
+        PageResponse<ProductSummaryDTO> response = PageResponse.of(productPage);
         
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return revalidated(ApiResponse.success(response));
     }
 
     @PostMapping
@@ -202,6 +275,19 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success("Product updated successfully", dto));
     }
 
+    @PostMapping(value = "/{id}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SELLER')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Upload a product image (multipart fields: file, altText, primary)")
+    public ResponseEntity<ApiResponse<ProductImageDTO>> uploadImage(
+            @PathVariable Long id,
+            HttpServletRequest request) throws IOException {
+        // Read straight from the body: the image is streamed to disk, never buffered whole
+        ProductImageDTO dto = productImageService.upload(id, request.getContentType(), request.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Image uploaded successfully", dto));
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasAnyRole('ADMIN', 'SELLER')")
     @SecurityRequirement(name = "Bearer Authentication")
@@ -222,4 +308,31 @@ public class ProductController {
         productService.deleteProduct(id);
         return ResponseEntity.ok(ApiResponse.success("Product deleted successfully", null));
     }
+
+    /**
+     * Answer If-None-Match / If-Modified-Since for listings before any query runs
+     */
+    private boolean isListNotModified(WebRequest webRequest) {
+        return webRequest.checkNotModified(
+                catalogVersionTracker.productListETag(webRequest.getHeader(HttpHeaders.ACCEPT)),
+                catalogVersionTracker.lastModified());
+    }
+
+    /**
+     * Who is viewing a product: the user, else the anonymous client's address and agent
+     * The address is the forwarded client address when the request came through a trusted proxy.
+     */
+    private static String viewerKey(HttpServletRequest request) {
+        if (request.getUserPrincipal() != null) {
+            return "user:" + request.getUserPrincipal().getName();
+        }
+        return "anon:" + request.getRemoteAddr() + "|" + request.getHeader(HttpHeaders.USER_AGENT);
+    }
+
+    /**
+     * Cacheable catalog response that clients must revalidate
+     */
+    private static <T> ResponseEntity<T> revalidated(T body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
+    }
 }
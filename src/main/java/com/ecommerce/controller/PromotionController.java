@@ -0,0 +1,80 @@
+package com.ecommerce.controller;
+
+import com.ecommerce.dto.PromotionDTO;
+import com.ecommerce.dto.request.CreatePromotionRequest;
+import com.ecommerce.dto.response.ApiResponse;
+import com.ecommerce.dto.response.PageResponse;
+import com.ecommerce.model.Promotion;
+import com.ecommerce.service.PromotionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for promotion administration
+ * 
+ * @author E-Commerce Team
+ */
+@RestController
+@RequestMapping("/api/admin/promotions")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Promotions", description = "Discount code administration API")
+public class PromotionController {
+
+    private final PromotionService promotionService;
+
+    @GetMapping
+    @Operation(summary = "Get all promotions")
+    public ResponseEntity<ApiResponse<PageResponse<PromotionDTO>>> getAllPromotions(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        Page<PromotionDTO> promotionPage = promotionService.getAllPromotions(pageable)
+                .map(promotionService::convertToDTO);
+        return ResponseEntity.ok(ApiResponse.success(PageResponse.of(promotionPage)));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get promotion by ID")
+    public ResponseEntity<ApiResponse<PromotionDTO>> getPromotionById(@PathVariable Long id) {
+        Promotion promotion = promotionService.getPromotionById(id);
+        return ResponseEntity.ok(ApiResponse.success(promotionService.convertToDTO(promotion)));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a promotion")
+    public ResponseEntity<ApiResponse<PromotionDTO>> createPromotion(@Valid @RequestBody CreatePromotionRequest request) {
+        Promotion promotion = promotionService.createPromotion(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Promotion created successfully", promotionService.convertToDTO(promotion)));
+    }
+
+    @PutMapping("/{id}")
+    @Operation(summary = "Update a promotion")
+    public ResponseEntity<ApiResponse<PromotionDTO>> updatePromotion(
+            @PathVariable Long id,
+            @Valid @RequestBody CreatePromotionRequest request) {
+        Promotion promotion = promotionService.updatePromotion(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Promotion updated successfully", promotionService.convertToDTO(promotion)));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Deactivate a promotion")
+    public ResponseEntity<ApiResponse<Void>> deactivatePromotion(@PathVariable Long id) {
+        promotionService.deactivatePromotion(id);
+        return ResponseEntity.ok(ApiResponse.success("Promotion deactivated", null));
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.dto.AddressDTO;
 import com.ecommerce.dto.UserDTO;
 import com.ecommerce.dto.response.ApiResponse;
 import com.ecommerce.model.User;
@@ -10,9 +11,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST controller for user endpoints
  * 
@@ -53,6 +57,22 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success("Password changed successfully", null));
     }
 
+    @GetMapping("/me/addresses")
+    @Operation(summary = "Get current user addresses")
+    public ResponseEntity<ApiResponse<List<AddressDTO>>> getAddresses() {
+        Long userId = authService.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(userService.getUserAddresses(userId)));
+    }
+
+    @PostMapping("/me/addresses")
+    @Operation(summary = "Add an address for the current user")
+    public ResponseEntity<ApiResponse<AddressDTO>> addAddress(@Valid @RequestBody AddressDTO addressDTO) {
+        Long userId = authService.getCurrentUserId();
+        AddressDTO address = userService.addAddress(userId, addressDTO);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Address added successfully", address));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID")
     public ResponseEntity<ApiResponse<UserDTO>> getUserById(@PathVariable Long id) {
@@ -0,0 +1,183 @@
+package com.ecommerce.diagnostics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource decorator that times every JDBC statement and counts fetched rows
+ * Connections, statements and result sets are wrapped in JDK proxies, so the
+ * only per-statement cost is one proxy allocation and a few atomic adds.
+ *
+ * @author E-Commerce Team
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private final SqlMetrics sqlMetrics;
+
+    public InstrumentedDataSource(DataSource targetDataSource, SqlMetrics sqlMetrics) {
+        super(targetDataSource);
+        this.sqlMetrics = sqlMetrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private Statement wrapStatement(Statement statement, Class<?> type, String sql) {
+        return (Statement) Proxy.newProxyInstance(
+                InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] {type},
+                new StatementHandler(statement, sql));
+    }
+
+    private ResultSet wrapResultSet(ResultSet resultSet, SqlMetrics.StatementStats stats) {
+        return (ResultSet) Proxy.newProxyInstance(
+                InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class},
+                new ResultSetHandler(resultSet, stats, SqlRequestContext.current()));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> null;
+        };
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        String name = method.getName();
+        return ("equals".equals(name) && method.getParameterCount() == 1)
+                || ("hashCode".equals(name) && method.getParameterCount() == 0);
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return wrapStatement((Statement) result, PreparedStatement.class, (String) args[0]);
+                case "prepareCall":
+                    return wrapStatement((Statement) result, CallableStatement.class, (String) args[0]);
+                case "createStatement":
+                    return wrapStatement((Statement) result, Statement.class, null);
+                default:
+                    return result;
+            }
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            String name = method.getName();
+            if ("getResultSet".equals(name)) {
+                Object result = InstrumentedDataSource.invoke(target, method, args);
+                return result == null ? null : wrapResultSet((ResultSet) result,
+                        sqlMetrics.statementStats(SqlRequestContext.currentRepositoryMethod()));
+            }
+            if (!name.startsWith("execute")) {
+                return InstrumentedDataSource.invoke(target, method, args);
+            }
+
+            SqlMetrics.StatementStats stats = sqlMetrics.statementStats(SqlRequestContext.currentRepositoryMethod());
+            long start = System.nanoTime();
+            boolean failed = true;
+            Object result;
+            try {
+                result = InstrumentedDataSource.invoke(target, method, args);
+                failed = false;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                stats.record(elapsed, failed);
+                SqlRequestContext context = SqlRequestContext.current();
+                if (context != null) {
+                    String sql = preparedSql != null ? preparedSql
+                            : (args != null && args.length > 0 && args[0] instanceof String s ? s : "(batch)");
+                    context.recordStatement(sqlMetrics.shapeOf(sql), elapsed);
+                }
+            }
+            return result instanceof ResultSet resultSet ? wrapResultSet(resultSet, stats) : result;
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final SqlMetrics.StatementStats stats;
+        private final SqlRequestContext context;
+
+        ResultSetHandler(ResultSet target, SqlMetrics.StatementStats stats, SqlRequestContext context) {
+            this.target = target;
+            this.stats = stats;
+            this.context = context;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                stats.recordRow();
+                if (context != null) {
+                    context.recordRow();
+                }
+            }
+            return result;
+        }
+    }
+}
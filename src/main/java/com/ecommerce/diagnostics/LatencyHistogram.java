@@ -0,0 +1,115 @@
+package com.ecommerce.diagnostics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets
+ * Recording is a single atomic increment, cheap enough for every JDBC call
+ *
+ * @author E-Commerce Team
+ */
+public class LatencyHistogram {
+
+    /**
+     * Bucket i holds samples below 2^i microseconds; the last bucket is open-ended (~34s and up)
+     */
+    private static final int BUCKETS = 26;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Record a sample
+     *
+     * @param nanos duration in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        long micros = nanos / 1000;
+        int bucket = micros == 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Record a sample expressed in milliseconds
+     *
+     * @param millis duration in milliseconds
+     */
+    public void recordMillis(long millis) {
+        recordNanos(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Mean latency in milliseconds
+     *
+     * @return mean or 0 when empty
+     */
+    public double getMeanMillis() {
+        long samples = count.sum();
+        return samples == 0 ? 0 : totalNanos.sum() / (double) samples / 1_000_000d;
+    }
+
+    /**
+     * Estimate a percentile as the upper bound of the bucket containing it
+     *
+     * @param percentile percentile between 0 and 100
+     * @return latency upper bound in milliseconds
+     */
+    public double getPercentileMillis(double percentile) {
+        long samples = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            samples += snapshot[i];
+        }
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100d * samples);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                if (i == BUCKETS - 1) {
+                    return maxNanos.get() / 1_000_000d;
+                }
+                return (1L << i) / 1000d;
+            }
+        }
+        return maxNanos.get() / 1_000_000d;
+    }
+
+    /**
+     * Clear all samples
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+}
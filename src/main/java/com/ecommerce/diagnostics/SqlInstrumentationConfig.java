@@ -0,0 +1,147 @@
+package com.ecommerce.diagnostics;
+
+import com.ecommerce.config.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wires JDBC statement and connection pool instrumentation
+ * Disable with app.diagnostics.sql.enabled=false
+ *
+ * @author E-Commerce Team
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.diagnostics.sql", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    /**
+     * Wraps DataSource beans for statement timing and attaches the Hikari tracker to every pool
+     */
+    @Bean
+    public static BeanPostProcessor sqlDataSourcePostProcessor(ObjectProvider<SqlMetrics> sqlMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+                    hikari.setMetricsTrackerFactory(sqlMetrics.getObject().metricsTrackerFactory());
+                } else if (bean instanceof ReplicaRoutingDataSource routing) {
+                    routing.getPrimary().setMetricsTrackerFactory(sqlMetrics.getObject().metricsTrackerFactory());
+                    routing.getReplicas().forEach(replica ->
+                            replica.setMetricsTrackerFactory(sqlMetrics.getObject().metricsTrackerFactory()));
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the data source handed to JPA is wrapped; the routing target sits behind it
+                if (bean instanceof DataSource dataSource
+                        && !(bean instanceof InstrumentedDataSource)
+                        && !(bean instanceof ReplicaRoutingDataSource)) {
+                    return new InstrumentedDataSource(dataSource, sqlMetrics.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Labels statements with the Spring Data repository method that issued them
+     */
+    @Bean
+    public static BeanPostProcessor repositoryLabelPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    new RepositoryLabelInterceptor(repositoryInformation.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestFilter> sqlRequestFilter(SqlMetrics sqlMetrics) {
+        FilterRegistrationBean<SqlRequestFilter> registration = new FilterRegistrationBean<>(new SqlRequestFilter(sqlMetrics));
+        // Outermost, so statements issued by the security chain (JWT user lookup) are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    /**
+     * Binds a request-scoped SQL context and attributes it to the matched route
+     */
+    static class SqlRequestFilter extends OncePerRequestFilter {
+
+        private final SqlMetrics sqlMetrics;
+
+        SqlRequestFilter(SqlMetrics sqlMetrics) {
+            this.sqlMetrics = sqlMetrics;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request,
+                                        HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            SqlRequestContext context = SqlRequestContext.begin();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                SqlRequestContext.end();
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)");
+                sqlMetrics.recordRequest(endpoint, context);
+            }
+        }
+    }
+
+    /**
+     * Sets the repository method label for the duration of a repository call
+     */
+    static class RepositoryLabelInterceptor implements MethodInterceptor {
+
+        private final String repositoryName;
+        private final Map<Method, String> labels = new ConcurrentHashMap<>();
+
+        RepositoryLabelInterceptor(Class<?> repositoryInterface) {
+            this.repositoryName = repositoryInterface.getSimpleName();
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            String label = labels.computeIfAbsent(method, m -> repositoryName + "." + m.getName());
+            String previous = SqlRequestContext.enterRepositoryMethod(label);
+            try {
+                return invocation.proceed();
+            } finally {
+                SqlRequestContext.enterRepositoryMethod(previous);
+            }
+        }
+    }
+}
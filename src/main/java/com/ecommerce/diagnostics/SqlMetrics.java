@@ -0,0 +1,489 @@
+package com.ecommerce.diagnostics;
+
+import com.ecommerce.dto.SqlDiagnosticsReport;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registry for connection pool and JDBC statement measurements
+ * Aggregates per repository method, per endpoint and per pool, and keeps
+ * the most recent N+1 incidents for the diagnostics report. When a Micrometer
+ * registry is present, pool and per-repository statement meters are published too.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+public class SqlMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlMetrics.class);
+
+    private static final int MAX_INCIDENTS = 100;
+    private static final int MAX_CACHED_SHAPES = 5000;
+
+    private final Map<String, StatementStats> statementStats = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> endpointStats = new ConcurrentHashMap<>();
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final Deque<SqlDiagnosticsReport.NPlusOneIncident> incidents = new ArrayDeque<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${app.diagnostics.sql.n-plus-one-threshold:10}")
+    private int nPlusOneThreshold;
+
+    public SqlMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Get (or create) the statistics bucket for a repository method
+     *
+     * @param label repository method label
+     * @return statistics bucket
+     */
+    public StatementStats statementStats(String label) {
+        StatementStats stats = statementStats.get(label);
+        if (stats != null) {
+            return stats;
+        }
+        StatementStats created = new StatementStats();
+        stats = statementStats.putIfAbsent(label, created);
+        if (stats != null) {
+            return stats;
+        }
+        bindStatementMeters(label, created);
+        return created;
+    }
+
+    /**
+     * Get all repository method statistics
+     *
+     * @return live view keyed by repository method
+     */
+    public Map<String, StatementStats> getStatementStats() {
+        return statementStats;
+    }
+
+    /**
+     * Get all endpoint statistics
+     *
+     * @return live view keyed by endpoint
+     */
+    public Map<String, EndpointStats> getEndpointStats() {
+        return endpointStats;
+    }
+
+    /**
+     * Get all tracked pools
+     *
+     * @return live view keyed by pool name
+     */
+    public Map<String, PoolMetrics> getPools() {
+        return pools;
+    }
+
+    /**
+     * Hikari metrics tracker factory feeding pool wait and usage histograms
+     * Also forwards to the standard Micrometer hikaricp.* meters, which this
+     * tracker replaces on the pool.
+     *
+     * @return tracker factory
+     */
+    public MetricsTrackerFactory metricsTrackerFactory() {
+        return (poolName, poolStats) -> pools.computeIfAbsent(poolName, name -> {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            IMetricsTracker delegate = registry != null
+                    ? new MicrometerMetricsTrackerFactory(registry).create(name, poolStats)
+                    : null;
+            return new PoolMetrics(name, poolStats, delegate);
+        });
+    }
+
+    /**
+     * Fold a finished request into the endpoint statistics and check for N+1 patterns
+     *
+     * @param endpoint endpoint label (method and route pattern)
+     * @param context request accounting
+     */
+    public void recordRequest(String endpoint, SqlRequestContext context) {
+        EndpointStats stats = endpointStats.computeIfAbsent(endpoint, key -> new EndpointStats());
+        stats.requests.increment();
+        stats.statements.add(context.getStatementCount());
+        stats.statementNanos.add(context.getStatementNanos());
+        stats.rowsFetched.add(context.getRowsFetched());
+        stats.connectionWaitNanos.add(context.getConnectionWaitNanos());
+        stats.maxStatementsPerRequest.accumulate(context.getStatementCount());
+
+        if (context.getStatementCount() <= nPlusOneThreshold) {
+            return;
+        }
+        boolean suspected = false;
+        for (Map.Entry<String, int[]> entry : context.getShapeCounts().entrySet()) {
+            int executions = entry.getValue()[0];
+            if (executions > nPlusOneThreshold) {
+                suspected = true;
+                recordIncident(endpoint, entry.getKey(), executions);
+            }
+        }
+        if (suspected) {
+            stats.nPlusOneRequests.increment();
+        }
+    }
+
+    /**
+     * Normalise a SQL string to its shape: literals and IN-lists collapse to '?'
+     *
+     * @param sql raw SQL
+     * @return statement shape
+     */
+    public String shapeOf(String sql) {
+        String shape = shapeCache.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        shape = normalize(sql);
+        if (shapeCache.size() < MAX_CACHED_SHAPES) {
+            shapeCache.put(sql, shape);
+        }
+        return shape;
+    }
+
+    /**
+     * Build the diagnostics report
+     *
+     * @return report
+     */
+    public SqlDiagnosticsReport report() {
+        List<SqlDiagnosticsReport.PoolStats> poolViews = new ArrayList<>();
+        pools.values().forEach(pool -> poolViews.add(pool.toView()));
+
+        List<SqlDiagnosticsReport.StatementStats> statementViews = new ArrayList<>();
+        statementStats.forEach((label, stats) -> statementViews.add(stats.toView(label)));
+        statementViews.sort(Comparator.comparingLong(SqlDiagnosticsReport.StatementStats::getStatements).reversed());
+
+        List<SqlDiagnosticsReport.EndpointStats> endpointViews = new ArrayList<>();
+        endpointStats.forEach((endpoint, stats) -> endpointViews.add(stats.toView(endpoint)));
+        endpointViews.sort(Comparator.comparingLong(SqlDiagnosticsReport.EndpointStats::getStatements).reversed());
+
+        List<SqlDiagnosticsReport.NPlusOneIncident> recent;
+        synchronized (incidents) {
+            recent = new ArrayList<>(incidents);
+        }
+
+        return SqlDiagnosticsReport.builder()
+                .generatedAt(LocalDateTime.now())
+                .repeatedStatementThreshold(nPlusOneThreshold)
+                .pools(poolViews)
+                .repositoryMethods(statementViews)
+                .endpoints(endpointViews)
+                .recentNPlusOne(recent)
+                .build();
+    }
+
+    /**
+     * Clear statement, endpoint and incident statistics (pool gauges are live and kept)
+     * Statement buckets are reset in place because published meters reference them.
+     */
+    public void reset() {
+        statementStats.values().forEach(StatementStats::reset);
+        endpointStats.clear();
+        pools.values().forEach(PoolMetrics::reset);
+        synchronized (incidents) {
+            incidents.clear();
+        }
+    }
+
+    private void bindStatementMeters(String label, StatementStats stats) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        FunctionTimer.builder("db.statements", stats,
+                        s -> s.latency.getCount(), s -> s.latency.getTotalNanos(), TimeUnit.NANOSECONDS)
+                .description("JDBC statements issued by a repository method")
+                .tag("repository_method", label)
+                .register(registry);
+        FunctionCounter.builder("db.statement.errors", stats, s -> s.errors.sum())
+                .description("Failed JDBC statements issued by a repository method")
+                .tag("repository_method", label)
+                .register(registry);
+        FunctionCounter.builder("db.rows.fetched", stats, s -> s.rowsFetched.sum())
+                .description("Result set rows read for a repository method")
+                .tag("repository_method", label)
+                .register(registry);
+    }
+
+    private void recordIncident(String endpoint, String shape, int executions) {
+        logger.warn("Possible N+1 on {}: statement executed {} times: {}", endpoint, executions, shape);
+        SqlDiagnosticsReport.NPlusOneIncident incident = SqlDiagnosticsReport.NPlusOneIncident.builder()
+                .detectedAt(LocalDateTime.now())
+                .endpoint(endpoint)
+                .statementShape(shape)
+                .executions(executions)
+                .build();
+        synchronized (incidents) {
+            if (incidents.size() == MAX_INCIDENTS) {
+                incidents.removeFirst();
+            }
+            incidents.addLast(incident);
+        }
+    }
+
+    private static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        boolean lastWasSpace = false;
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                // String literal
+                i++;
+                while (i < length && !(sql.charAt(i) == '\'' && (i + 1 >= length || sql.charAt(i + 1) != '\''))) {
+                    i += sql.charAt(i) == '\'' ? 2 : 1;
+                }
+                out.append('?');
+                lastWasSpace = false;
+            } else if (Character.isDigit(c) && (out.length() == 0 || !Character.isLetterOrDigit(out.charAt(out.length() - 1))
+                    && out.charAt(out.length() - 1) != '_')) {
+                // Numeric literal (identifiers such as p1_0 keep their digits)
+                while (i + 1 < length && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                out.append('?');
+                lastWasSpace = false;
+            } else if (Character.isWhitespace(c)) {
+                if (!lastWasSpace) {
+                    out.append(' ');
+                    lastWasSpace = true;
+                }
+            } else {
+                out.append(c);
+                lastWasSpace = false;
+            }
+        }
+        // Collapse IN-lists of any length: (?,?,?) -> (?)
+        return out.toString().trim().replaceAll("\\(\\?(?:\\s*,\\s*\\?)+\\)", "(?)");
+    }
+
+    /**
+     * Statement statistics for one repository method
+     */
+    public static class StatementStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rowsFetched = new LongAdder();
+
+        void record(long nanos, boolean failed) {
+            latency.recordNanos(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        void recordRow() {
+            rowsFetched.increment();
+        }
+
+        void reset() {
+            latency.reset();
+            errors.reset();
+            rowsFetched.reset();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRowsFetched() {
+            return rowsFetched.sum();
+        }
+
+        SqlDiagnosticsReport.StatementStats toView(String label) {
+            return SqlDiagnosticsReport.StatementStats.builder()
+                    .repositoryMethod(label)
+                    .statements(latency.getCount())
+                    .errors(errors.sum())
+                    .rowsFetched(rowsFetched.sum())
+                    .meanMs(latency.getMeanMillis())
+                    .p50Ms(latency.getPercentileMillis(50))
+                    .p95Ms(latency.getPercentileMillis(95))
+                    .p99Ms(latency.getPercentileMillis(99))
+                    .maxMs(latency.getMaxNanos() / 1_000_000d)
+                    .build();
+        }
+    }
+
+    /**
+     * Statement statistics for one endpoint
+     */
+    public static class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder statementNanos = new LongAdder();
+        private final LongAdder rowsFetched = new LongAdder();
+        private final LongAdder connectionWaitNanos = new LongAdder();
+        private final LongAdder nPlusOneRequests = new LongAdder();
+        private final LongAccumulator maxStatementsPerRequest = new LongAccumulator(Math::max, 0);
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getStatements() {
+            return statements.sum();
+        }
+
+        public long getRowsFetched() {
+            return rowsFetched.sum();
+        }
+
+        public long getSuspectedNPlusOneRequests() {
+            return nPlusOneRequests.sum();
+        }
+
+        SqlDiagnosticsReport.EndpointStats toView(String endpoint) {
+            long requestCount = Math.max(1, requests.sum());
+            return SqlDiagnosticsReport.EndpointStats.builder()
+                    .endpoint(endpoint)
+                    .requests(requests.sum())
+                    .statements(statements.sum())
+                    .rowsFetched(rowsFetched.sum())
+                    .maxStatementsPerRequest((int) maxStatementsPerRequest.get())
+                    .statementsPerRequest(statements.sum() / (double) requestCount)
+                    .sqlMsPerRequest(statementNanos.sum() / 1_000_000d / requestCount)
+                    .connectionWaitMsPerRequest(connectionWaitNanos.sum() / 1_000_000d / requestCount)
+                    .suspectedNPlusOneRequests(nPlusOneRequests.sum())
+                    .build();
+        }
+    }
+
+    /**
+     * Hikari metrics tracker for one pool
+     */
+    public static class PoolMetrics implements IMetricsTracker {
+        private final String poolName;
+        private final PoolStats poolStats;
+        private final LatencyHistogram acquire = new LatencyHistogram();
+        private final LatencyHistogram usage = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+        private final IMetricsTracker delegate;
+
+        PoolMetrics(String poolName, PoolStats poolStats, IMetricsTracker delegate) {
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            if (delegate != null) {
+                delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            if (delegate != null) {
+                delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+            acquire.recordNanos(elapsedAcquiredNanos);
+            SqlRequestContext context = SqlRequestContext.current();
+            if (context != null) {
+                context.recordConnectionWait(elapsedAcquiredNanos);
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            if (delegate != null) {
+                delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            }
+            usage.recordMillis(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            if (delegate != null) {
+                delegate.recordConnectionTimeout();
+            }
+            timeouts.increment();
+        }
+
+        @Override
+        public void close() {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+
+        public String getPoolName() {
+            return poolName;
+        }
+
+        public PoolStats getPoolStats() {
+            return poolStats;
+        }
+
+        public LatencyHistogram getAcquire() {
+            return acquire;
+        }
+
+        public LatencyHistogram getUsage() {
+            return usage;
+        }
+
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        void reset() {
+            acquire.reset();
+            usage.reset();
+            timeouts.reset();
+        }
+
+        SqlDiagnosticsReport.PoolStats toView() {
+            return SqlDiagnosticsReport.PoolStats.builder()
+                    .poolName(poolName)
+                    .activeConnections(poolStats.getActiveConnections())
+                    .idleConnections(poolStats.getIdleConnections())
+                    .totalConnections(poolStats.getTotalConnections())
+                    .pendingThreads(poolStats.getPendingThreads())
+                    .maxConnections(poolStats.getMaxConnections())
+                    .acquisitions(acquire.getCount())
+                    .timeouts(timeouts.sum())
+                    .acquireMeanMs(acquire.getMeanMillis())
+                    .acquireP99Ms(acquire.getPercentileMillis(99))
+                    .acquireMaxMs(acquire.getMaxNanos() / 1_000_000d)
+                    .usageMeanMs(usage.getMeanMillis())
+                    .usageP99Ms(usage.getPercentileMillis(99))
+                    .build();
+        }
+    }
+}
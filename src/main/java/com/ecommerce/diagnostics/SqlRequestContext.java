@@ -0,0 +1,119 @@
+package com.ecommerce.diagnostics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-thread SQL accounting for the request currently being served
+ * Also carries the repository method that is issuing statements
+ *
+ * @author E-Commerce Team
+ */
+public final class SqlRequestContext {
+
+    /**
+     * Label used for statements issued outside any repository call (lazy loading, JdbcTemplate)
+     */
+    public static final String UNATTRIBUTED = "(outside repository)";
+
+    private static final ThreadLocal<SqlRequestContext> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+
+    private final Map<String, int[]> shapeCounts = new HashMap<>();
+    private int statementCount;
+    private long statementNanos;
+    private long rowsFetched;
+    private long connectionWaitNanos;
+
+    /**
+     * Start accounting for the current thread
+     *
+     * @return the new context
+     */
+    public static SqlRequestContext begin() {
+        SqlRequestContext context = new SqlRequestContext();
+        CURRENT.set(context);
+        return context;
+    }
+
+    /**
+     * Stop accounting for the current thread
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Get the context bound to the current thread
+     *
+     * @return context or null outside a request
+     */
+    public static SqlRequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Label the repository method issuing statements on this thread
+     *
+     * @param label repository method label, or null to clear
+     * @return previous label
+     */
+    public static String enterRepositoryMethod(String label) {
+        String previous = REPOSITORY_METHOD.get();
+        if (label == null) {
+            REPOSITORY_METHOD.remove();
+        } else {
+            REPOSITORY_METHOD.set(label);
+        }
+        return previous;
+    }
+
+    /**
+     * Get the repository method issuing statements on this thread
+     *
+     * @return label, never null
+     */
+    public static String currentRepositoryMethod() {
+        String label = REPOSITORY_METHOD.get();
+        return label != null ? label : UNATTRIBUTED;
+    }
+
+    void recordStatement(String shape, long nanos) {
+        statementCount++;
+        statementNanos += nanos;
+        int[] counter = shapeCounts.get(shape);
+        if (counter == null) {
+            shapeCounts.put(shape, new int[] {1});
+        } else {
+            counter[0]++;
+        }
+    }
+
+    void recordRow() {
+        rowsFetched++;
+    }
+
+    void recordConnectionWait(long nanos) {
+        connectionWaitNanos += nanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+
+    Map<String, int[]> getShapeCounts() {
+        return shapeCounts;
+    }
+}
@@ -1,5 +1,8 @@
 package com.ecommerce.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,16 +19,45 @@ import lombok.NoArgsConstructor;
 @Builder
 public class AddressDTO {
     private Long id;
+
+    @NotBlank(message = "Address type is required")
     private String addressType;
+
+    @NotBlank(message = "Full name is required")
+    @Size(max = 100, message = "Full name must not exceed 100 characters")
     private String fullName;
+
+    @NotBlank(message = "Phone number is required")
+    @Pattern(regexp = "^[+]?[0-9]{10,15}$", message = "Invalid phone number")
     private String phoneNumber;
+
+    @NotBlank(message = "Street address is required")
+    @Size(max = 200, message = "Street address must not exceed 200 characters")
     private String streetAddress;
+
+    @Size(max = 200, message = "Address line 2 must not exceed 200 characters")
     private String addressLine2;
+
+    @NotBlank(message = "City is required")
+    @Size(max = 100, message = "City must not exceed 100 characters")
     private String city;
+
+    @NotBlank(message = "State/Province is required")
+    @Size(max = 100, message = "State/Province must not exceed 100 characters")
     private String state;
+
+    @NotBlank(message = "Postal code is required")
+    @Size(max = 20, message = "Postal code must not exceed 20 characters")
     private String postalCode;
+
+    @NotBlank(message = "Country is required")
+    @Size(max = 100, message = "Country must not exceed 100 characters")
     private String country;
+
     private Boolean isDefault;
+
+    @Size(max = 500, message = "Delivery instructions must not exceed 500 characters")
     private String deliveryInstructions;
+
     private Long userId;
 }
@@ -0,0 +1,62 @@
+package com.ecommerce.dto;
+
+import com.ecommerce.model.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk order status update, one result per requested order
+ * in request order
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOrderStatusResult {
+    private int requested;
+    private int updated;
+    private int unchanged;
+    private int failed;
+    @Builder.Default
+    private List<Item> results = new ArrayList<>();
+
+    /**
+     * Result for one order
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private Long orderId;
+        private Outcome outcome;
+        private OrderStatus previousStatus;
+        private OrderStatus status;
+        private String message;
+    }
+
+    /**
+     * What happened to one order
+     */
+    public enum Outcome {
+        /** Status and/or tracking updated */
+        UPDATED,
+        /** Already in the requested state */
+        UNCHANGED,
+        /** No such order */
+        NOT_FOUND,
+        /** The state machine does not allow the change */
+        REJECTED,
+        /** The order changed concurrently; retry it */
+        CONFLICT,
+        /** The order appears earlier in the same request */
+        DUPLICATE
+    }
+}
@@ -25,6 +25,10 @@ public class CartDTO {
     @Builder.Default
     private List<CartItemDTO> items = new ArrayList<>();
     private LocalDateTime lastActivity;
+    private PriceBreakdown pricing;
+    /** Products frequently bought with the cart contents (filled when the cart is fetched) */
+    @Builder.Default
+    private List<ProductSummaryDTO> recommendations = new ArrayList<>();
     
     public int getTotalItemCount() {
         return items.stream()
@@ -0,0 +1,28 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Typo-tolerant search result with an optional spelling correction
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FuzzySearchResultDTO {
+    private String query;
+    /** The query with misspelled words corrected; null if nothing was corrected */
+    private String didYouMean;
+    /** Whether every query word was found as typed */
+    private boolean exact;
+    @Builder.Default
+    private List<ProductSummaryDTO> products = new ArrayList<>();
+}
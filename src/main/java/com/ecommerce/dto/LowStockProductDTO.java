@@ -0,0 +1,29 @@
+package com.ecommerce.dto;
+
+import com.ecommerce.model.enums.StockLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a product at or below its low-stock threshold
+ * Built directly by a JPQL constructor projection.
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LowStockProductDTO {
+    private Long id;
+    private String name;
+    private String sku;
+    private Integer stockQuantity;
+    private Integer lowStockThreshold;
+
+    public StockLevel getLevel() {
+        return stockQuantity == null || stockQuantity <= 0 ? StockLevel.OUT : StockLevel.LOW;
+    }
+}
@@ -27,4 +27,5 @@ public class OrderItemDTO {
     private String productSku;
     private Long productId;
     private String productImageUrl;
+    private String warehouseCode;
 }
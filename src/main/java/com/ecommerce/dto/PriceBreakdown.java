@@ -0,0 +1,66 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Itemized price of a cart or order as computed by the pricing engine
+ * Line subtotals add up to subtotal, line discounts to discountAmount and
+ * line taxes to taxAmount, so the figures reconcile to the cent.
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceBreakdown {
+    @Builder.Default
+    private List<Line> lines = new ArrayList<>();
+    private BigDecimal subtotal;
+    private BigDecimal discountAmount;
+    private BigDecimal taxableAmount;
+    private BigDecimal taxAmount;
+    private BigDecimal shippingCost;
+    private BigDecimal shippingDiscount;
+    private BigDecimal totalAmount;
+    private String discountCode;
+    @Builder.Default
+    private List<Adjustment> adjustments = new ArrayList<>();
+
+    /**
+     * Priced line
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Line {
+        private Long productId;
+        private Integer quantity;
+        private BigDecimal unitPrice;
+        private BigDecimal subtotal;
+        private BigDecimal discount;
+        private BigDecimal tax;
+        private BigDecimal total;
+    }
+
+    /**
+     * Discount applied by a pricing rule
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Adjustment {
+        private String code;
+        private String description;
+        private BigDecimal amount;
+    }
+}
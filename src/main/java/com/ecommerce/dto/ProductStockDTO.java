@@ -0,0 +1,25 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for the stock of a product per warehouse
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductStockDTO {
+    private Long productId;
+    private Integer stockQuantity;
+    @Builder.Default
+    private Map<String, Integer> warehouses = new LinkedHashMap<>();
+}
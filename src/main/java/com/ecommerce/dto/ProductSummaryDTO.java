@@ -0,0 +1,51 @@
+package com.ecommerce.dto;
+
+import com.ecommerce.model.enums.ProductStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Slim Data Transfer Object for product listing pages
+ * Built directly by JPQL constructor projections, so description, images
+ * and other detail-only columns are never loaded.
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSummaryDTO {
+    private Long id;
+    private String name;
+    private String slug;
+    private String sku;
+    private String shortDescription;
+    private BigDecimal price;
+    private BigDecimal salePrice;
+    private Integer stockQuantity;
+    private ProductStatus status;
+    private Boolean featured;
+    private BigDecimal averageRating;
+    private Integer reviewCount;
+    private String brand;
+    private String mainImageUrl;
+    private Long categoryId;
+    private String categoryName;
+    
+    public BigDecimal getEffectivePrice() {
+        return salePrice != null && salePrice.compareTo(BigDecimal.ZERO) > 0 ? salePrice : price;
+    }
+    
+    public boolean isOnSale() {
+        return salePrice != null && salePrice.compareTo(BigDecimal.ZERO) > 0 && salePrice.compareTo(price) < 0;
+    }
+    
+    public boolean isInStock() {
+        return stockQuantity != null && stockQuantity > 0;
+    }
+}
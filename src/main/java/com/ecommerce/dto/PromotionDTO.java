@@ -0,0 +1,42 @@
+package com.ecommerce.dto;
+
+import com.ecommerce.model.enums.PromotionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Data Transfer Object for Promotion entity
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PromotionDTO {
+    private Long id;
+    private String code;
+    private String description;
+    private PromotionType type;
+    private BigDecimal value;
+    private BigDecimal maxDiscount;
+    private BigDecimal minimumSpend;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private Integer usageLimit;
+    private Integer perUserLimit;
+    private Boolean active;
+    @Builder.Default
+    private Set<Long> categoryIds = new HashSet<>();
+    @Builder.Default
+    private Set<String> brands = new HashSet<>();
+    private Long redemptionCount;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the SQL diagnostics report
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SqlDiagnosticsReport {
+    private LocalDateTime generatedAt;
+    private int repeatedStatementThreshold;
+    @Builder.Default
+    private List<PoolStats> pools = new ArrayList<>();
+    @Builder.Default
+    private List<StatementStats> repositoryMethods = new ArrayList<>();
+    @Builder.Default
+    private List<EndpointStats> endpoints = new ArrayList<>();
+    @Builder.Default
+    private List<NPlusOneIncident> recentNPlusOne = new ArrayList<>();
+
+    /**
+     * Connection pool usage
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PoolStats {
+        private String poolName;
+        private int activeConnections;
+        private int idleConnections;
+        private int totalConnections;
+        private int pendingThreads;
+        private int maxConnections;
+        private long acquisitions;
+        private long timeouts;
+        private double acquireMeanMs;
+        private double acquireP99Ms;
+        private double acquireMaxMs;
+        private double usageMeanMs;
+        private double usageP99Ms;
+    }
+
+    /**
+     * Statement statistics for one repository method
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StatementStats {
+        private String repositoryMethod;
+        private long statements;
+        private long errors;
+        private long rowsFetched;
+        private double meanMs;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+        private double maxMs;
+    }
+
+    /**
+     * Statement statistics for one endpoint
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class EndpointStats {
+        private String endpoint;
+        private long requests;
+        private long statements;
+        private long rowsFetched;
+        private int maxStatementsPerRequest;
+        private double statementsPerRequest;
+        private double sqlMsPerRequest;
+        private double connectionWaitMsPerRequest;
+        private long suspectedNPlusOneRequests;
+    }
+
+    /**
+     * A request that repeated the same statement shape above the threshold
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class NPlusOneIncident {
+        private LocalDateTime detectedAt;
+        private String endpoint;
+        private String statementShape;
+        private int executions;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Search-as-you-type suggestion: a product, brand or category
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionDTO {
+    /** PRODUCT, BRAND or CATEGORY */
+    private String type;
+    private String text;
+    /** Product or category ID; null for brands */
+    private Long id;
+    /** Product or category slug; null for brands */
+    private String slug;
+}
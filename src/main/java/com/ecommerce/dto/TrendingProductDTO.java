@@ -0,0 +1,22 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product in a trending list with its rank and window score
+ * The score is views plus weighted units sold in the window (approximate).
+ *
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingProductDTO {
+    private int rank;
+    private long score;
+    private ProductSummaryDTO product;
+}
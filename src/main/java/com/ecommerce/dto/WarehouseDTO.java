@@ -0,0 +1,27 @@
+package com.ecommerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for Warehouse entity
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WarehouseDTO {
+    private Long id;
+    private String code;
+    private String name;
+    private String city;
+    private String state;
+    private String postalCode;
+    private String country;
+    private Integer priority;
+    private Boolean active;
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.dto.request;
+
+import com.ecommerce.model.enums.OrderStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk order status / tracking update request DTO
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusRequest {
+
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = 50000, message = "At most 50000 orders can be updated per request")
+    @Valid
+    private List<Update> updates = new ArrayList<>();
+
+    /**
+     * Change to one order; fields left null are not changed
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Update {
+
+        @NotNull(message = "Order ID is required")
+        private Long orderId;
+
+        private OrderStatus status;
+
+        @Size(max = 100, message = "Tracking number must not exceed 100 characters")
+        private String trackingNumber;
+
+        @Size(max = 100, message = "Carrier must not exceed 100 characters")
+        private String carrier;
+    }
+}
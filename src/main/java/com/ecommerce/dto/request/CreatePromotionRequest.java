@@ -0,0 +1,56 @@
+package com.ecommerce.dto.request;
+
+import com.ecommerce.model.enums.PromotionType;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Create or update promotion request DTO
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePromotionRequest {
+    
+    @NotBlank(message = "Promotion code is required")
+    @Size(max = 50, message = "Promotion code must not exceed 50 characters")
+    @Pattern(regexp = "[A-Za-z0-9_-]+", message = "Promotion code may only contain letters, digits, '-' and '_'")
+    private String code;
+    
+    @Size(max = 255, message = "Description must not exceed 255 characters")
+    private String description;
+    
+    @NotNull(message = "Promotion type is required")
+    private PromotionType type;
+    
+    @DecimalMin(value = "0.0", message = "Value cannot be negative")
+    private BigDecimal value;
+    
+    @DecimalMin(value = "0.0", message = "Maximum discount cannot be negative")
+    private BigDecimal maxDiscount;
+    
+    @DecimalMin(value = "0.0", message = "Minimum spend cannot be negative")
+    private BigDecimal minimumSpend;
+    
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    
+    @Min(value = 1, message = "Usage limit must be at least 1")
+    private Integer usageLimit;
+    
+    @Min(value = 1, message = "Per-user limit must be at least 1")
+    private Integer perUserLimit;
+    
+    private Boolean active;
+    private Set<Long> categoryIds = new HashSet<>();
+    private Set<String> brands = new HashSet<>();
+}
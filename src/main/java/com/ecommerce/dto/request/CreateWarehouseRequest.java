@@ -0,0 +1,44 @@
+package com.ecommerce.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Create or update warehouse request DTO
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateWarehouseRequest {
+
+    @NotBlank(message = "Warehouse code is required")
+    @Size(max = 20, message = "Warehouse code must not exceed 20 characters")
+    @Pattern(regexp = "[A-Za-z0-9_-]+", message = "Warehouse code may only contain letters, digits, '-' and '_'")
+    private String code;
+
+    @NotBlank(message = "Warehouse name is required")
+    @Size(max = 100, message = "Warehouse name must not exceed 100 characters")
+    private String name;
+
+    @Size(max = 100, message = "City must not exceed 100 characters")
+    private String city;
+
+    @Size(max = 100, message = "State must not exceed 100 characters")
+    private String state;
+
+    @Size(max = 20, message = "Postal code must not exceed 20 characters")
+    private String postalCode;
+
+    @NotBlank(message = "Country is required")
+    @Size(max = 100, message = "Country must not exceed 100 characters")
+    private String country;
+
+    @Min(value = 0, message = "Priority cannot be negative")
+    private Integer priority = 0;
+
+    private Boolean active = true;
+}
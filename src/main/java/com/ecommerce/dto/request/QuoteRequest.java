@@ -0,0 +1,20 @@
+package com.ecommerce.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Checkout quote request DTO
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteRequest {
+    
+    @Size(max = 50, message = "Discount code must not exceed 50 characters")
+    private String discountCode;
+}
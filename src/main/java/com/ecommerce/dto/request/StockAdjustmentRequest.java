@@ -0,0 +1,26 @@
+package com.ecommerce.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Warehouse stock adjustment request DTO
+ * 
+ * @author E-Commerce Team
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentRequest {
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    /**
+     * Units received (positive) or removed (negative)
+     */
+    @NotNull(message = "Adjustment is required")
+    private Integer adjustment;
+}
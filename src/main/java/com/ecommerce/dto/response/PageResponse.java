@@ -4,8 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
 
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Paginated response wrapper
@@ -25,4 +27,21 @@ public class PageResponse<T> {
     private boolean first;
     private boolean last;
     private boolean empty;
+    
+    public static <T> PageResponse<T> of(Page<T> page) {
+        return PageResponse.<T>builder()
+            .content(page.getContent())
+            .pageNumber(page.getNumber())
+            .pageSize(page.getSize())
+            .totalElements(page.getTotalElements())
+            .totalPages(page.getTotalPages())
+            .first(page.isFirst())
+            .last(page.isLast())
+            .empty(page.isEmpty())
+            .build();
+    }
+    
+    public static <S, T> PageResponse<T> of(Page<S> page, Function<? super S, ? extends T> converter) {
+        return of(page.map(converter));
+    }
 }
@@ -0,0 +1,109 @@
+package com.ecommerce.event;
+
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Product;
+import com.ecommerce.model.enums.StockLevel;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * JPA entity listener that turns product and category writes into application events
+ * Covers every write path that goes through the persistence context; bulk JPQL
+ * updates bypass it, and stock updates made that way report themselves
+ * through {@link #publishStockChange}. Products remember the price, stock
+ * and stock level they were loaded with, so an update also reports what
+ * changed.
+ * 
+ * @author E-Commerce Team
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostLoad
+    public void onCatalogLoad(Object entity) {
+        if (entity instanceof Product product) {
+            product.markPersisted();
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onCatalogChange(Object entity) {
+        if (entity instanceof Product product) {
+            Product.PersistedState previous = product.markPersisted();
+            eventPublisher.publishEvent(new ProductChangedEvent(product.getId(),
+                    previous == null || !previous.searchFields().equals(product.getSearchFields())));
+            if (previous != null) {
+                publishStateChanges(product, previous);
+            }
+            publishLevelChange(product.getId(), previous != null ? previous.stockLevel() : null,
+                    product.getStockLevel());
+        } else {
+            publishChanged(entity);
+        }
+    }
+
+    /**
+     * Report a stock change written by a bulk update
+     * 
+     * @param product product as loaded (its status and threshold decide the level)
+     * @param previousStock stock before the update
+     * @param stock stock after the update
+     */
+    public void publishStockChange(Product product, int previousStock, int stock) {
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), false));
+        if (previousStock != stock) {
+            eventPublisher.publishEvent(new ProductStockChangedEvent(product.getId(), previousStock, stock));
+        }
+        publishLevelChange(product.getId(), product.getStockLevel(previousStock), product.getStockLevel(stock));
+    }
+
+    @PostRemove
+    public void onCatalogRemove(Object entity) {
+        publishChanged(entity);
+        if (entity instanceof Product product) {
+            Product.PersistedState previous = product.markPersisted();
+            publishLevelChange(product.getId(), previous != null ? previous.stockLevel() : null, null);
+        }
+    }
+
+    private void publishChanged(Object entity) {
+        if (entity instanceof Product product) {
+            eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
+        } else if (entity instanceof Category category) {
+            eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        }
+    }
+
+    private void publishLevelChange(Long productId, StockLevel previous, StockLevel level) {
+        // Unmonitored and in stock are alike to listeners that track low stock
+        StockLevel from = previous == StockLevel.IN_STOCK ? null : previous;
+        StockLevel to = level == StockLevel.IN_STOCK ? null : level;
+        if (from != to) {
+            eventPublisher.publishEvent(new StockLevelChangedEvent(productId, previous, level));
+        }
+    }
+
+    private void publishStateChanges(Product product, Product.PersistedState previous) {
+        int previousStock = previous.stockQuantity() == null ? 0 : previous.stockQuantity();
+        int stock = product.getStockQuantity() == null ? 0 : product.getStockQuantity();
+        if (previousStock != stock) {
+            eventPublisher.publishEvent(new ProductStockChangedEvent(product.getId(), previousStock, stock));
+        }
+        BigDecimal price = product.getEffectivePrice();
+        if (previous.effectivePrice() != null && price != null && previous.effectivePrice().compareTo(price) != 0) {
+            eventPublisher.publishEvent(new ProductPriceChangedEvent(product.getId(), previous.effectivePrice(),
+                    price, product.isOnSale()));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published whenever a category row is inserted, updated or removed
+ * 
+ * @author E-Commerce Team
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class CategoryChangedEvent {
+    private final Long categoryId;
+}
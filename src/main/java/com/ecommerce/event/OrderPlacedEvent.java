@@ -0,0 +1,31 @@
+package com.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Published when an order is placed, with the products and quantities it contains
+ * Listeners that need committed data should use AFTER_COMMIT.
+ * 
+ * @author E-Commerce Team
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class OrderPlacedEvent {
+    private final Long orderId;
+    private final Long userId;
+    private final List<Line> lines;
+
+    /**
+     * One order line
+     *
+     * @param productId product ID
+     * @param quantity units ordered
+     */
+    public record Line(Long productId, int quantity) {
+    }
+}
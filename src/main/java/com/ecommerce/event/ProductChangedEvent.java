@@ -0,0 +1,28 @@
+package com.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published whenever a product row is inserted, updated or removed
+ * Listeners that need committed data should use AFTER_COMMIT.
+ * 
+ * @author E-Commerce Team
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+    private final Long productId;
+
+    /**
+     * Whether a column the search indexes are built from may have changed
+     * (name, slug, brand, category, status or deleted flag)
+     */
+    private final boolean searchFieldsChanged;
+
+    public ProductChangedEvent(Long productId) {
+        this(productId, true);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when an update changes a product's effective price
+ * Not published for inserts or for bulk JPQL updates.
+ * 
+ * @author E-Commerce Team
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ProductPriceChangedEvent {
+    private final Long productId;
+    private final BigDecimal previousPrice;
+    private final BigDecimal price;
+    private final boolean onSale;
+
+    /**
+     * Whether the effective price went down
+     * 
+     * @return true if the new price is lower
+     */
+    public boolean isPriceDrop() {
+        return price.compareTo(previousPrice) < 0;
+    }
+}
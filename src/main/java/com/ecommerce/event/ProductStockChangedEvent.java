@@ -0,0 +1,29 @@
+package com.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when an update changes a product's stock quantity
+ * Not published for inserts or for bulk JPQL updates.
+ * 
+ * @author E-Commerce Team
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ProductStockChangedEvent {
+    private final Long productId;
+    private final int previousQuantity;
+    private final int quantity;
+
+    /**
+     * Whether the product came back in stock
+     * 
+     * @return true if the stock went from none to some
+     */
+    public boolean isRestock() {
+        return previousQuantity <= 0 && quantity > 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when a product detail page is served
+ * The viewer key identifies the user or anonymous client, if known.
+ * 
+ * @author E-Commerce Team
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ProductViewedEvent {
+    private final Long productId;
+    private final String viewerKey;
+}
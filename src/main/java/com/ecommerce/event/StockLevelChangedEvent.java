@@ -0,0 +1,23 @@
+package com.ecommerce.event;
+
+import com.ecommerce.model.enums.StockLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published when a product crosses its low-stock threshold or runs out, and back
+ * Also published when a product starts or stops being monitored (created,
+ * activated, deactivated or removed) at a level other than in stock; a null
+ * level means the product is not monitored.
+ * 
+ * @author E-Commerce Team
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class StockLevelChangedEvent {
+    private final Long productId;
+    private final StockLevel previousLevel;
+    private final StockLevel level;
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.idempotency;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Raised when a request cannot be matched to the outcome of its idempotency key
+ *
+ * @author E-Commerce Team
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+
+    public IdempotencyConflictException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    static IdempotencyConflictException inProgress() {
+        return new IdempotencyConflictException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still being processed");
+    }
+
+    static IdempotencyConflictException mismatch() {
+        return new IdempotencyConflictException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key was already used for a different request");
+    }
+}
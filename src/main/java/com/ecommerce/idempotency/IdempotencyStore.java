@@ -0,0 +1,228 @@
+package com.ecommerce.idempotency;
+
+import com.ecommerce.config.IdempotencyProperties;
+import com.ecommerce.model.IdempotencyRecord;
+import com.ecommerce.repository.IdempotencyRecordRepository;
+import jakarta.servlet.ServletException;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs each idempotency key at most once and remembers its response
+ * In memory, a key maps to a future of its response, so concurrent duplicates
+ * wait on the request in flight instead of starting a second transaction.
+ * Keys are also claimed with a unique row in the database, which covers other
+ * instances, restarts and entries evicted from the bounded in-memory map.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private final IdempotencyRecordRepository repository;
+    private final IdempotencyProperties properties;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Request handling whose response can be recorded
+     */
+    @FunctionalInterface
+    public interface Action {
+        /**
+         * Handle the request, writing its response
+         *
+         * @return response to record, or null if it must not be replayed
+         */
+        StoredResponse run() throws IOException, ServletException;
+    }
+
+    /**
+     * Run {@code action} unless the key already has (or is producing) a response
+     *
+     * @param key scoped idempotency key
+     * @param fingerprint request fingerprint
+     * @param action request handling
+     * @return response to replay, or null if {@code action} handled the request
+     * @throws IdempotencyConflictException if the key belongs to another request
+     *         or is still in progress elsewhere
+     */
+    public StoredResponse execute(String key, String fingerprint, Action action) throws IOException, ServletException {
+        long waitUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getInFlightTimeoutMs());
+        while (true) {
+            Entry entry = new Entry(fingerprint);
+            Entry existing = entries.putIfAbsent(key, entry);
+            if (existing == null) {
+                trimIfFull();
+                StoredResponse recorded = claim(key, entry);
+                return recorded != null ? recorded : run(key, entry, action);
+            }
+            if (existing.isExpired(System.currentTimeMillis())) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw IdempotencyConflictException.mismatch();
+            }
+            try {
+                return existing.response.get(Math.max(waitUntil - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException ex) {
+                // The original failed without a response to replay; try to run it again
+            } catch (TimeoutException ex) {
+                throw IdempotencyConflictException.inProgress();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw IdempotencyConflictException.inProgress();
+            }
+        }
+    }
+
+    /**
+     * Drop expired keys from memory and the database
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.debug("Purged {} expired idempotency records", deleted);
+        }
+    }
+
+    /**
+     * Claim the key in the database
+     *
+     * @return the recorded response if the key was completed earlier, otherwise null
+     */
+    private StoredResponse claim(String key, Entry entry) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime claimExpiry = now.plusNanos(TimeUnit.MILLISECONDS.toNanos(properties.getInFlightTimeoutMs()));
+        try {
+            repository.saveAndFlush(IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .fingerprint(entry.fingerprint)
+                    .expiresAt(claimExpiry)
+                    .build());
+            return null;
+        } catch (DataIntegrityViolationException ex) {
+            // Already claimed; fall through to take it over or replay it
+        }
+        if (repository.takeOverExpired(key, entry.fingerprint, claimExpiry, now) == 1) {
+            return null;
+        }
+
+        IdempotencyRecord record = repository.findByIdempotencyKey(key).orElse(null);
+        RuntimeException conflict = null;
+        if (record == null || !record.isCompleted()) {
+            conflict = IdempotencyConflictException.inProgress();
+        } else if (!record.getFingerprint().equals(entry.fingerprint)) {
+            conflict = IdempotencyConflictException.mismatch();
+        }
+        if (conflict != null) {
+            entries.remove(key, entry);
+            entry.response.completeExceptionally(conflict);
+            throw conflict;
+        }
+
+        StoredResponse response = new StoredResponse(record.getResponseStatus(),
+                record.getResponseContentType(), record.getResponseBody());
+        entry.expiresAt = record.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        entry.response.complete(response);
+        return response;
+    }
+
+    private StoredResponse run(String key, Entry entry, Action action) throws IOException, ServletException {
+        StoredResponse response;
+        try {
+            response = action.run();
+        } catch (Exception ex) {
+            abandon(key, entry, ex);
+            throw ex;
+        }
+        if (response == null) {
+            abandon(key, entry, null);
+            return null;
+        }
+
+        try {
+            repository.complete(key, response.status(), response.contentType(), response.body(),
+                    LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(properties.getTtlMs())));
+        } catch (DataAccessException ex) {
+            // The in-memory entry still protects this instance until it expires
+            logger.warn("Could not record response for idempotency key {}", key, ex);
+        }
+        entry.expiresAt = System.currentTimeMillis() + properties.getTtlMs();
+        entry.response.complete(response);
+        return null;
+    }
+
+    private void abandon(String key, Entry entry, Exception cause) {
+        entries.remove(key, entry);
+        try {
+            repository.deleteInProgress(key);
+        } catch (DataAccessException ex) {
+            logger.warn("Could not release idempotency key {}", key, ex);
+        }
+        entry.response.completeExceptionally(cause != null ? cause
+                : new IllegalStateException("Request failed without a replayable response"));
+    }
+
+    /**
+     * Keep the map bounded: drop expired entries, then completed ones, which
+     * the database can still replay; requests in flight are never evicted
+     */
+    private void trimIfFull() {
+        int max = properties.getMaxEntries();
+        if (entries.size() <= max) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        int target = max - max / 10;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            if (iterator.next().response.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * One key: the fingerprint of its request and the future of its response
+     */
+    private static final class Entry {
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt < now;
+        }
+    }
+}
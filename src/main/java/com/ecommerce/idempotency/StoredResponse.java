@@ -0,0 +1,13 @@
+package com.ecommerce.idempotency;
+
+/**
+ * Response recorded for an idempotency key and replayed to duplicates
+ *
+ * @param status HTTP status
+ * @param contentType content type (may be null)
+ * @param body response body
+ *
+ * @author E-Commerce Team
+ */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
@@ -0,0 +1,125 @@
+package com.ecommerce.inventory;
+
+/**
+ * Decides how many units of each order line every warehouse ships
+ * Works on plain arrays: warehouses are passed nearest first, so a lower
+ * index is always preferred. For the fewest-shipments strategy every set of
+ * up to {@link #MAX_EXACT_WAREHOUSES} nearest warehouses is considered
+ * (lines are different products, so a set can ship the order exactly when
+ * each line's stock across the set covers it), using per-set stock sums
+ * built incrementally from smaller sets.
+ *
+ * @author E-Commerce Team
+ */
+final class AllocationPlanner {
+
+    /**
+     * Warehouses searched exhaustively at most; further ones are only used by the nearest-first fallback
+     */
+    static final int MAX_EXACT_WAREHOUSES = 12;
+
+    private AllocationPlanner() {
+    }
+
+    /**
+     * Plan an order
+     *
+     * @param strategy allocation strategy
+     * @param demand units ordered per line
+     * @param stock units on hand per warehouse and line, warehouses nearest first
+     * @param distance distance class per warehouse, non-decreasing
+     * @return units taken per warehouse and line, or null if the stock cannot cover the order
+     */
+    static int[][] plan(AllocationStrategy strategy, int[] demand, int[][] stock, int[] distance) {
+        if (strategy == AllocationStrategy.FEWEST_SHIPMENTS) {
+            int mask = fewestWarehouses(demand, stock, distance);
+            if (mask != 0) {
+                return assign(demand, stock, mask);
+            }
+        }
+        return assign(demand, stock, -1);
+    }
+
+    /**
+     * Smallest set of warehouses covering every line, nearest among equal sizes
+     *
+     * @return bit set of warehouse indexes, or 0 if the nearest warehouses cannot cover the order together
+     */
+    private static int fewestWarehouses(int[] demand, int[][] stock, int[] distance) {
+        int count = Math.min(stock.length, MAX_EXACT_WAREHOUSES);
+        int lines = demand.length;
+        // sums[mask * lines + line]: stock of the line across the warehouses in mask, capped at the demand
+        int[] sums = new int[(1 << count) * lines];
+        int best = 0;
+        int bestSize = Integer.MAX_VALUE;
+        int bestDistance = Integer.MAX_VALUE;
+        int bestIndexes = Integer.MAX_VALUE;
+        for (int mask = 1; mask < 1 << count; mask++) {
+            int lowest = Integer.numberOfTrailingZeros(mask);
+            int rest = mask & (mask - 1);
+            boolean covers = true;
+            for (int line = 0; line < lines; line++) {
+                int sum = (int) Math.min(demand[line], (long) sums[rest * lines + line] + stock[lowest][line]);
+                sums[mask * lines + line] = sum;
+                covers &= sum >= demand[line];
+            }
+            if (!covers) {
+                continue;
+            }
+            int size = Integer.bitCount(mask);
+            int totalDistance = 0;
+            int totalIndexes = 0;
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                int warehouse = Integer.numberOfTrailingZeros(bits);
+                totalDistance += distance[warehouse];
+                totalIndexes += warehouse;
+            }
+            if (size < bestSize || (size == bestSize && (totalDistance < bestDistance
+                    || (totalDistance == bestDistance && totalIndexes < bestIndexes)))) {
+                best = mask;
+                bestSize = size;
+                bestDistance = totalDistance;
+                bestIndexes = totalIndexes;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Fill each line from the nearest warehouse in the set that has it in full, or nearest first across the set
+     *
+     * @param mask bit set of usable warehouses, or -1 for all
+     * @return units taken per warehouse and line, or null if some line cannot be covered
+     */
+    private static int[][] assign(int[] demand, int[][] stock, int mask) {
+        int[][] take = new int[stock.length][demand.length];
+        for (int line = 0; line < demand.length; line++) {
+            int whole = -1;
+            for (int w = 0; w < stock.length && whole < 0; w++) {
+                if (usable(mask, w) && stock[w][line] >= demand[line]) {
+                    whole = w;
+                }
+            }
+            if (whole >= 0) {
+                take[whole][line] = demand[line];
+                continue;
+            }
+            int missing = demand[line];
+            for (int w = 0; w < stock.length && missing > 0; w++) {
+                if (usable(mask, w) && stock[w][line] > 0) {
+                    int units = Math.min(missing, stock[w][line]);
+                    take[w][line] = units;
+                    missing -= units;
+                }
+            }
+            if (missing > 0) {
+                return null;
+            }
+        }
+        return take;
+    }
+
+    private static boolean usable(int mask, int warehouse) {
+        return mask == -1 || (warehouse < 31 && (mask & (1 << warehouse)) != 0);
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.inventory;
+
+/**
+ * How the warehouses shipping an order are chosen
+ *
+ * @author E-Commerce Team
+ */
+public enum AllocationStrategy {
+    /**
+     * As few warehouses as possible; the nearest among sets of equal size
+     */
+    FEWEST_SHIPMENTS,
+
+    /**
+     * Each line from the nearest warehouse that has it in full, split nearest first otherwise
+     */
+    NEAREST
+}
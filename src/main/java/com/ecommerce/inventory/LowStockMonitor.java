@@ -0,0 +1,202 @@
+package com.ecommerce.inventory;
+
+import com.ecommerce.config.InventoryProperties;
+import com.ecommerce.dto.LowStockProductDTO;
+import com.ecommerce.event.StockLevelChangedEvent;
+import com.ecommerce.model.User;
+import com.ecommerce.model.enums.StockLevel;
+import com.ecommerce.model.enums.UserRole;
+import com.ecommerce.model.enums.UserStatus;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.util.EmailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live set of products at or below their low-stock threshold, with debounced alerts
+ * The set is read from the database once at startup and then follows the
+ * {@link StockLevelChangedEvent}s published when a committed stock change
+ * crosses a threshold, so the dashboard never scans the product table.
+ * Products that got worse are collected and mailed to the recipients every
+ * alert interval if they are still low by then; a product is not reported
+ * again at the same level within the realert window.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(InventoryProperties.class)
+public class LowStockMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * Recipients per role at most
+     */
+    private static final int MAX_RECIPIENTS = 100;
+
+    private final InventoryProperties.LowStock properties;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+
+    private final ConcurrentHashMap<Long, StockLevel> levels = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, StockLevel> pendingAlerts = new ConcurrentHashMap<>();
+
+    /**
+     * Level and time each product was last reported at; only touched by the scheduler thread
+     */
+    private final Map<Long, Reported> reported = new HashMap<>();
+
+    public LowStockMonitor(InventoryProperties properties,
+                           ProductRepository productRepository,
+                           UserRepository userRepository,
+                           EmailService emailService) {
+        this.properties = properties.getLowStock();
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+    }
+
+    /**
+     * Load the products that are low at startup, including those inserted in bulk without events
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int loaded = 0;
+        for (Object[] row : productRepository.findLowStockLevels()) {
+            Integer stock = (Integer) row[1];
+            // An event received meanwhile is newer than this read
+            levels.putIfAbsent((Long) row[0], stock == null || stock <= 0 ? StockLevel.OUT : StockLevel.LOW);
+            loaded++;
+        }
+        logger.info("Low-stock monitor started with {} products at or below their threshold", loaded);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        Long productId = event.getProductId();
+        StockLevel level = event.getLevel();
+        if (level == null || level == StockLevel.IN_STOCK) {
+            levels.remove(productId);
+            pendingAlerts.remove(productId);
+            return;
+        }
+        levels.put(productId, level);
+        StockLevel previous = event.getPreviousLevel();
+        // Products created or activated while low are listed but not alerted
+        if (properties.isEnabled() && previous != null && level.isWorseThan(previous)) {
+            pendingAlerts.put(productId, level);
+        }
+    }
+
+    /**
+     * Number of products at or below their threshold
+     */
+    public int size() {
+        return levels.size();
+    }
+
+    /**
+     * Products at or below their threshold, lowest stock first
+     *
+     * @param level only products at this level, or null for all
+     * @param limit maximum number of products
+     * @return the products
+     */
+    public List<LowStockProductDTO> lowStockProducts(StockLevel level, int limit) {
+        List<Long> ids = new ArrayList<>();
+        levels.forEach((id, current) -> {
+            if (level == null || current == level) {
+                ids.add(id);
+            }
+        });
+        List<LowStockProductDTO> products = details(ids);
+        products.sort(Comparator.comparing(LowStockProductDTO::getStockQuantity,
+                        Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+                .thenComparing(LowStockProductDTO::getId));
+        return products.size() > limit ? new ArrayList<>(products.subList(0, limit)) : products;
+    }
+
+    /**
+     * Mail the products that got worse since the last run and are still low
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.low-stock.alert-interval-ms:300000}",
+               initialDelayString = "${app.inventory.low-stock.alert-interval-ms:300000}")
+    public void sendAlerts() {
+        List<Long> candidates = new ArrayList<>();
+        for (Iterator<Long> it = pendingAlerts.keySet().iterator(); it.hasNext(); ) {
+            candidates.add(it.next());
+            it.remove();
+        }
+        long now = System.currentTimeMillis();
+        long cutoff = now - TimeUnit.HOURS.toMillis(properties.getRealertHours());
+        reported.values().removeIf(r -> r.time() < cutoff);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<Long> due = new ArrayList<>();
+        for (Long id : candidates) {
+            StockLevel current = levels.get(id);
+            Reported last = reported.get(id);
+            if (current != null && (last == null || current.isWorseThan(last.level()))) {
+                due.add(id);
+            }
+        }
+        List<LowStockProductDTO> products = details(due);
+        products.removeIf(p -> levels.get(p.getId()) == null);
+        if (products.isEmpty()) {
+            return;
+        }
+        products.sort(Comparator.comparing(LowStockProductDTO::getLevel).reversed()
+                .thenComparing(LowStockProductDTO::getId));
+        for (LowStockProductDTO product : products) {
+            reported.put(product.getId(), new Reported(product.getLevel(), now));
+        }
+
+        Map<Long, User> recipients = new LinkedHashMap<>();
+        for (UserRole role : properties.getRecipientRoles()) {
+            for (User user : userRepository.findByRoleAndStatus(role, UserStatus.ACTIVE,
+                    PageRequest.of(0, MAX_RECIPIENTS)).getContent()) {
+                recipients.putIfAbsent(user.getId(), user);
+            }
+        }
+        for (User user : recipients.values()) {
+            emailService.sendLowStockAlertEmail(user, products);
+        }
+        logger.info("Low-stock alert for {} products sent to {} recipients", products.size(), recipients.size());
+    }
+
+    private List<LowStockProductDTO> details(List<Long> ids) {
+        List<LowStockProductDTO> products = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+            products.addAll(productRepository.findLowStockDetailsByIdIn(
+                    ids.subList(i, Math.min(ids.size(), i + CHUNK_SIZE))));
+        }
+        return products;
+    }
+
+    private record Reported(StockLevel level, long time) {
+    }
+}
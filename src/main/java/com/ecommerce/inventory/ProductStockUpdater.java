@@ -0,0 +1,69 @@
+package com.ecommerce.inventory;
+
+import com.ecommerce.event.CatalogEntityListener;
+import com.ecommerce.exception.InsufficientStockException;
+import com.ecommerce.model.Product;
+import com.ecommerce.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps a product's stock total in step with sales and stock movements
+ * The total is a derived view of the warehouse stock, so it is changed
+ * with conditional bulk updates that leave the row's version alone:
+ * concurrent orders for a popular product only wait for each other's
+ * short row update instead of failing on optimistic locking. The stock,
+ * stock level and product change events are published from here, since
+ * bulk updates bypass the entity listener. The modification time is set
+ * with the stock, and the product detail ETag includes the stock and sales,
+ * so clients revalidating a product see the change. The loaded product
+ * entity is not touched and keeps the quantity it was loaded with.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductStockUpdater {
+
+    private final ProductRepository productRepository;
+    private final CatalogEntityListener catalogEntityListener;
+
+    /**
+     * Take sold units off the stock and count them as sales
+     *
+     * @param product product sold
+     * @param quantity quantity sold
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSale(Product product, int quantity) {
+        if (productRepository.recordSale(product.getId(), quantity, LocalDateTime.now()) == 0) {
+            throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+        }
+        published(product, -quantity);
+    }
+
+    /**
+     * Add units to the stock, or remove them with a negative amount
+     *
+     * @param product product
+     * @param amount units to add (negative to remove)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjust(Product product, int amount) {
+        if (productRepository.updateStockQuantity(product.getId(), amount, LocalDateTime.now()) == 0) {
+            throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+        }
+        published(product, amount);
+    }
+
+    private void published(Product product, int amount) {
+        // The row stays locked by the update until commit, so this reads our own result
+        Integer stock = productRepository.findStockQuantityById(product.getId());
+        int quantity = stock == null ? 0 : stock;
+        catalogEntityListener.publishStockChange(product, quantity - amount, quantity);
+    }
+}
@@ -0,0 +1,207 @@
+package com.ecommerce.inventory;
+
+import com.ecommerce.config.InventoryProperties;
+import com.ecommerce.exception.InsufficientStockException;
+import com.ecommerce.model.Address;
+import com.ecommerce.model.Warehouse;
+import com.ecommerce.repository.WarehouseRepository;
+import com.ecommerce.repository.WarehouseStockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reserves warehouse stock for an order at checkout
+ * The stock of the ordered products is read as plain numbers, a plan is
+ * made by {@link AllocationPlanner}, and each planned pick is taken with a
+ * conditional update that only succeeds while the warehouse still has the
+ * units, so no row is locked for longer than its own update. Picks are
+ * applied in (warehouse, product) order, so concurrent orders lock rows in
+ * the same order. If another order took the stock in between, the picks
+ * already made are put back and the order is planned again. Products with
+ * no warehouse stock rows are left unassigned.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(InventoryProperties.class)
+public class StockAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockAllocator.class);
+
+    private final InventoryProperties.Allocation properties;
+    private final WarehouseRepository warehouseRepository;
+    private final WarehouseStockRepository stockRepository;
+
+    public StockAllocator(InventoryProperties properties,
+                          WarehouseRepository warehouseRepository,
+                          WarehouseStockRepository stockRepository) {
+        this.properties = properties.getAllocation();
+        this.warehouseRepository = warehouseRepository;
+        this.stockRepository = stockRepository;
+    }
+
+    /**
+     * Take the stock of an order from warehouses
+     *
+     * @param lines order lines, one per product
+     * @param destination shipping address, for proximity
+     * @return picks per line, in line order; empty for products not stocked in warehouses
+     * @throws InsufficientStockException if the active warehouses cannot cover a line
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<List<Pick>> reserve(List<Line> lines, Address destination) {
+        List<Long> productIds = lines.stream().map(Line::productId).toList();
+        for (int attempt = 1; attempt <= properties.getMaxAttempts(); attempt++) {
+            Plan plan = plan(lines, productIds, destination);
+            if (plan == null) {
+                // Nothing is stocked in warehouses
+                return emptyPicks(lines.size());
+            }
+            List<Taken> taken = new ArrayList<>();
+            boolean complete = true;
+            for (Taken pick : plan.picks()) {
+                if (stockRepository.decrement(pick.warehouseId(), pick.productId(), pick.quantity()) == 0) {
+                    complete = false;
+                    break;
+                }
+                taken.add(pick);
+            }
+            if (complete) {
+                return plan.byLine();
+            }
+            for (Taken pick : taken) {
+                stockRepository.adjust(pick.warehouseId(), pick.productId(), pick.quantity());
+            }
+            logger.debug("Warehouse stock changed during allocation, attempt {}", attempt);
+        }
+        throw new InsufficientStockException("Stock changed while the order was being placed, please try again");
+    }
+
+    /**
+     * Put stock taken for an order back into its warehouse
+     *
+     * @param warehouseId warehouse ID
+     * @param productId product ID
+     * @param quantity units to return
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long warehouseId, Long productId, int quantity) {
+        if (stockRepository.adjust(warehouseId, productId, quantity) == 0) {
+            logger.warn("No stock row of product {} in warehouse {}; {} returned units not recorded",
+                    productId, warehouseId, quantity);
+        }
+    }
+
+    /**
+     * Plan an order against the current stock
+     *
+     * @return the plan, or null if none of the products is stocked in warehouses
+     */
+    private Plan plan(List<Line> lines, List<Long> productIds, Address destination) {
+        Map<Long, Integer> lineOf = new HashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            lineOf.put(lines.get(i).productId(), i);
+        }
+        Set<Integer> managed = new HashSet<>();
+        Map<Long, int[]> stockByWarehouse = new HashMap<>();
+        for (Object[] row : stockRepository.findLevelsByProductIdIn(productIds)) {
+            int line = lineOf.get((Long) row[1]);
+            managed.add(line);
+            if (Boolean.TRUE.equals(row[3])) {
+                stockByWarehouse.computeIfAbsent((Long) row[0], id -> new int[lines.size()])[line] = (Integer) row[2];
+            }
+        }
+        if (managed.isEmpty()) {
+            return null;
+        }
+
+        // Nearest first, then by priority
+        List<Warehouse> warehouses = new ArrayList<>(warehouseRepository.findAllById(stockByWarehouse.keySet()));
+        warehouses.sort(Comparator.comparingInt((Warehouse w) -> w.distanceTo(destination))
+                .thenComparing(Warehouse::getPriority)
+                .thenComparing(Warehouse::getId));
+        int[] demand = new int[lines.size()];
+        for (int line : managed) {
+            demand[line] = lines.get(line).quantity();
+        }
+        int[][] stock = new int[warehouses.size()][];
+        int[] distance = new int[warehouses.size()];
+        for (int w = 0; w < warehouses.size(); w++) {
+            stock[w] = stockByWarehouse.get(warehouses.get(w).getId());
+            distance[w] = warehouses.get(w).distanceTo(destination);
+        }
+
+        int[][] take = AllocationPlanner.plan(properties.getStrategy(), demand, stock, distance);
+        if (take == null) {
+            for (int line : managed) {
+                int available = 0;
+                for (int[] units : stock) {
+                    available += units[line];
+                }
+                if (available < demand[line]) {
+                    throw new InsufficientStockException(lines.get(line).productName(), available, demand[line]);
+                }
+            }
+            throw new IllegalStateException("Allocation failed although every line is covered");
+        }
+
+        List<List<Pick>> byLine = emptyPicks(lines.size());
+        List<Taken> picks = new ArrayList<>();
+        for (int w = 0; w < warehouses.size(); w++) {
+            for (int line = 0; line < lines.size(); line++) {
+                if (take[w][line] > 0) {
+                    Long warehouseId = warehouses.get(w).getId();
+                    byLine.get(line).add(new Pick(warehouseId, take[w][line]));
+                    picks.add(new Taken(warehouseId, lines.get(line).productId(), take[w][line]));
+                }
+            }
+        }
+        picks.sort(Comparator.comparing(Taken::warehouseId).thenComparing(Taken::productId));
+        return new Plan(byLine, picks);
+    }
+
+    private static List<List<Pick>> emptyPicks(int size) {
+        List<List<Pick>> picks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            picks.add(new ArrayList<>());
+        }
+        return picks;
+    }
+
+    /**
+     * A product ordered
+     *
+     * @param productId product ID
+     * @param productName product name, for error messages
+     * @param quantity units ordered
+     */
+    public record Line(Long productId, String productName, int quantity) {
+    }
+
+    /**
+     * Units of a line shipped from one warehouse
+     *
+     * @param warehouseId warehouse ID
+     * @param quantity units
+     */
+    public record Pick(Long warehouseId, int quantity) {
+    }
+
+    private record Taken(Long warehouseId, Long productId, int quantity) {
+    }
+
+    private record Plan(List<List<Pick>> byLine, List<Taken> picks) {
+    }
+}
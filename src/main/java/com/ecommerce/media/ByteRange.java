@@ -0,0 +1,66 @@
+package com.ecommerce.media;
+
+/**
+ * One byte range of a file, parsed from a Range header
+ * Only single ranges are honoured; a multi-range request is answered with
+ * the whole file, which RFC 9110 allows and which avoids building
+ * multipart/byteranges bodies.
+ *
+ * @param start first byte
+ * @param length number of bytes
+ * @author E-Commerce Team
+ */
+public record ByteRange(long start, long length) {
+
+    /**
+     * A syntactically valid range that lies entirely past the end of the file
+     */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, 0);
+
+    /**
+     * @param header Range header value
+     * @param size file size
+     * @return the range, {@link #UNSATISFIABLE}, or null to send the whole file
+     */
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the final N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || size == 0) {
+                    return suffix < 0 ? null : UNSATISFIABLE;
+                }
+                long length = Math.min(suffix, size);
+                return new ByteRange(size - length, length);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= size) {
+                return UNSATISFIABLE;
+            }
+            return new ByteRange(start, Math.min(end, size - 1) - start + 1);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Last byte, inclusive
+     */
+    public long end() {
+        return start + length - 1;
+    }
+}
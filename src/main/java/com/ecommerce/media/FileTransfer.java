@@ -0,0 +1,70 @@
+package com.ecommerce.media;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes part of a file as a response body without copying it through the heap where possible
+ * On Tomcat's NIO and NIO2 connectors the file is handed to the connector
+ * through its sendfile request attributes; the connector then writes it
+ * with {@code FileChannel.transferTo} straight to the socket (sendfile(2)
+ * on Linux) after the request returns. Elsewhere, and for small files where
+ * the hand-off costs more than it saves, the bytes go through
+ * {@code transferTo} into the servlet output stream.
+ *
+ * @author E-Commerce Team
+ */
+public final class FileTransfer {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Bodies smaller than this are written directly (Tomcat's DefaultServlet uses the same threshold)
+     */
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    private FileTransfer() {
+    }
+
+    /**
+     * Set the content length and send {@code length} bytes of the file from {@code start}
+     * Status and headers must be set before calling; nothing is written for HEAD requests.
+     */
+    public static void send(Path file, long start, long length, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        response.setContentLengthLong(length);
+        if (length == 0 || "HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (length >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0 && position >= channel.size()) {
+                    throw new EOFException("File shrank while being sent: " + file);
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.ecommerce.media;
+
+import com.ecommerce.config.FileStorageProperties;
+import com.ecommerce.exception.BadRequestException;
+import com.ecommerce.exception.ResourceNotFoundException;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+/**
+ * The upload directory
+ * Uploaded images are stored under the SHA-256 of their content
+ * ({@code content/ab/cd/abcd....jpg}), so identical uploads share one file
+ * and a stored file never changes. Request paths are resolved strictly
+ * inside the directory: anything that normalizes outside it, names a hidden
+ * file (such as the directory of uploads in progress) or is not a regular
+ * file is reported as not found.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(FileStorageProperties.class)
+public class ImageStorage {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final Path incoming;
+    private final long maxSize;
+
+    public ImageStorage(FileStorageProperties properties) {
+        this.root = Paths.get(properties.getUploadDir()).toAbsolutePath().normalize();
+        this.incoming = root.resolve(".incoming");
+        this.maxSize = properties.getMaxSize();
+    }
+
+    /**
+     * Upload directory
+     */
+    public Path root() {
+        return root;
+    }
+
+    /**
+     * An uploaded file with its attributes
+     *
+     * @param relativePath path below the upload directory, as requested
+     * @return the file
+     * @throws ResourceNotFoundException if there is no such file or the path is not allowed
+     */
+    public StoredFile resolve(String relativePath) {
+        Path file = root.resolve(relativePath).normalize();
+        if (!file.startsWith(root) || file.equals(root) || isHidden(root.relativize(file))) {
+            throw new ResourceNotFoundException("Image", "path", relativePath);
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class,
+                    LinkOption.NOFOLLOW_LINKS);
+            if (!attributes.isRegularFile()) {
+                throw new ResourceNotFoundException("Image", "path", relativePath);
+            }
+            return new StoredFile(file, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException ex) {
+            throw new ResourceNotFoundException("Image", "path", relativePath);
+        }
+    }
+
+    /**
+     * Store an uploaded image, hashing and size-checking it while it is written
+     * The stream is copied to a temporary file in fixed-size chunks; once
+     * complete it is moved to its content address, or dropped if that file
+     * already exists.
+     *
+     * @param in image bytes
+     * @return the stored image
+     * @throws BadRequestException if the image is larger than the configured maximum or not a supported format
+     * @throws IOException on a read or write error
+     */
+    public StoredImage store(InputStream in) throws IOException {
+        Files.createDirectories(incoming);
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            ImageType type = null;
+            long size = 0;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                int read;
+                while ((read = in.readNBytes(buffer, 0, buffer.length)) > 0) {
+                    if (type == null) {
+                        type = ImageType.sniff(Arrays.copyOf(buffer, Math.min(read, 16)));
+                    }
+                    size += read;
+                    if (size > maxSize) {
+                        throw new BadRequestException("Image exceeds the maximum size of " + maxSize + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        out.write(chunk);
+                    }
+                }
+            }
+            if (size == 0) {
+                throw new BadRequestException("Image is empty");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String relativePath = "content/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/"
+                    + hash + "." + type.extension;
+            Path target = root.resolve(relativePath);
+            boolean duplicate = Files.exists(target);
+            if (!duplicate) {
+                Files.createDirectories(target.getParent());
+                // Two concurrent uploads of one image write identical bytes, so either may win
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new StoredImage(relativePath, hash, size, type.mimeType, duplicate);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Pixel size of an image, read from its header without decoding it
+     *
+     * @param file image
+     * @return the size, or null if the format has no reader or the header is unreadable
+     */
+    public Dimensions dimensions(StoredFile file) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.path().toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new Dimensions(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static boolean isHidden(Path relative) {
+        for (Path part : relative) {
+            if (part.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Image formats accepted for upload, recognized by their leading bytes rather than the declared type
+     */
+    private enum ImageType {
+        JPEG("jpg", "image/jpeg"),
+        PNG("png", "image/png"),
+        GIF("gif", "image/gif"),
+        WEBP("webp", "image/webp");
+
+        private final String extension;
+        private final String mimeType;
+
+        ImageType(String extension, String mimeType) {
+            this.extension = extension;
+            this.mimeType = mimeType;
+        }
+
+        static ImageType sniff(byte[] head) {
+            if (startsWith(head, 0xFF, 0xD8, 0xFF)) {
+                return JPEG;
+            }
+            if (startsWith(head, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+                return PNG;
+            }
+            if (startsWith(head, 'G', 'I', 'F', '8')) {
+                return GIF;
+            }
+            if (head.length >= 12 && startsWith(head, 'R', 'I', 'F', 'F')
+                    && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+                return WEBP;
+            }
+            throw new BadRequestException("Unsupported image format; expected JPEG, PNG, GIF or WebP");
+        }
+
+        private static boolean startsWith(byte[] head, int... prefix) {
+            if (head.length < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if ((head[i] & 0xFF) != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Pixel size of an image
+     */
+    public record Dimensions(int width, int height) {
+    }
+
+    /**
+     * An uploaded image at its content address
+     *
+     * @param relativePath path below the upload directory, as served under /images/
+     * @param contentHash hex SHA-256 of the bytes
+     * @param size size in bytes
+     * @param mimeType MIME type detected from the content
+     * @param duplicate whether the same image was already stored
+     */
+    public record StoredImage(String relativePath, String contentHash, long size, String mimeType,
+                              boolean duplicate) {
+    }
+
+    /**
+     * A file on disk
+     *
+     * @param path absolute path
+     * @param size size in bytes
+     * @param lastModified modification time in epoch milliseconds
+     */
+    public record StoredFile(Path path, long size, long lastModified) {
+
+        /**
+         * Strong validator derived from size and modification time
+         */
+        public String etag() {
+            return "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.ecommerce.media;
+
+import com.ecommerce.exception.BadRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pull parser for multipart/form-data bodies
+ * Parts are read one after another straight from the request stream
+ * through a fixed buffer: a part's body is an {@link InputStream} that ends
+ * at the next boundary, so a file of any size passes through without being
+ * held in memory or spooled to a temporary file first. A part not read to
+ * the end is skipped when the next one is requested.
+ *
+ * @author E-Commerce Team
+ */
+public final class MultipartReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean finished;
+    private PartBody current;
+
+    /**
+     * @param in request body
+     * @param boundary boundary parameter of the Content-Type header
+     */
+    public MultipartReader(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[BUFFER_SIZE + delimiter.length];
+        // The first boundary has no preceding line break; supply one so every delimiter looks alike
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        this.limit = 2;
+        this.current = new PartBody();
+    }
+
+    /**
+     * Boundary parameter of a multipart Content-Type header
+     *
+     * @param contentType Content-Type header value
+     * @return the boundary, or null if the header is not multipart/form-data with a boundary
+     */
+    public static String boundary(String contentType) {
+        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+            return null;
+        }
+        String boundary = parameters(contentType).get("boundary");
+        return boundary == null || boundary.isEmpty() || boundary.length() > 70 ? null : boundary;
+    }
+
+    /**
+     * Advance to the next part, skipping what is left of the current one (or the preamble)
+     *
+     * @return the part, or null after the last one
+     * @throws BadRequestException if the body is malformed
+     * @throws IOException on a read error
+     */
+    public Part next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        current.skip();
+        // After a delimiter comes "--" for the end of the body, or CRLF and the part headers
+        ensure(2);
+        if (limit - position < 2) {
+            throw new BadRequestException("Malformed multipart body: truncated after boundary");
+        }
+        if (buffer[position] == '-' && buffer[position + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        String line = readLine();
+        if (!line.isBlank()) {
+            throw new BadRequestException("Malformed multipart body: unexpected data after boundary");
+        }
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        int headerBytes = 0;
+        for (line = readLine(); !line.isEmpty(); line = readLine()) {
+            headerBytes += line.length();
+            if (headerBytes > MAX_HEADER_BYTES) {
+                throw new BadRequestException("Malformed multipart body: part headers too large");
+            }
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        Map<String, String> disposition = parameters(headers.getOrDefault("content-disposition", ""));
+        current = new PartBody();
+        return new Part(disposition.get("name"), disposition.get("filename"), headers.get("content-type"), current);
+    }
+
+    /**
+     * Header line up to CRLF, without it
+     */
+    private String readLine() throws IOException {
+        // Bytes after position already searched; stays valid when ensure() compacts the buffer
+        int scanned = 0;
+        while (true) {
+            for (int i = position + scanned; i + 1 < limit; i++) {
+                if (buffer[i] == '\r' && buffer[i + 1] == '\n') {
+                    String line = new String(buffer, position, i - position, StandardCharsets.UTF_8);
+                    position = i + 2;
+                    return line;
+                }
+            }
+            int unread = limit - position;
+            if (unread >= MAX_HEADER_BYTES) {
+                throw new BadRequestException("Malformed multipart body: header line too long");
+            }
+            scanned = Math.max(0, unread - 1);
+            ensure(unread + 1);
+            if (limit - position <= unread) {
+                throw new BadRequestException("Malformed multipart body: truncated headers");
+            }
+        }
+    }
+
+    /**
+     * Make at least {@code count} unread bytes available, unless the input ends first
+     */
+    private void ensure(int count) throws IOException {
+        if (limit - position >= count || endOfInput) {
+            return;
+        }
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
+        while (limit < count && limit < buffer.length) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+                return;
+            }
+            limit += read;
+        }
+    }
+
+    private int indexOfDelimiter() {
+        byte first = delimiter[0];
+        int last = limit - delimiter.length;
+        outer:
+        for (int i = position; i <= last; i++) {
+            if (buffer[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Parameters of a header value such as {@code form-data; name="file"; filename="a.jpg"}
+     */
+    private static Map<String, String> parameters(String header) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        int i = header.indexOf(';');
+        while (i >= 0 && i < header.length()) {
+            int equals = header.indexOf('=', i);
+            if (equals < 0) {
+                break;
+            }
+            String name = header.substring(i + 1, equals).trim().toLowerCase(Locale.ROOT);
+            StringBuilder value = new StringBuilder();
+            int j = equals + 1;
+            while (j < header.length() && header.charAt(j) == ' ') {
+                j++;
+            }
+            if (j < header.length() && header.charAt(j) == '"') {
+                for (j++; j < header.length() && header.charAt(j) != '"'; j++) {
+                    char c = header.charAt(j);
+                    if (c == '\\' && j + 1 < header.length()) {
+                        c = header.charAt(++j);
+                    }
+                    value.append(c);
+                }
+                j = header.indexOf(';', j);
+            } else {
+                int end = header.indexOf(';', j);
+                value.append(header, j, end < 0 ? header.length() : end);
+                j = end;
+            }
+            parameters.put(name, value.toString().trim());
+            i = j;
+        }
+        return parameters;
+    }
+
+    /**
+     * One part of the body
+     *
+     * @param name form field name
+     * @param filename submitted file name, or null for a plain field
+     * @param contentType declared content type, or null
+     * @param body the part's bytes; valid until the next call to {@link #next()}
+     */
+    public record Part(String name, String filename, String contentType, InputStream body) {
+
+        /**
+         * The body as text, for small form fields
+         *
+         * @param maxBytes longest accepted value
+         * @throws BadRequestException if the value is longer
+         */
+        public String text(int maxBytes) throws IOException {
+            byte[] bytes = body.readNBytes(maxBytes + 1);
+            if (bytes.length > maxBytes) {
+                throw new BadRequestException("Form field " + name + " is longer than " + maxBytes + " bytes");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Bytes of the current part, up to the next delimiter
+     */
+    private final class PartBody extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (done || current != this) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            ensure(delimiter.length);
+            int found = indexOfDelimiter();
+            if (found == position) {
+                position += delimiter.length;
+                done = true;
+                return -1;
+            }
+            int available;
+            if (found >= 0) {
+                available = found - position;
+            } else if (endOfInput) {
+                throw new BadRequestException("Malformed multipart body: missing closing boundary");
+            } else {
+                // Keep a possible partial delimiter at the end of the buffer for the next read
+                available = limit - position - (delimiter.length - 1);
+            }
+            int count = Math.min(length, available);
+            System.arraycopy(buffer, position, target, offset, count);
+            position += count;
+            return count;
+        }
+
+        void skip() throws IOException {
+            byte[] discard = new byte[8192];
+            while (read(discard, 0, discard.length) >= 0) {
+                // Drain up to the next delimiter
+            }
+        }
+    }
+}
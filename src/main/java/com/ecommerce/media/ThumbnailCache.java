@@ -0,0 +1,395 @@
+package com.ecommerce.media;
+
+import com.ecommerce.config.FileStorageProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Resized image variants, generated on first request and kept on disk
+ * A variant's file name is a hash of the source's path, size and
+ * modification time plus the width, so a changed source never matches an
+ * old variant. The directory is bounded in bytes and evicted least recently
+ * served first; the order is tracked in memory and rebuilt from file times
+ * at startup. Concurrent requests for a variant that is not there yet share
+ * one generation, and at most a configured number of generations (each
+ * holding a decoded image) run at a time. Newly uploaded images can have
+ * their variants made ahead of the first request on a small worker pool
+ * with a bounded queue; when the queue is full they are made on demand.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(FileStorageProperties.class)
+public class ThumbnailCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThumbnailCache.class);
+
+    private static final Set<String> FORMATS = Set.of("jpg", "jpeg", "png", "gif", "bmp");
+
+    /**
+     * Variants remembered as needing no file at most; the set is emptied when full
+     */
+    private static final int MAX_UNRESIZED = 10000;
+
+    private final FileStorageProperties.Thumbnails properties;
+    private final Path directory;
+    private final List<Integer> widths;
+    private final Semaphore generations;
+    private final ThreadPoolExecutor workers;
+
+    /** Variant file name to size, least recently served first */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+    /** Variants served by the original (already narrow enough, or not decodable) */
+    private final Set<String> unresized = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailCache(FileStorageProperties properties) throws IOException {
+        this.properties = properties.getThumbnails();
+        this.directory = Paths.get(this.properties.getCacheDir()).toAbsolutePath().normalize();
+        this.widths = this.properties.getWidths().stream().filter(width -> width > 0).sorted().distinct().toList();
+        this.generations = new Semaphore(Math.max(1, this.properties.getMaxConcurrent()));
+        this.workers = new ThreadPoolExecutor(Math.max(1, this.properties.getMaxConcurrent()),
+                Math.max(1, this.properties.getMaxConcurrent()), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, this.properties.getQueueCapacity())),
+                task -> {
+                    Thread thread = new Thread(task, "thumbnail-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Files.createDirectories(directory);
+        loadEntries();
+    }
+
+    /**
+     * Width actually served for a requested width: the next configured one
+     * up, or 0 (the original) if the request is larger than all of them
+     */
+    public int resolveWidth(int requested) {
+        for (int width : widths) {
+            if (width >= requested) {
+                return width;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A variant of an image no wider than the given width
+     *
+     * @param source original image
+     * @param width a width returned by {@link #resolveWidth(int)}
+     * @return the variant, or the original if it is already narrow enough or cannot be decoded
+     * @throws IOException if the variant could not be written, or generation did not start in time
+     */
+    public ImageStorage.StoredFile variant(ImageStorage.StoredFile source, int width) throws IOException {
+        String extension = extension(source.path());
+        if (width <= 0 || !FORMATS.contains(extension)) {
+            return source;
+        }
+        String name = variantName(source, width, extension);
+        Path file = directory.resolve(name);
+        Long size;
+        synchronized (entries) {
+            size = entries.get(name);
+        }
+        if (size != null) {
+            return new ImageStorage.StoredFile(file, size, source.lastModified());
+        }
+        if (unresized.contains(name)) {
+            return source;
+        }
+
+        CompletableFuture<Path> generation = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(name, generation);
+        Path result;
+        if (running != null) {
+            result = await(running);
+        } else {
+            try {
+                result = generate(source.path(), file, width, extension);
+                generation.complete(result);
+            } catch (IOException | RuntimeException ex) {
+                generation.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(name, generation);
+            }
+        }
+        if (result.equals(source.path())) {
+            return source;
+        }
+        return new ImageStorage.StoredFile(result, Files.size(result), source.lastModified());
+    }
+
+    /**
+     * Queue generation of every configured width of an image
+     *
+     * @param source original image
+     * @return whether the work was queued (false when the queue is full)
+     */
+    public boolean pregenerate(ImageStorage.StoredFile source) {
+        try {
+            workers.execute(() -> {
+                for (int width : widths) {
+                    try {
+                        if (variant(source, width) == source) {
+                            // Narrower than this width, so narrower than all larger ones too
+                            break;
+                        }
+                    } catch (IOException | RuntimeException ex) {
+                        logger.warn("Could not pregenerate a {}px variant of {}: {}", width, source.path(), ex.getMessage());
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException ex) {
+            logger.debug("Thumbnail queue full; variants of {} will be made on first request", source.path());
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Bytes currently held in the variant directory
+     */
+    public long totalBytes() {
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    private Path await(CompletableFuture<Path> generation) throws IOException {
+        try {
+            return generation.get(properties.getWaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof IOException io ? io : new IOException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IOException("Timed out waiting for thumbnail generation", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for thumbnail generation", ex);
+        }
+    }
+
+    /**
+     * Resize into a temporary file, move it into place and account for it
+     *
+     * @return the variant, or the source if it needs no resizing
+     */
+    private Path generate(Path source, Path target, int width, String extension) throws IOException {
+        try {
+            if (!generations.tryAcquire(properties.getWaitTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Too many thumbnails being generated");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting to generate a thumbnail", ex);
+        }
+        try {
+            BufferedImage image;
+            try {
+                image = read(source);
+            } catch (IOException ex) {
+                logger.info("Not resizing {}: {}", source, ex.getMessage());
+                image = null;
+            }
+            if (image == null || image.getWidth() <= width) {
+                if (unresized.size() >= MAX_UNRESIZED) {
+                    unresized.clear();
+                }
+                unresized.add(target.getFileName().toString());
+                return source;
+            }
+            BufferedImage resized = resize(image, width, extension);
+            Path temp = Files.createTempFile(directory, "variant-", ".tmp");
+            try {
+                if (!ImageIO.write(resized, extension.equals("jpg") ? "jpeg" : extension, temp.toFile())) {
+                    return source;
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            add(target.getFileName().toString(), Files.size(target));
+            return target;
+        } finally {
+            generations.release();
+        }
+    }
+
+    /**
+     * Decode an image, or return null if it is not readable or too large to decode
+     */
+    private BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Check the header before allocating the pixels
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > properties.getMaxSourcePixels()) {
+                    logger.info("Not resizing {}: larger than {} pixels", source, properties.getMaxSourcePixels());
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scale to the width, halving repeatedly first so large reductions stay sharp
+     */
+    private static BufferedImage resize(BufferedImage image, int width, String extension) {
+        // JPEG has no alpha channel
+        int type = extension.equals("jpg") || extension.equals("jpeg")
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            int nextWidth = Math.max(width, currentWidth / 2);
+            int nextHeight = nextWidth == width ? height : Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth > width);
+        return current;
+    }
+
+    private void add(String name, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (entries) {
+            Long previous = entries.put(name, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+            while (totalBytes > properties.getMaxCacheBytes() && iterator.hasNext()) {
+                Map.Entry<String, Long> eldest = iterator.next();
+                if (eldest.getKey().equals(name)) {
+                    continue;
+                }
+                totalBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                iterator.remove();
+            }
+        }
+        for (String file : evicted) {
+            try {
+                Files.deleteIfExists(directory.resolve(file));
+            } catch (IOException ex) {
+                logger.warn("Could not delete evicted thumbnail {}", file, ex);
+            }
+        }
+    }
+
+    /**
+     * Index the variants left by a previous run, oldest first, and drop unfinished ones
+     */
+    private void loadEntries() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(Files::isRegularFile).toList();
+        }
+        List<Path> variants = new ArrayList<>(files.size());
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(".tmp")) {
+                Files.deleteIfExists(file);
+            } else {
+                variants.add(file);
+            }
+        }
+        variants.sort((a, b) -> Long.compare(lastModified(a), lastModified(b)));
+        for (Path file : variants) {
+            try {
+                add(file.getFileName().toString(), Files.size(file));
+            } catch (IOException ex) {
+                logger.debug("Skipping thumbnail {}", file, ex);
+            }
+        }
+        logger.info("Thumbnail cache at {} holds {} variants, {} bytes", directory, entries.size(), totalBytes);
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String variantName(ImageStorage.StoredFile source, int width, String extension) {
+        String key = source.path() + "|" + source.size() + "|" + source.lastModified();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + "-w" + width + "." + extension;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static String extension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-registered timers and business counters for the hot service paths
+ * Meters are looked up once at startup, so recording is a nanoTime pair and
+ * a few atomic adds with no tag or builder allocation per call.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+public class ApplicationMetrics {
+
+    private final ServiceTimer createOrder;
+    private final ServiceTimer addItemToCart;
+    private final ServiceTimer searchProducts;
+    private final ServiceTimer login;
+
+    private final Counter ordersCreated;
+    private final DistributionSummary orderAmount;
+    private final Counter cartAdditions;
+    private final Counter cartUnitsAdded;
+
+    public ApplicationMetrics(MeterRegistry registry) {
+        this.createOrder = new ServiceTimer(registry, "OrderService", "createOrder");
+        this.addItemToCart = new ServiceTimer(registry, "ShoppingCartService", "addItemToCart");
+        this.searchProducts = new ServiceTimer(registry, "ProductService", "searchProducts");
+        this.login = new ServiceTimer(registry, "AuthService", "login");
+
+        this.ordersCreated = Counter.builder("orders.created")
+                .description("Orders placed")
+                .register(registry);
+        this.orderAmount = DistributionSummary.builder("orders.amount")
+                .description("Order total amount")
+                .baseUnit("currency")
+                .register(registry);
+        this.cartAdditions = Counter.builder("cart.additions")
+                .description("Add-to-cart operations")
+                .register(registry);
+        this.cartUnitsAdded = Counter.builder("cart.units.added")
+                .description("Units added to carts")
+                .register(registry);
+    }
+
+    public ServiceTimer createOrderTimer() {
+        return createOrder;
+    }
+
+    public ServiceTimer addItemToCartTimer() {
+        return addItemToCart;
+    }
+
+    public ServiceTimer searchProductsTimer() {
+        return searchProducts;
+    }
+
+    public ServiceTimer loginTimer() {
+        return login;
+    }
+
+    /**
+     * Count a placed order
+     *
+     * @param totalAmount order total
+     */
+    public void orderCreated(BigDecimal totalAmount) {
+        ordersCreated.increment();
+        if (totalAmount != null) {
+            orderAmount.record(totalAmount.doubleValue());
+        }
+    }
+
+    /**
+     * Count an add-to-cart operation
+     *
+     * @param quantity units added
+     */
+    public void cartItemAdded(int quantity) {
+        cartAdditions.increment();
+        cartUnitsAdded.increment(quantity);
+    }
+
+    /**
+     * Success and error timers for one service method
+     */
+    public static final class ServiceTimer {
+        private final Timer success;
+        private final Timer error;
+
+        ServiceTimer(MeterRegistry registry, String service, String method) {
+            this.success = build(registry, service, method, "success");
+            this.error = build(registry, service, method, "error");
+        }
+
+        private static Timer build(MeterRegistry registry, String service, String method, String outcome) {
+            return Timer.builder("service.method")
+                    .description("Service method latency")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+        }
+
+        /**
+         * Record a call started at {@code startNanos} (from {@link System#nanoTime()})
+         *
+         * @param startNanos start timestamp
+         * @param succeeded whether the call returned normally
+         */
+        public void record(long startNanos, boolean succeeded) {
+            (succeeded ? success : error).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
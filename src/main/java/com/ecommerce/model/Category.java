@@ -1,5 +1,6 @@
 package com.ecommerce.model;
 
+import com.ecommerce.event.CatalogEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -15,6 +16,7 @@ import java.util.List;
  * @author E-Commerce Team
  */
 @Entity
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "categories", indexes = {
     @Index(name = "idx_category_name", columnList = "name"),
     @Index(name = "idx_category_slug", columnList = "slug"),
@@ -0,0 +1,74 @@
+package com.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * IdempotencyRecord entity holding the outcome of a request sent with an
+ * Idempotency-Key header
+ * A row is inserted when the first request claims the key (so other instances
+ * see it as in progress) and completed with the response to replay.
+ * 
+ * @author E-Commerce Team
+ */
+@Entity
+@Table(name = "idempotency_records", indexes = {
+    @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_idempotency_key", columnNames = {"idempotency_key"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(exclude = "responseBody")
+public class IdempotencyRecord extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Client key scoped to the user that sent it ({@code username:key})
+     */
+    @Column(name = "idempotency_key", nullable = false, length = 320)
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 of method, path and body; a reused key must match it
+     */
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    /**
+     * Whether the response has been recorded (false while in progress)
+     */
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    /**
+     * HTTP status of the recorded response
+     */
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    /**
+     * Content type of the recorded response
+     */
+    @Column(name = "response_content_type", length = 100)
+    private String responseContentType;
+
+    /**
+     * Recorded response body
+     */
+    @Lob
+    @Column(name = "response_body")
+    private byte[] responseBody;
+
+    /**
+     * When the record may be dropped (or, in progress, taken over)
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
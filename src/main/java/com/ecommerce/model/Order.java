@@ -257,7 +257,7 @@ public class Order extends BaseEntity {
      * @return true if order can be cancelled
      */
     public boolean isCancellable() {
-        return status != null && status.isCancellable();
+        return status != null && OrderStateMachine.canTransition(status, OrderStatus.CANCELLED);
     }
 
     /**
@@ -278,16 +278,22 @@ public class Order extends BaseEntity {
      * Mark order as delivered
      */
     public void markAsDelivered() {
-        this.status = OrderStatus.DELIVERED;
-        this.deliveredDate = LocalDateTime.now();
+        updateStatus(OrderStatus.DELIVERED);
     }
 
     /**
      * Update order status
      * 
      * @param newStatus new status
+     * @throws IllegalStateException if {@link OrderStateMachine} does not allow the transition
      */
     public void updateStatus(OrderStatus newStatus) {
+        if (newStatus == status) {
+            return;
+        }
+        if (!OrderStateMachine.canTransition(status, newStatus)) {
+            throw new IllegalStateException(OrderStateMachine.describeRejection(status, newStatus));
+        }
         this.status = newStatus;
         
         if (newStatus == OrderStatus.DELIVERED) {
@@ -301,8 +307,15 @@ public class Order extends BaseEntity {
      * Update payment status
      * 
      * @param newStatus new payment status
+     * @throws IllegalStateException if {@link OrderStateMachine} does not allow the transition
      */
     public void updatePaymentStatus(PaymentStatus newStatus) {
+        if (newStatus == paymentStatus) {
+            return;
+        }
+        if (!OrderStateMachine.canTransition(paymentStatus, newStatus)) {
+            throw new IllegalStateException("Payment cannot move from " + paymentStatus + " to " + newStatus);
+        }
         this.paymentStatus = newStatus;
         
         if (newStatus == PaymentStatus.COMPLETED && this.status == OrderStatus.PENDING) {
@@ -17,14 +17,15 @@ import java.math.BigDecimal;
 @Entity
 @Table(name = "order_items", indexes = {
     @Index(name = "idx_order_item_order", columnList = "order_id"),
-    @Index(name = "idx_order_item_product", columnList = "product_id")
+    @Index(name = "idx_order_item_product", columnList = "product_id"),
+    @Index(name = "idx_order_item_warehouse", columnList = "warehouse_id")
 })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@EqualsAndHashCode(callSuper = true, exclude = {"order", "product"})
-@ToString(exclude = {"order", "product"})
+@EqualsAndHashCode(callSuper = true, exclude = {"order", "product", "warehouse"})
+@ToString(exclude = {"order", "product", "warehouse"})
 public class OrderItem extends BaseEntity {
 
     private static final long serialVersionUID = 1L;
@@ -95,6 +96,13 @@ public class OrderItem extends BaseEntity {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    /**
+     * Warehouse the item ships from; null for stock not held in any warehouse
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id")
+    private Warehouse warehouse;
+
     /**
      * Calculate total price based on quantity and unit price
      */
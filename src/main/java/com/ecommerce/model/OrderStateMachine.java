@@ -0,0 +1,141 @@
+package com.ecommerce.model;
+
+import com.ecommerce.model.enums.OrderStatus;
+import com.ecommerce.model.enums.PaymentStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.ecommerce.model.enums.OrderStatus.*;
+
+/**
+ * Allowed order and payment status transitions
+ * The rules are declared once as tables and precomputed into EnumSets (both
+ * directions), so a check is a bit test and bulk updates can guard their
+ * UPDATE with the set of statuses a target may be reached from.
+ *
+ * @author E-Commerce Team
+ */
+public final class OrderStateMachine {
+
+    private static final Map<OrderStatus, Set<OrderStatus>> ORDER_TRANSITIONS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> ORDER_SOURCES = new EnumMap<>(OrderStatus.class);
+    private static final Map<PaymentStatus, Set<PaymentStatus>> PAYMENT_TRANSITIONS = new EnumMap<>(PaymentStatus.class);
+
+    /**
+     * Statuses in which shipment tracking details may be set
+     */
+    private static final Set<OrderStatus> TRACKABLE =
+            Collections.unmodifiableSet(EnumSet.of(CONFIRMED, PROCESSING, SHIPPED, OUT_FOR_DELIVERY, DELIVERED));
+
+    static {
+        order(PENDING, CONFIRMED, PROCESSING, CANCELLED);
+        order(CONFIRMED, PROCESSING, SHIPPED, CANCELLED);
+        order(PROCESSING, SHIPPED, CANCELLED);
+        order(SHIPPED, OUT_FOR_DELIVERY, DELIVERED, RETURNED);
+        order(OUT_FOR_DELIVERY, DELIVERED, RETURNED);
+        order(DELIVERED, RETURNED);
+        order(RETURNED, REFUNDED);
+        order(CANCELLED, REFUNDED);
+        order(REFUNDED);
+
+        payment(PaymentStatus.PENDING, PaymentStatus.PROCESSING, PaymentStatus.COMPLETED,
+                PaymentStatus.FAILED, PaymentStatus.CANCELLED);
+        payment(PaymentStatus.PROCESSING, PaymentStatus.COMPLETED, PaymentStatus.FAILED, PaymentStatus.CANCELLED);
+        payment(PaymentStatus.COMPLETED, PaymentStatus.REFUNDED);
+        payment(PaymentStatus.FAILED);
+        payment(PaymentStatus.REFUNDED);
+        payment(PaymentStatus.CANCELLED);
+
+        for (OrderStatus target : OrderStatus.values()) {
+            EnumSet<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+            ORDER_TRANSITIONS.forEach((source, targets) -> {
+                if (targets.contains(target)) {
+                    sources.add(source);
+                }
+            });
+            ORDER_SOURCES.put(target, Collections.unmodifiableSet(sources));
+        }
+    }
+
+    private OrderStateMachine() {
+    }
+
+    /**
+     * Check whether an order may move from one status to another
+     *
+     * @param from current status
+     * @param to requested status
+     * @return true if the transition is allowed
+     */
+    public static boolean canTransition(OrderStatus from, OrderStatus to) {
+        return ORDER_TRANSITIONS.get(from).contains(to);
+    }
+
+    /**
+     * Check whether a payment may move from one status to another
+     *
+     * @param from current status
+     * @param to requested status
+     * @return true if the transition is allowed
+     */
+    public static boolean canTransition(PaymentStatus from, PaymentStatus to) {
+        return PAYMENT_TRANSITIONS.get(from).contains(to);
+    }
+
+    /**
+     * Statuses an order may move to next
+     *
+     * @param from current status
+     * @return allowed targets
+     */
+    public static Set<OrderStatus> nextStatuses(OrderStatus from) {
+        return ORDER_TRANSITIONS.get(from);
+    }
+
+    /**
+     * Statuses from which an order may move to {@code to}
+     *
+     * @param to target status
+     * @return allowed sources
+     */
+    public static Set<OrderStatus> sourcesOf(OrderStatus to) {
+        return ORDER_SOURCES.get(to);
+    }
+
+    /**
+     * Check whether tracking details may be set on an order in a status
+     *
+     * @param status order status
+     * @return true if the order is (about to be) shipped
+     */
+    public static boolean acceptsTracking(OrderStatus status) {
+        return TRACKABLE.contains(status);
+    }
+
+    /**
+     * Describe a rejected transition
+     *
+     * @param from current status
+     * @param to requested status
+     * @return message listing the allowed targets
+     */
+    public static String describeRejection(OrderStatus from, OrderStatus to) {
+        return "Order cannot move from " + from + " to " + to + " (allowed: " + nextStatuses(from) + ")";
+    }
+
+    private static void order(OrderStatus from, OrderStatus... to) {
+        EnumSet<OrderStatus> targets = EnumSet.noneOf(OrderStatus.class);
+        Collections.addAll(targets, to);
+        ORDER_TRANSITIONS.put(from, Collections.unmodifiableSet(targets));
+    }
+
+    private static void payment(PaymentStatus from, PaymentStatus... to) {
+        EnumSet<PaymentStatus> targets = EnumSet.noneOf(PaymentStatus.class);
+        Collections.addAll(targets, to);
+        PAYMENT_TRANSITIONS.put(from, Collections.unmodifiableSet(targets));
+    }
+}
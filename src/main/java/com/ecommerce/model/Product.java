@@ -1,9 +1,12 @@
 package com.ecommerce.model;
 
+import com.ecommerce.event.CatalogEntityListener;
 import com.ecommerce.model.enums.ProductStatus;
+import com.ecommerce.model.enums.StockLevel;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -12,10 +15,14 @@ import java.util.List;
 /**
  * Product entity representing items available for sale
  * Contains product details, pricing, inventory, and relationships
+ * Updates write only the changed columns, so a catalog edit does not
+ * overwrite the stock total kept by bulk updates.
  * 
  * @author E-Commerce Team
  */
 @Entity
+@DynamicUpdate
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "products", indexes = {
     @Index(name = "idx_product_name", columnList = "name"),
     @Index(name = "idx_product_slug", columnList = "slug"),
@@ -28,7 +35,7 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @EqualsAndHashCode(callSuper = true, exclude = {"category", "images", "reviews", "orderItems", "cartItems", "wishlistItems"})
-@ToString(exclude = {"category", "images", "reviews", "orderItems", "cartItems", "wishlistItems"})
+@ToString(exclude = {"category", "images", "reviews", "orderItems", "cartItems", "wishlistItems", "persistedState"})
 public class Product extends BaseEntity {
 
     private static final long serialVersionUID = 1L;
@@ -259,6 +266,14 @@ public class Product extends BaseEntity {
     @Column(name = "meta_keywords", length = 500)
     private String metaKeywords;
 
+    /**
+     * Effective price, stock and stock level as last loaded or saved, for change detection by the entity listener
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient PersistedState persistedState;
+
     /**
      * Get effective price (sale price if available, otherwise regular price)
      * 
@@ -336,6 +351,52 @@ public class Product extends BaseEntity {
         this.stockQuantity -= quantity;
     }
 
+    /**
+     * Get stock level for low-stock monitoring
+     * Only products offered for sale are monitored.
+     * 
+     * @return stock level, or null if the product is not monitored
+     */
+    public StockLevel getStockLevel() {
+        return getStockLevel(stockQuantity == null ? 0 : stockQuantity);
+    }
+
+    /**
+     * Get the stock level this product would have at a given quantity
+     * 
+     * @param quantity units in stock
+     * @return stock level, or null if the product is not monitored
+     */
+    public StockLevel getStockLevel(int quantity) {
+        if (Boolean.TRUE.equals(getDeleted()) || (status != ProductStatus.ACTIVE && status != ProductStatus.OUT_OF_STOCK)) {
+            return null;
+        }
+        if (quantity <= 0) {
+            return StockLevel.OUT;
+        }
+        return lowStockThreshold != null && quantity <= lowStockThreshold ? StockLevel.LOW : StockLevel.IN_STOCK;
+    }
+
+    /**
+     * Remember the current effective price, stock, stock level and searchable columns as persisted
+     * 
+     * @return the state remembered before, or null if the product was not loaded or saved yet
+     */
+    public PersistedState markPersisted() {
+        PersistedState previous = persistedState;
+        persistedState = new PersistedState(getEffectivePrice(), stockQuantity, getStockLevel(), getSearchFields());
+        return previous;
+    }
+
+    /**
+     * Get the columns the search indexes are built from
+     * 
+     * @return searchable columns
+     */
+    public SearchFields getSearchFields() {
+        return new SearchFields(name, slug, brand, category != null ? category.getId() : null, status, getDeleted());
+    }
+
     /**
      * Increment view count
      */
@@ -400,4 +461,18 @@ public class Product extends BaseEntity {
         this.reviewCount = reviews.size();
         this.averageRating = total.divide(BigDecimal.valueOf(reviewCount), 2, BigDecimal.ROUND_HALF_UP);
     }
+
+    /**
+     * Effective price, stock, stock level and searchable columns of a product as held in the database
+     */
+    public record PersistedState(BigDecimal effectivePrice, Integer stockQuantity, StockLevel stockLevel,
+                                 SearchFields searchFields) {
+    }
+
+    /**
+     * Columns that decide whether and how a product is found by search
+     */
+    public record SearchFields(String name, String slug, String brand, Long categoryId, ProductStatus status,
+                               Boolean deleted) {
+    }
 }
@@ -14,7 +14,8 @@ import lombok.*;
 @Entity
 @Table(name = "product_images", indexes = {
     @Index(name = "idx_product_image_product", columnList = "product_id"),
-    @Index(name = "idx_product_image_order", columnList = "display_order")
+    @Index(name = "idx_product_image_order", columnList = "display_order"),
+    @Index(name = "idx_product_image_hash", columnList = "content_hash")
 })
 @Data
 @NoArgsConstructor
@@ -90,4 +91,10 @@ public class ProductImage extends BaseEntity {
      */
     @Column(name = "mime_type", length = 50)
     private String mimeType;
+
+    /**
+     * Hex SHA-256 of the uploaded bytes; the stored file's name, shared by identical uploads
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
 }
@@ -0,0 +1,131 @@
+package com.ecommerce.model;
+
+import com.ecommerce.model.enums.PromotionType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Promotion entity representing a discount code
+ * Supports percentage, fixed amount and free shipping codes, optionally scoped
+ * to categories (including their subcategories) and brands
+ * 
+ * @author E-Commerce Team
+ */
+@Entity
+@Table(name = "promotions", indexes = {
+    @Index(name = "idx_promotion_code", columnList = "code"),
+    @Index(name = "idx_promotion_active", columnList = "active")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true, exclude = {"categoryIds", "brands"})
+@ToString(exclude = {"categoryIds", "brands"})
+public class Promotion extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Discount code entered at checkout (stored upper case)
+     */
+    @NotBlank(message = "Promotion code is required")
+    @Size(max = 50, message = "Promotion code must not exceed 50 characters")
+    @Column(name = "code", unique = true, nullable = false, length = 50)
+    private String code;
+
+    /**
+     * Description shown in the price breakdown
+     */
+    @Size(max = 255, message = "Description must not exceed 255 characters")
+    @Column(name = "description", length = 255)
+    private String description;
+
+    /**
+     * Promotion type
+     */
+    @NotNull(message = "Promotion type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private PromotionType type;
+
+    /**
+     * Percentage (0-100) or fixed amount, depending on type
+     */
+    @DecimalMin(value = "0.0", message = "Value cannot be negative")
+    @Column(name = "discount_value", precision = 10, scale = 2)
+    @Builder.Default
+    private BigDecimal value = BigDecimal.ZERO;
+
+    /**
+     * Upper bound of the discount for percentage codes
+     */
+    @DecimalMin(value = "0.0", message = "Maximum discount cannot be negative")
+    @Column(name = "max_discount", precision = 10, scale = 2)
+    private BigDecimal maxDiscount;
+
+    /**
+     * Minimum cart subtotal required
+     */
+    @DecimalMin(value = "0.0", message = "Minimum spend cannot be negative")
+    @Column(name = "minimum_spend", precision = 10, scale = 2)
+    private BigDecimal minimumSpend;
+
+    /**
+     * Start of the validity window (open if null)
+     */
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    /**
+     * End of the validity window (open if null)
+     */
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    /**
+     * Total redemptions allowed (unlimited if null)
+     */
+    @Column(name = "usage_limit")
+    private Integer usageLimit;
+
+    /**
+     * Redemptions allowed per user (unlimited if null)
+     */
+    @Column(name = "per_user_limit")
+    private Integer perUserLimit;
+
+    /**
+     * Whether the code can be used
+     */
+    @Column(name = "active")
+    @Builder.Default
+    private Boolean active = true;
+
+    /**
+     * Categories the discount is limited to (all if empty)
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "promotion_categories", joinColumns = @JoinColumn(name = "promotion_id"))
+    @Column(name = "category_id")
+    @Builder.Default
+    private Set<Long> categoryIds = new HashSet<>();
+
+    /**
+     * Brands the discount is limited to (all if empty)
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "promotion_brands", joinColumns = @JoinColumn(name = "promotion_id"))
+    @Column(name = "brand", length = 100)
+    @Builder.Default
+    private Set<String> brands = new HashSet<>();
+}
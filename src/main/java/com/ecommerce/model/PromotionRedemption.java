@@ -0,0 +1,57 @@
+package com.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * PromotionRedemption entity recording one use of a discount code
+ * Redemptions are insert-only, so a popular code never funnels checkouts
+ * through an update of a single counter row.
+ * 
+ * @author E-Commerce Team
+ */
+@Entity
+@Table(name = "promotion_redemptions", indexes = {
+    @Index(name = "idx_redemption_promotion_user", columnList = "promotion_id, user_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_redemption_order", columnNames = {"order_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true, exclude = {"promotion", "user", "order"})
+@ToString(exclude = {"promotion", "user", "order"})
+public class PromotionRedemption extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Redeemed promotion
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "promotion_id", nullable = false)
+    private Promotion promotion;
+
+    /**
+     * Redeeming user
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * Order the code was applied to
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    /**
+     * Discount granted, including waived shipping
+     */
+    @Column(name = "discount_amount", precision = 10, scale = 2)
+    private BigDecimal discountAmount;
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * PromotionRedemptionSlot entity holding one share of a promotion's usage limit
+ * A capped promotion's limit is split over a few slot rows, so concurrent
+ * checkouts with the same code claim different rows instead of queueing on
+ * one counter. Counts are written only by the conditional updates in
+ * PromotionRedemptionSlotRepository.
+ *
+ * @author E-Commerce Team
+ */
+@Entity
+@Table(name = "promotion_redemption_slots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_redemption_slot", columnNames = {"promotion_id", "slot"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true, exclude = {"promotion"})
+@ToString(exclude = {"promotion"})
+public class PromotionRedemptionSlot extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Promotion whose limit this slot shares
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "promotion_id", nullable = false)
+    private Promotion promotion;
+
+    /**
+     * Slot number, from 0
+     */
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
+    /**
+     * Redemptions this slot may count
+     */
+    @Column(name = "capacity", nullable = false)
+    private Integer capacity;
+
+    /**
+     * Redemptions counted in this slot
+     */
+    @Column(name = "used", nullable = false)
+    @Builder.Default
+    private Integer used = 0;
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * TrendingSnapshot entity holding the serialized counters of one trending window
+ * Written periodically so trending survives restarts.
+ * 
+ * @author E-Commerce Team
+ */
+@Entity
+@Table(name = "trending_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_trending_snapshot_window", columnNames = {"window_key"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString(exclude = "payload")
+public class TrendingSnapshot extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Window key (1h, 24h, 7d)
+     */
+    @Column(name = "window_key", nullable = false, length = 10)
+    private String windowKey;
+
+    /**
+     * Gzipped sketch slices and candidates
+     */
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private byte[] payload;
+
+    /**
+     * When the snapshot was taken
+     */
+    @Column(name = "saved_at", nullable = false)
+    private LocalDateTime savedAt;
+}
@@ -0,0 +1,116 @@
+package com.ecommerce.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Warehouse entity representing a location orders are shipped from
+ * Its address is used to pick the warehouse nearest to a shipping address.
+ * 
+ * @author E-Commerce Team
+ */
+@Entity
+@Table(name = "warehouses", indexes = {
+    @Index(name = "idx_warehouse_code", columnList = "code")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true)
+@ToString
+public class Warehouse extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Short code identifying the warehouse (stored upper case)
+     */
+    @NotBlank(message = "Warehouse code is required")
+    @Size(max = 20, message = "Warehouse code must not exceed 20 characters")
+    @Column(name = "code", unique = true, nullable = false, length = 20)
+    private String code;
+
+    /**
+     * Warehouse name
+     */
+    @NotBlank(message = "Warehouse name is required")
+    @Size(max = 100, message = "Warehouse name must not exceed 100 characters")
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    /**
+     * City
+     */
+    @Column(name = "city", length = 100)
+    private String city;
+
+    /**
+     * State or province
+     */
+    @Column(name = "state", length = 100)
+    private String state;
+
+    /**
+     * Postal code
+     */
+    @Column(name = "postal_code", length = 20)
+    private String postalCode;
+
+    /**
+     * Country
+     */
+    @NotBlank(message = "Country is required")
+    @Column(name = "country", nullable = false, length = 100)
+    private String country;
+
+    /**
+     * Preference among equally near warehouses; lower is preferred
+     */
+    @Column(name = "priority", nullable = false)
+    @Builder.Default
+    private Integer priority = 0;
+
+    /**
+     * Whether orders are allocated to this warehouse
+     */
+    @Column(name = "active", nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    /**
+     * Distance class from a shipping address, derived from the address fields
+     * 
+     * @param address shipping address
+     * @return 0 for the same postal area, 1 for the same state, 2 for the same country, 3 otherwise
+     */
+    public int distanceTo(Address address) {
+        if (address == null) {
+            return 0;
+        }
+        if (!sameText(country, address.getCountry())) {
+            return 3;
+        }
+        if (postalArea(postalCode) != null && postalArea(postalCode).equals(postalArea(address.getPostalCode()))) {
+            return 0;
+        }
+        return sameText(state, address.getState()) ? 1 : 2;
+    }
+
+    private static boolean sameText(String a, String b) {
+        return a != null && b != null && a.trim().equalsIgnoreCase(b.trim());
+    }
+
+    /**
+     * Leading part of a postal code shared by nearby addresses (the first three characters)
+     */
+    private static String postalArea(String postalCode) {
+        if (postalCode == null) {
+            return null;
+        }
+        String compact = postalCode.replaceAll("[\\s-]", "").toUpperCase();
+        return compact.length() < 3 ? null : compact.substring(0, 3);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * WarehouseStock entity holding the stock of one product in one warehouse
+ * Quantities are changed only by conditional bulk updates, so concurrent
+ * orders never read-modify-write the same row. The product's own stock
+ * quantity is kept as the total over its warehouses.
+ * 
+ * @author E-Commerce Team
+ */
+@Entity
+@Table(name = "warehouse_stock", indexes = {
+    @Index(name = "idx_warehouse_stock_product", columnList = "product_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_warehouse_product", columnNames = {"warehouse_id", "product_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = true, exclude = {"warehouse", "product"})
+@ToString(exclude = {"warehouse", "product"})
+public class WarehouseStock extends BaseEntity {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Units on hand
+     */
+    @NotNull(message = "Quantity is required")
+    @Min(value = 0, message = "Quantity cannot be negative")
+    @Column(name = "quantity", nullable = false)
+    @Builder.Default
+    private Integer quantity = 0;
+
+    /**
+     * Warehouse holding the stock
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "warehouse_id", nullable = false)
+    private Warehouse warehouse;
+
+    /**
+     * Product stocked
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+}
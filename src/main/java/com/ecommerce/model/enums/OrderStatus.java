@@ -1,5 +1,7 @@
 package com.ecommerce.model.enums;
 
+import com.ecommerce.model.OrderStateMachine;
+
 /**
  * Order status enumeration
  * Represents different states of an order in its lifecycle
@@ -74,7 +76,7 @@ public enum OrderStatus {
      * @return true if order can be cancelled
      */
     public boolean isCancellable() {
-        return this == PENDING || this == CONFIRMED || this == PROCESSING;
+        return OrderStateMachine.canTransition(this, CANCELLED);
     }
 
     /**
@@ -0,0 +1,40 @@
+package com.ecommerce.model.enums;
+
+/**
+ * Promotion type enumeration
+ * Determines how a discount code reduces the price of an order
+ * 
+ * @author E-Commerce Team
+ */
+public enum PromotionType {
+    /**
+     * Percentage off the eligible subtotal
+     */
+    PERCENTAGE("Percentage", "Percentage off eligible items"),
+    
+    /**
+     * Fixed amount off the eligible subtotal
+     */
+    FIXED_AMOUNT("Fixed Amount", "Fixed amount off eligible items"),
+    
+    /**
+     * Shipping charge waived
+     */
+    FREE_SHIPPING("Free Shipping", "Shipping charge is waived");
+
+    private final String displayName;
+    private final String description;
+
+    PromotionType(String displayName, String description) {
+        this.displayName = displayName;
+        this.description = description;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.model.enums;
+
+/**
+ * Stock level enumeration
+ * Where a product's stock stands against its low-stock threshold
+ * 
+ * @author E-Commerce Team
+ */
+public enum StockLevel {
+    /**
+     * Stock is above the low-stock threshold
+     */
+    IN_STOCK("In Stock"),
+
+    /**
+     * Stock is at or below the low-stock threshold
+     */
+    LOW("Low Stock"),
+
+    /**
+     * No stock left
+     */
+    OUT("Out of Stock");
+
+    private final String displayName;
+
+    StockLevel(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Check if this level is worse than another
+     * 
+     * @param other level to compare with
+     * @return true if this level calls for more attention
+     */
+    public boolean isWorseThan(StockLevel other) {
+        return ordinal() > other.ordinal();
+    }
+}
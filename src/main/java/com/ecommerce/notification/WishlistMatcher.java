@@ -0,0 +1,245 @@
+package com.ecommerce.notification;
+
+import com.ecommerce.config.WishlistNotificationProperties;
+import com.ecommerce.event.ProductPriceChangedEvent;
+import com.ecommerce.event.ProductStockChangedEvent;
+import com.ecommerce.model.Product;
+import com.ecommerce.model.User;
+import com.ecommerce.model.enums.ProductStatus;
+import com.ecommerce.model.enums.UserStatus;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.repository.WishlistItemRepository;
+import com.ecommerce.util.EmailService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mails wishlist subscribers when a product comes back in stock or drops in price
+ * Committed stock and price changes only mark the product; every batch
+ * interval the marked products are re-checked and their subscribers read
+ * through the product index in pages ordered by user, so the work follows
+ * the number of changes and their subscribers, never the size of the
+ * wishlist table. Each subscriber gets one digest per batch, and a product
+ * is announced to the same subscriber at most once per dedupe window.
+ * Marks and the dedupe record are held in memory, so changes not yet sent
+ * at shutdown are dropped.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(WishlistNotificationProperties.class)
+public class WishlistMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(WishlistMatcher.class);
+
+    /**
+     * Announcements remembered for deduplication at most; the oldest are forgotten first
+     */
+    private static final int MAX_SENT_NOTICES = 1_000_000;
+
+    private final WishlistNotificationProperties properties;
+    private final WishlistItemRepository wishlistItemRepository;
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+
+    private final Set<Long> pendingRestocks = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingSales = ConcurrentHashMap.newKeySet();
+
+    /**
+     * When each (user, product, kind) was last announced, oldest first; only touched by the scheduler thread
+     */
+    private final LinkedHashMap<SentKey, Long> sent = new LinkedHashMap<>();
+
+    public WishlistMatcher(WishlistNotificationProperties properties,
+                           WishlistItemRepository wishlistItemRepository,
+                           ProductRepository productRepository,
+                           UserRepository userRepository,
+                           EmailService emailService) {
+        this.properties = properties;
+        this.wishlistItemRepository = wishlistItemRepository;
+        this.productRepository = productRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        if (properties.isEnabled() && event.isRestock()) {
+            pendingRestocks.add(event.getProductId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPriceChanged(ProductPriceChangedEvent event) {
+        if (properties.isEnabled() && event.isOnSale() && event.isPriceDrop()) {
+            pendingSales.add(event.getProductId());
+        }
+    }
+
+    /**
+     * Send the digests for the changes marked since the last run
+     */
+    @Scheduled(fixedDelayString = "${app.wishlist.notifications.batch-interval-ms:60000}",
+               initialDelayString = "${app.wishlist.notifications.batch-interval-ms:60000}")
+    public void flush() {
+        Set<Long> restocked = drain(pendingRestocks);
+        Set<Long> discounted = drain(pendingSales);
+        if (restocked.isEmpty() && discounted.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        forgetExpired(now);
+
+        // Announce only what still holds now that the batch is sent
+        List<Long> changed = new ArrayList<>(restocked);
+        changed.addAll(discounted);
+        Map<Long, WishlistNotice> restockNotices = new HashMap<>();
+        Map<Long, WishlistNotice> saleNotices = new HashMap<>();
+        for (List<Long> chunk : partition(changed)) {
+            for (Product product : productRepository.findAllById(chunk)) {
+                if (product.getStatus() != ProductStatus.ACTIVE || Boolean.TRUE.equals(product.getDeleted())) {
+                    continue;
+                }
+                if (restocked.contains(product.getId()) && product.isInStock()) {
+                    restockNotices.put(product.getId(), notice(product, WishlistNotice.Kind.RESTOCK));
+                }
+                if (discounted.contains(product.getId()) && product.isOnSale()) {
+                    saleNotices.put(product.getId(), notice(product, WishlistNotice.Kind.SALE));
+                }
+            }
+        }
+
+        List<Long> productIds = new ArrayList<>(restockNotices.keySet());
+        saleNotices.keySet().stream().filter(id -> !restockNotices.containsKey(id)).forEach(productIds::add);
+        int digests = 0;
+        for (List<Long> chunk : partition(productIds)) {
+            digests += notifySubscribers(chunk, restockNotices, saleNotices, now);
+        }
+        logger.info("Wishlist notifications: {} restocked and {} discounted products, {} digests sent",
+                restockNotices.size(), saleNotices.size(), digests);
+    }
+
+    /**
+     * Page through the subscribers of some products in user order, sending each user's digest once complete
+     */
+    private int notifySubscribers(List<Long> productIds, Map<Long, WishlistNotice> restockNotices,
+                                  Map<Long, WishlistNotice> saleNotices, long now) {
+        int pageSize = properties.getPageSize();
+        Map<Long, List<WishlistNotice>> pending = new LinkedHashMap<>();
+        int digests = 0;
+        long afterUser = 0;
+        long afterItem = 0;
+        while (true) {
+            List<Object[]> rows = wishlistItemRepository.findSubscribers(productIds, afterUser, afterItem,
+                    PageRequest.of(0, pageSize));
+            for (Object[] row : rows) {
+                long userId = (Long) row[1];
+                Long productId = (Long) row[2];
+                if (Boolean.TRUE.equals(row[3])) {
+                    collect(pending, userId, restockNotices.get(productId), now);
+                }
+                if (Boolean.TRUE.equals(row[4])) {
+                    collect(pending, userId, saleNotices.get(productId), now);
+                }
+            }
+            if (rows.size() < pageSize) {
+                return digests + send(pending);
+            }
+            Object[] last = rows.get(rows.size() - 1);
+            afterItem = (Long) last[0];
+            afterUser = (Long) last[1];
+            // The last user may have more rows on the next page
+            List<WishlistNotice> unfinished = pending.remove(afterUser);
+            digests += send(pending);
+            pending.clear();
+            if (unfinished != null) {
+                pending.put(afterUser, unfinished);
+            }
+        }
+    }
+
+    private void collect(Map<Long, List<WishlistNotice>> pending, long userId, WishlistNotice notice, long now) {
+        if (notice == null) {
+            return;
+        }
+        SentKey key = new SentKey(userId, notice.productId(), notice.kind());
+        if (sent.containsKey(key)) {
+            return;
+        }
+        sent.put(key, now);
+        if (sent.size() > MAX_SENT_NOTICES) {
+            Iterator<SentKey> oldest = sent.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+        pending.computeIfAbsent(userId, id -> new ArrayList<>()).add(notice);
+    }
+
+    private int send(Map<Long, List<WishlistNotice>> digests) {
+        if (digests.isEmpty()) {
+            return 0;
+        }
+        int sentCount = 0;
+        for (User user : userRepository.findAllById(digests.keySet())) {
+            if (user.getStatus() != UserStatus.ACTIVE || Boolean.TRUE.equals(user.getDeleted())) {
+                continue;
+            }
+            emailService.sendWishlistDigestEmail(user, digests.get(user.getId()));
+            sentCount++;
+        }
+        return sentCount;
+    }
+
+    private void forgetExpired(long now) {
+        long cutoff = now - TimeUnit.HOURS.toMillis(properties.getDedupeWindowHours());
+        Iterator<Long> times = sent.values().iterator();
+        while (times.hasNext() && times.next() < cutoff) {
+            times.remove();
+        }
+    }
+
+    private List<List<Long>> partition(List<Long> ids) {
+        int size = properties.getPageSize();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += size) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + size)));
+        }
+        return chunks;
+    }
+
+    private static Set<Long> drain(Set<Long> marks) {
+        Set<Long> ids = new HashSet<>();
+        for (Iterator<Long> it = marks.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        return ids;
+    }
+
+    private static WishlistNotice notice(Product product, WishlistNotice.Kind kind) {
+        return new WishlistNotice(product.getId(), product.getName(), product.getSlug(),
+                product.getEffectivePrice(), kind);
+    }
+
+    private record SentKey(long userId, long productId, WishlistNotice.Kind kind) {
+    }
+}
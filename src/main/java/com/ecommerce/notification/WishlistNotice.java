@@ -0,0 +1,25 @@
+package com.ecommerce.notification;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a wishlist digest: a wishlisted product that is back in stock or cheaper
+ *
+ * @param productId product ID
+ * @param productName product name
+ * @param slug product slug, for the link
+ * @param price current effective price
+ * @param kind what happened to the product
+ *
+ * @author E-Commerce Team
+ */
+public record WishlistNotice(Long productId, String productName, String slug, BigDecimal price, Kind kind) {
+
+    /**
+     * Changes a wishlist item can subscribe to
+     */
+    public enum Kind {
+        RESTOCK,
+        SALE
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.pricing;
+
+import com.ecommerce.model.Promotion;
+import com.ecommerce.model.enums.PromotionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable, evaluation-ready form of a {@link Promotion}
+ * Amounts are minor units, the percentage is basis points, the category scope
+ * is a sorted array already expanded to subcategories and brands are lower case.
+ *
+ * @author E-Commerce Team
+ */
+public final class CompiledPromotion {
+
+    private final Long id;
+    private final String code;
+    private final String description;
+    private final PromotionType type;
+    private final long rateBasisPoints;
+    private final long amount;
+    private final long maxDiscount;
+    private final long minimumSpend;
+    private final LocalDateTime startsAt;
+    private final LocalDateTime endsAt;
+    private final Integer usageLimit;
+    private final Integer perUserLimit;
+    private final long[] categoryIds;
+    private final String[] brands;
+
+    CompiledPromotion(Promotion promotion, Set<Long> expandedCategoryIds) {
+        this.id = promotion.getId();
+        this.code = promotion.getCode();
+        this.description = promotion.getDescription() != null ? promotion.getDescription()
+                : promotion.getType().getDisplayName() + " " + promotion.getCode();
+        this.type = promotion.getType();
+        BigDecimal value = promotion.getValue() != null ? promotion.getValue() : BigDecimal.ZERO;
+        this.rateBasisPoints = type == PromotionType.PERCENTAGE ? Money.toBasisPoints(value.movePointLeft(2)) : 0;
+        this.amount = type == PromotionType.FIXED_AMOUNT ? Money.toMinor(value) : 0;
+        this.maxDiscount = promotion.getMaxDiscount() != null ? Money.toMinor(promotion.getMaxDiscount()) : Long.MAX_VALUE;
+        this.minimumSpend = Money.toMinor(promotion.getMinimumSpend());
+        this.startsAt = promotion.getStartsAt();
+        this.endsAt = promotion.getEndsAt();
+        this.usageLimit = promotion.getUsageLimit();
+        this.perUserLimit = promotion.getPerUserLimit();
+        this.categoryIds = expandedCategoryIds.isEmpty() ? null
+                : expandedCategoryIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        this.brands = promotion.getBrands().isEmpty() ? null
+                : promotion.getBrands().stream().map(brand -> brand.trim().toLowerCase(Locale.ROOT)).sorted().toArray(String[]::new);
+    }
+
+    /**
+     * Whether the validity window has opened by {@code now}
+     */
+    public boolean isStarted(LocalDateTime now) {
+        return startsAt == null || !now.isBefore(startsAt);
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return endsAt != null && !now.isBefore(endsAt);
+    }
+
+    /**
+     * Whether a line falls inside the category and brand scope
+     *
+     * @param categoryId line category (0 if none)
+     * @param brand line brand (optional)
+     * @return true if the discount may reduce the line
+     */
+    public boolean appliesTo(long categoryId, String brand) {
+        if (categoryIds != null && Arrays.binarySearch(categoryIds, categoryId) < 0) {
+            return false;
+        }
+        return brands == null || (brand != null && Arrays.binarySearch(brands, brand.trim().toLowerCase(Locale.ROOT)) >= 0);
+    }
+
+    public boolean isCategoryScoped() {
+        return categoryIds != null;
+    }
+
+    /**
+     * Discount on an eligible amount, before clamping to the cart
+     *
+     * @param eligibleAmount eligible subtotal in minor units
+     * @return discount in minor units
+     */
+    public long discountOn(long eligibleAmount) {
+        return switch (type) {
+            case PERCENTAGE -> Math.min(Money.percentage(eligibleAmount, rateBasisPoints), maxDiscount);
+            case FIXED_AMOUNT -> Math.min(amount, eligibleAmount);
+            case FREE_SHIPPING -> 0;
+        };
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public PromotionType getType() {
+        return type;
+    }
+
+    public long getMinimumSpend() {
+        return minimumSpend;
+    }
+
+    public Integer getUsageLimit() {
+        return usageLimit;
+    }
+
+    public Integer getPerUserLimit() {
+        return perUserLimit;
+    }
+}
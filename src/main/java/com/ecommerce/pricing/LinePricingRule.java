@@ -0,0 +1,27 @@
+package com.ecommerce.pricing;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Line subtotal = unit price x quantity
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LinePricingRule implements PricingRule {
+
+    @Override
+    public Stage stage() {
+        return Stage.LINES;
+    }
+
+    @Override
+    public void apply(PricingContext context) {
+        for (int i = 0; i < context.size(); i++) {
+            context.setLineSubtotal(i, Math.multiplyExact(context.unitPrice(i), (long) context.quantity(i)));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.ecommerce.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions and arithmetic on amounts held as {@code long} minor units (cents)
+ * BigDecimal only appears at the edges (entities and DTOs); everything in
+ * between is primitive arithmetic with HALF_UP rounding and overflow checks.
+ *
+ * @author E-Commerce Team
+ */
+public final class Money {
+
+    /**
+     * Fraction digits of every stored amount (matches the scale-2 money columns)
+     */
+    public static final int SCALE = 2;
+
+    private static final long BASIS_POINTS = 10_000;
+
+    /**
+     * Longs below this convert to double without loss
+     */
+    private static final long EXACT_DOUBLE = 1L << 53;
+
+    private Money() {
+    }
+
+    /**
+     * Convert a decimal amount to minor units, rounding HALF_UP to cents
+     *
+     * @param amount decimal amount (null is zero)
+     * @return amount in minor units
+     */
+    public static long toMinor(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        // Shifting the point keeps the compact long form; unscaledValue() would build a BigInteger
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).scaleByPowerOfTen(SCALE).longValueExact();
+    }
+
+    /**
+     * Convert minor units to a scale-2 decimal
+     *
+     * @param minor amount in minor units
+     * @return decimal amount
+     */
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * Convert a rate such as 0.10 to basis points (1000)
+     *
+     * @param rate decimal rate
+     * @return rate in hundredths of a percent
+     */
+    public static long toBasisPoints(BigDecimal rate) {
+        if (rate == null) {
+            return 0;
+        }
+        return rate.movePointRight(4).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Apply a rate in basis points, rounding HALF_UP (away from zero on ties)
+     *
+     * @param amount amount in minor units
+     * @param basisPoints rate in basis points
+     * @return rounded share in minor units
+     */
+    public static long percentage(long amount, long basisPoints) {
+        long product = Math.multiplyExact(Math.abs(amount), basisPoints);
+        long share = (product + BASIS_POINTS / 2) / BASIS_POINTS;
+        return amount < 0 ? -share : share;
+    }
+
+    /**
+     * Split {@code amount} across lines in proportion to {@code weights}
+     * Uses largest remainder so the shares always add up to the amount exactly;
+     * ties go to the earlier line. Shares are added to {@code target}.
+     *
+     * @param amount non-negative amount to split
+     * @param weights non-negative weights
+     * @param size number of lines in use
+     * @param target per-line accumulator
+     */
+    public static void allocate(long amount, long[] weights, int size, long[] target) {
+        if (amount <= 0 || size == 0) {
+            return;
+        }
+        long totalWeight = 0;
+        for (int i = 0; i < size; i++) {
+            totalWeight = Math.addExact(totalWeight, weights[i]);
+        }
+        if (totalWeight <= 0) {
+            target[0] += amount;
+            return;
+        }
+        // One reciprocal instead of a long division per line; the estimate is
+        // exact up to 2^53 and corrected below, larger products divide exactly
+        double reciprocal = 1.0 / totalWeight;
+        long remaining = amount;
+        long[] remainders = null;
+        for (int i = 0; i < size; i++) {
+            long product = Math.multiplyExact(amount, weights[i]);
+            long share = product < EXACT_DOUBLE ? (long) (product * reciprocal) : product / totalWeight;
+            long remainder = product - share * totalWeight;
+            while (remainder < 0) {
+                share--;
+                remainder += totalWeight;
+            }
+            while (remainder >= totalWeight) {
+                share++;
+                remainder -= totalWeight;
+            }
+            target[i] += share;
+            remaining -= share;
+            if (remainder != 0) {
+                if (remainders == null) {
+                    remainders = new long[size];
+                }
+                remainders[i] = remainder;
+            }
+        }
+        if (remaining == 0) {
+            return;
+        }
+        // Fewer than size cents are left: one each to the largest remainders.
+        // The cut-off is the remaining-th largest remainder; lines above it get
+        // a cent, lines at it share what is left with the earlier line first.
+        long cutoff = select(remainders.clone(), size, size - (int) remaining);
+        for (int i = 0; i < size; i++) {
+            if (remainders[i] > cutoff) {
+                target[i]++;
+                remaining--;
+            }
+        }
+        for (int i = 0; remaining > 0; i++) {
+            if (remainders[i] == cutoff) {
+                target[i]++;
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * Value that would sit at {@code index} if the first {@code size} values
+     * were sorted ascending (quickselect; reorders the array)
+     */
+    private static long select(long[] values, int size, int index) {
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            long pivot = values[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    long swap = values[i];
+                    values[i++] = values[j];
+                    values[j--] = swap;
+                }
+            }
+            if (index <= j) {
+                high = j;
+            } else if (index >= i) {
+                low = i;
+            } else {
+                break;
+            }
+        }
+        return values[index];
+    }
+}
@@ -0,0 +1,368 @@
+package com.ecommerce.pricing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mutable pricing state of one cart or order, in minor units
+ * Lines are stored column-wise in primitive arrays so a pricing run allocates
+ * a handful of arrays rather than an object (and BigDecimals) per line.
+ * Discounts are clamped so no line or order total goes negative, and
+ * order-level amounts are spread over lines so line figures always add up.
+ *
+ * @author E-Commerce Team
+ */
+public final class PricingContext {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private int size;
+    private long[] productIds;
+    private long[] categoryIds;
+    private String[] brands;
+    private int[] quantities;
+    private long[] unitPrices;
+    private long[] lineSubtotals;
+    private long[] lineDiscounts;
+    private long[] lineTaxes;
+    private long[] scratch;
+
+    private final Long userId;
+    private final String discountCode;
+
+    private long subtotal;
+    private long orderDiscount;
+    private long discountTotal;
+    private long taxAmount;
+    private long shippingCost;
+    private long shippingDiscount;
+    private Adjustment shippingWaiver;
+    private List<Adjustment> adjustments;
+
+    public PricingContext(int expectedLines, Long userId, String discountCode) {
+        int capacity = Math.max(expectedLines, 1);
+        this.productIds = new long[capacity];
+        this.categoryIds = new long[capacity];
+        this.brands = new String[capacity];
+        this.quantities = new int[capacity];
+        this.unitPrices = new long[capacity];
+        this.userId = userId;
+        this.discountCode = discountCode != null && !discountCode.isBlank()
+                ? discountCode.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    public PricingContext() {
+        this(DEFAULT_CAPACITY, null, null);
+    }
+
+    /**
+     * Add a line without a brand
+     *
+     * @param productId product ID (0 if unknown)
+     * @param categoryId category ID (0 if none)
+     * @param quantity quantity
+     * @param unitPrice unit price in minor units
+     * @return this context
+     */
+    public PricingContext addLine(long productId, long categoryId, int quantity, long unitPrice) {
+        return addLine(productId, categoryId, null, quantity, unitPrice);
+    }
+
+    /**
+     * Add a line
+     *
+     * @param productId product ID (0 if unknown)
+     * @param categoryId category ID (0 if none)
+     * @param brand product brand (optional)
+     * @param quantity quantity
+     * @param unitPrice unit price in minor units
+     * @return this context
+     */
+    public PricingContext addLine(long productId, long categoryId, String brand, int quantity, long unitPrice) {
+        if (quantity < 0 || unitPrice < 0) {
+            throw new IllegalArgumentException("Quantity and unit price cannot be negative");
+        }
+        if (lineSubtotals != null) {
+            throw new IllegalStateException("Lines cannot be added once pricing has started");
+        }
+        if (size == productIds.length) {
+            int capacity = size * 2;
+            productIds = Arrays.copyOf(productIds, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            brands = Arrays.copyOf(brands, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            unitPrices = Arrays.copyOf(unitPrices, capacity);
+        }
+        productIds[size] = productId;
+        categoryIds[size] = categoryId;
+        brands[size] = brand;
+        quantities[size] = quantity;
+        unitPrices[size] = unitPrice;
+        size++;
+        return this;
+    }
+
+    // ---------------------------------------------------------------- inputs
+
+    public int size() {
+        return size;
+    }
+
+    public long productId(int line) {
+        return productIds[line];
+    }
+
+    public long categoryId(int line) {
+        return categoryIds[line];
+    }
+
+    public String brand(int line) {
+        return brands[line];
+    }
+
+    public int quantity(int line) {
+        return quantities[line];
+    }
+
+    public long unitPrice(int line) {
+        return unitPrices[line];
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getDiscountCode() {
+        return discountCode;
+    }
+
+    // ---------------------------------------------------------------- rule outputs
+
+    public void setLineSubtotal(int line, long amount) {
+        lineSubtotals[line] = amount;
+    }
+
+    /**
+     * Discount one line; capped at what is left of the line
+     *
+     * @param line line index
+     * @param amount requested discount in minor units
+     * @param code code shown in the breakdown
+     * @param description human readable description
+     * @return discount actually applied
+     */
+    public long addLineDiscount(int line, long amount, String code, String description) {
+        long applied = Math.min(Math.max(amount, 0), lineSubtotals[line] - lineDiscounts[line]);
+        if (applied > 0) {
+            lineDiscounts[line] += applied;
+            adjustment(code, description, applied);
+        }
+        return applied;
+    }
+
+    /**
+     * Discount a set of lines; spread over them in proportion to what is left
+     * of each, and capped at that remainder
+     *
+     * @param amount requested discount in minor units
+     * @param eligible lines the discount may reduce
+     * @param code code shown in the breakdown
+     * @param description human readable description
+     * @return discount actually applied
+     */
+    public long addDiscount(long amount, boolean[] eligible, String code, String description) {
+        long eligibleAmount = 0;
+        for (int i = 0; i < size; i++) {
+            scratch[i] = eligible[i] ? remainingLineAmount(i) : 0;
+            eligibleAmount += scratch[i];
+        }
+        long applied = Math.min(Math.max(amount, 0), eligibleAmount);
+        if (applied > 0) {
+            // Each share stays within its weight because applied <= eligibleAmount
+            Money.allocate(applied, scratch, size, lineDiscounts);
+            adjustment(code, description, applied);
+        }
+        return applied;
+    }
+
+    /**
+     * Waive the shipping charge computed in the shipping stage
+     *
+     * @param code code shown in the breakdown
+     * @param description human readable description
+     */
+    public void waiveShipping(String code, String description) {
+        shippingWaiver = new Adjustment(code, description, 0);
+    }
+
+    /**
+     * Line amount not yet discounted
+     *
+     * @param line line index
+     * @return subtotal minus discounts in minor units
+     */
+    public long remainingLineAmount(int line) {
+        return lineSubtotals[line] - lineDiscounts[line];
+    }
+
+    /**
+     * Discount the whole order; capped at the remaining subtotal and spread
+     * over lines in proportion to their discounted amounts before tax
+     *
+     * @param amount requested discount in minor units
+     * @param code code shown in the breakdown
+     * @param description human readable description
+     * @return discount actually applied
+     */
+    public long addOrderDiscount(long amount, String code, String description) {
+        long lineDiscountTotal = 0;
+        for (int i = 0; i < size; i++) {
+            lineDiscountTotal += lineDiscounts[i];
+        }
+        long applied = Math.min(Math.max(amount, 0), subtotal - lineDiscountTotal - orderDiscount);
+        if (applied > 0) {
+            orderDiscount += applied;
+            adjustment(code, description, applied);
+        }
+        return applied;
+    }
+
+    /**
+     * Set the order tax; spread over lines in proportion to their taxable amounts
+     *
+     * @param amount tax in minor units
+     */
+    public void setTaxAmount(long amount) {
+        Arrays.fill(lineTaxes, 0, size, 0);
+        for (int i = 0; i < size; i++) {
+            scratch[i] = lineSubtotals[i] - lineDiscounts[i];
+        }
+        Money.allocate(amount, scratch, size, lineTaxes);
+        taxAmount = amount;
+    }
+
+    public void setShippingCost(long amount) {
+        long charge = Math.max(amount, 0);
+        shippingDiscount = 0;
+        if (shippingWaiver != null && charge > 0) {
+            adjustment(shippingWaiver.code(), shippingWaiver.description(), charge);
+            shippingDiscount = charge;
+            charge = 0;
+        }
+        shippingCost = charge;
+    }
+
+    // ---------------------------------------------------------------- results
+
+    public long lineSubtotal(int line) {
+        return lineSubtotals[line];
+    }
+
+    public long lineDiscount(int line) {
+        return lineDiscounts[line];
+    }
+
+    public long lineTax(int line) {
+        return lineTaxes[line];
+    }
+
+    public long lineTotal(int line) {
+        return lineSubtotals[line] - lineDiscounts[line] + lineTaxes[line];
+    }
+
+    public long getSubtotal() {
+        return subtotal;
+    }
+
+    public long getDiscountTotal() {
+        return discountTotal;
+    }
+
+    /**
+     * Subtotal after discounts (the tax base and free-shipping measure)
+     */
+    public long getTaxableAmount() {
+        return subtotal - discountTotal;
+    }
+
+    public long getTaxAmount() {
+        return taxAmount;
+    }
+
+    public long getShippingCost() {
+        return shippingCost;
+    }
+
+    /**
+     * Shipping charge waived by a promotion (not part of the discount total)
+     */
+    public long getShippingDiscount() {
+        return shippingDiscount;
+    }
+
+    public long getTotal() {
+        return subtotal - discountTotal + taxAmount + shippingCost;
+    }
+
+    List<Adjustment> getAdjustments() {
+        return adjustments != null ? adjustments : Collections.emptyList();
+    }
+
+    // ---------------------------------------------------------------- engine hooks
+
+    /**
+     * Prepare derived values before the rules of {@code stage} run
+     */
+    void beginStage(PricingRule.Stage stage) {
+        switch (stage) {
+            case LINES -> {
+                lineSubtotals = new long[size];
+                lineDiscounts = new long[size];
+                lineTaxes = new long[size];
+                scratch = new long[size];
+            }
+            case DISCOUNTS -> {
+                subtotal = 0;
+                for (int i = 0; i < size; i++) {
+                    subtotal = Math.addExact(subtotal, lineSubtotals[i]);
+                }
+            }
+            case TAX -> settleDiscounts();
+            default -> {
+            }
+        }
+    }
+
+    private void settleDiscounts() {
+        if (orderDiscount > 0) {
+            long remaining = 0;
+            for (int i = 0; i < size; i++) {
+                scratch[i] = lineSubtotals[i] - lineDiscounts[i];
+                remaining += scratch[i];
+            }
+            // Line discounts added after the order discount may have used up part of it
+            Money.allocate(Math.min(orderDiscount, remaining), scratch, size, lineDiscounts);
+            orderDiscount = 0;
+        }
+        discountTotal = 0;
+        for (int i = 0; i < size; i++) {
+            discountTotal += lineDiscounts[i];
+        }
+    }
+
+    private void adjustment(String code, String description, long amount) {
+        if (adjustments == null) {
+            adjustments = new ArrayList<>(2);
+        }
+        adjustments.add(new Adjustment(code, description, amount));
+    }
+
+    /**
+     * Discount applied by a rule, as shown in the price breakdown
+     */
+    record Adjustment(String code, String description, long amount) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.ecommerce.pricing;
+
+import com.ecommerce.config.PricingProperties;
+import com.ecommerce.dto.PriceBreakdown;
+import com.ecommerce.model.CartItem;
+import com.ecommerce.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single source of cart, quote and order prices
+ * The rule beans are compiled once into a per-stage array pipeline
+ * (lines, discounts, tax, shipping); a pricing run is then a few loops over
+ * primitive arrays. Amounts only become BigDecimal in the returned breakdown.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(PricingProperties.class)
+public class PricingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingEngine.class);
+
+    private static final PricingRule.Stage[] STAGES = PricingRule.Stage.values();
+
+    private final PricingRule[][] pipeline = new PricingRule[STAGES.length][];
+
+    public PricingEngine(List<PricingRule> rules) {
+        List<PricingRule> sorted = new ArrayList<>(rules);
+        AnnotationAwareOrderComparator.sort(sorted);
+        for (PricingRule.Stage stage : STAGES) {
+            pipeline[stage.ordinal()] = sorted.stream()
+                    .filter(rule -> rule.stage() == stage)
+                    .toArray(PricingRule[]::new);
+        }
+        logger.info("Pricing pipeline: {}", Arrays.stream(pipeline)
+                .flatMap(Arrays::stream)
+                .map(rule -> rule.stage() + ":" + rule.getClass().getSimpleName())
+                .toList());
+    }
+
+    /**
+     * Run the pipeline over a context, leaving the results on it
+     *
+     * @param context lines to price
+     * @return the same context
+     */
+    public PricingContext run(PricingContext context) {
+        for (PricingRule.Stage stage : STAGES) {
+            context.beginStage(stage);
+            for (PricingRule rule : pipeline[stage.ordinal()]) {
+                rule.apply(context);
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Price lines and return the breakdown
+     *
+     * @param context lines to price
+     * @return price breakdown
+     */
+    public PriceBreakdown price(PricingContext context) {
+        return toBreakdown(run(context));
+    }
+
+    /**
+     * Price cart items (line order is preserved in the result)
+     *
+     * @param items cart items
+     * @param userId user ID, available to discount rules
+     * @param discountCode discount code entered by the customer (optional)
+     * @return priced context
+     */
+    public PricingContext priceCartItems(List<CartItem> items, Long userId, String discountCode) {
+        PricingContext context = new PricingContext(items.size(), userId, discountCode);
+        for (CartItem item : items) {
+            Product product = item.getProduct();
+            context.addLine(
+                    product.getId() != null ? product.getId() : 0,
+                    product.getCategory() != null && product.getCategory().getId() != null
+                            ? product.getCategory().getId() : 0,
+                    product.getBrand(),
+                    item.getQuantity(),
+                    Money.toMinor(item.getUnitPrice()));
+        }
+        return run(context);
+    }
+
+    /**
+     * Convert a priced context to its DTO
+     *
+     * @param context priced context
+     * @return price breakdown
+     */
+    public PriceBreakdown toBreakdown(PricingContext context) {
+        // Constructors and plain loops: this runs on every cart view and quote
+        List<PriceBreakdown.Line> lines = new ArrayList<>(context.size());
+        for (int i = 0; i < context.size(); i++) {
+            lines.add(new PriceBreakdown.Line(
+                    context.productId(i) != 0 ? context.productId(i) : null,
+                    context.quantity(i),
+                    Money.toDecimal(context.unitPrice(i)),
+                    Money.toDecimal(context.lineSubtotal(i)),
+                    Money.toDecimal(context.lineDiscount(i)),
+                    Money.toDecimal(context.lineTax(i)),
+                    Money.toDecimal(context.lineTotal(i))));
+        }
+        List<PricingContext.Adjustment> applied = context.getAdjustments();
+        List<PriceBreakdown.Adjustment> adjustments = new ArrayList<>(applied.size());
+        for (PricingContext.Adjustment adjustment : applied) {
+            adjustments.add(new PriceBreakdown.Adjustment(
+                    adjustment.code(), adjustment.description(), Money.toDecimal(adjustment.amount())));
+        }
+
+        return PriceBreakdown.builder()
+                .lines(lines)
+                .subtotal(Money.toDecimal(context.getSubtotal()))
+                .discountAmount(Money.toDecimal(context.getDiscountTotal()))
+                .taxableAmount(Money.toDecimal(context.getTaxableAmount()))
+                .taxAmount(Money.toDecimal(context.getTaxAmount()))
+                .shippingCost(Money.toDecimal(context.getShippingCost()))
+                .shippingDiscount(Money.toDecimal(context.getShippingDiscount()))
+                .totalAmount(Money.toDecimal(context.getTotal()))
+                .discountCode(context.getDiscountCode())
+                .adjustments(adjustments)
+                .build();
+    }
+}
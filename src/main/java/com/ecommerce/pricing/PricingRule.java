@@ -0,0 +1,40 @@
+package com.ecommerce.pricing;
+
+/**
+ * One step of the pricing pipeline
+ * Rules are Spring beans; {@link PricingEngine} groups them by stage once at
+ * startup and runs each stage in {@code @Order} order. Rules read and write
+ * minor-unit amounts on the shared {@link PricingContext} and must be stateless.
+ *
+ * @author E-Commerce Team
+ */
+public interface PricingRule {
+
+    /**
+     * Stage this rule runs in
+     *
+     * @return pipeline stage
+     */
+    Stage stage();
+
+    /**
+     * Apply the rule
+     *
+     * @param context pricing state of one cart or order
+     */
+    void apply(PricingContext context);
+
+    /**
+     * Pipeline stages, in execution order
+     */
+    enum Stage {
+        /** Line subtotals from unit price and quantity */
+        LINES,
+        /** Line and order discounts; settled before tax */
+        DISCOUNTS,
+        /** Tax on the discounted subtotal */
+        TAX,
+        /** Shipping charge */
+        SHIPPING
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.pricing;
+
+import com.ecommerce.event.CategoryChangedEvent;
+import com.ecommerce.event.PromotionChangedEvent;
+import com.ecommerce.model.Promotion;
+import com.ecommerce.repository.CategoryRepository;
+import com.ecommerce.repository.PromotionRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of redeemable promotions keyed by code
+ * Checkout looks codes up in an immutable snapshot that is swapped atomically
+ * after every promotion change, category tree change (scopes include
+ * subcategories) and on a fixed interval so ended promotions drop out.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@RequiredArgsConstructor
+public class PromotionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionIndex.class);
+
+    private final PromotionRepository promotionRepository;
+    private final CategoryRepository categoryRepository;
+
+    private volatile Map<String, CompiledPromotion> promotions = Map.of();
+    private volatile boolean categoryScoped;
+
+    /**
+     * Find a redeemable promotion
+     *
+     * @param code code as entered (case-insensitive)
+     * @return compiled promotion, or null if the code is unknown or inactive
+     */
+    public CompiledPromotion find(String code) {
+        return code != null ? promotions.get(normalize(code)) : null;
+    }
+
+    public static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPromotionChanged(PromotionChangedEvent event) {
+        rebuild();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (categoryScoped) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.promotions.refresh-interval-ms:60000}",
+            initialDelayString = "${app.promotions.refresh-interval-ms:60000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    /**
+     * Reload redeemable promotions and swap in a new snapshot
+     */
+    public synchronized void rebuild() {
+        List<Promotion> redeemable = promotionRepository.findRedeemable(LocalDateTime.now());
+        Map<Long, List<Long>> children = redeemable.stream().anyMatch(p -> !p.getCategoryIds().isEmpty())
+                ? categoryChildren() : Map.of();
+
+        Map<String, CompiledPromotion> compiled = new HashMap<>(redeemable.size() * 2);
+        boolean scoped = false;
+        for (Promotion promotion : redeemable) {
+            Set<Long> categories = withDescendants(promotion.getCategoryIds(), children);
+            CompiledPromotion entry = new CompiledPromotion(promotion, categories);
+            compiled.put(normalize(promotion.getCode()), entry);
+            scoped |= entry.isCategoryScoped();
+        }
+        promotions = Map.copyOf(compiled);
+        categoryScoped = scoped;
+        logger.debug("Promotion index rebuilt with {} redeemable codes", compiled.size());
+    }
+
+    private Map<Long, List<Long>> categoryChildren() {
+        Map<Long, List<Long>> children = new HashMap<>();
+        for (Object[] link : categoryRepository.findParentLinks()) {
+            if (link[1] != null) {
+                children.computeIfAbsent((Long) link[1], id -> new ArrayList<>()).add((Long) link[0]);
+            }
+        }
+        return children;
+    }
+
+    private static Set<Long> withDescendants(Set<Long> roots, Map<Long, List<Long>> children) {
+        if (roots.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> expanded = new HashSet<>(roots);
+        Deque<Long> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            for (Long child : children.getOrDefault(pending.pop(), List.of())) {
+                if (expanded.add(child)) {
+                    pending.push(child);
+                }
+            }
+        }
+        return expanded;
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.pricing;
+
+import com.ecommerce.exception.BadRequestException;
+import com.ecommerce.model.enums.PromotionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Applies the discount code on the pricing context, if any
+ * An unknown, expired or inapplicable code fails the quote or checkout with a
+ * reason rather than being silently ignored. Limits are only checked here;
+ * they are reserved when the order is placed.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@RequiredArgsConstructor
+public class PromotionRule implements PricingRule {
+
+    private final PromotionIndex promotionIndex;
+    private final RedemptionLimiter redemptionLimiter;
+
+    @Override
+    public Stage stage() {
+        return Stage.DISCOUNTS;
+    }
+
+    @Override
+    public void apply(PricingContext context) {
+        String code = context.getDiscountCode();
+        if (code == null || context.size() == 0) {
+            return;
+        }
+        CompiledPromotion promotion = promotionIndex.find(code);
+        if (promotion == null) {
+            throw new BadRequestException("Discount code " + code + " is not valid");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!promotion.isStarted(now)) {
+            throw new BadRequestException("Discount code " + promotion.getCode() + " is not active yet");
+        }
+        if (promotion.isExpired(now)) {
+            throw new BadRequestException("Discount code " + promotion.getCode() + " has expired");
+        }
+        if (context.getSubtotal() < promotion.getMinimumSpend()) {
+            throw new BadRequestException("Discount code " + promotion.getCode() + " requires a minimum spend of "
+                    + Money.toDecimal(promotion.getMinimumSpend()));
+        }
+
+        boolean[] eligible = new boolean[context.size()];
+        long eligibleAmount = 0;
+        for (int i = 0; i < context.size(); i++) {
+            if (promotion.appliesTo(context.categoryId(i), context.brand(i))) {
+                eligible[i] = true;
+                eligibleAmount += context.remainingLineAmount(i);
+            }
+        }
+        if (eligibleAmount == 0) {
+            throw new BadRequestException("Discount code " + promotion.getCode() + " does not apply to any item in the cart");
+        }
+        redemptionLimiter.checkAvailable(promotion, context.getUserId());
+
+        if (promotion.getType() == PromotionType.FREE_SHIPPING) {
+            context.waiveShipping(promotion.getCode(), promotion.getDescription());
+        } else {
+            context.addDiscount(promotion.discountOn(eligibleAmount), eligible,
+                    promotion.getCode(), promotion.getDescription());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.ecommerce.pricing;
+
+import com.ecommerce.config.PromotionProperties;
+import com.ecommerce.exception.BadRequestException;
+import com.ecommerce.exception.ResourceNotFoundException;
+import com.ecommerce.model.PromotionRedemptionSlot;
+import com.ecommerce.repository.PromotionRedemptionRepository;
+import com.ecommerce.repository.PromotionRedemptionSlotRepository;
+import com.ecommerce.repository.PromotionRepository;
+import com.ecommerce.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-code and per-user redemption limits enforced by the database
+ * The usage limit is split over a few counter slots per promotion, each
+ * holding its share of the limit. A redemption is claimed with a conditional
+ * update (count only while below the slot's share) on a random slot, falling
+ * back to the others once it is full, so the limit holds across every
+ * instance while concurrent checkouts with one code lock different rows.
+ * Uncapped codes have no slots and touch no counter. The per-user limit is counted under a lock on the user's row, which serializes
+ * that user's own checkouts only. A per-instance counter of each capped code
+ * fails exhausted codes fast without a database round trip; it is refreshed
+ * from the database every few seconds and is never the source of truth.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(PromotionProperties.class)
+public class RedemptionLimiter {
+
+    /**
+     * How long a locally cached redemption count is trusted for fast-fail
+     */
+    private static final long REFRESH_INTERVAL_MS = 5_000;
+
+    private final PromotionRedemptionRepository redemptionRepository;
+    private final PromotionRedemptionSlotRepository slotRepository;
+    private final PromotionRepository promotionRepository;
+    private final UserRepository userRepository;
+    private final PromotionProperties properties;
+
+    private final Map<Long, Usage> usages = new ConcurrentHashMap<>();
+
+    /**
+     * Check that a code can still be redeemed by a user, without reserving
+     *
+     * @param promotion compiled promotion
+     * @param userId user ID (null skips the per-user check)
+     */
+    public void checkAvailable(CompiledPromotion promotion, Long userId) {
+        if (promotion.getUsageLimit() != null && usage(promotion.getId()).count.get() >= promotion.getUsageLimit()) {
+            throw usageLimitReached(promotion);
+        }
+        if (promotion.getPerUserLimit() != null && userId != null
+                && redemptionRepository.countByPromotionIdAndUserId(promotion.getId(), userId) >= promotion.getPerUserLimit()) {
+            throw userLimitReached(promotion);
+        }
+    }
+
+    /**
+     * Reserve one redemption in the current transaction
+     * The claim is rolled back with the transaction.
+     *
+     * @param promotion compiled promotion
+     * @param userId user ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(CompiledPromotion promotion, Long userId) {
+        Usage usage = promotion.getUsageLimit() != null ? usage(promotion.getId()) : null;
+        if (usage != null && usage.count.get() >= promotion.getUsageLimit()) {
+            throw usageLimitReached(promotion);
+        }
+
+        if (promotion.getPerUserLimit() != null) {
+            userRepository.findByIdForUpdate(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+            if (redemptionRepository.countByPromotionIdAndUserId(promotion.getId(), userId) >= promotion.getPerUserLimit()) {
+                throw userLimitReached(promotion);
+            }
+        }
+
+        if (usage != null) {
+            if (!claim(promotion.getId(), usage.slots)) {
+                usage.count.accumulateAndGet(promotion.getUsageLimit(), Math::max);
+                throw usageLimitReached(promotion);
+            }
+            usage.count.incrementAndGet();
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            decrement(usage);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Give back a committed redemption (e.g. its order was cancelled)
+     * The counter is returned in the current transaction; the local view
+     * follows once it commits.
+     *
+     * @param promotionId promotion ID
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(Long promotionId) {
+        Usage usage = usage(promotionId);
+        int start = usage.slots > 0 ? ThreadLocalRandom.current().nextInt(usage.slots) : 0;
+        boolean released = false;
+        for (int i = 0; i < usage.slots && !released; i++) {
+            released = slotRepository.release(promotionId, (start + i) % usage.slots) == 1;
+        }
+        if (!released) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    decrement(usage);
+                }
+            });
+        } else {
+            decrement(usage);
+        }
+    }
+
+    /**
+     * Split a promotion's usage limit over fresh slots, counting the
+     * redemptions on record; call whenever the limit is set or changed
+     * Deleting the old slots waits for checkouts holding them, so their
+     * redemptions are counted. Checkouts with the code during the change
+     * may be refused as over the limit.
+     *
+     * @param promotionId promotion ID
+     * @param usageLimit new usage limit (null removes the slots)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void resync(Long promotionId, Integer usageLimit) {
+        slotRepository.deleteByPromotionId(promotionId);
+        usages.remove(promotionId);
+        if (usageLimit == null) {
+            return;
+        }
+        int redeemed = (int) Math.min(redemptionRepository.countByPromotionId(promotionId), usageLimit);
+        int count = Math.max(1, Math.min(properties.getRedemptionSlots(), usageLimit));
+        List<PromotionRedemptionSlot> slots = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            int capacity = usageLimit / count + (slot < usageLimit % count ? 1 : 0);
+            int used = Math.min(redeemed, capacity);
+            redeemed -= used;
+            slots.add(PromotionRedemptionSlot.builder()
+                    .promotion(promotionRepository.getReferenceById(promotionId))
+                    .slot(slot)
+                    .capacity(capacity)
+                    .used(used)
+                    .build());
+        }
+        slotRepository.saveAll(slots);
+    }
+
+    /**
+     * Claim one redemption in a random slot, trying the others once it is full
+     *
+     * @return false if every slot is full
+     */
+    private boolean claim(Long promotionId, int slots) {
+        int start = slots > 0 ? ThreadLocalRandom.current().nextInt(slots) : 0;
+        for (int i = 0; i < slots; i++) {
+            if (slotRepository.claim(promotionId, (start + i) % slots) == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Usage usage(Long promotionId) {
+        long now = System.currentTimeMillis();
+        Usage usage = usages.get(promotionId);
+        if (usage == null || now - usage.loadedAt > REFRESH_INTERVAL_MS) {
+            List<PromotionRedemptionSlot> slots = slotRepository.findByPromotionId(promotionId);
+            int used = slots.stream().mapToInt(PromotionRedemptionSlot::getUsed).sum();
+            usage = new Usage(used, slots.size(), now);
+            usages.put(promotionId, usage);
+        }
+        return usage;
+    }
+
+    private static void decrement(Usage usage) {
+        usage.count.updateAndGet(count -> Math.max(count - 1, 0));
+    }
+
+    private static BadRequestException usageLimitReached(CompiledPromotion promotion) {
+        return new BadRequestException("Discount code " + promotion.getCode() + " has reached its usage limit");
+    }
+
+    private static BadRequestException userLimitReached(CompiledPromotion promotion) {
+        return new BadRequestException("Discount code " + promotion.getCode() + " has already been used the maximum number of times");
+    }
+
+    private static final class Usage {
+        private final AtomicInteger count;
+        private final int slots;
+        private final long loadedAt;
+
+        private Usage(int count, int slots, long loadedAt) {
+            this.count = new AtomicInteger(count);
+            this.slots = slots;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
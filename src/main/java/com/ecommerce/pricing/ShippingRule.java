@@ -0,0 +1,41 @@
+package com.ecommerce.pricing;
+
+import com.ecommerce.config.PricingProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flat shipping below the free shipping threshold; nothing for an empty cart
+ *
+ * @author E-Commerce Team
+ */
+@Component
+public class ShippingRule implements PricingRule {
+
+    private final long freeShippingThreshold;
+    private final long standardShipping;
+
+    public ShippingRule(PricingProperties properties) {
+        this.freeShippingThreshold = Money.toMinor(properties.getFreeShippingThreshold());
+        this.standardShipping = Money.toMinor(properties.getStandardShipping());
+    }
+
+    @Override
+    public Stage stage() {
+        return Stage.SHIPPING;
+    }
+
+    @Override
+    public void apply(PricingContext context) {
+        context.setShippingCost(context.size() == 0 ? 0 : shippingFor(context.getTaxableAmount()));
+    }
+
+    /**
+     * Shipping charged for a (discounted) subtotal
+     *
+     * @param subtotal subtotal in minor units
+     * @return shipping in minor units
+     */
+    public long shippingFor(long subtotal) {
+        return subtotal >= freeShippingThreshold ? 0 : standardShipping;
+    }
+}
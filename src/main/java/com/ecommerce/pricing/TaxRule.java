@@ -0,0 +1,39 @@
+package com.ecommerce.pricing;
+
+import com.ecommerce.config.PricingProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Flat sales tax on the discounted subtotal, rounded HALF_UP to the cent
+ *
+ * @author E-Commerce Team
+ */
+@Component
+public class TaxRule implements PricingRule {
+
+    private final long rateBasisPoints;
+
+    public TaxRule(PricingProperties properties) {
+        this.rateBasisPoints = Money.toBasisPoints(properties.getTaxRate());
+    }
+
+    @Override
+    public Stage stage() {
+        return Stage.TAX;
+    }
+
+    @Override
+    public void apply(PricingContext context) {
+        context.setTaxAmount(taxOn(context.getTaxableAmount()));
+    }
+
+    /**
+     * Tax due on an amount
+     *
+     * @param taxable taxable amount in minor units
+     * @return tax in minor units (zero for non-positive amounts)
+     */
+    public long taxOn(long taxable) {
+        return taxable > 0 ? Money.percentage(taxable, rateBasisPoints) : 0;
+    }
+}
@@ -112,4 +112,12 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      */
     @Query("SELECT DISTINCT c FROM Category c JOIN c.products p WHERE p.status = 'ACTIVE' AND c.active = true AND c.deleted = false")
     List<Category> findCategoriesWithProducts();
+
+    /**
+     * Find every (category ID, parent ID) pair of the category tree
+     * 
+     * @return rows of [id, parentId]; parentId is null for root categories
+     */
+    @Query("SELECT c.id, p.id FROM Category c LEFT JOIN c.parent p")
+    List<Object[]> findParentLinks();
 }
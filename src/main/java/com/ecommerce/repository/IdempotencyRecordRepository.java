@@ -0,0 +1,93 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for IdempotencyRecord entity
+ * Used from a servlet filter outside any service transaction, so the
+ * modifying queries open their own.
+ * 
+ * @author E-Commerce Team
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    /**
+     * Find record by scoped key
+     * 
+     * @param idempotencyKey scoped idempotency key
+     * @return Optional containing record if found
+     */
+    Optional<IdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Take over an expired record for a new request
+     * 
+     * @param idempotencyKey scoped idempotency key
+     * @param fingerprint request fingerprint
+     * @param expiresAt in-progress deadline
+     * @param now current time
+     * @return 1 if the record was taken over
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.fingerprint = :fingerprint, r.completed = false, " +
+           "r.responseStatus = null, r.responseContentType = null, r.responseBody = null, r.expiresAt = :expiresAt " +
+           "WHERE r.idempotencyKey = :idempotencyKey AND r.expiresAt < :now")
+    int takeOverExpired(@Param("idempotencyKey") String idempotencyKey,
+                        @Param("fingerprint") String fingerprint,
+                        @Param("expiresAt") LocalDateTime expiresAt,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * Record the response of an in-progress request
+     * 
+     * @param idempotencyKey scoped idempotency key
+     * @param status HTTP status
+     * @param contentType content type
+     * @param body response body
+     * @param expiresAt retention deadline
+     * @return 1 if recorded
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyRecord r SET r.completed = true, r.responseStatus = :status, " +
+           "r.responseContentType = :contentType, r.responseBody = :body, r.expiresAt = :expiresAt " +
+           "WHERE r.idempotencyKey = :idempotencyKey AND r.completed = false")
+    int complete(@Param("idempotencyKey") String idempotencyKey,
+                 @Param("status") Integer status,
+                 @Param("contentType") String contentType,
+                 @Param("body") byte[] body,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Drop an in-progress claim whose request failed
+     * 
+     * @param idempotencyKey scoped idempotency key
+     * @return rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.idempotencyKey = :idempotencyKey AND r.completed = false")
+    int deleteInProgress(@Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Purge expired records
+     * 
+     * @param now current time
+     * @return rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
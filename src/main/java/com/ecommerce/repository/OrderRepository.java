@@ -7,14 +7,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for Order entity
@@ -174,4 +177,50 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
      */
     @Query("SELECT AVG(o.totalAmount) FROM Order o WHERE o.paymentStatus = 'COMPLETED'")
     BigDecimal getAverageOrderValue();
+
+    /**
+     * Current status of each order, as [id, status] pairs
+     * 
+     * @param ids order IDs
+     * @return id and status of the orders that exist
+     */
+    @Query("SELECT o.id, o.status FROM Order o WHERE o.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move orders to a status, skipping any whose status no longer allows it
+     * 
+     * @param ids order IDs
+     * @param from statuses the target may be reached from
+     * @param to target status
+     * @param now modification time
+     * @param updatedBy modifying user
+     * @return number of orders updated
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :now, o.updatedBy = :updatedBy, o.version = o.version + 1 " +
+           "WHERE o.id IN :ids AND o.status IN :from")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("from") Set<OrderStatus> from,
+                         @Param("to") OrderStatus to,
+                         @Param("now") LocalDateTime now,
+                         @Param("updatedBy") String updatedBy);
+
+    /**
+     * Mark orders delivered, skipping any whose status no longer allows it
+     * 
+     * @param ids order IDs
+     * @param from statuses delivery may be reached from
+     * @param now delivery and modification time
+     * @param updatedBy modifying user
+     * @return number of orders updated
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = com.ecommerce.model.enums.OrderStatus.DELIVERED, o.deliveredDate = :now, " +
+           "o.updatedAt = :now, o.updatedBy = :updatedBy, o.version = o.version + 1 " +
+           "WHERE o.id IN :ids AND o.status IN :from")
+    int transitionToDelivered(@Param("ids") Collection<Long> ids,
+                              @Param("from") Set<OrderStatus> from,
+                              @Param("now") LocalDateTime now,
+                              @Param("updatedBy") String updatedBy);
 }
@@ -44,6 +44,14 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, Long
     @Query("UPDATE ProductImage i SET i.isPrimary = false WHERE i.product.id = :productId")
     void unsetPrimaryForProduct(@Param("productId") Long productId);
 
+    /**
+     * Find any image stored with the given content, to reuse its dimensions
+     * 
+     * @param contentHash hex SHA-256 of the image bytes
+     * @return Optional containing an image with that content if found
+     */
+    Optional<ProductImage> findFirstByContentHash(String contentHash);
+
     /**
      * Count images by product
      * 
@@ -1,5 +1,7 @@
 package com.ecommerce.repository;
 
+import com.ecommerce.dto.LowStockProductDTO;
+import com.ecommerce.dto.ProductSummaryDTO;
 import com.ecommerce.model.Product;
 import com.ecommerce.model.enums.ProductStatus;
 import org.springframework.data.domain.Page;
@@ -12,6 +14,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -102,6 +106,113 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     @Query("SELECT p FROM Product p WHERE p.salePrice IS NOT NULL AND p.salePrice > 0 AND p.salePrice < p.price AND p.status = 'ACTIVE' AND p.deleted = false")
     Page<Product> findProductsOnSale(Pageable pageable);
 
+    /**
+     * JPQL constructor projection shared by the listing queries (never selects description)
+     */
+    String SUMMARY_SELECT = "SELECT new com.ecommerce.dto.ProductSummaryDTO(" +
+           "p.id, p.name, p.slug, p.sku, p.shortDescription, p.price, p.salePrice, p.stockQuantity, " +
+           "p.status, p.featured, p.averageRating, p.reviewCount, p.brand, p.mainImageUrl, c.id, c.name) " +
+           "FROM Product p LEFT JOIN p.category c ";
+
+    /**
+     * Find product summaries by status
+     * 
+     * @param status product status
+     * @param pageable pagination information
+     * @return page of product summaries
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = :status AND p.deleted = false",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.status = :status AND p.deleted = false")
+    Page<ProductSummaryDTO> findSummariesByStatus(@Param("status") ProductStatus status, Pageable pageable);
+
+    /**
+     * Find summaries of active products by IDs (in no particular order)
+     * 
+     * @param ids product IDs
+     * @return summaries of the products that are active
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids AND p.status = 'ACTIVE' AND p.deleted = false")
+    List<ProductSummaryDTO> findActiveSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Columns of active products indexed for search: id, name, slug, brand,
+     * category id, name and slug, sales count and view count
+     */
+    String SEARCH_TERMS_SELECT = "SELECT p.id, p.name, p.slug, p.brand, c.id, c.name, c.slug, p.salesCount, p.viewCount " +
+           "FROM Product p LEFT JOIN p.category c WHERE p.status = 'ACTIVE' AND p.deleted = false ";
+
+    /**
+     * Find the search columns of every active product
+     * 
+     * @return rows as described at {@link #SEARCH_TERMS_SELECT}
+     */
+    @Query(SEARCH_TERMS_SELECT)
+    List<Object[]> findSearchTerms();
+
+    /**
+     * Find the search columns of the given products that are active
+     * 
+     * @param ids product IDs
+     * @return rows as described at {@link #SEARCH_TERMS_SELECT}
+     */
+    @Query(SEARCH_TERMS_SELECT + "AND p.id IN :ids")
+    List<Object[]> findSearchTermsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find product summaries by category ID and status
+     * 
+     * @param categoryId category ID
+     * @param status product status
+     * @param pageable pagination information
+     * @return page of product summaries
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :categoryId AND p.status = :status AND p.deleted = false",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.status = :status AND p.deleted = false")
+    Page<ProductSummaryDTO> findSummariesByCategoryIdAndStatus(@Param("categoryId") Long categoryId,
+                                                               @Param("status") ProductStatus status,
+                                                               Pageable pageable);
+
+    /**
+     * Find featured product summaries
+     * 
+     * @param pageable pagination information
+     * @return page of featured product summaries
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE p.featured = true AND p.status = 'ACTIVE' AND p.deleted = false",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.featured = true AND p.status = 'ACTIVE' AND p.deleted = false")
+    Page<ProductSummaryDTO> findFeaturedSummaries(Pageable pageable);
+
+    /**
+     * Find summaries of products on sale
+     * 
+     * @param pageable pagination information
+     * @return page of product summaries
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE p.salePrice IS NOT NULL AND p.salePrice > 0 AND p.salePrice < p.price AND p.status = 'ACTIVE' AND p.deleted = false",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.salePrice IS NOT NULL AND p.salePrice > 0 AND p.salePrice < p.price AND p.status = 'ACTIVE' AND p.deleted = false")
+    Page<ProductSummaryDTO> findSummariesOnSale(Pageable pageable);
+
+    /**
+     * Search product summaries by keyword
+     * 
+     * @param keyword search keyword
+     * @param pageable pagination information
+     * @return page of product summaries
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE " +
+           "(LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.brand) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.sku) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+           "p.status = 'ACTIVE' AND p.deleted = false",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE " +
+           "(LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.brand) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.sku) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+           "p.status = 'ACTIVE' AND p.deleted = false")
+    Page<ProductSummaryDTO> searchProductSummaries(@Param("keyword") String keyword, Pageable pageable);
+
     /**
      * Find products in price range
      * 
@@ -131,12 +242,25 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     Page<Product> searchProducts(@Param("keyword") String keyword, Pageable pageable);
 
     /**
-     * Find products with low stock
+     * Find monitored products at or below their low-stock threshold
+     * Compares two columns of every row, so it is only run once at startup;
+     * afterwards the low-stock set is kept up to date from stock changes.
      * 
-     * @return list of products with low stock
+     * @return rows of [id, stockQuantity]
      */
-    @Query("SELECT p FROM Product p WHERE p.stockQuantity <= p.lowStockThreshold AND p.status = 'ACTIVE' AND p.deleted = false")
-    List<Product> findLowStockProducts();
+    @Query("SELECT p.id, p.stockQuantity FROM Product p WHERE (p.stockQuantity <= p.lowStockThreshold OR p.stockQuantity <= 0) " +
+           "AND p.status IN ('ACTIVE', 'OUT_OF_STOCK') AND p.deleted = false")
+    List<Object[]> findLowStockLevels();
+
+    /**
+     * Find stock details of products by IDs (in no particular order)
+     * 
+     * @param ids product IDs
+     * @return stock details of the products that exist
+     */
+    @Query("SELECT new com.ecommerce.dto.LowStockProductDTO(p.id, p.name, p.sku, p.stockQuantity, p.lowStockThreshold) " +
+           "FROM Product p WHERE p.id IN :ids")
+    List<LowStockProductDTO> findLowStockDetailsByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
      * Find out of stock products
@@ -209,14 +333,45 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
     void incrementViewCount(@Param("productId") Long productId);
 
     /**
-     * Update stock quantity
+     * Update stock quantity unless it would go negative
+     * A bulk update: the version is not bumped, so concurrent orders do not
+     * conflict with each other or with catalog edits. The modification time
+     * is still set, since it drives Last-Modified of the product detail.
      * 
      * @param productId product ID
      * @param quantity quantity to add (negative to subtract)
+     * @param now modification time
+     * @return 1 if updated, 0 if the stock is insufficient
      */
     @Modifying
-    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity WHERE p.id = :productId")
-    void updateStockQuantity(@Param("productId") Long productId, @Param("quantity") int quantity);
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity, p.updatedAt = :now " +
+           "WHERE p.id = :productId AND p.stockQuantity + :quantity >= 0")
+    int updateStockQuantity(@Param("productId") Long productId, @Param("quantity") int quantity,
+                            @Param("now") LocalDateTime now);
+
+    /**
+     * Take sold units off the stock and count them as sales, unless the stock is insufficient
+     * 
+     * @param productId product ID
+     * @param quantity quantity sold
+     * @param now modification time
+     * @return 1 if updated, 0 if the stock is insufficient
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, " +
+           "p.salesCount = COALESCE(p.salesCount, 0) + :quantity, p.updatedAt = :now " +
+           "WHERE p.id = :productId AND p.stockQuantity >= :quantity")
+    int recordSale(@Param("productId") Long productId, @Param("quantity") int quantity,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Read the stock quantity without loading the product
+     * 
+     * @param productId product ID
+     * @return stock quantity, or null if the product does not exist
+     */
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :productId")
+    Integer findStockQuantityById(@Param("productId") Long productId);
 
     /**
      * Count products by status
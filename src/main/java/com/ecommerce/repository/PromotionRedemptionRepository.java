@@ -0,0 +1,41 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.PromotionRedemption;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for PromotionRedemption entity
+ * 
+ * @author E-Commerce Team
+ */
+@Repository
+public interface PromotionRedemptionRepository extends JpaRepository<PromotionRedemption, Long> {
+
+    /**
+     * Count redemptions of a promotion
+     * 
+     * @param promotionId promotion ID
+     * @return redemption count
+     */
+    long countByPromotionId(Long promotionId);
+
+    /**
+     * Count redemptions of a promotion by one user
+     * 
+     * @param promotionId promotion ID
+     * @param userId user ID
+     * @return redemption count
+     */
+    long countByPromotionIdAndUserId(Long promotionId, Long userId);
+
+    /**
+     * Find the redemption attached to an order
+     * 
+     * @param orderId order ID
+     * @return Optional containing redemption if the order used a code
+     */
+    Optional<PromotionRedemption> findByOrderId(Long orderId);
+}
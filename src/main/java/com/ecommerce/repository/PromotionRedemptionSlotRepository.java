@@ -0,0 +1,63 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.PromotionRedemptionSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for PromotionRedemptionSlot entity
+ *
+ * @author E-Commerce Team
+ */
+@Repository
+public interface PromotionRedemptionSlotRepository extends JpaRepository<PromotionRedemptionSlot, Long> {
+
+    /**
+     * Find the slots of a promotion
+     *
+     * @param promotionId promotion ID
+     * @return slots
+     */
+    @Query("SELECT s FROM PromotionRedemptionSlot s WHERE s.promotion.id = :promotionId")
+    List<PromotionRedemptionSlot> findByPromotionId(@Param("promotionId") Long promotionId);
+
+    /**
+     * Count one redemption in a slot if it still has capacity
+     * The check and the increment are a single conditional update, so the
+     * limit holds across every instance sharing the database.
+     *
+     * @param promotionId promotion ID
+     * @param slot slot number
+     * @return 1 if the redemption was counted, 0 if the slot is full or missing
+     */
+    @Modifying
+    @Query("UPDATE PromotionRedemptionSlot s SET s.used = s.used + 1 " +
+           "WHERE s.promotion.id = :promotionId AND s.slot = :slot AND s.used < s.capacity")
+    int claim(@Param("promotionId") Long promotionId, @Param("slot") int slot);
+
+    /**
+     * Give back one redemption counted in a slot
+     *
+     * @param promotionId promotion ID
+     * @param slot slot number
+     * @return 1 if a redemption was given back, 0 if the slot is empty or missing
+     */
+    @Modifying
+    @Query("UPDATE PromotionRedemptionSlot s SET s.used = s.used - 1 " +
+           "WHERE s.promotion.id = :promotionId AND s.slot = :slot AND s.used > 0")
+    int release(@Param("promotionId") Long promotionId, @Param("slot") int slot);
+
+    /**
+     * Delete the slots of a promotion
+     *
+     * @param promotionId promotion ID
+     */
+    @Modifying
+    @Query("DELETE FROM PromotionRedemptionSlot s WHERE s.promotion.id = :promotionId")
+    void deleteByPromotionId(@Param("promotionId") Long promotionId);
+}
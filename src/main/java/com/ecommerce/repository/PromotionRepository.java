@@ -0,0 +1,46 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for Promotion entity
+ * 
+ * @author E-Commerce Team
+ */
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+
+    /**
+     * Find promotion by code
+     * 
+     * @param code upper case code
+     * @return Optional containing promotion if found
+     */
+    Optional<Promotion> findByCode(String code);
+
+    /**
+     * Check if code exists
+     * 
+     * @param code upper case code
+     * @return true if code exists
+     */
+    boolean existsByCode(String code);
+
+    /**
+     * Find active promotions that have not ended, with their scopes
+     * 
+     * @param now current time
+     * @return promotions to compile into the in-memory index
+     */
+    @Query("SELECT DISTINCT p FROM Promotion p LEFT JOIN FETCH p.categoryIds LEFT JOIN FETCH p.brands " +
+           "WHERE p.active = true AND p.deleted = false AND (p.endsAt IS NULL OR p.endsAt > :now)")
+    List<Promotion> findRedeemable(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.TrendingSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for TrendingSnapshot entity
+ * 
+ * @author E-Commerce Team
+ */
+@Repository
+public interface TrendingSnapshotRepository extends JpaRepository<TrendingSnapshot, Long> {
+
+    /**
+     * Find the snapshot of a window
+     * 
+     * @param windowKey window key
+     * @return Optional containing snapshot if one was saved
+     */
+    Optional<TrendingSnapshot> findByWindowKey(String windowKey);
+}
@@ -3,10 +3,12 @@ package com.ecommerce.repository;
 import com.ecommerce.model.User;
 import com.ecommerce.model.enums.UserRole;
 import com.ecommerce.model.enums.UserStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -192,4 +194,15 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     @Modifying
     @Query("UPDATE User u SET u.failedLoginAttempts = 0, u.lockedUntil = null WHERE u.id = :userId")
     void resetFailedLoginAttempts(@Param("userId") Long userId);
+
+    /**
+     * Find user by ID and lock the row until the transaction ends
+     * Serializes a user's own concurrent checkouts, e.g. for per-user limits.
+     * 
+     * @param id user ID
+     * @return Optional containing user if found
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
 }
@@ -0,0 +1,40 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.Warehouse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for Warehouse entity
+ * 
+ * @author E-Commerce Team
+ */
+@Repository
+public interface WarehouseRepository extends JpaRepository<Warehouse, Long> {
+
+    /**
+     * Find warehouse by code
+     * 
+     * @param code warehouse code
+     * @return Optional containing warehouse if found
+     */
+    Optional<Warehouse> findByCode(String code);
+
+    /**
+     * Check if warehouse code exists
+     * 
+     * @param code warehouse code
+     * @return true if exists
+     */
+    boolean existsByCode(String code);
+
+    /**
+     * Find all warehouses ordered by code
+     * 
+     * @return list of warehouses
+     */
+    List<Warehouse> findAllByOrderByCodeAsc();
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.model.WarehouseStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for WarehouseStock entity
+ * Quantities are read as scalars and changed by conditional updates only,
+ * never through loaded entities.
+ * 
+ * @author E-Commerce Team
+ */
+@Repository
+public interface WarehouseStockRepository extends JpaRepository<WarehouseStock, Long> {
+
+    /**
+     * Find the stock of some products in every warehouse
+     * 
+     * @param productIds product IDs
+     * @return rows of [warehouseId, productId, quantity, warehouseActive]
+     */
+    @Query("SELECT w.id, s.product.id, s.quantity, w.active FROM WarehouseStock s JOIN s.warehouse w " +
+           "WHERE s.product.id IN :productIds")
+    List<Object[]> findLevelsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Find the stock of a product per warehouse
+     * 
+     * @param productId product ID
+     * @return rows of [warehouseCode, quantity], by warehouse code
+     */
+    @Query("SELECT w.code, s.quantity FROM WarehouseStock s JOIN s.warehouse w " +
+           "WHERE s.product.id = :productId ORDER BY w.code")
+    List<Object[]> findLevelsByProductId(@Param("productId") Long productId);
+
+    /**
+     * Check if a product is stocked through warehouses
+     * 
+     * @param productId product ID
+     * @return true if the product has stock rows
+     */
+    boolean existsByProductId(Long productId);
+
+    /**
+     * Check if a product is stocked in a warehouse
+     * 
+     * @param warehouseId warehouse ID
+     * @param productId product ID
+     * @return true if the row exists
+     */
+    boolean existsByWarehouseIdAndProductId(Long warehouseId, Long productId);
+
+    /**
+     * Take stock from a warehouse if enough is left
+     * 
+     * @param warehouseId warehouse ID
+     * @param productId product ID
+     * @param quantity units to take
+     * @return 1 if taken, 0 if the warehouse has fewer units
+     */
+    @Modifying
+    @Query("UPDATE WarehouseStock s SET s.quantity = s.quantity - :quantity " +
+           "WHERE s.warehouse.id = :warehouseId AND s.product.id = :productId AND s.quantity >= :quantity")
+    int decrement(@Param("warehouseId") Long warehouseId, @Param("productId") Long productId,
+                  @Param("quantity") int quantity);
+
+    /**
+     * Change the stock in a warehouse by an amount, unless it would go negative
+     * 
+     * @param warehouseId warehouse ID
+     * @param productId product ID
+     * @param amount units to add (negative to remove)
+     * @return 1 if changed, 0 if there is no row or too few units
+     */
+    @Modifying
+    @Query("UPDATE WarehouseStock s SET s.quantity = s.quantity + :amount " +
+           "WHERE s.warehouse.id = :warehouseId AND s.product.id = :productId AND s.quantity + :amount >= 0")
+    int adjust(@Param("warehouseId") Long warehouseId, @Param("productId") Long productId,
+               @Param("amount") int amount);
+}
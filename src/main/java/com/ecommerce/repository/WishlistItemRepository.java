@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,20 +48,26 @@ public interface WishlistItemRepository extends JpaRepository<WishlistItem, Long
     boolean existsByUserIdAndProductId(Long userId, Long productId);
 
     /**
-     * Find items with sale notification enabled
+     * Find the subscribers of some products, one page at a time in (user ID, item ID) order
+     * Walks the product index, so the cost follows the number of subscribers
+     * of the given products rather than the size of the table. Pass the last
+     * row of the previous page as the position, or 0 and 0 for the first.
      * 
-     * @return list of items
-     */
-    @Query("SELECT w FROM WishlistItem w WHERE w.notifyOnSale = true")
-    List<WishlistItem> findItemsWithSaleNotification();
-
-    /**
-     * Find items with restock notification enabled
-     * 
-     * @return list of items
+     * @param productIds product IDs
+     * @param afterUserId user ID of the last row already read
+     * @param afterItemId item ID of the last row already read
+     * @param pageable page size (the page number must be 0)
+     * @return rows of [itemId, userId, productId, notifyOnRestock, notifyOnSale]
      */
-    @Query("SELECT w FROM WishlistItem w WHERE w.notifyOnRestock = true")
-    List<WishlistItem> findItemsWithRestockNotification();
+    @Query("SELECT w.id, w.user.id, w.product.id, w.notifyOnRestock, w.notifyOnSale FROM WishlistItem w " +
+           "WHERE w.product.id IN :productIds AND (w.notifyOnRestock = true OR w.notifyOnSale = true) " +
+           "AND w.deleted = false " +
+           "AND (w.user.id > :afterUserId OR (w.user.id = :afterUserId AND w.id > :afterItemId)) " +
+           "ORDER BY w.user.id, w.id")
+    List<Object[]> findSubscribers(@Param("productIds") Collection<Long> productIds,
+                                   @Param("afterUserId") Long afterUserId,
+                                   @Param("afterItemId") Long afterItemId,
+                                   Pageable pageable);
 
     /**
      * Find items where product is on sale
@@ -0,0 +1,473 @@
+package com.ecommerce.search;
+
+import com.ecommerce.analytics.LongIntMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable typo-tolerant index over product names and brands
+ * Text is split into normalized words. Each word has a posting list of the
+ * products containing it, and each character trigram of a word (padded,
+ * so "cat" gives "^^c", "^ca", "cat", "at$") a list of the words containing
+ * it. A query word that is not in the vocabulary is corrected by counting
+ * the trigrams it shares with vocabulary words: a word within k edits must
+ * share at least {@code length + 1 - 3k} of them, so only those few
+ * candidates are checked with a bounded Levenshtein distance. The work
+ * depends on the posting lists touched, not on the catalog size. Words
+ * containing digits (model numbers, sizes) are only matched as typed.
+ * <p>
+ * Products are numbered by descending popularity, so every posting list is
+ * in popularity order and can be cut after its most popular entries.
+ * <p>
+ * Catalog changes are applied with {@link #withChanges}, which indexes only
+ * the changed products and layers them over this index; a search runs on
+ * both and merges the rankings, skipping base entries that were superseded.
+ *
+ * @author E-Commerce Team
+ */
+public final class FuzzyIndex {
+
+    /**
+     * Products taken from one word's posting list at most
+     */
+    private static final int MAX_POSTINGS_PER_WORD = 1000;
+
+    /**
+     * Corrections considered per query word at most
+     */
+    private static final int MAX_CORRECTIONS = 8;
+
+    /**
+     * Counter arrays kept for reuse by concurrent searches
+     */
+    private static final int SCRATCH_POOL = 16;
+
+    private static final char PAD_START = '\u0002';
+    private static final char PAD_END = '\u0003';
+
+    private static final FuzzyIndex EMPTY = new FuzzyIndex(List.of(), term -> 0);
+
+    private final long[] productIds;
+    private final long[] popularity;
+    private final String[] words;
+    private final Map<String, Integer> wordIds;
+    private final int[][] postings;
+    /** Words open to correction (no digits), by their position in the trigram lists */
+    private final int[] spellable;
+    private final Map<Long, int[]> trigrams;
+    private final ArrayBlockingQueue<int[]> scratch = new ArrayBlockingQueue<>(SCRATCH_POOL);
+    /** Index this one is layered over, or null */
+    private final FuzzyIndex base;
+    /** Products whose entries in the base are superseded */
+    private final Set<Long> hidden;
+
+    /**
+     * @param terms products to index
+     * @param popularity popularity of a product; more popular products rank first among equals
+     */
+    public FuzzyIndex(Collection<SearchTerm> terms, ToLongFunction<SearchTerm> popularity) {
+        this(terms, popularity, null, Set.of());
+    }
+
+    private FuzzyIndex(Collection<SearchTerm> terms, ToLongFunction<SearchTerm> popularity,
+                       FuzzyIndex base, Set<Long> hidden) {
+        this.base = base;
+        this.hidden = hidden;
+        SearchTerm[] products = terms.toArray(SearchTerm[]::new);
+        long[] scores = new long[products.length];
+        Integer[] order = new Integer[products.length];
+        for (int i = 0; i < products.length; i++) {
+            scores[i] = popularity.applyAsLong(products[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> scores[i]).reversed());
+
+        this.productIds = new long[products.length];
+        this.popularity = new long[products.length];
+        Map<String, IntList> wordPostings = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (int p = 0; p < order.length; p++) {
+            SearchTerm term = products[order[p]];
+            productIds[p] = term.productId();
+            this.popularity[p] = scores[order[p]];
+            seen.clear();
+            for (String word : words(term.name(), term.brand())) {
+                if (seen.add(word)) {
+                    wordPostings.computeIfAbsent(word, key -> new IntList()).add(p);
+                }
+            }
+        }
+
+        this.words = wordPostings.keySet().toArray(String[]::new);
+        Arrays.sort(words);
+        this.wordIds = new HashMap<>(words.length * 2);
+        this.postings = new int[words.length][];
+        IntList spellableWords = new IntList();
+        Map<Long, IntList> wordTrigrams = new HashMap<>();
+        for (int w = 0; w < words.length; w++) {
+            wordIds.put(words[w], w);
+            postings[w] = wordPostings.get(words[w]).toArray();
+            if (hasDigit(words[w])) {
+                continue;
+            }
+            int position = spellableWords.size;
+            spellableWords.add(w);
+            for (long trigram : trigrams(words[w])) {
+                IntList list = wordTrigrams.computeIfAbsent(trigram, key -> new IntList());
+                // A word repeating a trigram is listed once
+                if (list.size == 0 || list.values[list.size - 1] != position) {
+                    list.add(position);
+                }
+            }
+        }
+        this.spellable = spellableWords.toArray();
+        this.trigrams = new HashMap<>(wordTrigrams.size() * 2);
+        wordTrigrams.forEach((trigram, list) -> trigrams.put(trigram, list.toArray()));
+    }
+
+    public static FuzzyIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Index with changed products layered over the base this index was
+     * built from; the cost depends on the number of changes only
+     *
+     * @param changed current terms of the changed products still searchable
+     * @param changedProducts every product changed since the base was built;
+     *                        their base entries are no longer returned
+     * @param popularity popularity of a product
+     * @return layered index
+     */
+    public FuzzyIndex withChanges(Collection<SearchTerm> changed, Set<Long> changedProducts,
+                                  ToLongFunction<SearchTerm> popularity) {
+        return new FuzzyIndex(changed, popularity, base != null ? base : this, Set.copyOf(changedProducts));
+    }
+
+    /**
+     * Products matching the query words exactly or with a few typos
+     * Products matching more query words rank first, closer spellings next
+     * and popularity last.
+     *
+     * @param query search text
+     * @param limit maximum number of products
+     * @return matching product IDs and the query as corrected
+     */
+    public Result search(String query, int limit) {
+        List<String> queryWords = words(query, null);
+        if (queryWords.isEmpty() || limit <= 0) {
+            return new Result(List.of(), null, true);
+        }
+        Ranking ranking = rank(queryWords, Set.of());
+        if (base != null) {
+            ranking = base.rank(queryWords, hidden).merge(ranking);
+        }
+
+        StringBuilder corrected = new StringBuilder();
+        boolean exact = true;
+        boolean changed = false;
+        for (int q = 0; q < queryWords.size(); q++) {
+            int distance = ranking.distances()[q];
+            exact &= distance == 0;
+            changed |= distance > 0;
+            corrected.append(q > 0 ? " " : "")
+                    .append(distance >= 0 ? ranking.corrections()[q] : queryWords.get(q));
+        }
+
+        List<Hit> hits = ranking.hits();
+        // Higher score first, then more popular
+        hits.sort(Comparator.comparingInt(Hit::score).reversed()
+                .thenComparing(Comparator.comparingLong(Hit::popularity).reversed())
+                .thenComparingLong(Hit::productId));
+        List<Long> ids = new ArrayList<>(Math.min(limit, hits.size()));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            ids.add(hits.get(i).productId());
+        }
+        return new Result(ids, changed ? corrected.toString() : null, exact);
+    }
+
+    /**
+     * Score the products of this index alone against the query words
+     */
+    private Ranking rank(List<String> queryWords, Set<Long> excluded) {
+        LongIntMap scores = new LongIntMap(256);
+        String[] corrections = new String[queryWords.size()];
+        int[] distances = new int[queryWords.size()];
+        for (int q = 0; q < queryWords.size(); q++) {
+            String word = queryWords.get(q);
+            List<Match> matches = match(word);
+            if (matches.isEmpty()) {
+                distances[q] = -1;
+                continue;
+            }
+            Match best = matches.get(0);
+            corrections[q] = words[best.word()];
+            distances[q] = best.distance();
+
+            // Matches are best first, so the first one to reach a product sets its weight for this word
+            LongIntMap reached = new LongIntMap(256);
+            int maxEdits = maxEdits(word.length());
+            for (Match match : matches) {
+                int weight = 1000 * (maxEdits + 1 - match.distance()) / (maxEdits + 1);
+                int[] posting = postings[match.word()];
+                int count = Math.min(posting.length, MAX_POSTINGS_PER_WORD);
+                for (int i = 0; i < count; i++) {
+                    // Keys must be positive: store product number + 1
+                    long key = posting[i] + 1L;
+                    if (reached.get(key) == 0) {
+                        reached.addTo(key, 1);
+                        scores.addTo(key, weight);
+                    }
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(scores.size());
+        for (int slot = 0; slot < scores.capacity(); slot++) {
+            if (scores.keyAt(slot) != 0) {
+                int product = (int) (scores.keyAt(slot) - 1);
+                if (!excluded.contains(productIds[product])) {
+                    hits.add(new Hit(productIds[product], scores.valueAt(slot), popularity[product]));
+                }
+            }
+        }
+        return new Ranking(hits, corrections, distances);
+    }
+
+    /**
+     * Number of indexed products, including superseded ones still held by the base
+     */
+    public int size() {
+        return productIds.length + (base != null ? base.size() : 0);
+    }
+
+    /**
+     * Number of distinct words (of the base and the changes counted separately)
+     */
+    public int vocabularySize() {
+        return words.length + (base != null ? base.vocabularySize() : 0);
+    }
+
+    /**
+     * Vocabulary words within the edit budget of a query word, best first
+     */
+    private List<Match> match(String word) {
+        Integer exact = wordIds.get(word);
+        if (exact != null) {
+            return List.of(new Match(exact, 0));
+        }
+        int maxEdits = maxEdits(word.length());
+        if (maxEdits == 0 || hasDigit(word)) {
+            return List.of();
+        }
+        long[] queryTrigrams = trigrams(word);
+        int required = Math.max(1, queryTrigrams.length - 3 * maxEdits);
+
+        // Count shared trigrams per word, in a pooled array that is zeroed again after use
+        int[] shared = scratch.poll();
+        if (shared == null) {
+            shared = new int[spellable.length];
+        }
+        IntList touched = new IntList();
+        IntList candidates = new IntList();
+        for (long trigram : queryTrigrams) {
+            int[] list = trigrams.get(trigram);
+            if (list == null) {
+                continue;
+            }
+            for (int position : list) {
+                int count = ++shared[position];
+                if (count == 1) {
+                    touched.add(position);
+                }
+                if (count == required) {
+                    candidates.add(spellable[position]);
+                }
+            }
+        }
+        for (int i = 0; i < touched.size; i++) {
+            shared[touched.values[i]] = 0;
+        }
+        scratch.offer(shared);
+
+        List<Match> matches = new ArrayList<>();
+        for (int c = 0; c < candidates.size; c++) {
+            int w = candidates.values[c];
+            if (Math.abs(words[w].length() - word.length()) > maxEdits) {
+                continue;
+            }
+            int distance = boundedDistance(word, words[w], maxEdits);
+            if (distance <= maxEdits) {
+                matches.add(new Match(w, distance));
+            }
+        }
+        // Closest first; among equals the word found in most products
+        matches.sort(Comparator.comparingInt(Match::distance)
+                .thenComparing(match -> -postings[match.word()].length));
+        return matches.size() > MAX_CORRECTIONS ? matches.subList(0, MAX_CORRECTIONS) : matches;
+    }
+
+    /**
+     * Typos tolerated in a word of the given length
+     */
+    static int maxEdits(int length) {
+        if (length <= 3) {
+            return 0;
+        }
+        return length <= 7 ? 1 : 2;
+    }
+
+    private static boolean hasDigit(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.isDigit(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Levenshtein distance, computed only within a band of {@code max} around
+     * the diagonal and abandoned once every cell of a row exceeds {@code max}
+     *
+     * @return the distance, or {@code max + 1} if it is larger than {@code max}
+     */
+    static int boundedDistance(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int big = max + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= max ? j : big;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i <= max ? i : big;
+            if (from > 1) {
+                current[from - 1] = big;
+            }
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                current[j] = Math.min(value, big);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = big;
+            }
+            if (rowMin > max) {
+                return big;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], big);
+    }
+
+    /**
+     * Normalized words of the given texts
+     */
+    static List<String> words(String text, String more) {
+        List<String> words = new ArrayList<>();
+        for (String part : new String[] {text, more}) {
+            String normalized = SuggestionIndex.normalize(part);
+            if (!normalized.isEmpty()) {
+                words.addAll(Arrays.asList(normalized.split(" ")));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Padded trigrams of a word, each packed into a long
+     */
+    static long[] trigrams(String word) {
+        String padded = "" + PAD_START + PAD_START + word + PAD_END;
+        long[] result = new long[padded.length() - 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+        }
+        return result;
+    }
+
+    /**
+     * Fuzzy search outcome
+     *
+     * @param productIds matching product IDs, best first
+     * @param didYouMean the query with its words corrected, or null if no word was corrected
+     * @param exact whether every query word was found as typed
+     */
+    public record Result(List<Long> productIds, String didYouMean, boolean exact) {
+    }
+
+    private record Match(int word, int distance) {
+    }
+
+    private record Hit(long productId, int score, long popularity) {
+    }
+
+    /**
+     * Products reached by a query in one index, and the best spelling found per query word
+     *
+     * @param hits scored products
+     * @param corrections closest vocabulary word per query word
+     * @param distances edits to that word per query word, or -1 if none was found
+     */
+    private record Ranking(List<Hit> hits, String[] corrections, int[] distances) {
+
+        /**
+         * Combine with the ranking of a layered index; this one wins spelling ties
+         */
+        Ranking merge(Ranking other) {
+            List<Hit> all = new ArrayList<>(hits.size() + other.hits.size());
+            all.addAll(hits);
+            all.addAll(other.hits);
+            String[] bestWords = corrections.clone();
+            int[] bestDistances = distances.clone();
+            for (int q = 0; q < bestDistances.length; q++) {
+                int distance = other.distances[q];
+                if (distance >= 0 && (bestDistances[q] < 0 || distance < bestDistances[q])) {
+                    bestWords[q] = other.corrections[q];
+                    bestDistances[q] = distance;
+                }
+            }
+            return new Ranking(all, bestWords, bestDistances);
+        }
+    }
+
+    /**
+     * Growable int array
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.ecommerce.search;
+
+import com.ecommerce.config.SearchProperties;
+import com.ecommerce.event.CategoryChangedEvent;
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the searchable product columns and the indexes built on it
+ * Loaded in full at startup and periodically (to pick up popularity), and
+ * kept current between reloads by re-reading only the products named in
+ * change events that touch searchable columns; stock and image changes are
+ * ignored. Changes are gathered for a short delay and applied together:
+ * the products changed since the last full build are indexed on their own
+ * and layered over it, so a batch costs time in the number of changes, not
+ * the catalog size. Once too many products have changed the indexes are
+ * built in full again. Requests keep using the previous index until the
+ * new one is swapped in.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchCatalog.class);
+
+    private final ProductRepository productRepository;
+    private final SearchProperties.Suggest properties;
+
+    private final Map<Long, SearchTerm> terms = new HashMap<>();
+    private final Set<Long> changedProducts = ConcurrentHashMap.newKeySet();
+    /** Products changed since the indexes were last built in full */
+    private final Set<Long> overlaid = new HashSet<>();
+    private final Set<String> indexedBrands = new HashSet<>();
+    private final Set<Long> indexedCategories = new HashSet<>();
+    private volatile boolean reloadAll = true;
+    private volatile SuggestionIndex suggestionIndex = SuggestionIndex.empty();
+    private volatile FuzzyIndex fuzzyIndex = FuzzyIndex.empty();
+
+    public SearchCatalog(ProductRepository productRepository, SearchProperties properties) {
+        this.productRepository = productRepository;
+        this.properties = properties.getSuggest();
+    }
+
+    /**
+     * Current suggestion index
+     */
+    public SuggestionIndex suggestions() {
+        return suggestionIndex;
+    }
+
+    /**
+     * Current typo-tolerant search index
+     */
+    public FuzzyIndex fuzzy() {
+        return fuzzyIndex;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.getProductId() != null && event.isSearchFieldsChanged()) {
+            changedProducts.add(event.getProductId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Category names are copied into every product's row
+        reloadAll = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        applyChanges();
+    }
+
+    /**
+     * Reload everything, picking up sales and view counts
+     */
+    @Scheduled(fixedDelayString = "${app.search.suggest.refresh-interval-ms:600000}",
+               initialDelayString = "${app.search.suggest.refresh-interval-ms:600000}")
+    public void refresh() {
+        reloadAll = true;
+        applyChanges();
+    }
+
+    /**
+     * Re-read changed products and apply them to the indexes if anything changed
+     */
+    @Scheduled(fixedDelayString = "${app.search.suggest.rebuild-delay-ms:1000}")
+    public synchronized void applyChanges() {
+        if (!reloadAll && changedProducts.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        boolean full = reloadAll;
+        try {
+            if (full) {
+                reloadAll = false;
+                changedProducts.clear();
+                terms.clear();
+                for (Object[] row : productRepository.findSearchTerms()) {
+                    SearchTerm term = SearchTerm.of(row);
+                    terms.put(term.productId(), term);
+                }
+            } else {
+                Set<Long> ids = new HashSet<>(changedProducts);
+                changedProducts.removeAll(ids);
+                // Products no longer returned were deactivated or deleted
+                terms.keySet().removeAll(ids);
+                for (Object[] row : productRepository.findSearchTermsByIdIn(ids)) {
+                    SearchTerm term = SearchTerm.of(row);
+                    terms.put(term.productId(), term);
+                }
+                overlaid.addAll(ids);
+                full = overlaid.size() > properties.getMaxOverlayProducts();
+            }
+        } catch (DataAccessException ex) {
+            reloadAll = true;
+            logger.warn("Could not load search terms; will retry", ex);
+            return;
+        }
+
+        if (full) {
+            overlaid.clear();
+            suggestionIndex = new SuggestionIndex(buildSuggestions());
+            fuzzyIndex = new FuzzyIndex(terms.values(), this::popularity);
+            logger.debug("Search indexes rebuilt from {} products in {} ms", terms.size(),
+                    System.currentTimeMillis() - start);
+        } else {
+            List<SearchTerm> changed = new ArrayList<>(overlaid.size());
+            for (Long id : overlaid) {
+                SearchTerm term = terms.get(id);
+                if (term != null) {
+                    changed.add(term);
+                }
+            }
+            suggestionIndex = suggestionIndex.withChanges(overlaySuggestions(changed), overlaid);
+            fuzzyIndex = fuzzyIndex.withChanges(changed, overlaid, this::popularity);
+            logger.debug("Search indexes updated with {} changed products in {} ms", overlaid.size(),
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Suggestions of changed products, plus brands and categories the last full build did not have
+     * Known brands and categories keep their scores until the next full build.
+     */
+    private List<SuggestionIndex.Suggestion> overlaySuggestions(List<SearchTerm> changed) {
+        List<SuggestionIndex.Suggestion> suggestions = new ArrayList<>(changed.size() + 8);
+        Map<String, Aggregate> brands = new HashMap<>();
+        Map<Long, Aggregate> categories = new HashMap<>();
+        for (SearchTerm term : changed) {
+            long popularity = popularity(term);
+            suggestions.add(new SuggestionIndex.Suggestion(SuggestionIndex.Kind.PRODUCT,
+                    term.productId(), term.name(), term.slug(), popularity));
+            if (term.brand() != null && !term.brand().isBlank()
+                    && !indexedBrands.contains(SuggestionIndex.normalize(term.brand()))) {
+                brands.computeIfAbsent(SuggestionIndex.normalize(term.brand()),
+                        key -> new Aggregate(term.brand(), null)).score += popularity;
+            }
+            if (term.categoryId() != null && !indexedCategories.contains(term.categoryId())) {
+                categories.computeIfAbsent(term.categoryId(),
+                        key -> new Aggregate(term.categoryName(), term.categorySlug())).score += popularity;
+            }
+        }
+        brands.values().forEach(brand -> suggestions.add(new SuggestionIndex.Suggestion(
+                SuggestionIndex.Kind.BRAND, null, brand.text, null, brand.score)));
+        categories.forEach((id, category) -> suggestions.add(new SuggestionIndex.Suggestion(
+                SuggestionIndex.Kind.CATEGORY, id, category.text, category.slug, category.score)));
+        return suggestions;
+    }
+
+    private List<SuggestionIndex.Suggestion> buildSuggestions() {
+        List<SuggestionIndex.Suggestion> suggestions = new ArrayList<>(terms.size() + 64);
+        Map<String, Aggregate> brands = new HashMap<>();
+        Map<Long, Aggregate> categories = new HashMap<>();
+        for (SearchTerm term : terms.values()) {
+            long popularity = popularity(term);
+            suggestions.add(new SuggestionIndex.Suggestion(SuggestionIndex.Kind.PRODUCT,
+                    term.productId(), term.name(), term.slug(), popularity));
+            if (term.brand() != null && !term.brand().isBlank()) {
+                brands.computeIfAbsent(SuggestionIndex.normalize(term.brand()),
+                        key -> new Aggregate(term.brand(), null)).score += popularity;
+            }
+            if (term.categoryId() != null) {
+                categories.computeIfAbsent(term.categoryId(),
+                        key -> new Aggregate(term.categoryName(), term.categorySlug())).score += popularity;
+            }
+        }
+        brands.values().forEach(brand -> suggestions.add(new SuggestionIndex.Suggestion(
+                SuggestionIndex.Kind.BRAND, null, brand.text, null, brand.score)));
+        categories.forEach((id, category) -> suggestions.add(new SuggestionIndex.Suggestion(
+                SuggestionIndex.Kind.CATEGORY, id, category.text, category.slug, category.score)));
+        indexedBrands.clear();
+        indexedBrands.addAll(brands.keySet());
+        indexedCategories.clear();
+        indexedCategories.addAll(categories.keySet());
+        return suggestions;
+    }
+
+    private long popularity(SearchTerm term) {
+        return term.salesCount() * properties.getSalesWeight() + term.viewCount() * properties.getViewWeight();
+    }
+
+    /**
+     * Summed popularity of a brand or category
+     */
+    private static final class Aggregate {
+        private final String text;
+        private final String slug;
+        private long score;
+
+        Aggregate(String text, String slug) {
+            this.text = text;
+            this.slug = slug;
+        }
+    }
+}
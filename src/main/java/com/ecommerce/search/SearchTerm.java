@@ -0,0 +1,39 @@
+package com.ecommerce.search;
+
+/**
+ * Searchable columns of one active product
+ *
+ * @param productId product ID
+ * @param name product name
+ * @param slug product slug
+ * @param brand brand (optional)
+ * @param categoryId category ID (optional)
+ * @param categoryName category name (optional)
+ * @param categorySlug category slug (optional)
+ * @param salesCount units sold
+ * @param viewCount detail page views
+ * @author E-Commerce Team
+ */
+public record SearchTerm(long productId, String name, String slug, String brand,
+                         Long categoryId, String categoryName, String categorySlug,
+                         long salesCount, long viewCount) {
+
+    /**
+     * Read a row of {@code ProductRepository.SEARCH_TERMS_SELECT}
+     *
+     * @param row query result row
+     * @return search term
+     */
+    public static SearchTerm of(Object[] row) {
+        return new SearchTerm(
+                ((Number) row[0]).longValue(),
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                row[4] != null ? ((Number) row[4]).longValue() : null,
+                (String) row[5],
+                (String) row[6],
+                row[7] != null ? ((Number) row[7]).longValue() : 0,
+                row[8] != null ? ((Number) row[8]).longValue() : 0);
+    }
+}
@@ -0,0 +1,273 @@
+package com.ecommerce.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index for search-as-you-type
+ * Every word-start suffix of each normalized suggestion text is a key
+ * ("apple iphone 15", "iphone 15", "15"), held in one sorted array, so the
+ * keys matching a prefix are one contiguous range found by two binary
+ * searches. A max segment tree over the keys' scores then yields the best
+ * suggestions of that range in popularity order: the range's best key is
+ * taken and the two sub-ranges either side of it are queued, so the cost is
+ * O(limit log n) however many keys match.
+ * <p>
+ * Catalog changes are applied with {@link #withChanges}, which layers a
+ * small index of the changed suggestions over this one instead of sorting
+ * every key again; the base hides the products it no longer holds current.
+ *
+ * @author E-Commerce Team
+ */
+public final class SuggestionIndex {
+
+    /**
+     * Word-start suffixes indexed per suggestion at most
+     */
+    private static final int MAX_SUFFIXES = 8;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final SuggestionIndex EMPTY = new SuggestionIndex(List.of());
+
+    private final Suggestion[] suggestions;
+    private final String[] keys;
+    private final int[] keySuggestion;
+    private final int[] tree;
+    private final int leaves;
+    /** Index this one is layered over, or null */
+    private final SuggestionIndex base;
+    /** Products whose suggestions in the base are superseded */
+    private final Set<Long> hidden;
+
+    /**
+     * @param suggestions suggestions to index
+     */
+    public SuggestionIndex(List<Suggestion> suggestions) {
+        this(suggestions, null, Set.of());
+    }
+
+    private SuggestionIndex(List<Suggestion> suggestions, SuggestionIndex base, Set<Long> hidden) {
+        this.base = base;
+        this.hidden = hidden;
+        this.suggestions = suggestions.toArray(Suggestion[]::new);
+
+        List<Key> suffixes = new ArrayList<>(this.suggestions.length * 2);
+        for (int i = 0; i < this.suggestions.length; i++) {
+            String text = normalize(this.suggestions[i].text());
+            int added = 0;
+            for (int start = 0; start < text.length() && added < MAX_SUFFIXES; start++) {
+                if (start == 0 || text.charAt(start - 1) == ' ') {
+                    suffixes.add(new Key(text.substring(start), i));
+                    added++;
+                }
+            }
+        }
+        suffixes.sort(Comparator.comparing(Key::text));
+        this.keys = new String[suffixes.size()];
+        this.keySuggestion = new int[suffixes.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = suffixes.get(i).text();
+            keySuggestion[i] = suffixes.get(i).suggestion();
+        }
+
+        int size = 1;
+        while (size < Math.max(keys.length, 1)) {
+            size <<= 1;
+        }
+        this.leaves = size;
+        this.tree = new int[size * 2];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            tree[size + i] = i;
+        }
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = better(tree[node * 2], tree[node * 2 + 1]);
+        }
+    }
+
+    public static SuggestionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Index with changed suggestions layered over the base this index was
+     * built from; the cost depends on the number of changes only
+     *
+     * @param changed current suggestions of the changed products, plus any
+     *                brand or category the base does not know
+     * @param changedProducts every product changed since the base was built;
+     *                        their base suggestions are no longer returned
+     * @return layered index
+     */
+    public SuggestionIndex withChanges(List<Suggestion> changed, Set<Long> changedProducts) {
+        return new SuggestionIndex(changed, base != null ? base : this, Set.copyOf(changedProducts));
+    }
+
+    /**
+     * Most popular suggestions having a word that starts with the query
+     * Matching is on the normalized forms of both, so case, full-width
+     * characters and punctuation do not matter.
+     *
+     * @param query text typed so far
+     * @param limit maximum number of suggestions
+     * @return suggestions, most popular first
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Suggestion> own = collect(prefix, limit, Set.of());
+        if (base == null) {
+            return own;
+        }
+
+        // Both lists are most popular first; merge them, the base winning ties
+        List<Suggestion> inBase = base.collect(prefix, limit, hidden);
+        List<Suggestion> result = new ArrayList<>(limit);
+        int i = 0;
+        int j = 0;
+        while (result.size() < limit && (i < inBase.size() || j < own.size())) {
+            Suggestion next = j >= own.size() || (i < inBase.size() && inBase.get(i).score() >= own.get(j).score())
+                    ? inBase.get(i++) : own.get(j++);
+            if (!result.contains(next)) {
+                result.add(next);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Most popular suggestions of this index alone matching a normalized prefix
+     */
+    private List<Suggestion> collect(String prefix, int limit, Set<Long> hiddenProducts) {
+        int from = lowerBound(prefix);
+        int to = lowerBound(prefix + Character.MAX_VALUE);
+        if (from >= to) {
+            return List.of();
+        }
+
+        List<Suggestion> result = new ArrayList<>(limit);
+        // Entries are {best key, range start, range end}, best score first
+        PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                (a, b) -> better(a[0], b[0]) == a[0] ? -1 : 1);
+        ranges.add(new int[] {best(from, to), from, to});
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int key = range[0];
+            Suggestion suggestion = suggestions[keySuggestion[key]];
+            // Several words of one suggestion may match the same prefix
+            boolean superseded = suggestion.kind() == Kind.PRODUCT && hiddenProducts.contains(suggestion.id());
+            if (!superseded && !result.contains(suggestion)) {
+                result.add(suggestion);
+            }
+            if (range[1] < key) {
+                ranges.add(new int[] {best(range[1], key), range[1], key});
+            }
+            if (key + 1 < range[2]) {
+                ranges.add(new int[] {best(key + 1, range[2]), key + 1, range[2]});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number of indexed suggestions, including superseded ones still held by the base
+     */
+    public int size() {
+        return suggestions.length + (base != null ? base.size() : 0);
+    }
+
+    /**
+     * Lower-case, compatibility-fold (full-width to ASCII and the like) and
+     * reduce every run of non-alphanumerics to one space
+     *
+     * @param text text
+     * @return normalized text
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return NON_WORD.matcher(folded).replaceAll(" ").trim();
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Best key in [from, to)
+     */
+    private int best(int from, int to) {
+        int result = -1;
+        for (int low = from + leaves, high = to + leaves; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                result = better(result, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                result = better(result, tree[--high]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The key of the more popular suggestion; the earlier key on a tie
+     */
+    private int better(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        long scoreA = suggestions[keySuggestion[a]].score();
+        long scoreB = suggestions[keySuggestion[b]].score();
+        if (scoreA != scoreB) {
+            return scoreA > scoreB ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    private record Key(String text, int suggestion) {
+    }
+
+    /**
+     * What a suggestion points at
+     */
+    public enum Kind {
+        PRODUCT, BRAND, CATEGORY
+    }
+
+    /**
+     * One suggestion
+     *
+     * @param kind what the suggestion points at
+     * @param id product or category ID (null for brands)
+     * @param text text shown
+     * @param slug product or category slug (null for brands)
+     * @param score popularity
+     */
+    public record Suggestion(Kind kind, Long id, String text, String slug, long score) {
+    }
+}
@@ -58,6 +58,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Static assets never need an authenticated principal
+        return request.getRequestURI().startsWith(request.getContextPath() + "/assets/");
+    }
+
     /**
      * Extract JWT token from request header
      * 
@@ -0,0 +1,93 @@
+package com.ecommerce.security;
+
+import com.ecommerce.config.RateLimitProperties;
+import com.ecommerce.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiting filter
+ * Runs before JWT authentication so floods of search, login or forged-token
+ * requests are turned away before any query, BCrypt or signature work.
+ * Users are keyed by the signature of their bearer token: tokens only come
+ * from the (rate limited) login, and a forged token cannot drain another
+ * user's quota. Anonymous clients are keyed by their address, which Tomcat
+ * takes from X-Forwarded-For when the request comes through a trusted proxy
+ * (server.forward-headers-strategy), so clients behind the reverse proxy do
+ * not share one bucket. Rejected requests get 429 with Retry-After.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimiter.Route route = rateLimiter.resolve(request.getMethod(), path);
+        if (route != null) {
+            long waitNanos = rateLimiter.tryAcquire(route, request.getRemoteAddr(), userKey(request));
+            if (waitNanos > 0) {
+                reject(response, route, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    /**
+     * Signature part of the bearer token, if any
+     *
+     * @param request HTTP request
+     * @return user key or null
+     */
+    private String userKey(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        int signature = header.lastIndexOf('.');
+        return signature > BEARER_PREFIX.length() ? header.substring(signature + 1) : null;
+    }
+
+    private void reject(HttpServletResponse response, RateLimiter.Route route, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        logger.debug("Rate limited {} request; retry after {}s", route.getName(), retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many requests, retry after " + retryAfterSeconds + " seconds"));
+    }
+}
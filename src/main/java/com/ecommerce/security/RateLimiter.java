@@ -0,0 +1,216 @@
+package com.ecommerce.security;
+
+import com.ecommerce.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Lock-free token buckets keyed by route class and client (IP or user)
+ * Each bucket is a single AtomicLong holding the time at which it will be full
+ * again (the GCRA form of a token bucket), so taking a token is one CAS with
+ * no allocation. A full bucket carries no state, which makes idle buckets
+ * free to evict; the map is swept periodically and capped at
+ * {@code max-keys}, beyond which new clients share one overflow bucket per route.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Route[] routes;
+    private final int maxKeys;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this.maxKeys = properties.getMaxKeys();
+        this.routes = properties.getRoutes().stream()
+                .map(route -> new Route(route, registry))
+                .toArray(Route[]::new);
+        Gauge.builder("http.rate.limit.buckets", buckets, Map::size)
+                .description("Rate limit buckets held in memory")
+                .register(registry);
+        logger.info("Rate limiting {} route classes", routes.length);
+    }
+
+    /**
+     * Find the route class of a request
+     *
+     * @param method HTTP method
+     * @param path request path
+     * @return route, or null if the request is not limited
+     */
+    public Route resolve(String method, String path) {
+        for (Route route : routes) {
+            if (route.matches(pathMatcher, method, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Take one token from the client's buckets of a route
+     *
+     * @param route route class
+     * @param clientIp client IP address
+     * @param userKey authenticated user key (optional)
+     * @return 0 if allowed, otherwise nanoseconds until a retry can succeed
+     */
+    public long tryAcquire(Route route, String clientIp, String userKey) {
+        long now = System.nanoTime();
+        if (route.perIp != null) {
+            long wait = bucket(route, "|ip|", clientIp, now).tryAcquire(route.perIp, now);
+            if (wait > 0) {
+                route.rejectedByIp.increment();
+                return wait;
+            }
+        }
+        if (route.perUser != null && userKey != null) {
+            long wait = bucket(route, "|user|", userKey, now).tryAcquire(route.perUser, now);
+            if (wait > 0) {
+                route.rejectedByUser.increment();
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they hold no state
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:30000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        // A request racing the removal may lose its token; it errs on the side of allowing
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        if (before > 0) {
+            logger.debug("Rate limit sweep: {} of {} buckets left", buckets.size(), before);
+        }
+    }
+
+    private Bucket bucket(Route route, String kind, String client, long now) {
+        String key = route.name + kind + client;
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            return kind.equals("|ip|") ? route.ipOverflow : route.userOverflow;
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    /**
+     * A compiled route class with its quotas and meters
+     */
+    public static final class Route {
+        private final String name;
+        private final String[] patterns;
+        private final Set<String> methods;
+        private final Quota perIp;
+        private final Quota perUser;
+        private final Bucket ipOverflow = new Bucket(System.nanoTime());
+        private final Bucket userOverflow = new Bucket(System.nanoTime());
+        private final Counter rejectedByIp;
+        private final Counter rejectedByUser;
+
+        private Route(RateLimitProperties.Route route, MeterRegistry registry) {
+            this.name = route.getName();
+            this.patterns = route.getPatterns().toArray(String[]::new);
+            this.methods = route.getMethods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.perIp = Quota.of(route.getPerIp());
+            this.perUser = Quota.of(route.getPerUser());
+            this.rejectedByIp = rejectedCounter(registry, "ip");
+            this.rejectedByUser = rejectedCounter(registry, "user");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        private boolean matches(AntPathMatcher pathMatcher, String method, String path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (String pattern : patterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Counter rejectedCounter(MeterRegistry registry, String key) {
+            return Counter.builder("http.rate.limit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("route", name)
+                    .tag("key", key)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Quota in nanoseconds: time per token and the burst it may run ahead
+     */
+    private record Quota(long intervalNanos, long burstNanos) {
+
+        static Quota of(RateLimitProperties.Quota quota) {
+            if (quota == null || quota.getCapacity() <= 0 || quota.getRefillPerSecond() <= 0) {
+                return null;
+            }
+            long interval = Math.max(1, Math.round(1_000_000_000L / quota.getRefillPerSecond()));
+            return new Quota(interval, Math.multiplyExact(interval, (long) quota.getCapacity()));
+        }
+    }
+
+    /**
+     * Token bucket stored as the instant (nanoTime) at which it is full again
+     */
+    private static final class Bucket {
+        private final AtomicLong fullAt;
+
+        Bucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        long tryAcquire(Quota quota, long now) {
+            while (true) {
+                long current = fullAt.get();
+                // A token pushes the refill horizon out by one interval from now or from where it was
+                long next = (current - now < 0 ? now : current) + quota.intervalNanos;
+                long ahead = next - now;
+                if (ahead > quota.burstNanos) {
+                    return ahead - quota.burstNanos;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return fullAt.get() - now <= 0;
+        }
+    }
+}
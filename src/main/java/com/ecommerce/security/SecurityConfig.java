@@ -1,5 +1,6 @@
 package com.ecommerce.security;
 
+import com.ecommerce.idempotency.IdempotencyFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +11,7 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -37,6 +39,8 @@ public class SecurityConfig {
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+    private final RateLimitFilter rateLimitFilter;
+    private final IdempotencyFilter idempotencyFilter;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -56,6 +60,13 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    @Bean
+    public WebSecurityCustomizer webSecurityCustomizer() {
+        // Fingerprinted public assets: bypass the security filter chain entirely
+        return web -> web.ignoring()
+                .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/assets/**"));
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -91,6 +102,12 @@ public class SecurityConfig {
                         .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/categories/**", "GET")).permitAll()
                         .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/reviews/**", "GET")).permitAll()
                         
+                        // Actuator: probes and the Prometheus scrape are open, everything else is admin-only
+                        .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/actuator/health/**")).permitAll()
+                        .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/actuator/info")).permitAll()
+                        .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/actuator/prometheus")).permitAll()
+                        .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/actuator/**")).hasRole("ADMIN")
+                        
                         // Admin endpoints
                         .requestMatchers(new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/admin/**")).hasRole("ADMIN")
                         
@@ -101,7 +118,9 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         // For H2 console
         http.headers(headers -> headers.frameOptions(frame -> frame.sameOrigin()));
@@ -6,6 +6,7 @@ import com.ecommerce.dto.request.RegisterRequest;
 import com.ecommerce.dto.response.AuthResponse;
 import com.ecommerce.exception.BadRequestException;
 import com.ecommerce.exception.UnauthorizedException;
+import com.ecommerce.metrics.ApplicationMetrics;
 import com.ecommerce.model.User;
 import com.ecommerce.repository.UserRepository;
 import com.ecommerce.util.JwtTokenProvider;
@@ -31,6 +32,7 @@ public class AuthService {
     private final UserService userService;
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
+    private final ApplicationMetrics applicationMetrics;
 
     /**
      * Authenticate user and generate JWT token
@@ -39,6 +41,18 @@ public class AuthService {
      * @return authentication response with token
      */
     public AuthResponse login(LoginRequest loginRequest) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            AuthResponse response = authenticate(loginRequest);
+            succeeded = true;
+            return response;
+        } finally {
+            applicationMetrics.loginTimer().record(start, succeeded);
+        }
+    }
+
+    private AuthResponse authenticate(LoginRequest loginRequest) {
         try {
             // Authenticate user
             Authentication authentication = authenticationManager.authenticate(
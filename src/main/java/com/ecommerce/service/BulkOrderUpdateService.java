@@ -0,0 +1,227 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.BulkOrderStatusResult;
+import com.ecommerce.dto.BulkOrderStatusResult.Outcome;
+import com.ecommerce.dto.request.BulkOrderStatusRequest;
+import com.ecommerce.model.OrderStateMachine;
+import com.ecommerce.model.enums.OrderStatus;
+import com.ecommerce.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies status, tracking number and carrier changes to many orders at once
+ * Orders are processed in chunks, each in its own transaction: one query
+ * reads the current statuses, one guarded UPDATE per target status moves all
+ * orders that {@link OrderStateMachine} allows, and one JDBC batch writes the
+ * tracking details. The UPDATE only matches orders still in an allowed
+ * source status, so a concurrent change shows up as a per-order conflict.
+ *
+ * @author E-Commerce Team
+ */
+@Service
+public class BulkOrderUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkOrderUpdateService.class);
+
+    /**
+     * Orders per transaction (and per IN list)
+     */
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String UPDATE_TRACKING_SQL =
+            "UPDATE orders SET tracking_number = COALESCE(?, tracking_number), carrier = COALESCE(?, carrier), " +
+            "updated_at = ?, updated_by = ?, version = version + 1 WHERE id = ?";
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final AuditorAware<String> auditorAware;
+
+    public BulkOrderUpdateService(OrderRepository orderRepository,
+                                  DataSource dataSource,
+                                  PlatformTransactionManager transactionManager,
+                                  AuditorAware<String> auditorAware) {
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.auditorAware = auditorAware;
+    }
+
+    /**
+     * Apply a bulk update
+     *
+     * @param request updates, at most one per order
+     * @return per-order results in request order
+     */
+    public BulkOrderStatusResult apply(BulkOrderStatusRequest request) {
+        List<BulkOrderStatusRequest.Update> updates = request.getUpdates();
+        BulkOrderStatusResult.Item[] results = new BulkOrderStatusResult.Item[updates.size()];
+        String updatedBy = auditorAware.getCurrentAuditor().orElse("system");
+
+        Map<Long, Integer> seen = new HashMap<>(updates.size() * 2);
+        List<Integer> pending = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            if (seen.putIfAbsent(updates.get(i).getOrderId(), i) != null) {
+                results[i] = result(updates.get(i), Outcome.DUPLICATE, null, null,
+                        "Order appears earlier in this request");
+            } else {
+                pending.add(i);
+            }
+        }
+
+        for (int start = 0; start < pending.size(); start += CHUNK_SIZE) {
+            List<Integer> chunk = pending.subList(start, Math.min(start + CHUNK_SIZE, pending.size()));
+            try {
+                transaction.executeWithoutResult(status -> applyChunk(updates, chunk, results, updatedBy));
+            } catch (DataAccessException | TransactionException ex) {
+                logger.error("Bulk order update chunk of {} orders failed", chunk.size(), ex);
+                for (int i : chunk) {
+                    results[i] = result(updates.get(i), Outcome.CONFLICT, null, null,
+                            "Update failed and was rolled back; retry this order");
+                }
+            }
+        }
+
+        int updated = 0;
+        int unchanged = 0;
+        for (BulkOrderStatusResult.Item item : results) {
+            if (item.getOutcome() == Outcome.UPDATED) {
+                updated++;
+            } else if (item.getOutcome() == Outcome.UNCHANGED) {
+                unchanged++;
+            }
+        }
+        logger.info("Bulk order update by {}: {} requested, {} updated, {} unchanged",
+                updatedBy, results.length, updated, unchanged);
+
+        return BulkOrderStatusResult.builder()
+                .requested(results.length)
+                .updated(updated)
+                .unchanged(unchanged)
+                .failed(results.length - updated - unchanged)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private void applyChunk(List<BulkOrderStatusRequest.Update> updates, List<Integer> chunk,
+                            BulkOrderStatusResult.Item[] results, String updatedBy) {
+        Map<Long, OrderStatus> current = statuses(chunk.stream().map(i -> updates.get(i).getOrderId()).toList());
+
+        // Validate each order against the state machine and group the moves by target
+        Map<OrderStatus, List<Integer>> moves = new EnumMap<>(OrderStatus.class);
+        for (int i : chunk) {
+            BulkOrderStatusRequest.Update update = updates.get(i);
+            OrderStatus before = current.get(update.getOrderId());
+            if (before == null) {
+                results[i] = result(update, Outcome.NOT_FOUND, null, null, "Order not found");
+                continue;
+            }
+            OrderStatus target = update.getStatus() != null ? update.getStatus() : before;
+            String rejection = validate(before, target, hasTracking(update));
+            if (rejection != null) {
+                results[i] = result(update, Outcome.REJECTED, before, before, rejection);
+                continue;
+            }
+            if (target != before) {
+                moves.computeIfAbsent(target, status -> new ArrayList<>()).add(i);
+            }
+            results[i] = result(update, target != before || hasTracking(update) ? Outcome.UPDATED : Outcome.UNCHANGED,
+                    before, target, null);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        moves.forEach((target, indexes) -> {
+            List<Long> ids = indexes.stream().map(i -> updates.get(i).getOrderId()).toList();
+            int moved = target == OrderStatus.DELIVERED
+                    ? orderRepository.transitionToDelivered(ids, OrderStateMachine.sourcesOf(target), now, updatedBy)
+                    : orderRepository.transitionStatus(ids, OrderStateMachine.sourcesOf(target), target, now, updatedBy);
+            if (moved < ids.size()) {
+                Map<Long, OrderStatus> after = statuses(ids);
+                for (int i : indexes) {
+                    OrderStatus actual = after.get(updates.get(i).getOrderId());
+                    if (actual != target) {
+                        results[i] = result(updates.get(i), Outcome.CONFLICT, results[i].getPreviousStatus(), actual,
+                                "Order changed concurrently; retry this order");
+                    }
+                }
+            }
+        });
+
+        List<BulkOrderStatusRequest.Update> tracking = new ArrayList<>();
+        for (int i : chunk) {
+            if (results[i].getOutcome() == Outcome.UPDATED && hasTracking(updates.get(i))) {
+                tracking.add(updates.get(i));
+            }
+        }
+        if (!tracking.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_TRACKING_SQL, tracking, tracking.size(), (ps, update) -> {
+                ps.setString(1, update.getTrackingNumber());
+                ps.setString(2, update.getCarrier());
+                ps.setObject(3, now);
+                ps.setString(4, updatedBy);
+                ps.setLong(5, update.getOrderId());
+            });
+        }
+    }
+
+    /**
+     * Check a change against the state machine
+     *
+     * @return reason it is rejected, or null if allowed
+     */
+    private static String validate(OrderStatus before, OrderStatus target, boolean tracking) {
+        if (target != before) {
+            if (target == OrderStatus.CANCELLED) {
+                // Cancelling restores stock and releases discount codes, one order at a time
+                return "Orders must be cancelled individually";
+            }
+            if (!OrderStateMachine.canTransition(before, target)) {
+                return OrderStateMachine.describeRejection(before, target);
+            }
+        }
+        if (tracking && !OrderStateMachine.acceptsTracking(target)) {
+            return "Tracking details cannot be set on a " + target + " order";
+        }
+        return null;
+    }
+
+    private Map<Long, OrderStatus> statuses(List<Long> ids) {
+        Map<Long, OrderStatus> statuses = new HashMap<>(ids.size() * 2);
+        for (Object[] row : orderRepository.findStatusesByIdIn(ids)) {
+            statuses.put((Long) row[0], (OrderStatus) row[1]);
+        }
+        return statuses;
+    }
+
+    private static boolean hasTracking(BulkOrderStatusRequest.Update update) {
+        return update.getTrackingNumber() != null || update.getCarrier() != null;
+    }
+
+    private static BulkOrderStatusResult.Item result(BulkOrderStatusRequest.Update update, Outcome outcome,
+                                                     OrderStatus previousStatus, OrderStatus status, String message) {
+        return BulkOrderStatusResult.Item.builder()
+                .orderId(update.getOrderId())
+                .outcome(outcome)
+                .previousStatus(previousStatus)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
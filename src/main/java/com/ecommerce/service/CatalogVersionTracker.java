@@ -0,0 +1,182 @@
+package com.ecommerce.service;
+
+import com.ecommerce.event.CategoryChangedEvent;
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Product;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory catalog versions used for conditional GET (ETag / Last-Modified)
+ * List endpoints are versioned by generation counters bumped after every committed
+ * product or category write; product details by entity version plus stock and
+ * sales, which change through bulk updates that leave the version alone. Known
+ * product versions are kept in a map so revalidation can be answered without a query.
+ *
+ * @author E-Commerce Team
+ */
+@Component
+public class CatalogVersionTracker {
+
+    private static final int MAX_TRACKED_PRODUCTS = 100_000;
+
+    // Seeded with the start time so ETags from a previous run never match
+    private final AtomicLong productGeneration = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong categoryGeneration = new AtomicLong(System.currentTimeMillis());
+    private volatile long lastModified = System.currentTimeMillis();
+
+    private final Map<Long, EntityVersion> productVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Current product generation; capture before reading product data
+     *
+     * @return generation
+     */
+    public long productGeneration() {
+        return productGeneration.get();
+    }
+
+    /**
+     * Time of the last committed catalog change
+     *
+     * @return epoch millis
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * ETag for product listing endpoints
+     *
+     * @param accept request Accept header
+     * @return strong ETag
+     */
+    public String productListETag(String accept) {
+        return "\"pl" + productGeneration.get() + representation(accept) + "\"";
+    }
+
+    /**
+     * ETag for category endpoints (categories embed product counts)
+     *
+     * @param accept request Accept header
+     * @return strong ETag
+     */
+    public String categoryETag(String accept) {
+        return "\"c" + categoryGeneration.get() + "." + productGeneration.get() + representation(accept) + "\"";
+    }
+
+    /**
+     * Get the known version of a product without touching the database
+     *
+     * @param productId product ID
+     * @return version or null if not known
+     */
+    public EntityVersion findProductVersion(Long productId) {
+        return productVersions.get(productId);
+    }
+
+    /**
+     * Derive and remember the version of a loaded product
+     * The entry is only kept if no product was committed since {@code generationAtRead},
+     * so a read racing with a write cannot leave a stale version behind.
+     *
+     * @param product loaded product
+     * @param generationAtRead product generation captured before the read
+     * @return product version
+     */
+    public EntityVersion recordProduct(Product product, long generationAtRead) {
+        Category category = product.getCategory();
+        long categoryVersion = category != null && category.getVersion() != null ? category.getVersion() : 0;
+        LocalDateTime updatedAt = latest(product.getUpdatedAt(), category != null ? category.getUpdatedAt() : null);
+
+        EntityVersion version = new EntityVersion(
+                "p" + product.getId() + "-" + product.getVersion() + "-" + categoryVersion
+                        + "-" + product.getStockQuantity() + "." + product.getSalesCount(),
+                updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1);
+
+        if (productGeneration.get() == generationAtRead) {
+            if (productVersions.size() >= MAX_TRACKED_PRODUCTS) {
+                productVersions.clear();
+            }
+            productVersions.put(product.getId(), version);
+            if (productGeneration.get() != generationAtRead) {
+                productVersions.remove(product.getId(), version);
+            }
+        }
+        return version;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        productGeneration.incrementAndGet();
+        productVersions.remove(event.getProductId());
+        lastModified = System.currentTimeMillis();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryGeneration.incrementAndGet();
+        // Product details embed the category name, so every known product version is stale
+        productGeneration.incrementAndGet();
+        productVersions.clear();
+        lastModified = System.currentTimeMillis();
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    /**
+     * Binary representations get their own strong ETag
+     */
+    private static String representation(String accept) {
+        if (accept == null) {
+            return "";
+        }
+        if (accept.contains("smile")) {
+            return "-smile";
+        }
+        if (accept.contains("cbor")) {
+            return "-cbor";
+        }
+        return "";
+    }
+
+    /**
+     * Version of a single entity representation
+     */
+    public static final class EntityVersion {
+        private final String tag;
+        private final long lastModified;
+
+        EntityVersion(String tag, long lastModified) {
+            this.tag = tag;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * Strong ETag for this version
+         *
+         * @param accept request Accept header
+         * @return ETag
+         */
+        public String eTag(String accept) {
+            return "\"" + tag + representation(accept) + "\"";
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+    }
+}
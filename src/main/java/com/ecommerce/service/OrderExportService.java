@@ -0,0 +1,434 @@
+package com.ecommerce.service;
+
+import com.ecommerce.exception.BadRequestException;
+import com.ecommerce.model.enums.OrderStatus;
+import com.ecommerce.model.enums.PaymentStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service for streaming order exports
+ * Rows are read through a forward-only JDBC cursor and written straight to the
+ * output stream, so memory use does not depend on the number of orders exported.
+ *
+ * @author E-Commerce Team
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderExportService.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String SELECT_ORDERS =
+            "SELECT o.id, o.order_number, o.order_date, o.status, o.payment_status, o.payment_method, " +
+            "o.subtotal, o.tax_amount, o.shipping_cost, o.discount_amount, o.total_amount, o.discount_code, " +
+            "o.tracking_number, o.carrier, u.id AS user_id, u.username, u.email, " +
+            "i.id AS item_id, i.product_id, i.product_sku, i.product_name, i.quantity, i.unit_price, i.total_price " +
+            "FROM orders o " +
+            "JOIN users u ON u.id = o.user_id " +
+            "LEFT JOIN order_items i ON i.order_id = o.id AND COALESCE(i.deleted, FALSE) = FALSE " +
+            "WHERE COALESCE(o.deleted, FALSE) = FALSE";
+
+    private static final String[] CSV_HEADER = {
+            "order_id", "order_number", "order_date", "status", "payment_status", "payment_method",
+            "subtotal", "tax_amount", "shipping_cost", "discount_amount", "total_amount", "discount_code",
+            "tracking_number", "carrier", "user_id", "username", "email",
+            "item_id", "product_id", "product_sku", "product_name", "quantity", "unit_price", "item_total"
+    };
+
+    /**
+     * Supported export formats
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Parse a format name case-insensitively
+         *
+         * @param value format name
+         * @return format
+         */
+        public static Format from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public OrderExportService(DataSource dataSource,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // PostgreSQL only honours the fetch size inside a transaction (autocommit off)
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stream orders matching the filter to the given output stream
+     *
+     * @param format output format
+     * @param from order date lower bound (inclusive), may be null
+     * @param to order date upper bound (inclusive), may be null
+     * @param status order status, may be null
+     * @param paymentStatus payment status, may be null
+     * @param out destination stream (not closed)
+     * @return number of orders written
+     */
+    public long exportOrders(Format format, LocalDateTime from, LocalDateTime to,
+                             OrderStatus status, PaymentStatus paymentStatus, OutputStream out) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_ORDERS);
+        List<Object> args = new ArrayList<>(4);
+        if (from != null) {
+            sql.append(" AND o.order_date >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND o.order_date <= ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (status != null) {
+            sql.append(" AND o.status = ?");
+            args.add(status.name());
+        }
+        if (paymentStatus != null) {
+            sql.append(" AND o.payment_status = ?");
+            args.add(paymentStatus.name());
+        }
+        sql.append(" ORDER BY o.id, i.id");
+
+        long start = System.currentTimeMillis();
+        ExportWriter writer = format == Format.CSV ? new CsvExportWriter(out) : new NdjsonExportWriter(out);
+        readOnlyTransaction.executeWithoutResult(tx -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    for (int i = 0; i < args.size(); i++) {
+                        ps.setObject(i + 1, args.get(i));
+                    }
+                    return ps;
+                },
+                (RowCallbackHandler) writer::writeRow));
+        writer.finish();
+
+        logger.info("Exported {} orders as {} in {} ms", writer.getOrderCount(), format,
+                System.currentTimeMillis() - start);
+        return writer.getOrderCount();
+    }
+
+    private static String text(BigDecimal value) {
+        return value == null ? "" : value.toPlainString();
+    }
+
+    /**
+     * Format-specific row writer; rows arrive ordered by order ID then item ID
+     */
+    private abstract static class ExportWriter {
+        private long currentOrderId = -1;
+        private long orderCount;
+
+        void writeRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong("id");
+            try {
+                if (orderId != currentOrderId) {
+                    if (currentOrderId != -1) {
+                        endOrder();
+                    }
+                    currentOrderId = orderId;
+                    orderCount++;
+                    beginOrder(rs);
+                }
+                rs.getLong("item_id");
+                if (!rs.wasNull()) {
+                    writeItem(rs);
+                }
+            } catch (IOException e) {
+                // Client went away; abort the cursor
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() {
+            try {
+                if (currentOrderId != -1) {
+                    endOrder();
+                }
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        long getOrderCount() {
+            return orderCount;
+        }
+
+        abstract void beginOrder(ResultSet rs) throws SQLException, IOException;
+
+        abstract void writeItem(ResultSet rs) throws SQLException, IOException;
+
+        abstract void endOrder() throws IOException;
+
+        abstract void flush() throws IOException;
+    }
+
+    /**
+     * One CSV row per order item; order columns are repeated on every row
+     */
+    private static class CsvExportWriter extends ExportWriter {
+        private final Writer writer;
+        private final String[] orderColumns = new String[17];
+        private boolean orderHasItems;
+
+        CsvExportWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            try {
+                writeLine(CSV_HEADER);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void beginOrder(ResultSet rs) throws SQLException {
+            orderColumns[0] = rs.getString("id");
+            orderColumns[1] = rs.getString("order_number");
+            Timestamp orderDate = rs.getTimestamp("order_date");
+            orderColumns[2] = orderDate != null ? orderDate.toLocalDateTime().toString() : "";
+            orderColumns[3] = rs.getString("status");
+            orderColumns[4] = rs.getString("payment_status");
+            orderColumns[5] = rs.getString("payment_method");
+            orderColumns[6] = text(rs.getBigDecimal("subtotal"));
+            orderColumns[7] = text(rs.getBigDecimal("tax_amount"));
+            orderColumns[8] = text(rs.getBigDecimal("shipping_cost"));
+            orderColumns[9] = text(rs.getBigDecimal("discount_amount"));
+            orderColumns[10] = text(rs.getBigDecimal("total_amount"));
+            orderColumns[11] = rs.getString("discount_code");
+            orderColumns[12] = rs.getString("tracking_number");
+            orderColumns[13] = rs.getString("carrier");
+            orderColumns[14] = rs.getString("user_id");
+            orderColumns[15] = rs.getString("username");
+            orderColumns[16] = rs.getString("email");
+            orderHasItems = false;
+        }
+
+        @Override
+        void writeItem(ResultSet rs) throws SQLException, IOException {
+            orderHasItems = true;
+            writeOrderColumns();
+            writeField(rs.getString("item_id"));
+            writeField(rs.getString("product_id"));
+            writeField(rs.getString("product_sku"));
+            writeField(rs.getString("product_name"));
+            writeField(rs.getString("quantity"));
+            writeField(text(rs.getBigDecimal("unit_price")));
+            writeLastField(text(rs.getBigDecimal("total_price")));
+        }
+
+        @Override
+        void endOrder() throws IOException {
+            if (!orderHasItems) {
+                writeOrderColumns();
+                writer.write(",,,,,,\r\n");
+            }
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void writeOrderColumns() throws IOException {
+            for (String column : orderColumns) {
+                writeField(column);
+            }
+        }
+
+        private void writeLine(String[] fields) throws IOException {
+            for (int i = 0; i < fields.length - 1; i++) {
+                writeField(fields[i]);
+            }
+            writeLastField(fields[fields.length - 1]);
+        }
+
+        private void writeField(String value) throws IOException {
+            writeValue(value);
+            writer.write(',');
+        }
+
+        private void writeLastField(String value) throws IOException {
+            writeValue(value);
+            writer.write("\r\n");
+        }
+
+        private void writeValue(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            // Neutralise spreadsheet formulas in free-text columns
+            char first = value.charAt(0);
+            boolean formula = first == '=' || first == '+' || first == '@' || first == '\t' || first == '\r'
+                    || (first == '-' && !isNumeric(value));
+            boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            if (formula) {
+                writer.write('\'');
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+
+        private static boolean isNumeric(String value) {
+            for (int i = 1; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (!Character.isDigit(c) && c != '.') {
+                    return false;
+                }
+            }
+            return value.length() > 1;
+        }
+    }
+
+    /**
+     * One JSON object per order with its items nested, newline-delimited
+     */
+    private class NdjsonExportWriter extends ExportWriter {
+        private final JsonGenerator generator;
+
+        NdjsonExportWriter(OutputStream out) {
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(out);
+                this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Records are separated by the newline written in endOrder, not the default space
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void beginOrder(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeStringField("orderNumber", rs.getString("order_number"));
+            Timestamp orderDate = rs.getTimestamp("order_date");
+            generator.writeStringField("orderDate", orderDate != null ? orderDate.toLocalDateTime().toString() : null);
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeStringField("paymentStatus", rs.getString("payment_status"));
+            generator.writeStringField("paymentMethod", rs.getString("payment_method"));
+            writeDecimal("subtotal", rs.getBigDecimal("subtotal"));
+            writeDecimal("taxAmount", rs.getBigDecimal("tax_amount"));
+            writeDecimal("shippingCost", rs.getBigDecimal("shipping_cost"));
+            writeDecimal("discountAmount", rs.getBigDecimal("discount_amount"));
+            writeDecimal("totalAmount", rs.getBigDecimal("total_amount"));
+            generator.writeStringField("discountCode", rs.getString("discount_code"));
+            generator.writeStringField("trackingNumber", rs.getString("tracking_number"));
+            generator.writeStringField("carrier", rs.getString("carrier"));
+            generator.writeNumberField("userId", rs.getLong("user_id"));
+            generator.writeStringField("username", rs.getString("username"));
+            generator.writeStringField("email", rs.getString("email"));
+            generator.writeArrayFieldStart("items");
+        }
+
+        @Override
+        void writeItem(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", rs.getLong("item_id"));
+            generator.writeNumberField("productId", rs.getLong("product_id"));
+            generator.writeStringField("productSku", rs.getString("product_sku"));
+            generator.writeStringField("productName", rs.getString("product_name"));
+            generator.writeNumberField("quantity", rs.getInt("quantity"));
+            writeDecimal("unitPrice", rs.getBigDecimal("unit_price"));
+            writeDecimal("totalPrice", rs.getBigDecimal("total_price"));
+            generator.writeEndObject();
+        }
+
+        @Override
+        void endOrder() throws IOException {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+
+        private void writeDecimal(String field, BigDecimal value) throws IOException {
+            if (value == null) {
+                generator.writeNullField(field);
+            } else {
+                generator.writeNumberField(field, value);
+            }
+        }
+    }
+}
@@ -2,22 +2,31 @@ package com.ecommerce.service;
 
 import com.ecommerce.dto.OrderDTO;
 import com.ecommerce.dto.OrderItemDTO;
+import com.ecommerce.dto.PriceBreakdown;
 import com.ecommerce.dto.request.CreateOrderRequest;
+import com.ecommerce.event.OrderPlacedEvent;
 import com.ecommerce.exception.BadRequestException;
 import com.ecommerce.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.ProductStockUpdater;
+import com.ecommerce.inventory.StockAllocator;
+import com.ecommerce.metrics.ApplicationMetrics;
 import com.ecommerce.model.*;
 import com.ecommerce.model.enums.OrderStatus;
 import com.ecommerce.model.enums.PaymentStatus;
+import com.ecommerce.pricing.Money;
+import com.ecommerce.pricing.PricingContext;
+import com.ecommerce.pricing.PricingEngine;
 import com.ecommerce.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -36,7 +45,13 @@ public class OrderService {
     private final ShoppingCartRepository cartRepository;
     private final UserRepository userRepository;
     private final AddressRepository addressRepository;
-    private final ProductRepository productRepository;
+    private final ApplicationMetrics applicationMetrics;
+    private final PricingEngine pricingEngine;
+    private final PromotionService promotionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockAllocator stockAllocator;
+    private final ProductStockUpdater productStockUpdater;
+    private final WarehouseRepository warehouseRepository;
 
     /**
      * Create order from cart
@@ -46,6 +61,19 @@ public class OrderService {
      * @return created order
      */
     public Order createOrder(Long userId, CreateOrderRequest request) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            Order order = placeOrder(userId, request);
+            succeeded = true;
+            applicationMetrics.orderCreated(order.getTotalAmount());
+            return order;
+        } finally {
+            applicationMetrics.createOrderTimer().record(start, succeeded);
+        }
+    }
+
+    private Order placeOrder(Long userId, CreateOrderRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
@@ -67,11 +95,8 @@ public class OrderService {
         String orderNumber = generateOrderNumber();
 
         // Calculate totals
-        BigDecimal subtotal = cart.getSubtotal();
-        BigDecimal taxAmount = subtotal.multiply(BigDecimal.valueOf(0.1)); // 10% tax
-        BigDecimal shippingCost = calculateShippingCost(subtotal);
-        BigDecimal discountAmount = BigDecimal.ZERO; // TODO: Apply discount code
-        BigDecimal totalAmount = subtotal.add(taxAmount).add(shippingCost).subtract(discountAmount);
+        List<CartItem> cartItems = new ArrayList<>(cart.getItems());
+        PricingContext pricing = pricingEngine.priceCartItems(cartItems, userId, request.getDiscountCode());
 
         // Create order
         Order order = Order.builder()
@@ -81,54 +106,118 @@ public class OrderService {
                 .status(OrderStatus.PENDING)
                 .paymentMethod(request.getPaymentMethod())
                 .paymentStatus(PaymentStatus.PENDING)
-                .subtotal(subtotal)
-                .taxAmount(taxAmount)
-                .shippingCost(shippingCost)
-                .discountAmount(discountAmount)
-                .totalAmount(totalAmount)
-                .discountCode(request.getDiscountCode())
+                .subtotal(Money.toDecimal(pricing.getSubtotal()))
+                .taxAmount(Money.toDecimal(pricing.getTaxAmount()))
+                .shippingCost(Money.toDecimal(pricing.getShippingCost()))
+                .discountAmount(Money.toDecimal(pricing.getDiscountTotal()))
+                .totalAmount(Money.toDecimal(pricing.getTotal()))
+                .discountCode(pricing.getDiscountCode())
                 .notes(request.getNotes())
                 .shippingAddress(shippingAddress.getShippingLabel())
                 .billingAddress(billingAddress.getShippingLabel())
                 .build();
 
-        // Create order items from cart items
-        for (CartItem cartItem : cart.getItems()) {
+        // Check stock availability
+        for (CartItem cartItem : cartItems) {
             Product product = cartItem.getProduct();
-
-            // Check stock availability
             if (!product.isInStock() || product.getStockQuantity() < cartItem.getQuantity()) {
                 throw new BadRequestException("Insufficient stock for product: " + product.getName());
             }
+        }
 
-            OrderItem orderItem = OrderItem.builder()
-                    .order(order)
-                    .product(product)
-                    .quantity(cartItem.getQuantity())
-                    .unitPrice(cartItem.getUnitPrice())
-                    .productName(product.getName())
-                    .productSku(product.getSku())
-                    .build();
-            orderItem.calculateTotalPrice();
-
-            order.addItem(orderItem);
-
-            // Reduce stock
-            product.removeStock(cartItem.getQuantity());
-            product.incrementSalesCount(cartItem.getQuantity());
-            productRepository.save(product);
+        // Take the units from warehouses; a line shipped from several becomes one item per warehouse
+        List<List<StockAllocator.Pick>> picks = stockAllocator.reserve(cartItems.stream()
+                .map(item -> new StockAllocator.Line(item.getProduct().getId(), item.getProduct().getName(),
+                        item.getQuantity()))
+                .toList(), shippingAddress);
+
+        // Create order items from cart items
+        for (int line = 0; line < cartItems.size(); line++) {
+            CartItem cartItem = cartItems.get(line);
+            Product product = cartItem.getProduct();
+
+            List<StockAllocator.Pick> linePicks = picks.get(line);
+            if (linePicks.isEmpty()) {
+                order.addItem(buildItem(order, product, cartItem.getQuantity(), pricing.unitPrice(line),
+                        pricing.lineDiscount(line), pricing.lineTax(line), null));
+            } else {
+                // Discount and tax are split by quantity, so the items add up to the line exactly
+                int parts = linePicks.size();
+                long[] weights = new long[parts];
+                for (int i = 0; i < parts; i++) {
+                    weights[i] = linePicks.get(i).quantity();
+                }
+                long[] discounts = new long[parts];
+                long[] taxes = new long[parts];
+                Money.allocate(pricing.lineDiscount(line), weights, parts, discounts);
+                Money.allocate(pricing.lineTax(line), weights, parts, taxes);
+                for (int i = 0; i < parts; i++) {
+                    StockAllocator.Pick pick = linePicks.get(i);
+                    order.addItem(buildItem(order, product, pick.quantity(), pricing.unitPrice(line),
+                            discounts[i], taxes[i], warehouseRepository.getReferenceById(pick.warehouseId())));
+                }
+            }
         }
 
         // Save order
         order = orderRepository.save(order);
 
+        // Reserve and record the discount code (released again on rollback)
+        promotionService.redeem(pricing, order);
+
+        // Reduce the product totals last, so their rows stay locked only briefly
+        for (CartItem cartItem : cartItems) {
+            productStockUpdater.recordSale(cartItem.getProduct(), cartItem.getQuantity());
+        }
+
         // Clear cart
         cart.clear();
         cartRepository.save(cart);
 
+        eventPublisher.publishEvent(new OrderPlacedEvent(order.getId(), userId, cartItems.stream()
+                .map(item -> new OrderPlacedEvent.Line(item.getProduct().getId(), item.getQuantity()))
+                .toList()));
+
         return order;
     }
 
+    private OrderItem buildItem(Order order, Product product, int quantity, long unitPrice, long discount, long tax,
+                                Warehouse warehouse) {
+        OrderItem orderItem = OrderItem.builder()
+                .order(order)
+                .product(product)
+                .warehouse(warehouse)
+                .quantity(quantity)
+                .unitPrice(Money.toDecimal(unitPrice))
+                .discount(Money.toDecimal(discount))
+                .tax(Money.toDecimal(tax))
+                .productName(product.getName())
+                .productSku(product.getSku())
+                .build();
+        orderItem.calculateTotalPrice();
+        return orderItem;
+    }
+
+    /**
+     * Price the user's cart as an order would be charged, without placing it
+     * 
+     * @param userId user ID
+     * @param discountCode discount code (optional)
+     * @return price breakdown
+     */
+    @Transactional(readOnly = true)
+    public PriceBreakdown quoteOrder(Long userId, String discountCode) {
+        ShoppingCart cart = cartRepository.findByUserId(userId)
+                .orElseThrow(() -> new BadRequestException("Shopping cart is empty"));
+
+        if (cart.isEmpty()) {
+            throw new BadRequestException("Cannot quote an empty cart");
+        }
+
+        return pricingEngine.toBreakdown(
+                pricingEngine.priceCartItems(new ArrayList<>(cart.getItems()), userId, discountCode));
+    }
+
     /**
      * Get order by ID
      * 
@@ -184,7 +273,14 @@ public class OrderService {
      * @return updated order
      */
     public Order updateOrderStatus(Long orderId, OrderStatus status) {
+        if (status == OrderStatus.CANCELLED) {
+            // Cancelling has side effects (stock, discount codes) beyond the status change
+            return cancelOrder(orderId, "Cancelled by administrator");
+        }
         Order order = getOrderById(orderId);
+        if (status != order.getStatus() && !OrderStateMachine.canTransition(order.getStatus(), status)) {
+            throw new BadRequestException(OrderStateMachine.describeRejection(order.getStatus(), status));
+        }
         order.updateStatus(status);
         return orderRepository.save(order);
     }
@@ -198,6 +294,10 @@ public class OrderService {
      */
     public Order updatePaymentStatus(Long orderId, PaymentStatus paymentStatus) {
         Order order = getOrderById(orderId);
+        if (paymentStatus != order.getPaymentStatus()
+                && !OrderStateMachine.canTransition(order.getPaymentStatus(), paymentStatus)) {
+            throw new BadRequestException("Payment cannot move from " + order.getPaymentStatus() + " to " + paymentStatus);
+        }
         order.updatePaymentStatus(paymentStatus);
         return orderRepository.save(order);
     }
@@ -219,10 +319,14 @@ public class OrderService {
         // Restore stock
         for (OrderItem item : order.getItems()) {
             Product product = item.getProduct();
-            product.addStock(item.getQuantity());
-            productRepository.save(product);
+            if (item.getWarehouse() != null) {
+                stockAllocator.release(item.getWarehouse().getId(), product.getId(), item.getQuantity());
+            }
+            productStockUpdater.adjust(product, item.getQuantity());
         }
 
+        promotionService.releaseRedemption(order);
+
         order.cancel(reason);
         return orderRepository.save(order);
     }
@@ -237,9 +341,15 @@ public class OrderService {
      */
     public Order updateTrackingInfo(Long orderId, String trackingNumber, String carrier) {
         Order order = getOrderById(orderId);
+        // Orders not yet shipped are shipped now; later statuses only get the details corrected
+        OrderStatus status = OrderStateMachine.canTransition(order.getStatus(), OrderStatus.SHIPPED)
+                ? OrderStatus.SHIPPED : order.getStatus();
+        if (!OrderStateMachine.acceptsTracking(status)) {
+            throw new BadRequestException("Tracking details cannot be set on a " + status + " order");
+        }
         order.setTrackingNumber(trackingNumber);
         order.setCarrier(carrier);
-        order.updateStatus(OrderStatus.SHIPPED);
+        order.updateStatus(status);
         return orderRepository.save(order);
     }
 
@@ -254,20 +364,6 @@ public class OrderService {
         return "ORD-" + timestamp + "-" + (int) (Math.random() * 1000);
     }
 
-    /**
-     * Calculate shipping cost based on subtotal
-     * 
-     * @param subtotal subtotal amount
-     * @return shipping cost
-     */
-    private BigDecimal calculateShippingCost(BigDecimal subtotal) {
-        // Free shipping for orders over 100
-        if (subtotal.compareTo(BigDecimal.valueOf(100)) >= 0) {
-            return BigDecimal.ZERO;
-        }
-        return BigDecimal.valueOf(10);
-    }
-
     /**
      * Convert Order to OrderDTO
      * 
@@ -323,6 +419,7 @@ public class OrderService {
                 .productSku(item.getProductSku())
                 .productId(item.getProduct().getId())
                 .productImageUrl(item.getProduct().getMainImageUrl())
+                .warehouseCode(item.getWarehouse() != null ? item.getWarehouse().getCode() : null)
                 .build();
     }
 }
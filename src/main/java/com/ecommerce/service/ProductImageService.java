@@ -0,0 +1,165 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ProductImageDTO;
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.exception.BadRequestException;
+import com.ecommerce.exception.ResourceNotFoundException;
+import com.ecommerce.media.ImageStorage;
+import com.ecommerce.media.MultipartReader;
+import com.ecommerce.media.ThumbnailCache;
+import com.ecommerce.model.Product;
+import com.ecommerce.model.ProductImage;
+import com.ecommerce.repository.ProductImageRepository;
+import com.ecommerce.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service for uploading product images
+ * The upload is parsed and written to disk as it arrives, outside any
+ * transaction; only the image row is written in one, afterwards. Images
+ * are stored by content, so the same photo uploaded for many products is
+ * kept once and its variants are made once.
+ *
+ * @author E-Commerce Team
+ */
+@Service
+public class ProductImageService {
+
+    /**
+     * Width requested for the thumbnail URL (rounded up to a configured variant width)
+     */
+    private static final int THUMBNAIL_WIDTH = 320;
+
+    private static final int MAX_ALT_TEXT_LENGTH = 200;
+
+    private final ProductRepository productRepository;
+    private final ProductImageRepository productImageRepository;
+    private final ImageStorage imageStorage;
+    private final ThumbnailCache thumbnailCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+
+    public ProductImageService(ProductRepository productRepository,
+                               ProductImageRepository productImageRepository,
+                               ImageStorage imageStorage,
+                               ThumbnailCache thumbnailCache,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productImageRepository = productImageRepository;
+        this.imageStorage = imageStorage;
+        this.thumbnailCache = thumbnailCache;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Add an image to a product from a multipart/form-data body
+     * Fields: {@code file} (the image), optional {@code altText} and
+     * {@code primary}. The first image of a product is always primary.
+     *
+     * @param productId product ID
+     * @param contentType request Content-Type, carrying the boundary
+     * @param body request body
+     * @return the new image
+     * @throws IOException if the body could not be read or the file not written
+     */
+    public ProductImageDTO upload(Long productId, String contentType, InputStream body) throws IOException {
+        // Refuse before reading the body
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        String boundary = MultipartReader.boundary(contentType);
+        if (boundary == null) {
+            throw new BadRequestException("Expected a multipart/form-data body");
+        }
+
+        ImageStorage.StoredImage stored = null;
+        String altText = null;
+        boolean primary = false;
+        MultipartReader reader = new MultipartReader(body, boundary);
+        for (MultipartReader.Part part = reader.next(); part != null; part = reader.next()) {
+            if ("file".equals(part.name())) {
+                if (stored != null) {
+                    throw new BadRequestException("Only one file can be uploaded at a time");
+                }
+                stored = imageStorage.store(part.body());
+            } else if ("altText".equals(part.name())) {
+                // UTF-8 needs at most 4 bytes per character
+                altText = part.text(MAX_ALT_TEXT_LENGTH * 4).trim();
+                if (altText.length() > MAX_ALT_TEXT_LENGTH) {
+                    throw new BadRequestException("Alt text must not exceed " + MAX_ALT_TEXT_LENGTH + " characters");
+                }
+            } else if ("primary".equals(part.name())) {
+                primary = Boolean.parseBoolean(part.text(16).trim());
+            }
+        }
+        if (stored == null) {
+            throw new BadRequestException("No image in the 'file' field");
+        }
+
+        ImageStorage.StoredImage image = stored;
+        ImageStorage.StoredFile file = imageStorage.resolve(image.relativePath());
+        ImageStorage.Dimensions dimensions = productImageRepository.findFirstByContentHash(image.contentHash())
+                .filter(existing -> existing.getWidth() != null && existing.getHeight() != null)
+                .map(existing -> new ImageStorage.Dimensions(existing.getWidth(), existing.getHeight()))
+                .orElseGet(() -> imageStorage.dimensions(file));
+        String description = altText;
+        boolean makePrimary = primary;
+        ProductImage saved = transaction.execute(status -> save(productId, image, dimensions, description, makePrimary));
+
+        if (!image.duplicate()) {
+            thumbnailCache.pregenerate(file);
+        }
+        return convertToDTO(saved);
+    }
+
+    private ProductImage save(Long productId, ImageStorage.StoredImage image, ImageStorage.Dimensions dimensions,
+                              String altText, boolean primary) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId));
+        long count = productImageRepository.countByProductId(productId);
+        boolean makePrimary = primary || count == 0;
+        String url = "/images/" + image.relativePath();
+        int thumbnailWidth = thumbnailCache.resolveWidth(THUMBNAIL_WIDTH);
+
+        if (makePrimary) {
+            productImageRepository.unsetPrimaryForProduct(productId);
+            product.setMainImageUrl(url);
+        }
+        ProductImage productImage = ProductImage.builder()
+                .imageUrl(url)
+                .thumbnailUrl(thumbnailWidth > 0 ? url + "?w=" + thumbnailWidth : url)
+                .altText(altText)
+                .displayOrder((int) count)
+                .isPrimary(makePrimary)
+                .product(product)
+                .fileSize(image.size())
+                .width(dimensions != null ? dimensions.width() : null)
+                .height(dimensions != null ? dimensions.height() : null)
+                .mimeType(image.mimeType())
+                .contentHash(image.contentHash())
+                .build();
+        productImage = productImageRepository.save(productImage);
+        // Image rows are not product rows, so the entity listener does not see them
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, false));
+        return productImage;
+    }
+
+    private ProductImageDTO convertToDTO(ProductImage image) {
+        return ProductImageDTO.builder()
+                .id(image.getId())
+                .imageUrl(image.getImageUrl())
+                .thumbnailUrl(image.getThumbnailUrl())
+                .altText(image.getAltText())
+                .displayOrder(image.getDisplayOrder())
+                .isPrimary(image.getIsPrimary())
+                .build();
+    }
+}
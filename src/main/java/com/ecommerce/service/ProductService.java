@@ -1,16 +1,22 @@
 package com.ecommerce.service;
 
 import com.ecommerce.dto.ProductDTO;
+import com.ecommerce.dto.ProductSummaryDTO;
 import com.ecommerce.dto.request.CreateProductRequest;
+import com.ecommerce.event.ProductViewedEvent;
 import com.ecommerce.exception.BadRequestException;
 import com.ecommerce.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.ProductStockUpdater;
+import com.ecommerce.metrics.ApplicationMetrics;
 import com.ecommerce.model.Category;
 import com.ecommerce.model.Product;
 import com.ecommerce.model.enums.ProductStatus;
 import com.ecommerce.repository.CategoryRepository;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.WarehouseStockRepository;
 import com.ecommerce.util.SlugGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -30,7 +36,11 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final ProductStockUpdater productStockUpdater;
     private final SlugGenerator slugGenerator;
+    private final ApplicationMetrics applicationMetrics;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new product
@@ -125,11 +135,11 @@ public class ProductService {
      * Get active products
      * 
      * @param pageable pagination information
-     * @return page of active products
+     * @return page of active product summaries
      */
     @Transactional(readOnly = true)
-    public Page<Product> getActiveProducts(Pageable pageable) {
-        return productRepository.findByStatus(ProductStatus.ACTIVE, pageable);
+    public Page<ProductSummaryDTO> getActiveProducts(Pageable pageable) {
+        return productRepository.findSummariesByStatus(ProductStatus.ACTIVE, pageable);
     }
 
     /**
@@ -137,11 +147,11 @@ public class ProductService {
      * 
      * @param categoryId category ID
      * @param pageable pagination information
-     * @return page of products
+     * @return page of product summaries
      */
     @Transactional(readOnly = true)
-    public Page<Product> getProductsByCategory(Long categoryId, Pageable pageable) {
-        return productRepository.findByCategoryIdAndStatus(categoryId, ProductStatus.ACTIVE, pageable);
+    public Page<ProductSummaryDTO> getProductsByCategory(Long categoryId, Pageable pageable) {
+        return productRepository.findSummariesByCategoryIdAndStatus(categoryId, ProductStatus.ACTIVE, pageable);
     }
 
     /**
@@ -149,33 +159,41 @@ public class ProductService {
      * 
      * @param keyword search keyword
      * @param pageable pagination information
-     * @return page of products
+     * @return page of product summaries
      */
     @Transactional(readOnly = true)
-    public Page<Product> searchProducts(String keyword, Pageable pageable) {
-        return productRepository.searchProducts(keyword, pageable);
+    public Page<ProductSummaryDTO> searchProducts(String keyword, Pageable pageable) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            Page<ProductSummaryDTO> result = productRepository.searchProductSummaries(keyword, pageable);
+            succeeded = true;
+            return result;
+        } finally {
+            applicationMetrics.searchProductsTimer().record(start, succeeded);
+        }
     }
 
     /**
      * Get featured products
      * 
      * @param pageable pagination information
-     * @return page of featured products
+     * @return page of featured product summaries
      */
     @Transactional(readOnly = true)
-    public Page<Product> getFeaturedProducts(Pageable pageable) {
-        return productRepository.findFeaturedProducts(pageable);
+    public Page<ProductSummaryDTO> getFeaturedProducts(Pageable pageable) {
+        return productRepository.findFeaturedSummaries(pageable);
     }
 
     /**
      * Get products on sale
      * 
      * @param pageable pagination information
-     * @return page of products on sale
+     * @return page of product summaries on sale
      */
     @Transactional(readOnly = true)
-    public Page<Product> getProductsOnSale(Pageable pageable) {
-        return productRepository.findProductsOnSale(pageable);
+    public Page<ProductSummaryDTO> getProductsOnSale(Pageable pageable) {
+        return productRepository.findSummariesOnSale(pageable);
     }
 
     /**
@@ -223,7 +241,8 @@ public class ProductService {
         if (request.getSalePrice() != null) {
             product.setSalePrice(request.getSalePrice());
         }
-        if (request.getStockQuantity() != null) {
+        if (request.getStockQuantity() != null && !request.getStockQuantity().equals(product.getStockQuantity())) {
+            requireUnassignedStock(productId);
             product.setStockQuantity(request.getStockQuantity());
         }
         if (request.getBrand() != null) {
@@ -261,9 +280,11 @@ public class ProductService {
      * @param quantity quantity to add
      */
     public void addStock(Long productId, int quantity) {
-        Product product = getProductById(productId);
-        product.addStock(quantity);
-        productRepository.save(product);
+        requireUnassignedStock(productId);
+        if (quantity < 0) {
+            throw new BadRequestException("Cannot add negative stock");
+        }
+        productStockUpdater.adjust(getProductById(productId), quantity);
     }
 
     /**
@@ -273,18 +294,33 @@ public class ProductService {
      * @param quantity quantity to remove
      */
     public void removeStock(Long productId, int quantity) {
-        Product product = getProductById(productId);
-        product.removeStock(quantity);
-        productRepository.save(product);
+        requireUnassignedStock(productId);
+        if (quantity < 0) {
+            throw new BadRequestException("Cannot remove negative stock");
+        }
+        productStockUpdater.adjust(getProductById(productId), -quantity);
+    }
+
+    /**
+     * Refuse a direct stock change for a product whose stock is the total of its warehouses
+     * 
+     * @param productId product ID
+     */
+    private void requireUnassignedStock(Long productId) {
+        if (warehouseStockRepository.existsByProductId(productId)) {
+            throw new BadRequestException("Stock of this product is held in warehouses and must be adjusted per warehouse");
+        }
     }
 
     /**
      * Increment product view count
      * 
      * @param productId product ID
+     * @param viewerKey user or anonymous client viewing the product (optional)
      */
-    public void incrementViewCount(Long productId) {
+    public void incrementViewCount(Long productId, String viewerKey) {
         productRepository.incrementViewCount(productId);
+        eventPublisher.publishEvent(new ProductViewedEvent(productId, viewerKey));
     }
 
     /**
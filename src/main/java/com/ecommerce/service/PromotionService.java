@@ -0,0 +1,240 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.PromotionDTO;
+import com.ecommerce.dto.request.CreatePromotionRequest;
+import com.ecommerce.event.PromotionChangedEvent;
+import com.ecommerce.exception.BadRequestException;
+import com.ecommerce.exception.ResourceNotFoundException;
+import com.ecommerce.model.Order;
+import com.ecommerce.model.Promotion;
+import com.ecommerce.model.PromotionRedemption;
+import com.ecommerce.model.enums.PromotionType;
+import com.ecommerce.pricing.CompiledPromotion;
+import com.ecommerce.pricing.Money;
+import com.ecommerce.pricing.PricingContext;
+import com.ecommerce.pricing.PromotionIndex;
+import com.ecommerce.pricing.RedemptionLimiter;
+import com.ecommerce.repository.CategoryRepository;
+import com.ecommerce.repository.PromotionRedemptionRepository;
+import com.ecommerce.repository.PromotionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for promotion management and discount code redemption
+ * 
+ * @author E-Commerce Team
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PromotionService {
+
+    private static final BigDecimal MAX_PERCENTAGE = BigDecimal.valueOf(100);
+
+    private final PromotionRepository promotionRepository;
+    private final PromotionRedemptionRepository redemptionRepository;
+    private final CategoryRepository categoryRepository;
+    private final PromotionIndex promotionIndex;
+    private final RedemptionLimiter redemptionLimiter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Get all promotions
+     * 
+     * @param pageable pagination information
+     * @return page of promotions
+     */
+    @Transactional(readOnly = true)
+    public Page<Promotion> getAllPromotions(Pageable pageable) {
+        return promotionRepository.findAll(pageable);
+    }
+
+    /**
+     * Get promotion by ID
+     * 
+     * @param id promotion ID
+     * @return promotion
+     */
+    @Transactional(readOnly = true)
+    public Promotion getPromotionById(Long id) {
+        return promotionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Promotion", "id", id));
+    }
+
+    /**
+     * Create a promotion
+     * 
+     * @param request promotion request
+     * @return created promotion
+     */
+    public Promotion createPromotion(CreatePromotionRequest request) {
+        String code = PromotionIndex.normalize(request.getCode());
+        if (promotionRepository.existsByCode(code)) {
+            throw new BadRequestException("Promotion code already exists: " + code);
+        }
+        Promotion promotion = Promotion.builder().build();
+        apply(promotion, request, code);
+        promotion = promotionRepository.save(promotion);
+        if (promotion.getUsageLimit() != null) {
+            redemptionLimiter.resync(promotion.getId(), promotion.getUsageLimit());
+        }
+        eventPublisher.publishEvent(new PromotionChangedEvent(promotion.getId()));
+        return promotion;
+    }
+
+    /**
+     * Update a promotion
+     * 
+     * @param id promotion ID
+     * @param request promotion request
+     * @return updated promotion
+     */
+    public Promotion updatePromotion(Long id, CreatePromotionRequest request) {
+        Promotion promotion = getPromotionById(id);
+        String code = PromotionIndex.normalize(request.getCode());
+        if (!code.equals(promotion.getCode()) && promotionRepository.existsByCode(code)) {
+            throw new BadRequestException("Promotion code already exists: " + code);
+        }
+        Integer previousLimit = promotion.getUsageLimit();
+        apply(promotion, request, code);
+        promotion = promotionRepository.save(promotion);
+        if (!Objects.equals(previousLimit, promotion.getUsageLimit())) {
+            // Re-split the new limit over the counter slots, starting from the rows on record
+            redemptionLimiter.resync(promotion.getId(), promotion.getUsageLimit());
+        }
+        eventPublisher.publishEvent(new PromotionChangedEvent(promotion.getId()));
+        return promotion;
+    }
+
+    /**
+     * Deactivate a promotion; redemption history is kept
+     * 
+     * @param id promotion ID
+     */
+    public void deactivatePromotion(Long id) {
+        Promotion promotion = getPromotionById(id);
+        promotion.setActive(false);
+        promotionRepository.save(promotion);
+        eventPublisher.publishEvent(new PromotionChangedEvent(promotion.getId()));
+    }
+
+    /**
+     * Reserve and record the discount code used by a new order
+     * The reservation is returned if the order transaction rolls back.
+     * 
+     * @param pricing priced context of the order
+     * @param order saved order
+     */
+    public void redeem(PricingContext pricing, Order order) {
+        if (pricing.getDiscountCode() == null) {
+            return;
+        }
+        CompiledPromotion promotion = promotionIndex.find(pricing.getDiscountCode());
+        if (promotion == null) {
+            throw new BadRequestException("Discount code " + pricing.getDiscountCode() + " is not valid");
+        }
+        redemptionLimiter.reserve(promotion, order.getUser().getId());
+
+        redemptionRepository.save(PromotionRedemption.builder()
+                .promotion(promotionRepository.getReferenceById(promotion.getId()))
+                .user(order.getUser())
+                .order(order)
+                .discountAmount(Money.toDecimal(pricing.getDiscountTotal() + pricing.getShippingDiscount()))
+                .build());
+    }
+
+    /**
+     * Give back the redemption of a cancelled order
+     * 
+     * @param order cancelled order
+     */
+    public void releaseRedemption(Order order) {
+        redemptionRepository.findByOrderId(order.getId()).ifPresent(redemption -> {
+            redemptionRepository.delete(redemption);
+            if (redemption.getPromotion().getUsageLimit() != null) {
+                redemptionLimiter.release(redemption.getPromotion().getId());
+            }
+        });
+    }
+
+    /**
+     * Convert Promotion to PromotionDTO
+     * 
+     * @param promotion promotion entity
+     * @return promotion DTO
+     */
+    @Transactional(readOnly = true)
+    public PromotionDTO convertToDTO(Promotion promotion) {
+        return PromotionDTO.builder()
+                .id(promotion.getId())
+                .code(promotion.getCode())
+                .description(promotion.getDescription())
+                .type(promotion.getType())
+                .value(promotion.getValue())
+                .maxDiscount(promotion.getMaxDiscount())
+                .minimumSpend(promotion.getMinimumSpend())
+                .startsAt(promotion.getStartsAt())
+                .endsAt(promotion.getEndsAt())
+                .usageLimit(promotion.getUsageLimit())
+                .perUserLimit(promotion.getPerUserLimit())
+                .active(promotion.getActive())
+                .categoryIds(new HashSet<>(promotion.getCategoryIds()))
+                .brands(new HashSet<>(promotion.getBrands()))
+                .redemptionCount(redemptionRepository.countByPromotionId(promotion.getId()))
+                .createdAt(promotion.getCreatedAt())
+                .build();
+    }
+
+    private void apply(Promotion promotion, CreatePromotionRequest request, String code) {
+        BigDecimal value = request.getValue() != null ? request.getValue() : BigDecimal.ZERO;
+        if (request.getType() == PromotionType.PERCENTAGE
+                && (value.signum() <= 0 || value.compareTo(MAX_PERCENTAGE) > 0)) {
+            throw new BadRequestException("Percentage must be greater than 0 and at most 100");
+        }
+        if (request.getType() == PromotionType.FIXED_AMOUNT && value.signum() <= 0) {
+            throw new BadRequestException("Fixed discount amount must be greater than 0");
+        }
+        if (request.getStartsAt() != null && request.getEndsAt() != null
+                && !request.getEndsAt().isAfter(request.getStartsAt())) {
+            throw new BadRequestException("Promotion must end after it starts");
+        }
+        Set<Long> categoryIds = request.getCategoryIds() != null ? request.getCategoryIds() : Set.of();
+        for (Long categoryId : categoryIds) {
+            if (!categoryRepository.existsById(categoryId)) {
+                throw new ResourceNotFoundException("Category", "id", categoryId);
+            }
+        }
+
+        promotion.setCode(code);
+        promotion.setDescription(request.getDescription());
+        promotion.setType(request.getType());
+        promotion.setValue(value);
+        promotion.setMaxDiscount(request.getMaxDiscount());
+        promotion.setMinimumSpend(request.getMinimumSpend());
+        promotion.setStartsAt(request.getStartsAt());
+        promotion.setEndsAt(request.getEndsAt());
+        promotion.setUsageLimit(request.getUsageLimit());
+        promotion.setPerUserLimit(request.getPerUserLimit());
+        promotion.setActive(request.getActive() == null || request.getActive());
+        promotion.getCategoryIds().clear();
+        promotion.getCategoryIds().addAll(categoryIds);
+        promotion.getBrands().clear();
+        if (request.getBrands() != null) {
+            promotion.getBrands().addAll(request.getBrands().stream()
+                    .filter(brand -> brand != null && !brand.isBlank())
+                    .map(String::trim)
+                    .collect(Collectors.toSet()));
+        }
+    }
+}
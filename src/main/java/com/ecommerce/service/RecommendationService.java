@@ -0,0 +1,136 @@
+package com.ecommerce.service;
+
+import com.ecommerce.analytics.CoPurchaseEngine;
+import com.ecommerce.analytics.CoPurchaseIndex;
+import com.ecommerce.analytics.CoViewTracker;
+import com.ecommerce.config.RecommendationProperties;
+import com.ecommerce.dto.ProductSummaryDTO;
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cross-sell recommendations from the co-purchase index and co-view graph
+ * Neighbours are looked up in memory; only the recommended products
+ * themselves are loaded, by primary key, to show current price and stock.
+ * "Also viewed" lists are shown on every product page, so the hydrated
+ * lists are also kept for a short while.
+ *
+ * @author E-Commerce Team
+ */
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    /**
+     * Hydrated "also viewed" lists kept at most; the cache is emptied when full
+     */
+    private static final int MAX_CACHED_LISTS = 10000;
+
+    private final CoPurchaseEngine coPurchaseEngine;
+    private final CoViewTracker coViewTracker;
+    private final ProductRepository productRepository;
+    private final RecommendationProperties properties;
+
+    private final Map<Long, CachedList> alsoViewed = new ConcurrentHashMap<>();
+
+    /**
+     * Products most often bought together with a product
+     *
+     * @param productId product ID
+     * @param limit number of products (capped at the neighbours kept per product)
+     * @return active products, most frequently bought together first
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSummaryDTO> getFrequentlyBoughtTogether(Long productId, int limit) {
+        CoPurchaseIndex.Neighbours neighbours = coPurchaseEngine.neighbours(productId);
+        List<Long> ids = new ArrayList<>(neighbours.size());
+        for (int i = 0; i < neighbours.size(); i++) {
+            ids.add(neighbours.item(i));
+        }
+        return hydrate(ids, Math.min(Math.max(limit, 1), properties.getNeighbours()));
+    }
+
+    /**
+     * Products viewed in the same sessions as a product
+     *
+     * @param productId product ID
+     * @param limit number of products (capped at the neighbours kept per product)
+     * @return active products, strongest first
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSummaryDTO> getAlsoViewed(Long productId, int limit) {
+        RecommendationProperties.CoView coView = properties.getCoView();
+        int size = Math.min(Math.max(limit, 1), coView.getNeighbours());
+        long now = System.currentTimeMillis();
+        CachedList cached = alsoViewed.get(productId);
+        if (cached == null || now - cached.builtAt() >= coView.getResultTtlMs()) {
+            List<Long> ids = new ArrayList<>();
+            for (long id : coViewTracker.alsoViewed(productId, coView.getNeighbours())) {
+                ids.add(id);
+            }
+            cached = new CachedList(now, hydrate(ids, coView.getNeighbours()));
+            if (alsoViewed.size() >= MAX_CACHED_LISTS) {
+                alsoViewed.clear();
+            }
+            alsoViewed.put(productId, cached);
+        }
+        List<ProductSummaryDTO> products = cached.products();
+        return products.subList(0, Math.min(size, products.size()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Prices, stock or status shown in the lists may have changed
+        alsoViewed.clear();
+    }
+
+    /**
+     * Products to suggest alongside a cart
+     *
+     * @param productIds products in the cart
+     * @return active products not in the cart, best first
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSummaryDTO> getCartRecommendations(Collection<Long> productIds) {
+        if (productIds.isEmpty() || properties.getCartLimit() <= 0) {
+            return List.of();
+        }
+        // Over-fetch: some neighbours may since have been deactivated or deleted
+        List<Long> ids = coPurchaseEngine.recommend(productIds, properties.getCartLimit() * 2).stream()
+                .map(CoPurchaseIndex.Scored::item)
+                .toList();
+        return hydrate(ids, properties.getCartLimit());
+    }
+
+    private List<ProductSummaryDTO> hydrate(List<Long> rankedIds, int size) {
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductSummaryDTO> summaries = productRepository.findActiveSummariesByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(ProductSummaryDTO::getId, Function.identity()));
+        List<ProductSummaryDTO> products = new ArrayList<>(size);
+        for (Long id : rankedIds) {
+            ProductSummaryDTO summary = summaries.get(id);
+            if (summary != null && products.size() < size) {
+                products.add(summary);
+            }
+        }
+        return List.copyOf(products);
+    }
+
+    private record CachedList(long builtAt, List<ProductSummaryDTO> products) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.SearchProperties;
+import com.ecommerce.dto.FuzzySearchResultDTO;
+import com.ecommerce.dto.ProductSummaryDTO;
+import com.ecommerce.dto.SuggestionDTO;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.FuzzyIndex;
+import com.ecommerce.search.SearchCatalog;
+import com.ecommerce.search.SuggestionIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Product search served from in-memory indexes
+ * Suggestions are answered entirely from the {@link SearchCatalog} indexes,
+ * without touching the database, so they can run on every keystroke.
+ * Typo-tolerant search finds product IDs the same way and loads only the
+ * products it returns.
+ *
+ * @author E-Commerce Team
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    /**
+     * Longest query considered; longer input is cut
+     */
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private final SearchCatalog searchCatalog;
+    private final SearchProperties properties;
+    private final ProductRepository productRepository;
+
+    /**
+     * Products, brands and categories with a word starting with the query
+     *
+     * @param query text typed so far
+     * @param limit number of suggestions (capped at the configured maximum)
+     * @return suggestions, most popular first
+     */
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String text = query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        int size = Math.min(Math.max(limit, 1), properties.getSuggest().getMaxResults());
+        return searchCatalog.suggestions().suggest(text, size).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    /**
+     * Products whose names or brands match the query words, allowing a few typos per word
+     *
+     * @param query search text
+     * @param limit number of products (capped at the configured maximum)
+     * @return active products, best match first, and the corrected query if a word was misspelled
+     */
+    @Transactional(readOnly = true)
+    public FuzzySearchResultDTO fuzzySearch(String query, int limit) {
+        String text = query == null ? "" : query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        int size = Math.min(Math.max(limit, 1), properties.getFuzzy().getMaxResults());
+        FuzzyIndex.Result result = searchCatalog.fuzzy().search(text, size);
+        return FuzzySearchResultDTO.builder()
+                .query(text)
+                .didYouMean(result.didYouMean())
+                .exact(result.exact())
+                .products(hydrate(result.productIds()))
+                .build();
+    }
+
+    private List<ProductSummaryDTO> hydrate(List<Long> rankedIds) {
+        if (rankedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ProductSummaryDTO> summaries = productRepository.findActiveSummariesByIdIn(rankedIds).stream()
+                .collect(Collectors.toMap(ProductSummaryDTO::getId, Function.identity()));
+        // Keep the index's ranking; products changed since the last rebuild drop out
+        List<ProductSummaryDTO> products = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            ProductSummaryDTO summary = summaries.get(id);
+            if (summary != null) {
+                products.add(summary);
+            }
+        }
+        return products;
+    }
+
+    private SuggestionDTO toDTO(SuggestionIndex.Suggestion suggestion) {
+        return SuggestionDTO.builder()
+                .type(suggestion.kind().name())
+                .text(suggestion.text())
+                .id(suggestion.id())
+                .slug(suggestion.slug())
+                .build();
+    }
+}
@@ -6,10 +6,12 @@ import com.ecommerce.dto.request.AddToCartRequest;
 import com.ecommerce.exception.BadRequestException;
 import com.ecommerce.exception.InsufficientStockException;
 import com.ecommerce.exception.ResourceNotFoundException;
+import com.ecommerce.metrics.ApplicationMetrics;
 import com.ecommerce.model.CartItem;
 import com.ecommerce.model.Product;
 import com.ecommerce.model.ShoppingCart;
 import com.ecommerce.model.User;
+import com.ecommerce.pricing.PricingEngine;
 import com.ecommerce.repository.CartItemRepository;
 import com.ecommerce.repository.ProductRepository;
 import com.ecommerce.repository.ShoppingCartRepository;
@@ -37,6 +39,9 @@ public class ShoppingCartService {
     private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final ApplicationMetrics applicationMetrics;
+    private final PricingEngine pricingEngine;
+    private final RecommendationService recommendationService;
 
     /**
      * Get or create shopping cart for user
@@ -78,6 +83,19 @@ public class ShoppingCartService {
      * @return updated cart
      */
     public ShoppingCart addItemToCart(Long userId, AddToCartRequest request) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
+            ShoppingCart cart = addItem(userId, request);
+            succeeded = true;
+            applicationMetrics.cartItemAdded(request.getQuantity());
+            return cart;
+        } finally {
+            applicationMetrics.addItemToCartTimer().record(start, succeeded);
+        }
+    }
+
+    private ShoppingCart addItem(Long userId, AddToCartRequest request) {
         ShoppingCart cart = getOrCreateCart(userId);
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", request.getProductId()));
@@ -200,6 +218,7 @@ public class ShoppingCartService {
 
     /**
      * Get cart DTO for user
+     * Includes products frequently bought with the cart contents.
      * 
      * @param userId user ID
      * @return cart DTO
@@ -216,7 +235,10 @@ public class ShoppingCartService {
                     .build();
         }
 
-        return convertToDTO(cart);
+        CartDTO dto = convertToDTO(cart);
+        dto.setRecommendations(recommendationService.getCartRecommendations(
+                dto.getItems().stream().map(CartItemDTO::getProductId).toList()));
+        return dto;
     }
 
     /**
@@ -235,6 +257,8 @@ public class ShoppingCartService {
                 .userId(cart.getUser() != null ? cart.getUser().getId() : null)
                 .items(itemDTOs)
                 .lastActivity(cart.getLastActivity())
+                .pricing(pricingEngine.toBreakdown(pricingEngine.priceCartItems(
+                        cart.getItems(), cart.getUser() != null ? cart.getUser().getId() : null, null)))
                 .build();
     }
 
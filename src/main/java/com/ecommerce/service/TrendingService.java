@@ -0,0 +1,111 @@
+package com.ecommerce.service;
+
+import com.ecommerce.analytics.SlidingTopK;
+import com.ecommerce.analytics.TrendWindow;
+import com.ecommerce.analytics.TrendingEngine;
+import com.ecommerce.config.TrendingProperties;
+import com.ecommerce.dto.ProductSummaryDTO;
+import com.ecommerce.dto.TrendingProductDTO;
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Trending products per window
+ * Rankings come from {@link TrendingEngine}; the ranked list is joined with
+ * product summaries once and kept for a few seconds, so most requests are
+ * answered from memory without a query.
+ *
+ * @author E-Commerce Team
+ */
+@Service
+@RequiredArgsConstructor
+public class TrendingService {
+
+    /**
+     * Largest list served
+     */
+    public static final int MAX_LIMIT = 50;
+
+    private final TrendingEngine trendingEngine;
+    private final ProductRepository productRepository;
+    private final TrendingProperties properties;
+
+    private final Map<TrendWindow, Result> results = new EnumMap<>(TrendWindow.class);
+
+    /**
+     * Trending products of a window
+     *
+     * @param window trending window
+     * @param limit number of products (capped at {@link #MAX_LIMIT})
+     * @return products, best first
+     */
+    @Transactional(readOnly = true)
+    public List<TrendingProductDTO> getTrending(TrendWindow window, int limit) {
+        List<TrendingProductDTO> items = result(window).items();
+        int size = Math.min(Math.max(limit, 1), items.size());
+        return items.subList(0, size);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        // Prices, stock or status shown in the lists may have changed
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    private Result result(TrendWindow window) {
+        long now = System.currentTimeMillis();
+        synchronized (results) {
+            Result result = results.get(window);
+            if (result != null && now - result.builtAt() < properties.getResultTtlMs()) {
+                return result;
+            }
+        }
+        Result result = new Result(now, build(window));
+        synchronized (results) {
+            results.put(window, result);
+        }
+        return result;
+    }
+
+    private List<TrendingProductDTO> build(TrendWindow window) {
+        // Over-fetch: some ranked products may since have been deactivated or deleted
+        List<SlidingTopK.Ranked> ranked = trendingEngine.top(window, MAX_LIMIT * 2);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductSummaryDTO> summaries = productRepository
+                .findActiveSummariesByIdIn(ranked.stream().map(SlidingTopK.Ranked::item).toList())
+                .stream()
+                .collect(Collectors.toMap(ProductSummaryDTO::getId, Function.identity()));
+
+        List<TrendingProductDTO> items = new ArrayList<>(MAX_LIMIT);
+        for (SlidingTopK.Ranked entry : ranked) {
+            ProductSummaryDTO summary = summaries.get(entry.item());
+            if (summary != null && items.size() < MAX_LIMIT) {
+                items.add(TrendingProductDTO.builder()
+                        .rank(items.size() + 1)
+                        .score(entry.score())
+                        .product(summary)
+                        .build());
+            }
+        }
+        return List.copyOf(items);
+    }
+
+    private record Result(long builtAt, List<TrendingProductDTO> items) {
+    }
+}
@@ -1,13 +1,16 @@
 package com.ecommerce.service;
 
+import com.ecommerce.dto.AddressDTO;
 import com.ecommerce.dto.UserDTO;
 import com.ecommerce.dto.request.RegisterRequest;
 import com.ecommerce.dto.response.PageResponse;
 import com.ecommerce.exception.BadRequestException;
 import com.ecommerce.exception.ResourceNotFoundException;
+import com.ecommerce.model.Address;
 import com.ecommerce.model.User;
 import com.ecommerce.model.enums.UserRole;
 import com.ecommerce.model.enums.UserStatus;
+import com.ecommerce.repository.AddressRepository;
 import com.ecommerce.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -17,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -30,6 +34,7 @@ import java.util.UUID;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final AddressRepository addressRepository;
     private final PasswordEncoder passwordEncoder;
 
     /**
@@ -257,6 +262,80 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    /**
+     * Get addresses of a user
+     * 
+     * @param userId user ID
+     * @return list of address DTOs
+     */
+    @Transactional(readOnly = true)
+    public List<AddressDTO> getUserAddresses(Long userId) {
+        return addressRepository.findByUserId(userId).stream()
+                .map(this::convertAddressToDTO)
+                .toList();
+    }
+
+    /**
+     * Add an address to a user's address book
+     * The first address of a user becomes the default one.
+     * 
+     * @param userId user ID
+     * @param addressDTO address data
+     * @return created address DTO
+     */
+    public AddressDTO addAddress(Long userId, AddressDTO addressDTO) {
+        User user = getUserById(userId);
+        List<Address> existing = addressRepository.findByUserId(userId);
+        boolean makeDefault = existing.isEmpty() || Boolean.TRUE.equals(addressDTO.getIsDefault());
+
+        if (makeDefault) {
+            existing.stream()
+                    .filter(address -> Boolean.TRUE.equals(address.getIsDefault()))
+                    .forEach(address -> address.setIsDefault(false));
+        }
+
+        Address address = Address.builder()
+                .addressType(addressDTO.getAddressType())
+                .fullName(addressDTO.getFullName())
+                .phoneNumber(addressDTO.getPhoneNumber())
+                .streetAddress(addressDTO.getStreetAddress())
+                .addressLine2(addressDTO.getAddressLine2())
+                .city(addressDTO.getCity())
+                .state(addressDTO.getState())
+                .postalCode(addressDTO.getPostalCode())
+                .country(addressDTO.getCountry())
+                .isDefault(makeDefault)
+                .deliveryInstructions(addressDTO.getDeliveryInstructions())
+                .user(user)
+                .build();
+
+        return convertAddressToDTO(addressRepository.save(address));
+    }
+
+    /**
+     * Convert Address entity to AddressDTO
+     * 
+     * @param address address entity
+     * @return address DTO
+     */
+    public AddressDTO convertAddressToDTO(Address address) {
+        return AddressDTO.builder()
+                .id(address.getId())
+                .addressType(address.getAddressType())
+                .fullName(address.getFullName())
+                .phoneNumber(address.getPhoneNumber())
+                .streetAddress(address.getStreetAddress())
+                .addressLine2(address.getAddressLine2())
+                .city(address.getCity())
+                .state(address.getState())
+                .postalCode(address.getPostalCode())
+                .country(address.getCountry())
+                .isDefault(address.getIsDefault())
+                .deliveryInstructions(address.getDeliveryInstructions())
+                .userId(address.getUser() != null ? address.getUser().getId() : null)
+                .build();
+    }
+
     /**
      * Convert User entity to UserDTO
      * 
@@ -0,0 +1,182 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.ProductStockDTO;
+import com.ecommerce.dto.WarehouseDTO;
+import com.ecommerce.dto.request.CreateWarehouseRequest;
+import com.ecommerce.dto.request.StockAdjustmentRequest;
+import com.ecommerce.exception.BadRequestException;
+import com.ecommerce.exception.ResourceNotFoundException;
+import com.ecommerce.inventory.ProductStockUpdater;
+import com.ecommerce.model.Product;
+import com.ecommerce.model.Warehouse;
+import com.ecommerce.model.WarehouseStock;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.WarehouseRepository;
+import com.ecommerce.repository.WarehouseStockRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service for warehouses and the stock held in them
+ * A product's stock quantity is the total over its warehouses once it has
+ * stock in any of them; the first adjustment replaces the unassigned count.
+ * 
+ * @author E-Commerce Team
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class WarehouseService {
+
+    private final WarehouseRepository warehouseRepository;
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final ProductRepository productRepository;
+    private final ProductStockUpdater productStockUpdater;
+
+    /**
+     * Get all warehouses
+     * 
+     * @return warehouses by code
+     */
+    @Transactional(readOnly = true)
+    public List<Warehouse> getAllWarehouses() {
+        return warehouseRepository.findAllByOrderByCodeAsc();
+    }
+
+    /**
+     * Create a warehouse
+     * 
+     * @param request warehouse request
+     * @return created warehouse
+     */
+    public Warehouse createWarehouse(CreateWarehouseRequest request) {
+        String code = normalize(request.getCode());
+        if (warehouseRepository.existsByCode(code)) {
+            throw new BadRequestException("Warehouse code already exists: " + code);
+        }
+        Warehouse warehouse = Warehouse.builder().build();
+        apply(warehouse, request, code);
+        return warehouseRepository.save(warehouse);
+    }
+
+    /**
+     * Update a warehouse
+     * 
+     * @param id warehouse ID
+     * @param request warehouse request
+     * @return updated warehouse
+     */
+    public Warehouse updateWarehouse(Long id, CreateWarehouseRequest request) {
+        Warehouse warehouse = warehouseRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "id", id));
+        String code = normalize(request.getCode());
+        if (!code.equals(warehouse.getCode()) && warehouseRepository.existsByCode(code)) {
+            throw new BadRequestException("Warehouse code already exists: " + code);
+        }
+        apply(warehouse, request, code);
+        return warehouseRepository.save(warehouse);
+    }
+
+    /**
+     * Receive or remove units of a product in a warehouse
+     * 
+     * @param code warehouse code
+     * @param request adjustment request
+     * @return the product's stock per warehouse after the change
+     */
+    public ProductStockDTO adjustStock(String code, StockAdjustmentRequest request) {
+        Warehouse warehouse = warehouseRepository.findByCode(normalize(code))
+                .orElseThrow(() -> new ResourceNotFoundException("Warehouse", "code", code));
+        Product product = productRepository.findById(request.getProductId())
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", request.getProductId()));
+        int amount = request.getAdjustment();
+        if (amount == 0) {
+            throw new BadRequestException("Adjustment must not be zero");
+        }
+
+        if (warehouseStockRepository.adjust(warehouse.getId(), product.getId(), amount) == 0) {
+            if (amount < 0 || warehouseStockRepository.existsByWarehouseIdAndProductId(warehouse.getId(), product.getId())) {
+                throw new BadRequestException("Warehouse " + warehouse.getCode() + " holds fewer than "
+                        + (-amount) + " units of " + product.getName());
+            }
+            boolean firstWarehouse = !warehouseStockRepository.existsByProductId(product.getId());
+            warehouseStockRepository.save(WarehouseStock.builder()
+                    .warehouse(warehouse)
+                    .product(product)
+                    .quantity(amount)
+                    .build());
+            if (firstWarehouse) {
+                // Stock held outside warehouses until now is replaced by the warehouse total
+                product.setStockQuantity(amount);
+                productRepository.save(product);
+                return getProductStock(product.getId());
+            }
+        }
+
+        // The product total follows by the same amount, without bumping the product's version
+        productStockUpdater.adjust(product, amount);
+        return getProductStock(product.getId());
+    }
+
+    /**
+     * Get the stock of a product per warehouse
+     * 
+     * @param productId product ID
+     * @return stock per warehouse code, and the product's total
+     */
+    @Transactional(readOnly = true)
+    public ProductStockDTO getProductStock(Long productId) {
+        // Read directly: the total is kept by bulk updates the loaded entity does not see
+        Integer total = productRepository.findStockQuantityById(productId);
+        if (total == null) {
+            throw new ResourceNotFoundException("Product", "id", productId);
+        }
+        ProductStockDTO stock = ProductStockDTO.builder()
+                .productId(productId)
+                .stockQuantity(total)
+                .build();
+        for (Object[] row : warehouseStockRepository.findLevelsByProductId(productId)) {
+            stock.getWarehouses().put((String) row[0], (Integer) row[1]);
+        }
+        return stock;
+    }
+
+    /**
+     * Convert Warehouse to WarehouseDTO
+     * 
+     * @param warehouse warehouse entity
+     * @return warehouse DTO
+     */
+    public WarehouseDTO convertToDTO(Warehouse warehouse) {
+        return WarehouseDTO.builder()
+                .id(warehouse.getId())
+                .code(warehouse.getCode())
+                .name(warehouse.getName())
+                .city(warehouse.getCity())
+                .state(warehouse.getState())
+                .postalCode(warehouse.getPostalCode())
+                .country(warehouse.getCountry())
+                .priority(warehouse.getPriority())
+                .active(warehouse.getActive())
+                .build();
+    }
+
+    private void apply(Warehouse warehouse, CreateWarehouseRequest request, String code) {
+        warehouse.setCode(code);
+        warehouse.setName(request.getName());
+        warehouse.setCity(request.getCity());
+        warehouse.setState(request.getState());
+        warehouse.setPostalCode(request.getPostalCode());
+        warehouse.setCountry(request.getCountry());
+        warehouse.setPriority(request.getPriority() != null ? request.getPriority() : 0);
+        warehouse.setActive(request.getActive() == null || request.getActive());
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+}
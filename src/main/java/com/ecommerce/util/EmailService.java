@@ -1,7 +1,9 @@
 package com.ecommerce.util;
 
+import com.ecommerce.dto.LowStockProductDTO;
 import com.ecommerce.model.Order;
 import com.ecommerce.model.User;
+import com.ecommerce.notification.WishlistNotice;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,8 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Email service for sending notifications
  * 
@@ -194,4 +198,84 @@ public class EmailService {
             logger.error("Failed to send welcome email to: {}", user.getEmail(), e);
         }
     }
+
+    /**
+     * Send a digest of wishlisted products that are back in stock or on sale
+     * 
+     * @param user subscriber
+     * @param notices products to announce
+     */
+    @Async
+    public void sendWishlistDigestEmail(User user, List<WishlistNotice> notices) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (WishlistNotice notice : notices) {
+                lines.append(String.format("- %s (%s): $%.2f\n  http://localhost:8080/products/%s\n",
+                        notice.productName(),
+                        notice.kind() == WishlistNotice.Kind.RESTOCK ? "back in stock" : "on sale",
+                        notice.price(),
+                        notice.slug()));
+            }
+
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(user.getEmail());
+            message.setSubject("Items on Your Wishlist - E-Commerce Platform");
+            message.setText(String.format(
+                    "Hello %s,\n\n" +
+                    "Good news about items on your wishlist:\n\n" +
+                    "%s\n" +
+                    "You can change these notifications in your wishlist.\n\n" +
+                    "Best regards,\n" +
+                    "E-Commerce Team",
+                    user.getFullName(), lines
+            ));
+
+            mailSender.send(message);
+            logger.info("Wishlist digest of {} items sent to: {}", notices.size(), user.getEmail());
+        } catch (Exception e) {
+            logger.error("Failed to send wishlist digest to: {}", user.getEmail(), e);
+        }
+    }
+
+    /**
+     * Send a low-stock alert
+     * 
+     * @param user recipient
+     * @param products products that dropped to their threshold or ran out
+     */
+    @Async
+    public void sendLowStockAlertEmail(User user, List<LowStockProductDTO> products) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (LowStockProductDTO product : products) {
+                lines.append(String.format("- [%s] %s (SKU %s): %d left, threshold %s\n",
+                        product.getLevel().getDisplayName(),
+                        product.getName(),
+                        product.getSku(),
+                        product.getStockQuantity(),
+                        product.getLowStockThreshold()));
+            }
+
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(user.getEmail());
+            message.setSubject("Low Stock Alert: " + products.size() + " Products - E-Commerce Platform");
+            message.setText(String.format(
+                    "Hello %s,\n\n" +
+                    "The following products need restocking:\n\n" +
+                    "%s\n" +
+                    "The current list is on the inventory dashboard:\n" +
+                    "http://localhost:8080/api/admin/inventory/low-stock\n\n" +
+                    "Best regards,\n" +
+                    "E-Commerce Team",
+                    user.getFullName(), lines
+            ));
+
+            mailSender.send(message);
+            logger.info("Low-stock alert of {} products sent to: {}", products.size(), user.getEmail());
+        } catch (Exception e) {
+            logger.error("Failed to send low-stock alert to: {}", user.getEmail(), e);
+        }
+    }
 }
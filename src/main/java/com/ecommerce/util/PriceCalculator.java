@@ -1,5 +1,9 @@
 package com.ecommerce.util;
 
+import com.ecommerce.pricing.Money;
+import com.ecommerce.pricing.ShippingRule;
+import com.ecommerce.pricing.TaxRule;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -7,15 +11,17 @@ import java.math.RoundingMode;
 
 /**
  * Utility class for price calculations
+ * Tax and shipping delegate to the pricing engine rules so single amounts
+ * are priced exactly like carts and orders.
  * 
  * @author E-Commerce Team
  */
 @Component
+@RequiredArgsConstructor
 public class PriceCalculator {
 
-    private static final BigDecimal TAX_RATE = BigDecimal.valueOf(0.10); // 10% tax
-    private static final BigDecimal FREE_SHIPPING_THRESHOLD = BigDecimal.valueOf(100.00);
-    private static final BigDecimal STANDARD_SHIPPING = BigDecimal.valueOf(10.00);
+    private final TaxRule taxRule;
+    private final ShippingRule shippingRule;
 
     /**
      * Calculate tax amount
@@ -27,7 +33,7 @@ public class PriceCalculator {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
         }
-        return amount.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        return Money.toDecimal(taxRule.taxOn(Money.toMinor(amount)));
     }
 
     /**
@@ -37,15 +43,7 @@ public class PriceCalculator {
      * @return shipping cost
      */
     public BigDecimal calculateShipping(BigDecimal subtotal) {
-        if (subtotal == null) {
-            return STANDARD_SHIPPING;
-        }
-        
-        if (subtotal.compareTo(FREE_SHIPPING_THRESHOLD) >= 0) {
-            return BigDecimal.ZERO;
-        }
-        
-        return STANDARD_SHIPPING;
+        return Money.toDecimal(shippingRule.shippingFor(Money.toMinor(subtotal)));
     }
 
     /**
@@ -0,0 +1,111 @@
+package com.ecommerce.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distributed ranks in [1, n] without a lookup table
+ * Uses rejection-inversion sampling (Hormann and Derflinger), so memory and
+ * setup are constant no matter how many elements there are. The sampler is
+ * immutable; randomness comes from the caller, which keeps results reproducible.
+ *
+ * @author E-Commerce Team
+ */
+public final class ZipfSampler {
+
+    private final long numberOfElements;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralNumberOfElements;
+    private final double s;
+
+    /**
+     * @param numberOfElements number of ranks (n >= 1)
+     * @param exponent skew (greater than 0; around 1 for web popularity)
+     */
+    public ZipfSampler(long numberOfElements, double exponent) {
+        if (numberOfElements < 1) {
+            throw new IllegalArgumentException("Number of elements must be positive: " + numberOfElements);
+        }
+        if (exponent <= 0) {
+            throw new IllegalArgumentException("Exponent must be positive: " + exponent);
+        }
+        this.numberOfElements = numberOfElements;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1d;
+        this.hIntegralNumberOfElements = hIntegral(numberOfElements + 0.5);
+        this.s = 2d - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * Draw a rank; rank 1 is the most frequent
+     *
+     * @param random source of randomness
+     * @return rank in [1, n]
+     */
+    public long sample(SplittableRandom random) {
+        while (true) {
+            double u = hIntegralNumberOfElements + random.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+            double x = hIntegralInverse(u);
+            long k = (long) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > numberOfElements) {
+                k = numberOfElements;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    /**
+     * Draw a zero-based index (rank - 1)
+     *
+     * @param random source of randomness
+     * @return index in [0, n)
+     */
+    public int sampleIndex(SplittableRandom random) {
+        return (int) (sample(random) - 1);
+    }
+
+    public long getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1d - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1d - exponent);
+        if (t < -1d) {
+            t = -1d;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    /**
+     * log(1 + x) / x, stable near 0
+     */
+    private static double helper1(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.log1p(x) / x;
+        }
+        return 1 - x * (0.5 - x * (1d / 3 - 0.25 * x));
+    }
+
+    /**
+     * (exp(x) - 1) / x, stable near 0
+     */
+    private static double helper2(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.expm1(x) / x;
+        }
+        return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
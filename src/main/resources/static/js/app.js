@@ -120,7 +120,12 @@ async function loadProductsByCategory(categoryId) {
         
         if (result.success) {
             const products = result.data.content || result.data;
-            displayProducts(products);
+            if (!products || products.length === 0) {
+                // 一致なし: 綴り違いを許容して再検索
+                await fuzzySearchProducts(keyword);
+            } else {
+                displayProducts(products);
+            }
             
             // スクロール
             document.querySelector('.products').scrollIntoView({ behavior: 'smooth' });
@@ -254,7 +259,12 @@ async function searchProducts() {
         
         if (result.success) {
             const products = result.data.content || result.data;
-            displayProducts(products);
+            if (!products || products.length === 0) {
+                // 一致なし: 綴り違いを許容して再検索
+                await fuzzySearchProducts(keyword);
+            } else {
+                displayProducts(products);
+            }
             
             // スクロール
             document.querySelector('.products').scrollIntoView({ behavior: 'smooth' });
@@ -266,18 +276,131 @@ async function searchProducts() {
     }
 }
 
-// Enter キーで検索
+// あいまい検索（タイプミス許容）と「もしかして」表示
+async function fuzzySearchProducts(keyword) {
+    const response = await fetch(`${API_BASE_URL}/products/search/fuzzy?q=${encodeURIComponent(keyword)}`);
+    const result = await response.json();
+    
+    if (!result.success) {
+        displayProducts([]);
+        return;
+    }
+    displayProducts(result.data.products);
+    
+    if (result.data.didYouMean) {
+        const notice = document.createElement('p');
+        notice.className = 'did-you-mean';
+        notice.append('もしかして: ');
+        const link = document.createElement('a');
+        link.href = '#';
+        link.textContent = result.data.didYouMean;
+        link.addEventListener('click', function(event) {
+            event.preventDefault();
+            document.getElementById('search-input').value = result.data.didYouMean;
+            searchProducts();
+        });
+        notice.appendChild(link);
+        const productList = document.getElementById('product-list');
+        productList.insertBefore(notice, productList.firstChild);
+    }
+}
+
+// Enter キーで検索、入力中は候補を表示
 document.addEventListener('DOMContentLoaded', function() {
     const searchInput = document.getElementById('search-input');
     if (searchInput) {
         searchInput.addEventListener('keypress', function(e) {
             if (e.key === 'Enter') {
+                hideSuggestions();
                 searchProducts();
             }
         });
+        searchInput.addEventListener('input', function() {
+            clearTimeout(suggestTimer);
+            suggestTimer = setTimeout(() => loadSuggestions(searchInput.value.trim()), SUGGEST_DELAY_MS);
+        });
+        searchInput.addEventListener('blur', function() {
+            // クリックを処理してから閉じる
+            setTimeout(hideSuggestions, 150);
+        });
     }
 });
 
+// 検索候補（タイプアヘッド）
+const SUGGEST_DELAY_MS = 120;
+let suggestTimer = null;
+let suggestSequence = 0;
+
+async function loadSuggestions(query) {
+    const sequence = ++suggestSequence;
+    if (!query) {
+        hideSuggestions();
+        return;
+    }
+
+    try {
+        const response = await fetch(`${API_BASE_URL}/products/suggest?q=${encodeURIComponent(query)}`);
+        const result = await response.json();
+
+        // 古い入力への応答は捨てる
+        if (sequence === suggestSequence && result.success) {
+            displaySuggestions(result.data);
+        }
+    } catch (error) {
+        console.error('候補取得エラー:', error);
+    }
+}
+
+function displaySuggestions(suggestions) {
+    const searchBox = document.querySelector('.search-box');
+    let list = document.getElementById('search-suggestions');
+    if (!list) {
+        list = document.createElement('ul');
+        list.id = 'search-suggestions';
+        list.className = 'search-suggestions';
+        searchBox.appendChild(list);
+    }
+    list.innerHTML = '';
+
+    if (!suggestions || suggestions.length === 0) {
+        hideSuggestions();
+        return;
+    }
+
+    const labels = { PRODUCT: '商品', BRAND: 'ブランド', CATEGORY: 'カテゴリー' };
+    suggestions.forEach(suggestion => {
+        const item = document.createElement('li');
+        const text = document.createElement('span');
+        text.textContent = suggestion.text;
+        const type = document.createElement('small');
+        type.textContent = labels[suggestion.type] || '';
+        item.appendChild(text);
+        item.appendChild(type);
+        item.addEventListener('mousedown', () => selectSuggestion(suggestion));
+        list.appendChild(item);
+    });
+    list.style.display = 'block';
+}
+
+function selectSuggestion(suggestion) {
+    hideSuggestions();
+    if (suggestion.type === 'PRODUCT') {
+        viewProduct(suggestion.id);
+    } else if (suggestion.type === 'CATEGORY') {
+        loadProductsByCategory(suggestion.id);
+    } else {
+        document.getElementById('search-input').value = suggestion.text;
+        searchProducts();
+    }
+}
+
+function hideSuggestions() {
+    const list = document.getElementById('search-suggestions');
+    if (list) {
+        list.style.display = 'none';
+    }
+}
+
 // ローディング表示
 function showLoading(show) {
     const loading = document.getElementById('loading');
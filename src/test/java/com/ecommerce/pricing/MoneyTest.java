@@ -0,0 +1,97 @@
+package com.ecommerce.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Golden values for minor-unit conversion, rounding and allocation
+ *
+ * @author E-Commerce Team
+ */
+class MoneyTest {
+
+    @Test
+    void toMinorRoundsHalfUpToTheCent() {
+        assertThat(Money.toMinor(new BigDecimal("1.005"))).isEqualTo(101);
+        assertThat(Money.toMinor(new BigDecimal("1.004"))).isEqualTo(100);
+        assertThat(Money.toMinor(new BigDecimal("-1.005"))).isEqualTo(-101);
+        assertThat(Money.toMinor(new BigDecimal("19.99"))).isEqualTo(1999);
+        assertThat(Money.toMinor(null)).isZero();
+    }
+
+    @Test
+    void toDecimalHasScaleTwo() {
+        assertThat(Money.toDecimal(12345)).isEqualTo(new BigDecimal("123.45"));
+        assertThat(Money.toDecimal(0)).isEqualTo(new BigDecimal("0.00"));
+        assertThat(Money.toDecimal(-5)).isEqualTo(new BigDecimal("-0.05"));
+    }
+
+    @Test
+    void toBasisPoints() {
+        assertThat(Money.toBasisPoints(new BigDecimal("0.10"))).isEqualTo(1000);
+        assertThat(Money.toBasisPoints(new BigDecimal("0.0825"))).isEqualTo(825);
+        assertThat(Money.toBasisPoints(null)).isZero();
+    }
+
+    @Test
+    void percentageRoundsTiesAwayFromZero() {
+        // 10% of 0.25 is 0.025, 10% of 0.35 is 0.035
+        assertThat(Money.percentage(25, 1000)).isEqualTo(3);
+        assertThat(Money.percentage(35, 1000)).isEqualTo(4);
+        assertThat(Money.percentage(-25, 1000)).isEqualTo(-3);
+        assertThat(Money.percentage(24, 1000)).isEqualTo(2);
+        assertThat(Money.percentage(5997, 1000)).isEqualTo(600);
+    }
+
+    @Test
+    void allocateGivesLeftoverCentsToLargestRemaindersThenEarlierLines() {
+        long[] target = new long[3];
+        Money.allocate(100, new long[] {1, 1, 1}, 3, target);
+        assertThat(target).containsExactly(34, 33, 33);
+
+        target = new long[3];
+        Money.allocate(10, new long[] {1, 2, 3}, 3, target);
+        assertThat(target).containsExactly(2, 3, 5);
+    }
+
+    @Test
+    void allocateAddsToTheTarget() {
+        long[] target = {5, 5, 5};
+        Money.allocate(7, new long[] {1, 1, 1}, 3, target);
+        assertThat(target).containsExactly(8, 7, 7);
+
+        target = new long[] {5, 5, 5};
+        Money.allocate(0, new long[] {1, 2, 3}, 3, target);
+        assertThat(target).containsExactly(5, 5, 5);
+    }
+
+    @Test
+    void allocateWithoutWeightGivesEverythingToTheFirstLine() {
+        long[] target = new long[3];
+        Money.allocate(100, new long[] {0, 0, 0}, 3, target);
+        assertThat(target).containsExactly(100, 0, 0);
+    }
+
+    @Test
+    void allocateOnlyUsesTheLinesInUse() {
+        long[] target = new long[4];
+        Money.allocate(99, new long[] {1, 1, 1, 1000}, 3, target);
+        assertThat(target).containsExactly(33, 33, 33, 0);
+    }
+
+    @Test
+    void allocatedSharesAlwaysSumToTheAmount() {
+        long[] weights = {1, 666, 7497, 3, 0, 12345};
+        for (long amount = 1; amount <= 2000; amount += 7) {
+            long[] target = new long[weights.length];
+            Money.allocate(amount, weights, weights.length, target);
+            assertThat(Arrays.stream(target).sum()).isEqualTo(amount);
+            // A line without weight never receives a share
+            assertThat(target[4]).isZero();
+        }
+    }
+}
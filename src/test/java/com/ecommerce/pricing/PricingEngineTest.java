@@ -0,0 +1,194 @@
+package com.ecommerce.pricing;
+
+import com.ecommerce.config.PricingProperties;
+import com.ecommerce.dto.PriceBreakdown;
+import com.ecommerce.model.OrderItem;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Golden cent totals of fixed carts priced with the default rates
+ * (10% tax, free shipping from 100.00, otherwise 10.00)
+ *
+ * @author E-Commerce Team
+ */
+class PricingEngineTest {
+
+    private final PricingProperties properties = new PricingProperties();
+
+    @Test
+    void singleLine() {
+        PricingContext context = price(0, new PricingContext().addLine(1, 0, 3, 1999));
+
+        assertThat(context.getSubtotal()).isEqualTo(5997);
+        assertThat(context.getTaxAmount()).isEqualTo(600);
+        assertThat(context.getShippingCost()).isEqualTo(1000);
+        assertThat(context.getTotal()).isEqualTo(7597);
+        assertThat(context.lineTotal(0)).isEqualTo(6597);
+    }
+
+    @Test
+    void taxTieRoundsUp() {
+        // 10% of 0.25 is 0.025
+        PricingContext context = price(0, new PricingContext().addLine(1, 0, 1, 25));
+
+        assertThat(context.getTaxAmount()).isEqualTo(3);
+        assertThat(context.getTotal()).isEqualTo(1028);
+    }
+
+    @Test
+    void shippingIsFreeFromTheThreshold() {
+        PricingContext atThreshold = price(0, new PricingContext().addLine(1, 0, 1, 10000));
+        assertThat(atThreshold.getShippingCost()).isZero();
+        assertThat(atThreshold.getTotal()).isEqualTo(11000);
+
+        PricingContext belowThreshold = price(0, new PricingContext().addLine(1, 0, 1, 9999));
+        assertThat(belowThreshold.getShippingCost()).isEqualTo(1000);
+        assertThat(belowThreshold.getTaxAmount()).isEqualTo(1000);
+        assertThat(belowThreshold.getTotal()).isEqualTo(11999);
+    }
+
+    @Test
+    void thresholdAppliesToTheDiscountedSubtotal() {
+        PricingContext atThreshold = price(1000, new PricingContext().addLine(1, 0, 1, 11000));
+        assertThat(atThreshold.getTaxableAmount()).isEqualTo(10000);
+        assertThat(atThreshold.getShippingCost()).isZero();
+        assertThat(atThreshold.getTotal()).isEqualTo(11000);
+
+        PricingContext belowThreshold = price(1001, new PricingContext().addLine(1, 0, 1, 11000));
+        assertThat(belowThreshold.getTaxableAmount()).isEqualTo(9999);
+        assertThat(belowThreshold.getShippingCost()).isEqualTo(1000);
+        assertThat(belowThreshold.getTotal()).isEqualTo(11999);
+    }
+
+    @Test
+    void emptyCartCostsNothing() {
+        PricingContext context = price(0, new PricingContext());
+
+        assertThat(context.getSubtotal()).isZero();
+        assertThat(context.getTaxAmount()).isZero();
+        assertThat(context.getShippingCost()).isZero();
+        assertThat(context.getTotal()).isZero();
+
+        PriceBreakdown breakdown = engine(0).toBreakdown(context);
+        assertThat(breakdown.getLines()).isEmpty();
+        assertThat(breakdown.getTotalAmount()).isEqualTo(new BigDecimal("0.00"));
+    }
+
+    @Test
+    void orderDiscountAndTaxAreSplitExactlyOverEqualLines() {
+        PricingContext context = price(1000, new PricingContext()
+                .addLine(1, 0, 1, 1000)
+                .addLine(2, 0, 1, 1000)
+                .addLine(3, 0, 1, 1000));
+
+        assertThat(new long[] {context.lineDiscount(0), context.lineDiscount(1), context.lineDiscount(2)})
+                .containsExactly(334, 333, 333);
+        assertThat(new long[] {context.lineTax(0), context.lineTax(1), context.lineTax(2)})
+                .containsExactly(66, 67, 67);
+        assertThat(context.getTaxAmount()).isEqualTo(200);
+        assertThat(context.getTotal()).isEqualTo(3200);
+        assertLinesAddUp(context);
+    }
+
+    @Test
+    void orderDiscountAndTaxAreSplitExactlyOverUnevenLines() {
+        PricingContext context = price(250, new PricingContext()
+                .addLine(1, 0, 2, 333)
+                .addLine(2, 0, 1, 1)
+                .addLine(3, 0, 3, 2499));
+
+        assertThat(context.getSubtotal()).isEqualTo(8164);
+        assertThat(new long[] {context.lineDiscount(0), context.lineDiscount(1), context.lineDiscount(2)})
+                .containsExactly(20, 0, 230);
+        assertThat(context.getTaxAmount()).isEqualTo(791);
+        assertThat(new long[] {context.lineTax(0), context.lineTax(1), context.lineTax(2)})
+                .containsExactly(65, 0, 726);
+        assertThat(new long[] {context.lineTotal(0), context.lineTotal(1), context.lineTotal(2)})
+                .containsExactly(711, 1, 7993);
+        assertThat(context.getTotal()).isEqualTo(9705);
+        assertLinesAddUp(context);
+    }
+
+    @Test
+    void breakdownMatchesTheContext() {
+        PriceBreakdown breakdown = engine(250).price(new PricingContext()
+                .addLine(1, 0, 2, 333)
+                .addLine(2, 0, 1, 1)
+                .addLine(3, 0, 3, 2499));
+
+        assertThat(breakdown.getSubtotal()).isEqualTo(new BigDecimal("81.64"));
+        assertThat(breakdown.getDiscountAmount()).isEqualTo(new BigDecimal("2.50"));
+        assertThat(breakdown.getTaxableAmount()).isEqualTo(new BigDecimal("79.14"));
+        assertThat(breakdown.getTaxAmount()).isEqualTo(new BigDecimal("7.91"));
+        assertThat(breakdown.getShippingCost()).isEqualTo(new BigDecimal("10.00"));
+        assertThat(breakdown.getTotalAmount()).isEqualTo(new BigDecimal("97.05"));
+        assertThat(breakdown.getLines().get(2).getTotal()).isEqualTo(new BigDecimal("79.93"));
+    }
+
+    @Test
+    void orderItemsBuiltFromLineFiguresAddUpToTheOrder() {
+        PricingContext context = price(250, new PricingContext()
+                .addLine(1, 0, 2, 333)
+                .addLine(2, 0, 1, 1)
+                .addLine(3, 0, 3, 2499));
+
+        BigDecimal itemTotal = BigDecimal.ZERO;
+        for (int i = 0; i < context.size(); i++) {
+            OrderItem item = OrderItem.builder()
+                    .quantity(context.quantity(i))
+                    .unitPrice(Money.toDecimal(context.unitPrice(i)))
+                    .discount(Money.toDecimal(context.lineDiscount(i)))
+                    .tax(Money.toDecimal(context.lineTax(i)))
+                    .build();
+            item.calculateTotalPrice();
+            assertThat(item.getTotalPrice()).isEqualByComparingTo(Money.toDecimal(context.lineTotal(i)));
+            itemTotal = itemTotal.add(item.getTotalPrice());
+        }
+        assertThat(itemTotal.add(Money.toDecimal(context.getShippingCost())))
+                .isEqualByComparingTo(Money.toDecimal(context.getTotal()));
+    }
+
+    private PricingContext price(long orderDiscount, PricingContext context) {
+        return engine(orderDiscount).run(context);
+    }
+
+    private PricingEngine engine(long orderDiscount) {
+        return new PricingEngine(List.of(new LinePricingRule(), new OrderDiscountRule(orderDiscount),
+                new TaxRule(properties), new ShippingRule(properties)));
+    }
+
+    private static void assertLinesAddUp(PricingContext context) {
+        long discounts = 0;
+        long taxes = 0;
+        long totals = 0;
+        for (int i = 0; i < context.size(); i++) {
+            discounts += context.lineDiscount(i);
+            taxes += context.lineTax(i);
+            totals += context.lineTotal(i);
+        }
+        assertThat(discounts).isEqualTo(context.getDiscountTotal());
+        assertThat(taxes).isEqualTo(context.getTaxAmount());
+        assertThat(totals + context.getShippingCost()).isEqualTo(context.getTotal());
+    }
+
+    /**
+     * Fixed order-level discount, standing in for a promotion
+     */
+    private record OrderDiscountRule(long amount) implements PricingRule {
+
+        @Override
+        public Stage stage() {
+            return Stage.DISCOUNTS;
+        }
+
+        @Override
+        public void apply(PricingContext context) {
+            context.addOrderDiscount(amount, "TEST", "Test discount");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.service;
+
+import com.ecommerce.event.ProductChangedEvent;
+import com.ecommerce.model.Category;
+import com.ecommerce.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Product detail validators across catalog writes and stock updates
+ *
+ * @author E-Commerce Team
+ */
+class CatalogVersionTrackerTest {
+
+    private final CatalogVersionTracker tracker = new CatalogVersionTracker();
+
+    @Test
+    void saleChangesTheProductETag() {
+        Product product = product();
+        CatalogVersionTracker.EntityVersion before = tracker.recordProduct(product, tracker.productGeneration());
+
+        // What the bulk sale update leaves behind: same version, new stock and sales count
+        product.setStockQuantity(8);
+        product.setSalesCount(7L);
+        product.setUpdatedAt(product.getUpdatedAt().plusSeconds(1));
+        tracker.onProductChanged(new ProductChangedEvent(product.getId(), false));
+        CatalogVersionTracker.EntityVersion after = tracker.recordProduct(product, tracker.productGeneration());
+
+        assertThat(after.eTag(null)).isNotEqualTo(before.eTag(null));
+        assertThat(after.getLastModified()).isGreaterThan(before.getLastModified());
+        assertThat(tracker.findProductVersion(product.getId())).isSameAs(after);
+    }
+
+    @Test
+    void unchangedProductKeepsItsETag() {
+        Product product = product();
+        CatalogVersionTracker.EntityVersion first = tracker.recordProduct(product, tracker.productGeneration());
+        CatalogVersionTracker.EntityVersion second = tracker.recordProduct(product, tracker.productGeneration());
+
+        assertThat(second.eTag(null)).isEqualTo(first.eTag(null));
+        assertThat(second.eTag("application/x-jackson-smile")).isNotEqualTo(first.eTag(null));
+    }
+
+    @Test
+    void productChangeForgetsTheKnownVersion() {
+        Product product = product();
+        tracker.recordProduct(product, tracker.productGeneration());
+
+        tracker.onProductChanged(new ProductChangedEvent(product.getId(), false));
+
+        assertThat(tracker.findProductVersion(product.getId())).isNull();
+    }
+
+    private static Product product() {
+        Category category = Category.builder().name("Tools").build();
+        category.setId(3L);
+        category.setVersion(1L);
+        category.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        Product product = Product.builder()
+                .name("Hammer")
+                .stockQuantity(10)
+                .salesCount(5L)
+                .category(category)
+                .build();
+        product.setId(42L);
+        product.setVersion(4L);
+        product.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 0, 0));
+        return product;
+    }
+}